@@ -0,0 +1,42 @@
+package com.ryan.safetynet.alerts.concurrency;
+
+import com.ryan.safetynet.alerts.dto.LockStripeStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Endpoint Actuator exposant les métriques de contention des verrous partitionnés.
+ * Accessible via /actuator/locks (toutes les partitions) ou /actuator/locks/{stripe}.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "locks")
+public class LockMetricsEndpoint {
+
+    private final StripedLockManager lockManager;
+
+    /**
+     * @return les métriques de toutes les partitions, verrou de structure inclus (index -1)
+     */
+    @ReadOperation
+    public List<LockStripeStatsDTO> stripes() {
+        return lockManager.getStripeStats();
+    }
+
+    /**
+     * @param stripe index de la partition (-1 pour le verrou de structure)
+     * @return les métriques de la partition, ou null si l'index est inconnu
+     */
+    @ReadOperation
+    public LockStripeStatsDTO stripe(@Selector int stripe) {
+        return lockManager.getStripeStats().stream()
+                .filter(s -> s.getStripe() == stripe)
+                .findFirst()
+                .orElse(null);
+    }
+}
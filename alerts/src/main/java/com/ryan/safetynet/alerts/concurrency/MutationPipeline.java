@@ -0,0 +1,421 @@
+package com.ryan.safetynet.alerts.concurrency;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.event.DataChangeListener;
+import com.ryan.safetynet.alerts.exception.MutationRejectedException;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Pipeline d'écriture à thread unique.
+ * Toutes les mutations (ajout, mise à jour, suppression) sont déposées dans une file
+ * non bloquante bornée puis appliquées, dans l'ordre de soumission, par un seul thread
+ * d'écriture. Les listes de {@code Data} n'ont ainsi jamais plus d'un écrivain.
+ *
+ * Le thread d'écriture traite les mutations par lots : il applique chaque mutation,
+ * notifie les {@link DataChangeListener} (index dérivés), publie une nouvelle version
+ * des données, puis persiste le lot en une seule écriture du fichier. Plus les écritures
+ * sont nombreuses, plus les lots grossissent pendant l'entrée/sortie, ce qui amortit
+ * le coût de la sauvegarde (« group commit »).
+ *
+ * Les mutations prennent toujours les verrous de partition de {@link StripedLockManager}
+ * afin que les lectures concurrentes, qui n'utilisent pas l'instantané, restent cohérentes.
+ */
+@Slf4j
+@Component
+public class MutationPipeline {
+
+    /**
+     * Capacité par défaut de la file des mutations.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Taille maximale par défaut d'un lot.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final DataRepository dataRepository;
+    private final Supplier<Stream<DataChangeListener>> listeners;
+    private final int capacity;
+    private final int batchSize;
+
+    private final Queue<Pending<?>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean running = true;
+    private volatile Thread writer;
+
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    /**
+     * Construit le pipeline avec la configuration de l'application.
+     * Les listeners sont résolus paresseusement pour ne pas créer de dépendance
+     * circulaire avec les composants qui maintiennent des index.
+     *
+     * @param dataRepository le repository des données
+     * @param listeners les composants notifiés des modifications
+     * @param capacity nombre maximal de mutations en attente
+     * @param batchSize nombre maximal de mutations par lot
+     */
+    @Autowired
+    public MutationPipeline(DataRepository dataRepository,
+                            ObjectProvider<DataChangeListener> listeners,
+                            @Value("${mutation.queue.capacity:" + DEFAULT_CAPACITY + "}") int capacity,
+                            @Value("${mutation.batch.size:" + DEFAULT_BATCH_SIZE + "}") int batchSize) {
+        this(dataRepository, listeners::orderedStream, capacity, batchSize);
+    }
+
+    /**
+     * Construit un pipeline avec une liste fixe de listeners et la configuration par défaut.
+     *
+     * @param dataRepository le repository des données
+     * @param listeners les composants notifiés des modifications
+     */
+    public MutationPipeline(DataRepository dataRepository, List<DataChangeListener> listeners) {
+        this(dataRepository, listeners, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    MutationPipeline(DataRepository dataRepository, List<DataChangeListener> listeners, int capacity, int batchSize) {
+        this(dataRepository, listeners::stream, capacity, batchSize);
+    }
+
+    private MutationPipeline(DataRepository dataRepository, Supplier<Stream<DataChangeListener>> listeners,
+                             int capacity, int batchSize) {
+        if (capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("La capacité et la taille des lots doivent être strictement positives");
+        }
+        this.dataRepository = dataRepository;
+        this.listeners = listeners;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Soumet une mutation au thread d'écriture.
+     *
+     * @param mutation la mutation à appliquer
+     * @return le suivi de la mutation
+     * @throws MutationRejectedException si la file est pleine
+     * @throws IllegalStateException si le pipeline est arrêté ou si l'appel provient du thread d'écriture
+     */
+    public <T> MutationTicket<T> submit(Mutation<T> mutation) {
+        return submit(mutation, false);
+    }
+
+    /**
+     * Soumet une mutation exécutée seule dans son lot : les mutations du lot précédent ont déjà été
+     * notifiées et publiées lorsqu'elle s'exécute. Sert à reconstruire un index sur le thread d'écriture
+     * sans qu'il reçoive ensuite des modifications déjà présentes dans les données lues.
+     *
+     * @param mutation la mutation à appliquer
+     * @return le suivi de la mutation
+     * @throws MutationRejectedException si la file est pleine
+     * @throws IllegalStateException si le pipeline est arrêté ou si l'appel provient du thread d'écriture
+     */
+    public <T> MutationTicket<T> submitExclusive(Mutation<T> mutation) {
+        return submit(mutation, true);
+    }
+
+    private <T> MutationTicket<T> submit(Mutation<T> mutation, boolean exclusive) {
+        if (!running) {
+            throw new IllegalStateException("Le pipeline de mutations est arrêté");
+        }
+        if (Thread.currentThread() == writer) {
+            // Attendre le résultat depuis le thread d'écriture provoquerait un interblocage
+            throw new IllegalStateException("Une mutation ne peut pas être soumise depuis le thread d'écriture");
+        }
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            rejected.increment();
+            log.warn("File des mutations pleine ({} en attente), mutation rejetée", capacity);
+            throw new MutationRejectedException(capacity);
+        }
+        Pending<T> pending = new Pending<>(mutation, exclusive);
+        queue.offer(pending);
+        startWriterIfNeeded();
+        LockSupport.unpark(writer);
+        return pending.ticket;
+    }
+
+    /**
+     * @return le nombre de mutations en attente
+     */
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * @return le nombre de mutations appliquées avec succès
+     */
+    public long getAppliedCount() {
+        return applied.sum();
+    }
+
+    /**
+     * @return le nombre de mutations ayant échoué
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * @return le nombre de mutations rejetées faute de place dans la file
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return le nombre de lots traités
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Arrête le pipeline : les nouvelles soumissions sont refusées, les mutations
+     * déjà en file sont appliquées et persistées avant la fin du thread d'écriture.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread current = writer;
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.debug("Pipeline de mutations arrêté ({} mutations appliquées en {} lots)", getAppliedCount(), getBatchCount());
+    }
+
+    private void startWriterIfNeeded() {
+        if (writer == null && started.compareAndSet(false, true)) {
+            Thread thread = new Thread(this::runWriter, "mutation-writer");
+            thread.setDaemon(true);
+            writer = thread;
+            thread.start();
+            log.debug("Thread d'écriture démarré (capacité {}, lots de {} au plus)", capacity, batchSize);
+        }
+    }
+
+    private void runWriter() {
+        List<Pending<?>> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            Pending<?> next;
+            while (batch.size() < batchSize && (next = queue.peek()) != null) {
+                if (next.exclusive && !batch.isEmpty()) {
+                    break;
+                }
+                // Seul consommateur de la file : l'élément lu est celui retiré
+                queue.poll();
+                queued.decrementAndGet();
+                batch.add(next);
+                if (next.exclusive) {
+                    break;
+                }
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                processBatch(batch);
+            } catch (RuntimeException | Error e) {
+                // Ne jamais laisser mourir le thread d'écriture : les appelants attendraient indéfiniment
+                log.error("Erreur inattendue lors du traitement d'un lot de mutations", e);
+                batch.forEach(pending -> pending.fail(e));
+            }
+            batch.clear();
+        }
+    }
+
+    private void processBatch(List<Pending<?>> batch) {
+        List<DataChange> changes = new ArrayList<>();
+        int persisting = 0;
+        for (Pending<?> pending : batch) {
+            if (pending.apply()) {
+                applied.increment();
+                if (!pending.changes.isEmpty()) {
+                    notifyApplied(pending.changes);
+                }
+                changes.addAll(pending.changes);
+                if (pending.persists()) {
+                    persisting++;
+                }
+            } else {
+                failed.increment();
+            }
+        }
+        batches.increment();
+
+        if (!changes.isEmpty()) {
+            notifyListeners(changes);
+            dataRepository.publishSnapshot();
+        }
+        batch.forEach(Pending::completeVisible);
+
+        Exception persistError = null;
+        if (persisting > 0) {
+            try {
+                dataRepository.saveData();
+                log.debug("Lot de {} mutations persisté ({} modifications)", batch.size(), changes.size());
+            } catch (Exception e) {
+                log.error("Erreur lors de la persistance d'un lot de {} mutations", batch.size(), e);
+                persistError = e;
+            }
+        }
+        for (Pending<?> pending : batch) {
+            pending.completeDurable(persistError);
+        }
+    }
+
+    private void notifyListeners(List<DataChange> changes) {
+        List<DataChange> view = List.copyOf(changes);
+        listeners.get().forEach(listener -> {
+            try {
+                listener.onDataChanged(view);
+            } catch (RuntimeException e) {
+                log.error("Erreur du listener {} lors de la notification des modifications", listener, e);
+            }
+        });
+    }
+
+    private void notifyApplied(List<DataChange> changes) {
+        List<DataChange> view = List.copyOf(changes);
+        listeners.get().forEach(listener -> {
+            try {
+                listener.onMutationApplied(view);
+            } catch (RuntimeException e) {
+                log.error("Erreur du listener {} lors de la notification d'une mutation", listener, e);
+            }
+        });
+    }
+
+    /**
+     * Mutation exécutée sur le thread d'écriture.
+     * La mutation décrit ses modifications via {@link Context#changed(DataChange)} ;
+     * une mutation qui n'en déclare aucune ne déclenche ni publication ni persistance,
+     * une mutation qui appelle {@link Context#skipPersistence()} est publiée sans être persistée.
+     *
+     * @param <T> type du résultat
+     */
+    @FunctionalInterface
+    public interface Mutation<T> {
+        T apply(Context context) throws Exception;
+    }
+
+    /**
+     * Contexte d'une mutation en cours d'application.
+     */
+    public static final class Context {
+        private final List<DataChange> changes = new ArrayList<>(1);
+        private boolean persist = true;
+
+        private Context() {
+        }
+
+        /**
+         * Déclare une modification appliquée par la mutation.
+         *
+         * @param change la modification
+         */
+        public void changed(DataChange change) {
+            changes.add(change);
+        }
+
+        /**
+         * Indique que les modifications de la mutation proviennent déjà du fichier de données :
+         * elles sont notifiées et publiées, mais n'entraînent pas de sauvegarde du fichier.
+         */
+        public void skipPersistence() {
+            persist = false;
+        }
+    }
+
+    /**
+     * Mutation en attente et son suivi.
+     */
+    private static final class Pending<T> {
+        private final Mutation<T> mutation;
+        private final boolean exclusive;
+        private final MutationTicket<T> ticket = new MutationTicket<>();
+        private List<DataChange> changes = List.of();
+        private boolean persist = true;
+        private T result;
+        private Throwable error;
+
+        private Pending(Mutation<T> mutation, boolean exclusive) {
+            this.mutation = mutation;
+            this.exclusive = exclusive;
+        }
+
+        private boolean apply() {
+            Context context = new Context();
+            try {
+                result = mutation.apply(context);
+                changes = context.changes;
+                persist = context.persist;
+                return true;
+            } catch (Exception e) {
+                error = e;
+                return false;
+            }
+        }
+
+        private void completeVisible() {
+            if (error != null) {
+                ticket.visible().completeExceptionally(error);
+            } else {
+                ticket.visible().complete(result);
+            }
+        }
+
+        private void completeDurable(Exception persistError) {
+            if (error != null) {
+                ticket.durable().completeExceptionally(error);
+            } else if (persistError != null && persists()) {
+                ticket.durable().completeExceptionally(persistError);
+            } else {
+                ticket.durable().complete(result);
+            }
+        }
+
+        /**
+         * @return true si la mutation a des modifications à sauvegarder dans le fichier
+         */
+        private boolean persists() {
+            return persist && !changes.isEmpty();
+        }
+
+        private void fail(Throwable e) {
+            ticket.visible().completeExceptionally(e);
+            ticket.durable().completeExceptionally(e);
+        }
+    }
+}
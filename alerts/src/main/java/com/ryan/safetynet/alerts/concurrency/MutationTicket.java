@@ -0,0 +1,84 @@
+package com.ryan.safetynet.alerts.concurrency;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Suivi d'une mutation soumise au {@link MutationPipeline}.
+ * Deux étapes sont observables : {@link #visible()} est complété dès que la mutation
+ * est appliquée et publiée dans l'instantané de lecture, {@link #durable()} une fois
+ * le lot correspondant écrit sur disque. Une mutation rejetée (doublon, ressource absente)
+ * complète les deux futures avec la même exception.
+ *
+ * @param <T> type du résultat de la mutation
+ */
+public final class MutationTicket<T> {
+
+    private final CompletableFuture<T> visible = new CompletableFuture<>();
+    private final CompletableFuture<T> durable = new CompletableFuture<>();
+
+    MutationTicket() {
+    }
+
+    /**
+     * @return future complétée lorsque la mutation est visible des lecteurs
+     */
+    public CompletableFuture<T> visible() {
+        return visible;
+    }
+
+    /**
+     * @return future complétée lorsque la mutation est persistée
+     */
+    public CompletableFuture<T> durable() {
+        return durable;
+    }
+
+    /**
+     * Attend que la mutation soit visible.
+     *
+     * @return le résultat de la mutation
+     */
+    public T awaitVisible() {
+        return await(visible);
+    }
+
+    /**
+     * Attend que la mutation soit persistée, en relançant l'exception d'origine
+     * (et non l'enveloppe {@link CompletionException}) afin que les appelants
+     * conservent la même gestion d'erreur qu'avec un appel direct.
+     *
+     * @return le résultat de la mutation
+     * @throws IOException si l'écriture du fichier de données a échoué
+     */
+    public T awaitDurable() throws IOException {
+        try {
+            return durable.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw unwrap(e);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Échec de la mutation", cause);
+    }
+}
@@ -0,0 +1,358 @@
+package com.ryan.safetynet.alerts.concurrency;
+
+import com.ryan.safetynet.alerts.dto.LockStripeStatsDTO;
+import com.ryan.safetynet.alerts.utils.AddressCanonicalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Gestionnaire de verrous partitionnés (« striped ») pour l'accès concurrent aux données.
+ * Les données sont partitionnées par hachage de leur clé (adresse ou numéro de station) :
+ * une écriture ne verrouille que les partitions concernées, de sorte qu'une mise à jour
+ * de la station 4 ne bloque pas une requête /fire sur une adresse de la station 1.
+ *
+ * Les lectures utilisent d'abord une lecture optimiste {@link StampedLock} (sans blocage)
+ * puis, si une écriture concurrente a invalidé la lecture, se rabattent sur un verrou
+ * de lecture classique. Un verrou « de structure » supplémentaire protège les ajouts et
+ * suppressions dans les listes partagées, qui ne sont pas sûres en cas de modification
+ * concurrente ; il n'est pris en écriture que le temps de la modification structurelle.
+ * Une lecture sans clé (parcours complet des données) porte sur toutes les partitions, pour
+ * être invalidée aussi par les mises à jour sur place, qui ne prennent que leurs partitions.
+ * Une lecture imbriquée dans une autre lecture du même thread s'exécute directement : la lecture
+ * englobante, dont les clés doivent couvrir celles de la lecture imbriquée, la valide ou la rejoue.
+ * {@link StampedLock} n'étant pas réentrant, la lecture imbriquée ne reprend pas les verrous déjà détenus.
+ */
+@Slf4j
+@Component
+public class StripedLockManager {
+
+    /**
+     * Nombre de partitions par défaut.
+     */
+    public static final int DEFAULT_STRIPES = 64;
+
+    private final Stripe[] stripes;
+    private final Stripe structure = new Stripe(-1);
+    // Profondeur des lectures en cours sur le thread courant
+    private final ThreadLocal<int[]> readDepth = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Construit un gestionnaire avec le nombre de partitions par défaut.
+     */
+    public StripedLockManager() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Construit un gestionnaire avec le nombre de partitions configuré.
+     *
+     * @param stripeCount nombre de partitions (strictement positif)
+     */
+    @Autowired
+    public StripedLockManager(@Value("${concurrency.lock.stripes:" + DEFAULT_STRIPES + "}") int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Le nombre de partitions doit être strictement positif");
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(i);
+        }
+        log.debug("Gestionnaire de verrous initialisé avec {} partitions", stripeCount);
+    }
+
+    /**
+     * Construit la clé de partition associée à une adresse. La clé repose sur la forme
+     * canonique de l'adresse, pour que deux saisies d'une même adresse partagent la partition.
+     *
+     * @param address l'adresse
+     * @return la clé de partition
+     */
+    public static String addressKey(String address) {
+        return "address:" + AddressCanonicalizer.canonicalize(address);
+    }
+
+    /**
+     * Construit la clé de partition associée à un numéro de station.
+     *
+     * @param station le numéro de station
+     * @return la clé de partition
+     */
+    public static String stationKey(Object station) {
+        return "station:" + station;
+    }
+
+    /**
+     * Construit les clés de partition d'une requête de couverture : les stations demandées
+     * et les adresses qu'elles couvrent.
+     *
+     * @param stations numéros de stations
+     * @param addresses adresses couvertes
+     * @return la liste des clés
+     */
+    public static List<String> coverageKeys(Collection<?> stations, Collection<String> addresses) {
+        List<String> keys = new ArrayList<>(stations.size() + addresses.size());
+        stations.forEach(station -> keys.add(stationKey(station)));
+        addresses.forEach(address -> keys.add(addressKey(address)));
+        return keys;
+    }
+
+    /**
+     * Exécute une lecture sur les partitions correspondant aux clés données.
+     * La lecture est d'abord tentée de manière optimiste ; si une écriture a eu lieu
+     * pendant son exécution, elle est rejouée sous verrou de lecture.
+     * La fonction de lecture ne doit donc pas avoir d'effet de bord.
+     *
+     * @param keys clés des partitions lues (une liste vide désigne un parcours complet : toutes les partitions)
+     * @param reader la lecture à exécuter
+     * @return le résultat de la lecture
+     */
+    public <T> T read(Collection<String> keys, Supplier<T> reader) {
+        int[] depth = readDepth.get();
+        if (depth[0] > 0) {
+            return reader.get();
+        }
+        depth[0]++;
+        try {
+            return readOptimistic(keys, reader);
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    private <T> T readOptimistic(Collection<String> keys, Supplier<T> reader) {
+        Stripe[] targets = readStripesFor(keys);
+        long structureStamp = structure.lock.tryOptimisticRead();
+        long[] stamps = new long[targets.length];
+        boolean optimistic = structureStamp != 0;
+        for (int i = 0; i < targets.length && optimistic; i++) {
+            stamps[i] = targets[i].lock.tryOptimisticRead();
+            optimistic = stamps[i] != 0;
+        }
+
+        if (optimistic) {
+            try {
+                T result = reader.get();
+                if (validate(targets, stamps, structureStamp)) {
+                    record(targets, s -> s.optimisticReads.increment());
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // Une exception levée pendant une lecture invalidée peut provenir d'un état incohérent
+                if (validate(targets, stamps, structureStamp)) {
+                    record(targets, s -> s.optimisticReads.increment());
+                    throw e;
+                }
+            }
+        }
+
+        record(targets, s -> s.optimisticFailures.increment());
+        return lockedRead(keys, reader::get);
+    }
+
+    /**
+     * Exécute une action sous verrou de lecture pessimiste.
+     * À utiliser pour les lectures ayant des effets de bord (persistance, par exemple),
+     * qui ne peuvent pas être rejouées.
+     *
+     * @param keys clés des partitions lues (une liste vide désigne toutes les partitions)
+     * @param action l'action à exécuter
+     * @return le résultat de l'action
+     * @throws E l'exception éventuellement levée par l'action
+     */
+    public <T, E extends Exception> T readLocked(Collection<String> keys, LockedAction<T, E> action) throws E {
+        int[] depth = readDepth.get();
+        if (depth[0] > 0) {
+            return action.run();
+        }
+        depth[0]++;
+        try {
+            return lockedRead(keys, action);
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    private <T, E extends Exception> T lockedRead(Collection<String> keys, LockedAction<T, E> action) throws E {
+        Stripe[] targets = readStripesFor(keys);
+        long[] stamps = new long[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            stamps[i] = targets[i].lock.readLock();
+            targets[i].readLocks.increment();
+        }
+        long structureStamp = structure.lock.readLock();
+        structure.readLocks.increment();
+        try {
+            return action.run();
+        } finally {
+            structure.lock.unlockRead(structureStamp);
+            for (int i = targets.length - 1; i >= 0; i--) {
+                targets[i].lock.unlockRead(stamps[i]);
+            }
+        }
+    }
+
+    /**
+     * Exécute une écriture en verrouillant exclusivement les partitions correspondant aux clés.
+     * Les partitions sont toujours acquises dans le même ordre pour éviter les interblocages.
+     *
+     * @param keys clés des partitions modifiées
+     * @param structural true si l'écriture ajoute ou supprime des éléments des listes partagées
+     * @param action l'écriture à exécuter
+     * @return le résultat de l'écriture
+     * @throws E l'exception éventuellement levée par l'action
+     */
+    public <T, E extends Exception> T write(Collection<String> keys, boolean structural,
+                                            LockedAction<T, E> action) throws E {
+        Stripe[] targets = stripesFor(keys);
+        long[] stamps = new long[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            stamps[i] = targets[i].acquireWrite();
+        }
+        long structureStamp = structural ? structure.acquireWrite() : 0L;
+        try {
+            return action.run();
+        } finally {
+            if (structural) {
+                structure.lock.unlockWrite(structureStamp);
+            }
+            for (int i = targets.length - 1; i >= 0; i--) {
+                targets[i].lock.unlockWrite(stamps[i]);
+            }
+        }
+    }
+
+    /**
+     * Retourne le nombre de partitions.
+     *
+     * @return le nombre de partitions
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Retourne les métriques de contention de chaque partition.
+     * Le verrou de structure est rapporté avec l'index -1.
+     *
+     * @return la liste des métriques, une entrée par partition
+     */
+    public List<LockStripeStatsDTO> getStripeStats() {
+        List<LockStripeStatsDTO> stats = new ArrayList<>(stripes.length + 1);
+        stats.add(structure.toStats());
+        for (Stripe stripe : stripes) {
+            stats.add(stripe.toStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Détermine les partitions d'une lecture : un parcours complet, sans clé, doit être invalidé
+     * par toute écriture, y compris une mise à jour sur place qui ne prend pas le verrou de structure.
+     */
+    private Stripe[] readStripesFor(Collection<String> keys) {
+        return keys.isEmpty() ? stripes : stripesFor(keys);
+    }
+
+    /**
+     * Détermine les partitions distinctes correspondant aux clés, triées par index.
+     */
+    private Stripe[] stripesFor(Collection<String> keys) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (String key : keys) {
+            indexes.add(Math.floorMod(spread(key.hashCode()), stripes.length));
+        }
+        Stripe[] targets = new Stripe[indexes.size()];
+        int i = 0;
+        for (int index : indexes) {
+            targets[i++] = stripes[index];
+        }
+        return targets;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private boolean validate(Stripe[] targets, long[] stamps, long structureStamp) {
+        if (!structure.lock.validate(structureStamp)) {
+            return false;
+        }
+        for (int i = 0; i < targets.length; i++) {
+            if (!targets[i].lock.validate(stamps[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void record(Stripe[] targets, Consumer<Stripe> counter) {
+        counter.accept(structure);
+        for (Stripe stripe : targets) {
+            counter.accept(stripe);
+        }
+    }
+
+    /**
+     * Action exécutée sous verrou, pouvant lever une exception vérifiée.
+     *
+     * @param <T> type du résultat
+     * @param <E> type de l'exception
+     */
+    @FunctionalInterface
+    public interface LockedAction<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    /**
+     * Partition : un verrou et ses compteurs de contention.
+     */
+    private static final class Stripe {
+        private final int index;
+        private final StampedLock lock = new StampedLock();
+        private final LongAdder optimisticReads = new LongAdder();
+        private final LongAdder optimisticFailures = new LongAdder();
+        private final LongAdder readLocks = new LongAdder();
+        private final LongAdder writeLocks = new LongAdder();
+        private final LongAdder contendedWrites = new LongAdder();
+        private final LongAdder writeWaitNanos = new LongAdder();
+
+        private Stripe(int index) {
+            this.index = index;
+        }
+
+        private long acquireWrite() {
+            long stamp = lock.tryWriteLock();
+            if (stamp == 0L) {
+                contendedWrites.increment();
+                long start = System.nanoTime();
+                stamp = lock.writeLock();
+                writeWaitNanos.add(System.nanoTime() - start);
+            }
+            writeLocks.increment();
+            return stamp;
+        }
+
+        private LockStripeStatsDTO toStats() {
+            LockStripeStatsDTO dto = new LockStripeStatsDTO();
+            dto.setStripe(index);
+            dto.setOptimisticReads(optimisticReads.sum());
+            dto.setOptimisticFailures(optimisticFailures.sum());
+            dto.setReadLocks(readLocks.sum());
+            dto.setWriteLocks(writeLocks.sum());
+            dto.setContendedWrites(contendedWrites.sum());
+            dto.setWriteWaitNanos(writeWaitNanos.sum());
+            return dto;
+        }
+    }
+}
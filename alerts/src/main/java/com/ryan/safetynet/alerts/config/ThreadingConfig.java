@@ -0,0 +1,74 @@
+package com.ryan.safetynet.alerts.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Mode d'exécution des requêtes : threads de plateforme (par défaut) ou threads virtuels.
+ *
+ * Le mode virtuel s'active avec {@code spring.threads.virtual.enabled=true} et nécessite Java 21 :
+ * Tomcat traite alors chaque requête (et donc les services d'alerte) sur un thread virtuel.
+ * L'accès aux données ne bloque jamais un thread porteur : les verrous sont des
+ * {@link java.util.concurrent.locks.StampedLock} (aucun bloc {@code synchronized}) et
+ * l'écriture du fichier de données est effectuée par le thread d'écriture du pipeline
+ * de mutations, les requêtes se contentant d'attendre une {@code CompletableFuture}.
+ *
+ * En mode virtuel seulement, le nombre de connexions acceptées par Tomcat est relevé
+ * ({@code threads.virtual.max-connections}) : un thread par requête ne coûte alors presque rien.
+ * Le mode plateforme garde la limite de Tomcat, au-delà de laquelle son pool borné ferait
+ * seulement attendre les connexions.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    /**
+     * Relève le nombre maximal de connexions de Tomcat lorsque les requêtes sont traitées
+     * par des threads virtuels.
+     *
+     * @param maxConnections nombre maximal de connexions simultanées
+     * @return le customizer de la fabrique Tomcat
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadConnections(
+            @Value("${threads.virtual.max-connections:10000}") int maxConnections) {
+        // Appliqué après la configuration server.tomcat.* de Spring Boot, qui a un ordre inférieur
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            if (connector.getProtocolHandler() instanceof AbstractProtocol<?> protocol) {
+                protocol.setMaxConnections(maxConnections);
+            }
+        });
+    }
+
+    /**
+     * Journalise le mode d'exécution effectif au démarrage, et signale une demande
+     * de threads virtuels ignorée faute d'une JVM compatible.
+     *
+     * @param event l'événement de démarrage de l'application
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Requêtes exécutées sur des threads virtuels");
+        } else if (environment.getProperty(VIRTUAL_THREADS_PROPERTY, Boolean.class, false)) {
+            log.warn("Threads virtuels demandés mais indisponibles sur Java {} (Java 21 requis) : "
+                    + "utilisation du pool de threads de plateforme", Runtime.version().feature());
+        } else {
+            log.info("Requêtes exécutées sur le pool de threads de plateforme");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.ryan.safetynet.alerts.controller;
+
+import com.ryan.safetynet.alerts.dto.AddressSuggestionDTO;
+import com.ryan.safetynet.alerts.service.AddressService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller d'autocomplétion des adresses pour la saisie des opérateurs.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/address")
+public class AddressController {
+
+    /**
+     * Nombre maximal de suggestions.
+     */
+    static final int MAX_LIMIT = 50;
+
+    private final AddressService addressService;
+
+    /**
+     * Endpoint proposant les adresses connues commençant par le préfixe saisi.
+     *
+     * @param prefix début de l'adresse ou du nom de rue (paramètre obligatoire, non vide)
+     * @param limit nombre maximal de suggestions (entre 1 et {@value #MAX_LIMIT})
+     * @return les suggestions, éventuellement vides, classées par nombre de résidents
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<AddressSuggestionDTO>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("Requête d'autocomplétion reçue pour le préfixe : {}", prefix);
+
+        if (prefix.isBlank()) {
+            throw new IllegalArgumentException("Le préfixe de l'adresse ne peut pas être vide");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException(
+                String.format("Le nombre de suggestions doit être compris entre 1 et %d", MAX_LIMIT)
+            );
+        }
+
+        List<AddressSuggestionDTO> response = addressService.autocomplete(prefix, limit);
+        log.info("{} suggestions pour le préfixe : {}", response.size(), prefix);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,73 @@
+package com.ryan.safetynet.alerts.controller;
+
+import com.ryan.safetynet.alerts.dto.AggregateStatsDTO;
+import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
+import com.ryan.safetynet.alerts.service.AggregateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller des agrégats par station et par ville.
+ * Permet de consulter la composition de la population d'une zone (tranches d'âge, traitements
+ * et allergies les plus fréquents, taille des foyers) pour préparer une intervention.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/stats")
+public class AggregateController {
+
+    private final AggregateService aggregateService;
+
+    /**
+     * Endpoint des agrégats des résidents couverts par une station.
+     *
+     * @param stationNumber numéro de la station
+     * @return les agrégats de la station
+     */
+    @GetMapping("/station")
+    public ResponseEntity<AggregateStatsDTO> getStationStats(@RequestParam int stationNumber) {
+        log.info("Requête d'agrégats reçue pour la station : {}", stationNumber);
+
+        AggregateStatsDTO response = aggregateService.getStationStats(stationNumber);
+        if (response == null) {
+            log.info("Aucun résident couvert par la station : {}", stationNumber);
+            throw new ResourceNotFoundException(
+                String.format("La station %d ne couvre aucun résident", stationNumber)
+            );
+        }
+
+        log.info("Agrégats de la station {} : {} résidents", stationNumber, response.getResidents());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint des agrégats des résidents d'une ville.
+     *
+     * @param city nom de la ville (paramètre obligatoire, non vide)
+     * @return les agrégats de la ville
+     */
+    @GetMapping("/city")
+    public ResponseEntity<AggregateStatsDTO> getCityStats(@RequestParam String city) {
+        log.info("Requête d'agrégats reçue pour la ville : {}", city);
+
+        if (city.isBlank()) {
+            throw new IllegalArgumentException("Le nom de la ville ne peut pas être vide");
+        }
+        AggregateStatsDTO response = aggregateService.getCityStats(city);
+        if (response == null) {
+            log.info("Aucun résident dans la ville : {}", city);
+            throw new ResourceNotFoundException(
+                String.format("Aucun résident n'habite la ville %s", city)
+            );
+        }
+
+        log.info("Agrégats de la ville {} : {} résidents", city, response.getResidents());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ryan.safetynet.alerts.controller;
+
+import com.ryan.safetynet.alerts.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Controller du flux des modifications (Server-Sent Events).
+ * Remplace l'interrogation périodique de /firestation et /fire par les consoles de régulation.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/changes")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    /**
+     * Ouvre un abonnement aux modifications des résidents, dossiers médicaux et mappings
+     * des stations et adresses données.
+     *
+     * @param stations numéros de stations suivis
+     * @param addresses adresses suivies
+     * @return l'émetteur SSE de l'abonnement
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(name = "station", required = false) List<String> stations,
+                                @RequestParam(name = "address", required = false) List<String> addresses) {
+        List<String> stationList = stations == null ? List.of() : stations;
+        List<String> addressList = addresses == null ? List.of() : addresses;
+        if (stationList.isEmpty() && addressList.isEmpty()) {
+            throw new IllegalArgumentException("Au moins une station ou une adresse doit être indiquée");
+        }
+        log.info("Requête GET /changes pour les stations {} et les adresses {}", stationList, addressList);
+        return changeFeedService.subscribe(stationList, addressList);
+    }
+}
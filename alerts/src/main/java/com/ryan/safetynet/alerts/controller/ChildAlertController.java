@@ -1,5 +1,6 @@
 package com.ryan.safetynet.alerts.controller;
 
+import com.ryan.safetynet.alerts.dto.AddressChildAlertDTO;
 import com.ryan.safetynet.alerts.dto.ChildAlertDTO;
 import com.ryan.safetynet.alerts.service.ChildAlertService;
 import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
@@ -8,10 +9,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controller gérant les alertes liées aux enfants.
  * Expose l'endpoint /childAlert qui permet de récupérer la liste des enfants
- * et des autres membres du foyer à une adresse donnée.
+ * et des autres membres du foyer à une adresse donnée, ainsi que /childAlert/station
+ * qui énumère les foyers avec enfants couverts par une station.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -52,4 +56,20 @@ public class ChildAlertController {
         
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Endpoint pour récupérer les foyers avec enfants couverts par une station.
+     *
+     * @param stationNumber Le numéro de la station
+     * @return ResponseEntity contenant la liste des foyers, vide si aucun enfant n'est couvert
+     */
+    @GetMapping("/station")
+    public ResponseEntity<List<AddressChildAlertDTO>> getChildrenByStation(@RequestParam int stationNumber) {
+        log.info("Requête reçue pour les foyers avec enfants de la station: {}", stationNumber);
+
+        List<AddressChildAlertDTO> response = childAlertService.getChildrenByStation(stationNumber);
+
+        log.info("Trouvé {} foyers avec enfants pour la station {}", response.size(), stationNumber);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -7,6 +7,7 @@ import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,6 +32,13 @@ public class FireAlertController {
     public ResponseEntity<?> getResidentsByAddress(@RequestParam String address) {
         log.info("Requête GET /fire avec adresse : {}", address);
         try {
+            // Fiche précalculée : une recherche par adresse et l'écriture des octets déjà encodés
+            byte[] card = fireAlertService.getFireCard(address);
+            if (card != null) {
+                log.info("Fiche précalculée envoyée pour l'adresse : {}", address);
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(card);
+            }
+
             FireAlertDTO response = fireAlertService.getPersonsAndFireStationByAddress(address);
 
             if (response.getResidents().isEmpty()) {
@@ -101,6 +101,12 @@ public class FireStationController {
             FireStation createdFireStation = fireStationService.addFireStation(fireStation);
             log.info("Mapping caserne/adresse créé avec succès");
             return new ResponseEntity<>(createdFireStation, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            // Mapping ajouté par une requête concurrente entre la vérification et l'écriture
+            log.warn(e.getMessage());
+            return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(HttpStatus.CONFLICT.value(), e.getMessage(), null));
         } catch (IOException e) {
             log.error("Erreur lors de la création du mapping caserne/adresse", e);
             return ResponseEntity
@@ -0,0 +1,64 @@
+package com.ryan.safetynet.alerts.controller;
+
+import com.ryan.safetynet.alerts.dto.AddressInfoDTO;
+import com.ryan.safetynet.alerts.service.MedicalQueryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller de recherche des résidents par médicament ou allergie.
+ * Utilisé lors des incidents chimiques ou à nombreuses victimes pour savoir qui, dans la zone
+ * d'une station ou à une adresse, prend un médicament donné ou présente une allergie donnée.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/medical")
+public class MedicalQueryController {
+
+    private final MedicalQueryService medicalQueryService;
+
+    /**
+     * Endpoint de recherche des résidents par critère médical, limitée à une zone.
+     *
+     * @param medication médicament recherché (la posologie est ignorée)
+     * @param allergy allergie recherchée
+     * @param stations numéros des stations dont la zone est interrogée
+     * @param address adresse interrogée, si aucune station n'est donnée
+     * @return les résidents concernés regroupés par adresse (liste vide si aucun)
+     */
+    @GetMapping("/residents")
+    public ResponseEntity<List<AddressInfoDTO>> findResidents(
+            @RequestParam(required = false) String medication,
+            @RequestParam(required = false) String allergy,
+            @RequestParam(required = false) List<Integer> stations,
+            @RequestParam(required = false) String address) {
+        log.info("Requête reçue : médicament {}, allergie {}, stations {}, adresse {}",
+                medication, allergy, stations, address);
+
+        if (isBlank(medication) && isBlank(allergy)) {
+            throw new IllegalArgumentException("Un médicament ou une allergie doit être indiqué");
+        }
+        if ((stations == null || stations.isEmpty()) && isBlank(address)) {
+            throw new IllegalArgumentException("Des stations ou une adresse doivent être indiquées");
+        }
+
+        List<AddressInfoDTO> response = medicalQueryService.findResidents(
+                isBlank(medication) ? null : medication,
+                isBlank(allergy) ? null : allergy,
+                stations, address);
+        log.info("{} adresses avec des résidents concernés", response.size());
+        return ResponseEntity.ok(response);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
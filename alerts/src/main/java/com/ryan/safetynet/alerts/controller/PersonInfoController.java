@@ -1,6 +1,7 @@
 package com.ryan.safetynet.alerts.controller;
 
 import com.ryan.safetynet.alerts.dto.PersonInfoDTO;
+import com.ryan.safetynet.alerts.dto.PersonSearchResultDTO;
 import com.ryan.safetynet.alerts.service.PersonInfoService;
 import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +20,11 @@ import java.util.List;
 @RequestMapping("/personInfo")
 public class PersonInfoController {
 
+    /**
+     * Nombre maximal de candidats d'une recherche approchée.
+     */
+    static final int MAX_SEARCH_LIMIT = 100;
+
     private final PersonInfoService personInfoService;
 
     /**
@@ -69,4 +75,38 @@ public class PersonInfoController {
         log.info("{} personnes trouvées avec le nom de famille : {}", response.size(), lastName);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Endpoint de recherche approchée, tolérant les fautes d'orthographe sur le prénom et le nom.
+     *
+     * @param firstName prénom approximatif
+     * @param lastName nom de famille approximatif
+     * @param limit nombre maximal de candidats (entre 1 et {@value #MAX_SEARCH_LIMIT})
+     * @return les candidats classés du plus proche au plus éloigné
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<PersonSearchResultDTO>> searchPersons(
+            @RequestParam String firstName,
+            @RequestParam String lastName,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("Requête de recherche approchée reçue pour : {} {}", firstName, lastName);
+
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException(
+                String.format("Le nombre de résultats doit être compris entre 1 et %d", MAX_SEARCH_LIMIT)
+            );
+        }
+
+        List<PersonSearchResultDTO> response = personInfoService.searchPersons(firstName, lastName, limit);
+
+        if (response.isEmpty()) {
+            log.info("Aucun candidat trouvé pour : {} {}", firstName, lastName);
+            throw new ResourceNotFoundException(
+                String.format("Aucune personne proche de %s %s n'existe dans le système", firstName, lastName)
+            );
+        }
+
+        log.info("{} candidats trouvés pour : {} {}", response.size(), firstName, lastName);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -1,15 +1,22 @@
 package com.ryan.safetynet.alerts.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ryan.safetynet.alerts.dto.PhoneAlertDTO;
 import com.ryan.safetynet.alerts.service.PhoneAlertService;
+import com.ryan.safetynet.alerts.utils.PhoneNumbers;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -23,13 +30,21 @@ import java.util.List;
 @RequestMapping("/phoneAlert")
 public class PhoneAlertController {
 
+    private static final byte[] PREFIX = "{\"phoneNumbers\":[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SUFFIX = "]}".getBytes(StandardCharsets.US_ASCII);
+    // Chaque numéro occupe sa longueur formatée, ses deux guillemets et une virgule
+    private static final int ENTRY_LENGTH = PhoneNumbers.FORMATTED_LENGTH + 3;
+    // Numéros formatés entre deux écritures dans le flux de la réponse
+    private static final int BUFFER_ENTRIES = 64;
+
     private final PhoneAlertService phoneAlertService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Endpoint pour récupérer la liste des numéros de téléphone couverts par une caserne donnée.
      *
      * @param firestation Le numéro de la station de pompiers (obligatoire).
-     * @return ResponseEntity contenant la liste des numéros de téléphone (PhoneAlertDTO).
+     * @return ResponseEntity contenant la liste des numéros de téléphone (PhoneAlertDTO), dans l'ordre numérique.
      */
     @GetMapping
     public ResponseEntity<PhoneAlertDTO> getPhoneNumbersByStation(@RequestParam int firestation) {
@@ -49,4 +64,56 @@ public class PhoneAlertController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Variante de /phoneAlert qui écrit la réponse directement à partir des numéros codés de l'index,
+     * sans construire ni chaînes ni DTO : les numéros sont formatés par paquets dans un petit tampon
+     * réutilisé, écrit dans le flux de la réponse à chaque remplissage, quel que soit le nombre de numéros.
+     * Le contenu est identique à celui de /phoneAlert, les numéros étant triés.
+     * Tant que l'index n'est pas disponible, la réponse est sérialisée comme sur /phoneAlert.
+     *
+     * @param firestation Le numéro de la station de pompiers (obligatoire).
+     * @param response la réponse HTTP dans laquelle écrire
+     * @throws IOException si l'écriture de la réponse échoue
+     */
+    @GetMapping("/stream")
+    public void streamPhoneNumbersByStation(@RequestParam int firestation, HttpServletResponse response)
+            throws IOException {
+        log.debug("Requête reçue (écriture directe) pour les numéros couverts par la station : {}", firestation);
+
+        long[] codes = phoneAlertService.getPhoneCodesByStation(firestation);
+        if (codes == null) {
+            ResponseEntity<PhoneAlertDTO> fallback = getPhoneNumbersByStation(firestation);
+            if (fallback.getBody() != null) {
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), fallback.getBody());
+            }
+            return;
+        }
+        if (codes.length == 0) {
+            log.info("Aucun numéro de téléphone trouvé pour la station : {}", firestation);
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(PREFIX.length + codes.length * ENTRY_LENGTH - 1 + SUFFIX.length);
+        OutputStream out = response.getOutputStream();
+        out.write(PREFIX);
+        byte[] buffer = new byte[Math.min(codes.length, BUFFER_ENTRIES) * ENTRY_LENGTH];
+        int offset = 0;
+        for (int i = 0; i < codes.length; i++) {
+            if (offset + ENTRY_LENGTH > buffer.length) {
+                out.write(buffer, 0, offset);
+                offset = 0;
+            }
+            if (i > 0) {
+                buffer[offset++] = ',';
+            }
+            buffer[offset++] = '"';
+            offset = PhoneNumbers.format(codes[i], buffer, offset);
+            buffer[offset++] = '"';
+        }
+        out.write(buffer, 0, offset);
+        out.write(SUFFIX);
+    }
 }
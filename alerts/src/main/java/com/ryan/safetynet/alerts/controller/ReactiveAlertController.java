@@ -0,0 +1,144 @@
+package com.ryan.safetynet.alerts.controller;
+
+import com.ryan.safetynet.alerts.dto.AddressInfoDTO;
+import com.ryan.safetynet.alerts.dto.ChildDTO;
+import com.ryan.safetynet.alerts.dto.CommunityEmailDTO;
+import com.ryan.safetynet.alerts.dto.PersonInfoDTO;
+import com.ryan.safetynet.alerts.dto.PersonWithMedicalInfoDTO;
+import com.ryan.safetynet.alerts.dto.PhoneAlertDTO;
+import com.ryan.safetynet.alerts.service.ReactiveAlertService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Variante en flux des endpoints d'alerte en lecture seule.
+ * Les réponses sont émises au format NDJSON (un objet JSON par ligne) : Spring MVC écrit
+ * chaque élément dès qu'il est produit et ne demande le suivant qu'une fois l'écriture
+ * terminée, si bien qu'un client lent ralentit la production au lieu de retenir un thread
+ * de traitement et la totalité de la réponse en mémoire.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/reactive", produces = MediaType.APPLICATION_NDJSON_VALUE)
+public class ReactiveAlertController {
+
+    /**
+     * En-tête portant le numéro de la caserne couvrant l'adresse de /reactive/fire.
+     */
+    public static final String FIRE_STATION_HEADER = "X-Fire-Station-Number";
+
+    private final ReactiveAlertService reactiveAlertService;
+
+    /**
+     * Flux des résidents d'une adresse avec leurs informations médicales.
+     * Le numéro de caserne est renvoyé dans l'en-tête {@value #FIRE_STATION_HEADER}.
+     *
+     * @param address l'adresse à vérifier
+     * @return le flux des résidents
+     */
+    @GetMapping("/fire")
+    public ResponseEntity<Flux<PersonWithMedicalInfoDTO>> getResidentsByAddress(@RequestParam String address) {
+        log.info("Requête GET /reactive/fire avec adresse : {}", address);
+        ReactiveAlertService.FireResidents fire = reactiveAlertService.getFireResidents(address);
+        return ResponseEntity.ok()
+                .header(FIRE_STATION_HEADER, fire.station())
+                .body(fire.residents());
+    }
+
+    /**
+     * Flux des foyers couverts par les casernes, une adresse par élément.
+     *
+     * @param stations numéros de station séparés par des virgules
+     * @return le flux des foyers
+     */
+    @GetMapping("/flood/stations")
+    public Flux<AddressInfoDTO> getHouseholdsByStations(@RequestParam String stations) {
+        List<Integer> stationNumbers;
+        try {
+            stationNumbers = Arrays.stream(stations.split(","))
+                    .map(String::trim)
+                    .map(Integer::valueOf)
+                    .collect(Collectors.toList());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Format de station invalide. Les stations doivent être des nombres.");
+        }
+        log.info("Requête GET /reactive/flood/stations pour les stations : {}", stationNumbers);
+        return reactiveAlertService.getHouseholdsByStations(stationNumbers);
+    }
+
+    /**
+     * Flux des enfants vivant à une adresse.
+     *
+     * @param address l'adresse à vérifier
+     * @return le flux des enfants
+     */
+    @GetMapping("/childAlert")
+    public Flux<ChildDTO> getChildrenAtAddress(@RequestParam String address) {
+        if (address == null || address.trim().isEmpty()) {
+            throw new IllegalArgumentException("L'adresse ne peut pas être vide");
+        }
+        log.info("Requête GET /reactive/childAlert avec adresse : {}", address);
+        return reactiveAlertService.getChildrenAtAddress(address);
+    }
+
+    /**
+     * Flux des numéros de téléphone des habitants couverts par une caserne, par paquets.
+     *
+     * @param firestation le numéro de la caserne
+     * @return le flux des paquets de numéros de téléphone
+     */
+    @GetMapping("/phoneAlert")
+    public Flux<PhoneAlertDTO> getPhoneNumbersByStation(@RequestParam int firestation) {
+        log.info("Requête GET /reactive/phoneAlert pour la caserne : {}", firestation);
+        return reactiveAlertService.getPhoneNumbersByStation(firestation);
+    }
+
+    /**
+     * Flux des adresses email des habitants d'une ville, par paquets.
+     *
+     * @param city la ville
+     * @return le flux des paquets d'adresses email
+     */
+    @GetMapping("/communityEmail")
+    public Flux<CommunityEmailDTO> getEmailsByCity(@RequestParam String city) {
+        log.info("Requête GET /reactive/communityEmail pour la ville : {}", city);
+        return reactiveAlertService.getEmailsByCity(city);
+    }
+
+    /**
+     * Flux contenant les informations d'une personne.
+     *
+     * @param firstName prénom
+     * @param lastName nom de famille
+     * @return le flux contenant au plus une personne
+     */
+    @GetMapping("/personInfo")
+    public Flux<PersonInfoDTO> getPersonInfo(@RequestParam String firstName, @RequestParam String lastName) {
+        log.info("Requête GET /reactive/personInfo pour {} {}", firstName, lastName);
+        return reactiveAlertService.getPersonInfo(firstName, lastName);
+    }
+
+    /**
+     * Flux des informations des personnes portant un nom de famille.
+     *
+     * @param lastName nom de famille
+     * @return le flux des personnes
+     */
+    @GetMapping("/personInfo/byLastName")
+    public Flux<PersonInfoDTO> getPersonsByLastName(@RequestParam String lastName) {
+        log.info("Requête GET /reactive/personInfo/byLastName pour {}", lastName);
+        return reactiveAlertService.getPersonsByLastName(lastName);
+    }
+}
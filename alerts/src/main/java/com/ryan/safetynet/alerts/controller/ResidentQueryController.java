@@ -0,0 +1,65 @@
+package com.ryan.safetynet.alerts.controller;
+
+import com.ryan.safetynet.alerts.dto.ResidentQueryResultDTO;
+import com.ryan.safetynet.alerts.service.ResidentQueryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller des requêtes filtrées sur les résidents.
+ * Permet de poser une question combinant plusieurs critères (par exemple, les enfants de moins
+ * de 5 ans de la station 3 à Culver) sans endpoint dédié. La réponse détaille le plan suivi
+ * et son coût estimé.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/query")
+public class ResidentQueryController {
+
+    private final ResidentQueryService residentQueryService;
+
+    /**
+     * Endpoint de recherche des résidents par critères combinés (ET logique).
+     *
+     * @param stations numéros des stations dont la zone est interrogée
+     * @param address adresse
+     * @param city ville
+     * @param zip code postal
+     * @param minAge âge minimal inclus
+     * @param maxAge âge maximal inclus
+     * @param medication médicament (la posologie est ignorée)
+     * @param allergy allergie
+     * @return le plan, son coût estimé et les résidents retenus
+     */
+    @GetMapping("/residents")
+    public ResponseEntity<ResidentQueryResultDTO> queryResidents(
+            @RequestParam(required = false) List<Integer> stations,
+            @RequestParam(required = false) String address,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String zip,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String medication,
+            @RequestParam(required = false) String allergy) {
+        ResidentQueryService.Criteria criteria = new ResidentQueryService.Criteria(stations,
+                blankToNull(address), blankToNull(city), blankToNull(zip), minAge, maxAge,
+                blankToNull(medication), blankToNull(allergy));
+        log.info("Requête filtrée reçue : {}", criteria);
+
+        ResidentQueryResultDTO response = residentQueryService.query(criteria);
+        log.info("{} résidents retenus", response.getResidents().size());
+        return ResponseEntity.ok(response);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
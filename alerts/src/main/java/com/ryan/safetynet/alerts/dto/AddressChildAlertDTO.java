@@ -0,0 +1,21 @@
+package com.ryan.safetynet.alerts.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * DTO représentant un foyer avec enfants couvert par une station.
+ * Utilisé pour l'endpoint /childAlert/station?stationNumber=X qui énumère les adresses
+ * de la station où vivent des enfants, avec les enfants et les autres membres du foyer.
+ */
+@Getter
+@Setter
+@ToString
+public class AddressChildAlertDTO {
+    private String address;
+    private List<ChildDTO> children;
+    private List<HouseholdMemberDTO> householdMembers;
+}
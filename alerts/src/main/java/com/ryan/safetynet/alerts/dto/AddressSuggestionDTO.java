@@ -0,0 +1,22 @@
+package com.ryan.safetynet.alerts.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * DTO représentant une adresse proposée par l'autocomplétion.
+ * Utilisé pour l'endpoint /address/autocomplete qui aide les opérateurs à compléter
+ * une adresse partiellement saisie avant d'interroger /fire ou /childAlert.
+ * Les suggestions sont classées par nombre de résidents.
+ */
+@Getter
+@Setter
+@ToString
+public class AddressSuggestionDTO {
+    private String address;
+    private int residentCount;
+    private List<String> stations;
+}
@@ -0,0 +1,28 @@
+package com.ryan.safetynet.alerts.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO représentant les agrégats des résidents d'une station ou d'une ville.
+ * Utilisé par les endpoints /stats pour exposer le nombre de résidents, leur répartition par
+ * tranche d'âge, les médicaments et allergies les plus fréquents et la taille des foyers.
+ */
+@Getter
+@Setter
+@ToString
+public class AggregateStatsDTO {
+    private String scope;
+    private String name;
+    private int residents;
+    private int withoutMedicalRecord;
+    private Map<String, Integer> ageBuckets;
+    private List<TermCountDTO> topMedications;
+    private List<TermCountDTO> topAllergies;
+    private int households;
+    private Map<Integer, Integer> householdSizes;
+}
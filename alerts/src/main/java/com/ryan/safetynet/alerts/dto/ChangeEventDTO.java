@@ -0,0 +1,25 @@
+package com.ryan.safetynet.alerts.dto;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * DTO représentant une modification diffusée sur le flux /changes.
+ * Plusieurs modifications successives d'une même entité, non encore envoyées
+ * à un abonné, sont fusionnées en un seul événement : {@code before} est l'état
+ * connu du client, {@code after} le dernier état, {@code coalesced} le nombre
+ * de modifications fusionnées.
+ */
+@Getter
+@Setter
+@ToString
+public class ChangeEventDTO {
+    private long sequence;
+    private DataChange.Entity entity;
+    private DataChange.Type type;
+    private Object before;
+    private Object after;
+    private int coalesced;
+}
@@ -0,0 +1,26 @@
+package com.ryan.safetynet.alerts.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * DTO représentant les métriques du filtre de Bloom d'une entité.
+ * Utilisé par l'endpoint d'administration /actuator/existence pour suivre
+ * la part des recherches écartées par le filtre et son taux de faux positifs.
+ */
+@Getter
+@Setter
+@ToString
+public class ExistenceFilterStatsDTO {
+    private String entity;
+    private int keys;
+    private int capacity;
+    private int bits;
+    private int hashFunctions;
+    private long lookups;
+    private long filteredLookups;
+    private long falsePositives;
+    private double falsePositiveRate;
+    private double expectedFalsePositiveRate;
+}
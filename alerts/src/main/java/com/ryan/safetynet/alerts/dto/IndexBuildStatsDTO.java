@@ -0,0 +1,19 @@
+package com.ryan.safetynet.alerts.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * DTO représentant l'état de construction d'un index en mémoire.
+ * Utilisé par l'indicateur de santé des index (/actuator/health) pour exposer,
+ * pour chaque index, s'il est prêt et la durée de sa dernière construction.
+ */
+@Getter
+@Setter
+@ToString
+public class IndexBuildStatsDTO {
+    private String name;
+    private boolean ready;
+    private Long buildMillis;
+}
@@ -0,0 +1,23 @@
+package com.ryan.safetynet.alerts.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * DTO représentant les métriques de contention d'une partition de verrous.
+ * Utilisé par l'endpoint d'administration /actuator/locks pour suivre
+ * les lectures optimistes invalidées et l'attente des écritures par partition.
+ */
+@Getter
+@Setter
+@ToString
+public class LockStripeStatsDTO {
+    private int stripe;
+    private long optimisticReads;
+    private long optimisticFailures;
+    private long readLocks;
+    private long writeLocks;
+    private long contendedWrites;
+    private long writeWaitNanos;
+}
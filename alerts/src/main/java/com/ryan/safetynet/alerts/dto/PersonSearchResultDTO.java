@@ -0,0 +1,23 @@
+package com.ryan.safetynet.alerts.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * DTO représentant un résident candidat à une recherche approchée par nom.
+ * Utilisé pour l'endpoint /personInfo/search qui tolère les fautes de frappe : chaque
+ * candidat porte sa distance d'édition au nom recherché et indique s'il se prononce
+ * de la même manière. Le nom exact permet ensuite d'interroger /personInfo.
+ */
+@Getter
+@Setter
+@ToString
+public class PersonSearchResultDTO {
+    private String firstName;
+    private String lastName;
+    private String address;
+    private String city;
+    private int distance;
+    private boolean phoneticMatch;
+}
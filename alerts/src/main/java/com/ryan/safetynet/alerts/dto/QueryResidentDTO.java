@@ -0,0 +1,29 @@
+package com.ryan.safetynet.alerts.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * DTO représentant un résident retourné par une requête filtrée.
+ * Utilisé par l'endpoint /query/residents. L'âge, les médicaments et les allergies sont absents
+ * (null) pour un résident sans dossier médical ; la caserne est celle du premier mapping de l'adresse.
+ */
+@Getter
+@Setter
+@ToString
+public class QueryResidentDTO {
+    private String firstName;
+    private String lastName;
+    private String address;
+    private String city;
+    private String zip;
+    private String phone;
+    private String email;
+    private String station;
+    private Integer age;
+    private List<String> medications;
+    private List<String> allergies;
+}
@@ -0,0 +1,21 @@
+package com.ryan.safetynet.alerts.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * DTO représentant une étape du plan d'une requête filtrée sur les résidents.
+ * Utilisé par l'endpoint /query/residents pour exposer, pour chaque prédicat, le mode d'accès
+ * retenu par le planificateur (index, intersection, filtre ou parcours), le nombre de lignes
+ * estimé en sortie de l'étape et son coût estimé.
+ */
+@Getter
+@Setter
+@ToString
+public class QueryStepDTO {
+    private String predicate;
+    private String access;
+    private long estimatedRows;
+    private long estimatedCost;
+}
@@ -0,0 +1,22 @@
+package com.ryan.safetynet.alerts.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * DTO représentant le résultat d'une requête filtrée sur les résidents.
+ * Utilisé par l'endpoint /query/residents : le plan choisi et son coût estimé, le nombre de
+ * résidents réellement examinés par les filtres, puis les résidents retenus.
+ */
+@Getter
+@Setter
+@ToString
+public class ResidentQueryResultDTO {
+    private List<QueryStepDTO> plan;
+    private long estimatedCost;
+    private int examined;
+    private List<QueryResidentDTO> residents;
+}
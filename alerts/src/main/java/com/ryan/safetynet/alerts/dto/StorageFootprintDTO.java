@@ -0,0 +1,24 @@
+package com.ryan.safetynet.alerts.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * DTO comparant l'empreinte mémoire estimée du modèle objet (personnes et dossiers médicaux),
+ * avec et sans dédoublonnage des chaînes, à celle du stockage en colonnes (sur le tas et hors tas).
+ * Utilisé par l'endpoint d'administration /actuator/storage.
+ */
+@Getter
+@Setter
+@ToString
+public class StorageFootprintDTO {
+    private int persons;
+    private int medicalRecords;
+    private long objectModelBytes;
+    private long unpooledObjectModelBytes;
+    private int pooledStrings;
+    private long columnarBytes;
+    private long offHeapBytes;
+    private double columnarRatio;
+}
@@ -0,0 +1,17 @@
+package com.ryan.safetynet.alerts.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * DTO représentant un médicament ou une allergie et le nombre de résidents concernés.
+ * Utilisé par les endpoints /stats pour les termes les plus fréquents d'une station ou d'une ville.
+ */
+@Getter
+@Setter
+@ToString
+public class TermCountDTO {
+    private String term;
+    private int count;
+}
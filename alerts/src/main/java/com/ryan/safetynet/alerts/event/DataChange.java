@@ -0,0 +1,91 @@
+package com.ryan.safetynet.alerts.event;
+
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import lombok.Getter;
+
+/**
+ * Événement décrivant une modification appliquée aux données par le pipeline de mutations.
+ * Chaque événement porte l'état de l'entité avant et après la modification :
+ * {@code before} est null pour un ajout, {@code after} est null pour une suppression.
+ * Les entités sont remplacées et non modifiées sur place, ce qui garantit que
+ * {@code before} reste inchangé après la publication de l'événement.
+ */
+@Getter
+public class DataChange {
+
+    /**
+     * Type d'entité modifiée.
+     */
+    public enum Entity {
+        PERSON, MEDICAL_RECORD, FIRE_STATION
+    }
+
+    /**
+     * Nature de la modification.
+     */
+    public enum Type {
+        ADDED, UPDATED, REMOVED
+    }
+
+    private final Entity entity;
+    private final Type type;
+    private final Object before;
+    private final Object after;
+
+    private DataChange(Type type, Object before, Object after) {
+        this.type = type;
+        this.before = before;
+        this.after = after;
+        this.entity = entityOf(after != null ? after : before);
+    }
+
+    /**
+     * @param after l'entité ajoutée
+     * @return l'événement d'ajout
+     */
+    public static DataChange added(Object after) {
+        return new DataChange(Type.ADDED, null, after);
+    }
+
+    /**
+     * @param before l'entité avant modification
+     * @param after l'entité après modification
+     * @return l'événement de mise à jour
+     */
+    public static DataChange updated(Object before, Object after) {
+        return new DataChange(Type.UPDATED, before, after);
+    }
+
+    /**
+     * @param before l'entité supprimée
+     * @return l'événement de suppression
+     */
+    public static DataChange removed(Object before) {
+        return new DataChange(Type.REMOVED, before, null);
+    }
+
+    private static Entity entityOf(Object value) {
+        if (value instanceof Person) {
+            return Entity.PERSON;
+        }
+        if (value instanceof MedicalRecord) {
+            return Entity.MEDICAL_RECORD;
+        }
+        if (value instanceof FireStation) {
+            return Entity.FIRE_STATION;
+        }
+        throw new IllegalArgumentException("Type d'entité non supporté : " + value);
+    }
+
+    @Override
+    public String toString() {
+        return "DataChange{" +
+                "entity=" + entity +
+                ", type=" + type +
+                ", before=" + before +
+                ", after=" + after +
+                '}';
+    }
+}
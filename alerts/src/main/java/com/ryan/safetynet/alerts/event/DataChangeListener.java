@@ -0,0 +1,28 @@
+package com.ryan.safetynet.alerts.event;
+
+import java.util.List;
+
+/**
+ * Composant notifié des modifications appliquées par le pipeline de mutations.
+ * Les notifications sont émises sur le thread d'écriture, après l'application d'un lot
+ * et avant la publication du nouvel instantané : les index maintenus par un listener
+ * sont donc à jour lorsque les appelants sont notifiés de la visibilité de leur mutation.
+ * Une implémentation ne doit ni bloquer ni soumettre de nouvelle mutation.
+ */
+public interface DataChangeListener {
+
+    /**
+     * @param changes les modifications du lot, dans l'ordre d'application
+     */
+    void onDataChanged(List<DataChange> changes);
+
+    /**
+     * Notifié sur le thread d'écriture dès qu'une mutation est appliquée, sans attendre la fin de son lot.
+     * Réservé aux index consultés par les mutations elles-mêmes (détection des doublons, par exemple),
+     * qui doivent refléter les mutations précédentes du même lot. Ne fait rien par défaut.
+     *
+     * @param changes les modifications de la mutation, dans l'ordre d'application
+     */
+    default void onMutationApplied(List<DataChange> changes) {
+    }
+}
@@ -170,4 +170,19 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage(), null));
     }
 
-}
\ No newline at end of file
+    /**
+     * Gère le rejet d'une mutation lorsque la file d'écriture est saturée.
+     *
+     * @param ex l'exception de rejet
+     * @return une réponse HTTP 503 (Service Unavailable) invitant le client à réessayer
+     */
+    @ExceptionHandler(MutationRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<ErrorResponse> handleMutationRejectedException(MutationRejectedException ex) {
+        log.warn("Mutation rejetée: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage(), null));
+    }
+
+}
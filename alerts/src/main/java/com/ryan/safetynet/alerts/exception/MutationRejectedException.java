@@ -0,0 +1,11 @@
+package com.ryan.safetynet.alerts.exception;
+
+/**
+ * Exception levée lorsque la file des mutations est pleine.
+ * Le client peut réessayer ultérieurement (HTTP 503).
+ */
+public class MutationRejectedException extends RuntimeException {
+    public MutationRejectedException(int capacity) {
+        super(String.format("La file des mutations est pleine (%d en attente), veuillez réessayer", capacity));
+    }
+}
@@ -0,0 +1,117 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.utils.AddressCanonicalizer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dictionnaire attribuant un identifiant entier compact à chaque adresse canonique.
+ * Les jointures entre personnes et mappings de stations comparent ces identifiants plutôt
+ * que les chaînes : deux adresses saisies différemment (« 1509 Culver St » et
+ * « 1509 culver street ») reçoivent le même identifiant.
+ *
+ * Chaque chaîne d'adresse rencontrée est associée à son identifiant : les entités conservant
+ * la même instance de chaîne, la recherche de l'identifiant d'une adresse d'entité se réduit
+ * à une recherche dans une table de hachage, sans recalcul de la forme canonique.
+ * Les adresses des données sont enregistrées au chargement puis à chaque modification ;
+ * le dictionnaire ne fait que croître et un identifiant n'est jamais réattribué.
+ */
+@Component
+public class AddressDictionary implements DataIndex {
+
+    /**
+     * Identifiant retourné pour une adresse inconnue.
+     */
+    public static final int NO_ID = -1;
+
+    private final Map<String, Integer> byCanonical = new ConcurrentHashMap<>();
+    private final Map<String, Integer> byAddress = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private volatile boolean ready;
+
+    @Override
+    public String getName() {
+        return "addressDictionary";
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        data.getPersons().forEach(person -> idOf(person.getAddress()));
+        data.getFireStations().forEach(fireStation -> idOf(fireStation.getAddress()));
+        ready = true;
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        for (DataChange change : changes) {
+            if (change.getAfter() instanceof Person person) {
+                idOf(person.getAddress());
+            } else if (change.getAfter() instanceof FireStation fireStation) {
+                idOf(fireStation.getAddress());
+            }
+        }
+    }
+
+    /**
+     * Retourne l'identifiant de l'adresse d'une entité, en l'enregistrant si nécessaire.
+     * À réserver aux adresses des données : une adresse reçue dans une requête se recherche
+     * avec {@link #find}, qui n'agrandit pas le dictionnaire.
+     *
+     * @param address l'adresse d'une personne ou d'un mapping
+     * @return l'identifiant de sa forme canonique
+     */
+    public int idOf(String address) {
+        if (address == null) {
+            return NO_ID;
+        }
+        Integer id = byAddress.get(address);
+        if (id != null) {
+            return id;
+        }
+        return byAddress.computeIfAbsent(address, a -> byCanonical.computeIfAbsent(
+                AddressCanonicalizer.canonicalize(a), canonical -> nextId.getAndIncrement()));
+    }
+
+    /**
+     * Recherche l'identifiant d'une adresse reçue dans une requête.
+     * Une fois les adresses des données enregistrées, une adresse inconnue n'est pas ajoutée :
+     * aucune entité ne la porte. Avant cela, l'absence ne peut être établie et l'adresse
+     * est enregistrée.
+     *
+     * @param address l'adresse recherchée
+     * @return son identifiant, ou {@link #NO_ID} si aucune entité n'a cette adresse canonique
+     */
+    public int find(String address) {
+        if (address == null) {
+            return NO_ID;
+        }
+        Integer id = byAddress.get(address);
+        if (id == null) {
+            id = byCanonical.get(AddressCanonicalizer.canonicalize(address));
+        }
+        if (id == null) {
+            return ready ? NO_ID : idOf(address);
+        }
+        return id;
+    }
+
+    /**
+     * @return le nombre d'adresses canoniques distinctes
+     */
+    public int size() {
+        return byCanonical.size();
+    }
+}
@@ -0,0 +1,256 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.utils.CaseFolding;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index des adresses connues (adresses des résidents et adresses couvertes par une station),
+ * utilisé pour l'autocomplétion.
+ *
+ * Les adresses sont rangées dans un tableau trié par clé normalisée : les adresses commençant
+ * par un préfixe forment une plage contiguë, trouvée par recherche dichotomique, dont on garde
+ * les adresses les plus peuplées. Chaque adresse est rangée deux fois, sous sa forme complète
+ * et sous sa forme sans numéro (« culver st » pour « 1509 Culver St »), pour que la saisie
+ * du seul nom de rue trouve l'adresse.
+ *
+ * Les adresses sont identifiées par l'identifiant de leur forme canonique ({@link AddressDictionary}) :
+ * deux saisies d'une même adresse (« 1509 Culver St » et « 1509 culver street ») forment une seule
+ * suggestion, affichée telle que saisie pour la première entité.
+ *
+ * Le tableau n'est reconstruit que lorsque l'ensemble des adresses change ; le nombre de résidents
+ * et les stations d'une adresse sont mis à jour sur place par le thread d'écriture.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AddressIndex implements DataIndex {
+
+    private static final Comparator<Address> BY_RESIDENTS = Comparator
+            .comparingInt(Address::getResidents)
+            .thenComparing(Address::getAddress, Comparator.reverseOrder());
+
+    private final AddressDictionary addressDictionary;
+
+    private volatile State state;
+
+    /**
+     * Adresse connue, son nombre de résidents et les stations qui la couvrent.
+     * Les lecteurs ne consultent que des champs publiés (volatiles) ; la liste des mappings
+     * n'est lue et modifiée que par le thread d'écriture.
+     */
+    public static final class Address {
+        private final String address;
+        private volatile int residents;
+        private volatile int mappingCount;
+        private volatile List<String> stations = List.of();
+        private final List<String> mappings = new ArrayList<>();
+
+        private Address(String address) {
+            this.address = address;
+        }
+
+        public String getAddress() {
+            return address;
+        }
+
+        public int getResidents() {
+            return residents;
+        }
+
+        public List<String> getStations() {
+            return stations;
+        }
+
+        private boolean isKnown() {
+            return residents > 0 || mappingCount > 0;
+        }
+
+        /**
+         * Publie les stations distinctes et le nombre de mappings, éventuellement dupliqués.
+         */
+        private void publishStations() {
+            stations = List.copyOf(new LinkedHashSet<>(mappings));
+            mappingCount = mappings.size();
+        }
+    }
+
+    /**
+     * Entrée du tableau trié : une clé de recherche et l'adresse correspondante.
+     */
+    private record Entry(String key, Address address) {
+    }
+
+    @Override
+    public String getName() {
+        return "address";
+    }
+
+    @Override
+    public boolean isReady() {
+        return state != null;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        State rebuilt = new State();
+        for (Person person : data.getPersons()) {
+            address(rebuilt, person.getAddress()).residents++;
+        }
+        for (FireStation fireStation : data.getFireStations()) {
+            address(rebuilt, fireStation.getAddress()).mappings.add(fireStation.getStation());
+        }
+        rebuilt.addresses.values().forEach(Address::publishStations);
+        rebuilt.publish();
+        this.state = rebuilt;
+        log.debug("Index des adresses construit : {} adresses", rebuilt.addresses.size());
+    }
+
+    /**
+     * Retourne les adresses dont la forme complète ou le nom de rue commence par le préfixe,
+     * sans tenir compte de la casse, de la plus peuplée à la moins peuplée.
+     *
+     * @param prefix le début de l'adresse saisie
+     * @param limit le nombre maximal de suggestions
+     * @return les adresses trouvées
+     */
+    public List<Address> suggest(String prefix, int limit) {
+        State current = state;
+        if (current == null || prefix == null) {
+            return List.of();
+        }
+        String key = normalize(prefix);
+        Entry[] entries = current.entries;
+        PriorityQueue<Address> best = new PriorityQueue<>(limit + 1, BY_RESIDENTS);
+        Set<Address> seen = new HashSet<>();
+        for (int i = lowerBound(entries, key); i < entries.length && entries[i].key().startsWith(key); i++) {
+            Address address = entries[i].address();
+            if (address.isKnown() && seen.add(address)) {
+                best.offer(address);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<Address> suggestions = new ArrayList<>(best);
+        suggestions.sort(BY_RESIDENTS.reversed());
+        return suggestions;
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        State current = state;
+        if (current == null) {
+            return;
+        }
+        int known = current.addresses.size();
+        for (DataChange change : changes) {
+            if (change.getEntity() == DataChange.Entity.PERSON) {
+                if (change.getBefore() != null) {
+                    Address address = current.addresses.get(
+                            addressDictionary.idOf(((Person) change.getBefore()).getAddress()));
+                    if (address != null) {
+                        address.residents--;
+                    }
+                }
+                if (change.getAfter() != null) {
+                    address(current, ((Person) change.getAfter()).getAddress()).residents++;
+                }
+            } else if (change.getEntity() == DataChange.Entity.FIRE_STATION) {
+                if (change.getBefore() != null) {
+                    FireStation before = (FireStation) change.getBefore();
+                    Address address = current.addresses.get(addressDictionary.idOf(before.getAddress()));
+                    if (address != null) {
+                        address.mappings.remove(before.getStation());
+                        address.publishStations();
+                    }
+                }
+                if (change.getAfter() != null) {
+                    FireStation after = (FireStation) change.getAfter();
+                    Address address = address(current, after.getAddress());
+                    address.mappings.add(after.getStation());
+                    address.publishStations();
+                }
+            }
+        }
+        boolean removed = current.addresses.values().removeIf(address -> !address.isKnown());
+        if (removed || current.addresses.size() != known) {
+            current.publish();
+        }
+    }
+
+    /**
+     * Retourne l'entrée de l'adresse canonique, créée avec la saisie reçue si elle n'existe pas.
+     */
+    private Address address(State state, String address) {
+        return state.addresses.computeIfAbsent(addressDictionary.idOf(address), id -> new Address(address));
+    }
+
+    private static String normalize(String value) {
+        return CaseFolding.fold(value).trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Forme de l'adresse sans son numéro, ou null si l'adresse ne commence pas par un numéro.
+     */
+    private static String streetKey(String key) {
+        int space = key.indexOf(' ');
+        if (space <= 0 || !Character.isDigit(key.charAt(0))) {
+            return null;
+        }
+        return key.substring(space + 1);
+    }
+
+    private static int lowerBound(Entry[] entries, String key) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid].key().compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * État de l'index, remplacé en bloc lors d'une reconstruction.
+     */
+    private static final class State {
+        private final Map<Integer, Address> addresses = new ConcurrentHashMap<>();
+        private volatile Entry[] entries = new Entry[0];
+
+        private void publish() {
+            List<Entry> sorted = new ArrayList<>(addresses.size() * 2);
+            for (Address address : addresses.values()) {
+                String key = normalize(address.getAddress());
+                sorted.add(new Entry(key, address));
+                String street = streetKey(key);
+                if (street != null) {
+                    sorted.add(new Entry(street, address));
+                }
+            }
+            Entry[] published = sorted.toArray(new Entry[0]);
+            Arrays.sort(published, Comparator.comparing(Entry::key));
+            this.entries = published;
+        }
+    }
+}
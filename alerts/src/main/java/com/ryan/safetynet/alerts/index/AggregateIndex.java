@@ -0,0 +1,549 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.utils.AddressCanonicalizer;
+import com.ryan.safetynet.alerts.utils.CaseFolding;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Agrégats par station et par ville : nombre de résidents, répartition par tranche d'âge,
+ * médicaments et allergies les plus fréquents et taille des foyers.
+ *
+ * Le thread d'écriture tient des compteurs par groupe et n'applique que la différence de chaque
+ * modification : un résident ajouté, retiré ou déménagé, un dossier médical modifié (qui concerne
+ * ses homonymes exacts) ou une adresse qui rejoint ou quitte une station. Seuls les groupes touchés
+ * par un lot sont republiés, sous forme d'un instantané immuable ; une lecture se résume donc à une
+ * recherche par clé, quelle que soit la taille du comté.
+ *
+ * Les tranches d'âge ne sont pas des compteurs : le groupe compte ses dates de naissance par jour
+ * dans un arbre de Fenwick ({@link DayCounts}) et l'instantané en déduit les tranches à la date
+ * demandée, le résultat étant conservé pour la journée. Le changement de jour ne demande ainsi aucun
+ * recalcul côté écriture. Les médicaments et allergies sont tenus classés par fréquence : une
+ * modification ne déplace que les termes concernés et l'instantané lit les premiers.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AggregateIndex implements DataIndex {
+
+    /**
+     * Nombre de médicaments et d'allergies retenus dans un agrégat.
+     */
+    public static final int TOP_N = 10;
+
+    /**
+     * Bornes inférieures des tranches d'âge, la dernière tranche étant ouverte.
+     */
+    private static final int[] AGE_BOUNDS = {0, 5, 13, CoverageBitmapIndex.CHILD_MAX_AGE + 1, 65};
+
+    private final AddressDictionary addressDictionary;
+
+    // Tables de travail du thread d'écriture
+    private final Map<Integer, List<Person>> personsByAddress = new HashMap<>();
+    private final Map<String, List<Person>> personsByName = new HashMap<>();
+    private final Map<String, List<MedicalRecord>> recordsByName = new HashMap<>();
+    private final Map<Integer, Map<String, Integer>> stationsByAddress = new HashMap<>();
+    private final Map<String, Group> stationGroups = new HashMap<>();
+    private final Map<String, Group> cityGroups = new HashMap<>();
+    private final Set<String> touchedStations = new HashSet<>();
+    private final Set<String> touchedCities = new HashSet<>();
+
+    private volatile Published published;
+
+    /**
+     * Nombre d'occurrences d'un médicament ou d'une allergie dans un groupe.
+     *
+     * @param term terme normalisé (casse repliée, posologie retirée)
+     * @param count nombre de résidents concernés
+     */
+    public record TermCount(String term, int count) {
+    }
+
+    /**
+     * Classement des termes : nombre décroissant de résidents, puis ordre alphabétique.
+     */
+    private static final Comparator<TermCount> RANKING =
+            Comparator.comparingInt(TermCount::count).reversed().thenComparing(TermCount::term);
+
+    /**
+     * Instantané immuable des agrégats d'un groupe.
+     */
+    public static final class Stats {
+        private final String name;
+        private final int residents;
+        private final int withoutMedicalRecord;
+        private final DayCounts birthdates;
+        private final List<TermCount> topMedications;
+        private final List<TermCount> topAllergies;
+        private final int households;
+        private final SortedMap<Integer, Integer> householdSizes;
+        private volatile AgeBuckets ageBuckets;
+
+        private Stats(Group group) {
+            this.name = group.name;
+            this.residents = group.residents;
+            this.withoutMedicalRecord = group.withoutMedicalRecord;
+            this.birthdates = group.birthdates.snapshot();
+            this.topMedications = group.medications.top();
+            this.topAllergies = group.allergies.top();
+            this.households = group.households.size();
+            this.householdSizes = Collections.unmodifiableSortedMap(new TreeMap<>(group.householdSizes));
+        }
+
+        /**
+         * @return le nom du groupe : numéro de station, ou ville telle que saisie pour le premier résident
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return le nombre de résidents du groupe
+         */
+        public int getResidents() {
+            return residents;
+        }
+
+        /**
+         * @return le nombre de résidents sans dossier médical
+         */
+        public int getWithoutMedicalRecord() {
+            return withoutMedicalRecord;
+        }
+
+        /**
+         * @return les médicaments les plus fréquents, par nombre décroissant de résidents
+         */
+        public List<TermCount> getTopMedications() {
+            return topMedications;
+        }
+
+        /**
+         * @return les allergies les plus fréquentes, par nombre décroissant de résidents
+         */
+        public List<TermCount> getTopAllergies() {
+            return topAllergies;
+        }
+
+        /**
+         * @return le nombre de foyers (adresses) du groupe
+         */
+        public int getHouseholds() {
+            return households;
+        }
+
+        /**
+         * @return le nombre de foyers par taille, par taille croissante
+         */
+        public SortedMap<Integer, Integer> getHouseholdSizes() {
+            return householdSizes;
+        }
+
+        /**
+         * Répartit les résidents ayant une date de naissance par tranche d'âge, à la date du jour.
+         *
+         * @return le nombre de résidents par tranche, dans l'ordre des tranches
+         */
+        public Map<String, Integer> getAgeBuckets() {
+            return ageBucketsOn(LocalDate.now());
+        }
+
+        /**
+         * Répartit les résidents par tranche d'âge à la date donnée.
+         */
+        Map<String, Integer> ageBucketsOn(LocalDate date) {
+            AgeBuckets cached = ageBuckets;
+            if (cached != null && cached.date().equals(date)) {
+                return cached.counts();
+            }
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (int i = 0; i < AGE_BOUNDS.length; i++) {
+                // Un résident a au moins n ans s'il est né au plus tard n ans avant la date
+                int atLeastLower = birthdates.countOnOrBefore(date.minusYears(AGE_BOUNDS[i]));
+                int atLeastUpper = i + 1 < AGE_BOUNDS.length
+                        ? birthdates.countOnOrBefore(date.minusYears(AGE_BOUNDS[i + 1])) : 0;
+                counts.put(label(i), atLeastLower - atLeastUpper);
+            }
+            Map<String, Integer> result = Collections.unmodifiableMap(counts);
+            ageBuckets = new AgeBuckets(date, result);
+            return result;
+        }
+
+        private static String label(int bucket) {
+            return bucket + 1 < AGE_BOUNDS.length
+                    ? AGE_BOUNDS[bucket] + "-" + (AGE_BOUNDS[bucket + 1] - 1)
+                    : AGE_BOUNDS[bucket] + "+";
+        }
+    }
+
+    /**
+     * Tranches d'âge calculées pour une journée.
+     */
+    private record AgeBuckets(LocalDate date, Map<String, Integer> counts) {
+    }
+
+    /**
+     * Nombre de résidents par terme, tenu classé : chaque modification retire le terme du classement
+     * puis l'y replace avec son nouveau nombre.
+     */
+    private static final class TermCounts {
+        private final Map<String, Integer> counts = new HashMap<>();
+        private final TreeSet<TermCount> ranking = new TreeSet<>(RANKING);
+
+        private void add(String term, int delta) {
+            Integer previous = counts.get(term);
+            if (previous != null) {
+                ranking.remove(new TermCount(term, previous));
+            }
+            int count = (previous == null ? 0 : previous) + delta;
+            if (count == 0) {
+                counts.remove(term);
+            } else {
+                counts.put(term, count);
+                ranking.add(new TermCount(term, count));
+            }
+        }
+
+        /**
+         * @return les {@value AggregateIndex#TOP_N} premiers termes du classement
+         */
+        private List<TermCount> top() {
+            List<TermCount> top = new ArrayList<>(Math.min(TOP_N, ranking.size()));
+            for (TermCount term : ranking) {
+                if (top.size() == TOP_N) {
+                    break;
+                }
+                top.add(term);
+            }
+            return Collections.unmodifiableList(top);
+        }
+    }
+
+    /**
+     * Compteurs d'un groupe, tenus par le thread d'écriture.
+     */
+    private static final class Group {
+        private final String name;
+        private int residents;
+        private int withoutMedicalRecord;
+        private final DayCounts birthdates = new DayCounts();
+        private final TermCounts medications = new TermCounts();
+        private final TermCounts allergies = new TermCounts();
+        private final Map<Object, Integer> households = new HashMap<>();
+        private final TreeMap<Integer, Integer> householdSizes = new TreeMap<>();
+
+        private Group(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Ajoute (sign = 1) ou retire (sign = -1) la contribution d'un résident.
+         *
+         * @param household clé du foyer du résident
+         * @param record dossier médical du résident, ou null
+         */
+        private void apply(Object household, MedicalRecord record, int sign) {
+            residents += sign;
+            int size = households.getOrDefault(household, 0);
+            if (size > 0) {
+                count(householdSizes, size, -1);
+            }
+            size += sign;
+            if (size > 0) {
+                households.put(household, size);
+                count(householdSizes, size, 1);
+            } else {
+                households.remove(household);
+            }
+            if (record == null) {
+                withoutMedicalRecord += sign;
+                return;
+            }
+            if (record.getBirthdate() != null) {
+                birthdates.add(record.getBirthdate(), sign);
+            }
+            for (String term : MedicalTermIndex.terms(record.getMedications())) {
+                medications.add(term, sign);
+            }
+            for (String term : MedicalTermIndex.terms(record.getAllergies())) {
+                allergies.add(term, sign);
+            }
+        }
+
+        private static <K> void count(Map<K, Integer> counts, K key, int delta) {
+            if (counts.merge(key, delta, Integer::sum) == 0) {
+                counts.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Instantanés publiés, remplacés en bloc lors d'une reconstruction.
+     */
+    private static final class Published {
+        private final Map<String, Stats> stations = new ConcurrentHashMap<>();
+        private final Map<String, Stats> cities = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public String getName() {
+        return "aggregate";
+    }
+
+    @Override
+    public boolean isReady() {
+        return published != null;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        published = null;
+        personsByAddress.clear();
+        personsByName.clear();
+        recordsByName.clear();
+        stationsByAddress.clear();
+        stationGroups.clear();
+        cityGroups.clear();
+        touchedStations.clear();
+        touchedCities.clear();
+        for (MedicalRecord record : data.getMedicalRecords()) {
+            IndexLists.append(recordsByName, nameKey(record.getFirstName(), record.getLastName()), record);
+        }
+        for (FireStation fireStation : data.getFireStations()) {
+            moveMapping(null, fireStation);
+        }
+        for (Person person : data.getPersons()) {
+            movePerson(null, person);
+        }
+        Published rebuilt = new Published();
+        publish(rebuilt);
+        this.published = rebuilt;
+        log.debug("Agrégats construits : {} stations, {} villes", rebuilt.stations.size(), rebuilt.cities.size());
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        Published current = published;
+        if (current == null) {
+            return;
+        }
+        for (DataChange change : changes) {
+            switch (change.getEntity()) {
+                case PERSON -> movePerson((Person) change.getBefore(), (Person) change.getAfter());
+                case MEDICAL_RECORD -> moveRecord(
+                        (MedicalRecord) change.getBefore(), (MedicalRecord) change.getAfter());
+                case FIRE_STATION -> moveMapping((FireStation) change.getBefore(), (FireStation) change.getAfter());
+            }
+        }
+        publish(current);
+    }
+
+    /**
+     * Retourne les agrégats des résidents des adresses couvertes par une station.
+     *
+     * @param stationNumber le numéro de la station
+     * @return les agrégats, ou null si la station ne couvre aucun résident ou si l'index n'est pas construit
+     */
+    public Stats station(int stationNumber) {
+        Published current = published;
+        return current == null ? null : current.stations.get(String.valueOf(stationNumber));
+    }
+
+    /**
+     * Retourne les agrégats des résidents d'une ville.
+     *
+     * @param city la ville, insensible à la casse
+     * @return les agrégats, ou null si aucun résident n'habite la ville ou si l'index n'est pas construit
+     */
+    public Stats city(String city) {
+        Published current = published;
+        return current == null || city == null ? null : current.cities.get(CaseFolding.fold(city));
+    }
+
+    /**
+     * Calcule les agrégats d'une station en parcourant les données, tant que l'index n'est pas construit.
+     *
+     * @param data les données
+     * @param stationNumber le numéro de la station
+     * @return les agrégats, ou null si la station ne couvre aucun résident
+     */
+    public Stats scanStation(Data data, int stationNumber) {
+        String station = String.valueOf(stationNumber);
+        Set<String> covered = new HashSet<>();
+        for (FireStation fireStation : data.getFireStations()) {
+            if (station.equals(fireStation.getStation())) {
+                covered.add(AddressCanonicalizer.canonicalize(fireStation.getAddress()));
+            }
+        }
+        return scan(data, station,
+                person -> covered.contains(AddressCanonicalizer.canonicalize(person.getAddress())));
+    }
+
+    /**
+     * Calcule les agrégats d'une ville en parcourant les données, tant que l'index n'est pas construit.
+     *
+     * @param data les données
+     * @param city la ville, insensible à la casse
+     * @return les agrégats, ou null si aucun résident n'habite la ville
+     */
+    public Stats scanCity(Data data, String city) {
+        String folded = CaseFolding.fold(city);
+        return scan(data, null,
+                person -> person.getCity() != null && CaseFolding.fold(person.getCity()).equals(folded));
+    }
+
+    private static Stats scan(Data data, String name, Predicate<Person> member) {
+        Map<String, MedicalRecord> records = new HashMap<>();
+        for (MedicalRecord record : data.getMedicalRecords()) {
+            records.putIfAbsent(nameKey(record.getFirstName(), record.getLastName()), record);
+        }
+        Group group = null;
+        for (Person person : data.getPersons()) {
+            if (member.test(person)) {
+                if (group == null) {
+                    group = new Group(name != null ? name : person.getCity());
+                }
+                group.apply(AddressCanonicalizer.canonicalize(person.getAddress()),
+                        records.get(nameKey(person.getFirstName(), person.getLastName())), 1);
+            }
+        }
+        return group == null ? null : new Stats(group);
+    }
+
+    private void movePerson(Person before, Person after) {
+        if (before != null) {
+            contribute(before, -1);
+        }
+        IndexLists.move(personsByAddress, before == null ? null : addressDictionary.idOf(before.getAddress()),
+                after == null ? null : addressDictionary.idOf(after.getAddress()), before, after);
+        IndexLists.move(personsByName, before == null ? null : nameKey(before.getFirstName(), before.getLastName()),
+                after == null ? null : nameKey(after.getFirstName(), after.getLastName()), before, after);
+        if (after != null) {
+            contribute(after, 1);
+        }
+    }
+
+    /**
+     * Retire la contribution des homonymes exacts concernés avec l'ancien dossier, puis l'ajoute
+     * avec le nouveau.
+     */
+    private void moveRecord(MedicalRecord before, MedicalRecord after) {
+        String beforeKey = before == null ? null : nameKey(before.getFirstName(), before.getLastName());
+        String afterKey = after == null ? null : nameKey(after.getFirstName(), after.getLastName());
+        List<Person> affected = new ArrayList<>(personsByName.getOrDefault(beforeKey, List.of()));
+        if (afterKey != null && !afterKey.equals(beforeKey)) {
+            affected.addAll(personsByName.getOrDefault(afterKey, List.of()));
+        }
+        affected.forEach(person -> contribute(person, -1));
+        IndexLists.move(recordsByName, beforeKey, afterKey, before, after);
+        affected.forEach(person -> contribute(person, 1));
+    }
+
+    /**
+     * Compte les mappings de chaque couple adresse/station : les résidents d'une adresse rejoignent
+     * une station avec son premier mapping et ne la quittent qu'avec le dernier.
+     */
+    private void moveMapping(FireStation before, FireStation after) {
+        if (before != null) {
+            int id = addressDictionary.idOf(before.getAddress());
+            Map<String, Integer> stations = stationsByAddress.get(id);
+            if (stations != null && stations.containsKey(before.getStation())
+                    && stations.merge(before.getStation(), -1, Integer::sum) == 0) {
+                applyToStation(before.getStation(), id, -1);
+                stations.remove(before.getStation());
+                if (stations.isEmpty()) {
+                    stationsByAddress.remove(id);
+                }
+            }
+        }
+        if (after != null) {
+            int id = addressDictionary.idOf(after.getAddress());
+            if (stationsByAddress.computeIfAbsent(id, i -> new LinkedHashMap<>())
+                    .merge(after.getStation(), 1, Integer::sum) == 1) {
+                applyToStation(after.getStation(), id, 1);
+            }
+        }
+    }
+
+    private void applyToStation(String station, int addressId, int sign) {
+        for (Person person : personsByAddress.getOrDefault(addressId, List.of())) {
+            apply(stationGroups, touchedStations, station, station, addressId, effectiveRecord(person), sign);
+        }
+    }
+
+    /**
+     * Ajoute ou retire la contribution d'un résident aux groupes de ses stations et de sa ville.
+     */
+    private void contribute(Person person, int sign) {
+        int addressId = addressDictionary.idOf(person.getAddress());
+        MedicalRecord record = effectiveRecord(person);
+        for (String station : stationsByAddress.getOrDefault(addressId, Map.of()).keySet()) {
+            apply(stationGroups, touchedStations, station, station, addressId, record, sign);
+        }
+        if (person.getCity() != null) {
+            apply(cityGroups, touchedCities, CaseFolding.fold(person.getCity()), person.getCity(),
+                    addressId, record, sign);
+        }
+    }
+
+    private static void apply(Map<String, Group> groups, Set<String> touched, String key, String name,
+                              int addressId, MedicalRecord record, int sign) {
+        Group group = sign > 0 ? groups.computeIfAbsent(key, k -> new Group(name)) : groups.get(key);
+        if (group == null) {
+            return;
+        }
+        group.apply(addressId, record, sign);
+        if (group.residents == 0) {
+            groups.remove(key);
+        }
+        touched.add(key);
+    }
+
+    private MedicalRecord effectiveRecord(Person person) {
+        List<MedicalRecord> records = recordsByName.get(nameKey(person.getFirstName(), person.getLastName()));
+        return records == null ? null : records.get(0);
+    }
+
+    private void publish(Published target) {
+        publish(target.stations, stationGroups, touchedStations);
+        publish(target.cities, cityGroups, touchedCities);
+    }
+
+    private static void publish(Map<String, Stats> target, Map<String, Group> groups, Set<String> touched) {
+        for (String key : touched) {
+            Group group = groups.get(key);
+            if (group == null) {
+                target.remove(key);
+            } else {
+                target.put(key, new Stats(group));
+            }
+        }
+        touched.clear();
+    }
+
+    private static String nameKey(String firstName, String lastName) {
+        return MedicalTermIndex.residentKey(firstName, lastName);
+    }
+}
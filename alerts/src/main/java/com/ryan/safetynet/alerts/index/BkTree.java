@@ -0,0 +1,103 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.utils.NameMatching;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Arbre BK (Burkhard-Keller) sur la distance de Levenshtein.
+ * Chaque fils est rangé sous sa distance au nœud parent ; l'inégalité triangulaire permet
+ * de n'explorer, pour une recherche à distance d, que les fils dont la distance au parent
+ * est comprise entre (distance de la requête au parent - d) et (distance + d).
+ *
+ * L'arbre ne fait que croître : les ajouts sont effectués par un seul thread et les fils
+ * sont publiés dans des maps concurrentes, ce qui autorise les recherches simultanées.
+ * La suppression d'un terme est laissée à l'appelant, qui filtre les termes obsolètes.
+ */
+final class BkTree {
+
+    private volatile Node root;
+    private int size;
+
+    /**
+     * Ajoute un terme s'il n'est pas déjà présent.
+     *
+     * @param term le terme
+     */
+    void add(String term) {
+        Node node = root;
+        if (node == null) {
+            root = new Node(term);
+            size++;
+            return;
+        }
+        while (true) {
+            int distance = NameMatching.levenshtein(term, node.term);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(term));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Recherche les termes à une distance au plus égale à {@code maxDistance} de la requête.
+     * La recherche s'interrompt lorsque l'échéance est dépassée.
+     *
+     * @param query la requête
+     * @param maxDistance la distance maximale
+     * @param deadlineNanos échéance, au sens de {@link System#nanoTime()}
+     * @param consumer reçoit chaque terme trouvé et sa distance
+     * @return true si la recherche est complète, false si elle a été interrompue
+     */
+    boolean search(String query, int maxDistance, long deadlineNanos, ObjIntConsumer<String> consumer) {
+        Node start = root;
+        if (start == null) {
+            return true;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(start);
+        while (!pending.isEmpty()) {
+            if (System.nanoTime() - deadlineNanos > 0) {
+                return false;
+            }
+            Node node = pending.pop();
+            int distance = NameMatching.levenshtein(query, node.term);
+            if (distance <= maxDistance) {
+                consumer.accept(node.term, distance);
+            }
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    pending.push(child.getValue());
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return le nombre de termes de l'arbre, y compris les termes obsolètes
+     */
+    int size() {
+        return size;
+    }
+
+    private static final class Node {
+        private final String term;
+        private final Map<Integer, Node> children = new ConcurrentHashMap<>();
+
+        private Node(String term) {
+            this.term = term;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ryan.safetynet.alerts.index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtre de Bloom de taille fixe, dimensionné pour un nombre de clés et un taux de faux positifs visés.
+ * Une réponse négative est certaine, une réponse positive doit être confirmée par une recherche exacte.
+ * Les positions des bits sont dérivées d'un hachage 64 bits de la clé par double hachage.
+ *
+ * Les bits sont écrits par un seul thread et lus par tous : un tableau atomique garantit
+ * qu'une clé ajoutée est visible des lectures qui suivent.
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final int bitCount;
+    private final int hashFunctions;
+    private final int capacity;
+
+    /**
+     * @param capacity nombre de clés pour lequel le filtre est dimensionné
+     * @param falsePositiveRate taux de faux positifs visé à pleine capacité
+     */
+    BloomFilter(int capacity, double falsePositiveRate) {
+        if (capacity <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Capacité ou taux de faux positifs invalide");
+        }
+        long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int words = (int) Math.min(Integer.MAX_VALUE / Long.SIZE, Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE));
+        this.words = new AtomicLongArray(words);
+        this.bitCount = words * Long.SIZE;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / capacity * LN2));
+        this.capacity = capacity;
+    }
+
+    void put(Object key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current = words.get(word);
+            if ((current & mask) == 0) {
+                words.set(word, current | mask);
+            }
+        }
+    }
+
+    boolean mightContain(Object key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int bitCount() {
+        return bitCount;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @param keys nombre de clés distinctes insérées
+     * @return le taux de faux positifs théorique pour ce nombre de clés
+     */
+    double expectedFalsePositiveRate(int keys) {
+        return Math.pow(1 - Math.exp(-(double) hashFunctions * keys / bitCount), hashFunctions);
+    }
+
+    /**
+     * Hachage 64 bits : FNV-1a sur les caractères d'une chaîne, hashCode sinon, suivi d'un mélange
+     * des bits pour que les deux moitiés utilisées par le double hachage soient indépendantes.
+     */
+    private static long hash(Object key) {
+        long hash;
+        if (key instanceof String value) {
+            hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+            }
+        } else {
+            hash = key.hashCode();
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe1a85ec3L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,146 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Portée des modifications pour le flux /changes : identifiants d'adresses canoniques
+ * ({@link AddressDictionary}) et stations concernées
+ * par la modification d'un résident, d'un dossier médical ou d'un mapping.
+ *
+ * Les tables ne sont lues et modifiées que par le thread d'écriture : l'index est maintenu
+ * mutation par mutation ({@link #onMutationApplied}), avant la notification des lots, de sorte
+ * que le flux des modifications résout la portée d'un lot sur un index déjà à jour, quel que soit
+ * l'ordre des listeners. Une résolution coûte quelques recherches par clé au lieu d'un parcours
+ * des personnes et des mappings.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeScopeIndex implements DataIndex {
+
+    private final AddressDictionary addressDictionary;
+
+    // Tables du thread d'écriture : nombre d'occurrences par adresse et par station
+    private final Map<String, Map<Integer, Integer>> addressesByName = new HashMap<>();
+    private final Map<Integer, Map<String, Integer>> stationsByAddress = new HashMap<>();
+    private volatile boolean ready;
+
+    /**
+     * Adresses canoniques et stations concernées par une modification.
+     *
+     * @param addresses identifiants des adresses canoniques
+     * @param stations numéros de stations
+     */
+    public record Scope(Set<Integer> addresses, Set<String> stations) {
+    }
+
+    @Override
+    public String getName() {
+        return "change-scope";
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        ready = false;
+        addressesByName.clear();
+        stationsByAddress.clear();
+        data.getPersons().forEach(person -> addPerson(person, 1));
+        data.getFireStations().forEach(fireStation -> addMapping(fireStation, 1));
+        ready = true;
+        log.debug("Index de portée des modifications construit : {} noms, {} adresses couvertes",
+                addressesByName.size(), stationsByAddress.size());
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        // Déjà appliqué mutation par mutation
+    }
+
+    @Override
+    public void onMutationApplied(List<DataChange> changes) {
+        if (!ready) {
+            return;
+        }
+        for (DataChange change : changes) {
+            if (change.getBefore() instanceof Person person) {
+                addPerson(person, -1);
+            } else if (change.getBefore() instanceof FireStation fireStation) {
+                addMapping(fireStation, -1);
+            }
+            if (change.getAfter() instanceof Person person) {
+                addPerson(person, 1);
+            } else if (change.getAfter() instanceof FireStation fireStation) {
+                addMapping(fireStation, 1);
+            }
+        }
+    }
+
+    /**
+     * Résout la portée d'une modification. Une modification de personne ou de dossier médical
+     * concerne l'adresse du résident (de ses homonymes exacts pour un dossier) ; une modification
+     * de mapping concerne son adresse et ses stations avant et après. S'y ajoutent les stations
+     * qui couvrent actuellement ces adresses. Doit être appelée par le thread d'écriture.
+     *
+     * @param change la modification
+     * @return la portée de la modification
+     */
+    public Scope scopeOf(DataChange change) {
+        Set<Integer> addresses = new HashSet<>();
+        Set<String> stations = new HashSet<>();
+        for (Object entity : new Object[]{change.getBefore(), change.getAfter()}) {
+            if (entity instanceof Person person) {
+                addresses.add(addressDictionary.idOf(person.getAddress()));
+            } else if (entity instanceof MedicalRecord record) {
+                addresses.addAll(addressesByName.getOrDefault(
+                        nameKey(record.getFirstName(), record.getLastName()), Map.of()).keySet());
+            } else if (entity instanceof FireStation fireStation) {
+                addresses.add(addressDictionary.idOf(fireStation.getAddress()));
+                stations.add(fireStation.getStation());
+            }
+        }
+        for (Integer address : addresses) {
+            stations.addAll(stationsByAddress.getOrDefault(address, Map.of()).keySet());
+        }
+        return new Scope(addresses, stations);
+    }
+
+    private void addPerson(Person person, int delta) {
+        count(addressesByName, nameKey(person.getFirstName(), person.getLastName()),
+                addressDictionary.idOf(person.getAddress()), delta);
+    }
+
+    private void addMapping(FireStation fireStation, int delta) {
+        count(stationsByAddress, addressDictionary.idOf(fireStation.getAddress()),
+                fireStation.getStation(), delta);
+    }
+
+    private static <K, V> void count(Map<K, Map<V, Integer>> table, K key, V value, int delta) {
+        Map<V, Integer> counts = table.computeIfAbsent(key, k -> new HashMap<>(2));
+        counts.merge(value, delta, (a, b) -> a + b == 0 ? null : a + b);
+        if (counts.isEmpty()) {
+            table.remove(key);
+        }
+    }
+
+    private static String nameKey(String firstName, String lastName) {
+        return firstName + '\u0000' + lastName;
+    }
+}
@@ -0,0 +1,135 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.utils.CaseFolding;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index des adresses email par ville, utilisé par /communityEmail.
+ * La clé est le nom de la ville normalisé ({@link CaseFolding#fold}). Pour chaque ville, l'index
+ * compte les résidents partageant chaque email et publie la liste dédoublonnée correspondante :
+ * une requête se limite à une recherche de la ville et renvoie la liste déjà construite.
+ *
+ * Les compteurs ne sont modifiés que par le thread d'écriture ; la liste publiée d'une ville
+ * est recalculée une seule fois par lot de modifications.
+ */
+@Slf4j
+@Component
+public class CityEmailIndex implements DataIndex {
+
+    private volatile Map<String, City> cities;
+
+    @Override
+    public String getName() {
+        return "cityEmail";
+    }
+
+    @Override
+    public boolean isReady() {
+        return cities != null;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        Map<String, City> rebuilt = new ConcurrentHashMap<>();
+        for (Person person : data.getPersons()) {
+            add(rebuilt, person);
+        }
+        rebuilt.values().forEach(City::publish);
+        this.cities = rebuilt;
+        log.debug("Index des emails construit pour {} villes", rebuilt.size());
+    }
+
+    /**
+     * Retourne les emails distincts des résidents d'une ville, insensible à la casse.
+     *
+     * @param city la ville
+     * @return la liste non modifiable des emails, vide si la ville est inconnue
+     */
+    public List<String> getEmails(String city) {
+        Map<String, City> current = cities;
+        if (current == null || city == null) {
+            return List.of();
+        }
+        City entry = current.get(CaseFolding.fold(city));
+        return entry == null ? List.of() : entry.emails;
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        Map<String, City> current = cities;
+        if (current == null) {
+            return;
+        }
+        Set<City> touched = new HashSet<>();
+        for (DataChange change : changes) {
+            if (change.getEntity() != DataChange.Entity.PERSON) {
+                continue;
+            }
+            if (change.getBefore() != null) {
+                touched.add(remove(current, (Person) change.getBefore()));
+            }
+            if (change.getAfter() != null) {
+                touched.add(add(current, (Person) change.getAfter()));
+            }
+        }
+        touched.remove(null);
+        for (City city : touched) {
+            city.publish();
+            if (city.counts.isEmpty()) {
+                current.remove(city.key, city);
+            }
+        }
+    }
+
+    private static City add(Map<String, City> cities, Person person) {
+        if (person.getCity() == null || person.getEmail() == null) {
+            return null;
+        }
+        String key = CaseFolding.fold(person.getCity());
+        City city = cities.computeIfAbsent(key, City::new);
+        city.counts.merge(person.getEmail(), 1, Integer::sum);
+        return city;
+    }
+
+    private static City remove(Map<String, City> cities, Person person) {
+        if (person.getCity() == null || person.getEmail() == null) {
+            return null;
+        }
+        City city = cities.get(CaseFolding.fold(person.getCity()));
+        if (city == null) {
+            return null;
+        }
+        city.counts.computeIfPresent(person.getEmail(), (email, count) -> count > 1 ? count - 1 : null);
+        return city;
+    }
+
+    /**
+     * Emails d'une ville : nombre de résidents par email et liste publiée.
+     */
+    private static final class City {
+        private final String key;
+        private final Map<String, Integer> counts = new LinkedHashMap<>();
+        private volatile List<String> emails = List.of();
+
+        private City(String key) {
+            this.key = key;
+        }
+
+        private void publish() {
+            emails = Collections.unmodifiableList(new ArrayList<>(counts.keySet()));
+        }
+    }
+}
@@ -0,0 +1,735 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import com.ryan.safetynet.alerts.utils.HeapEstimator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Stockage en colonnes (« struct of arrays ») des personnes et de leurs dossiers médicaux.
+ * Chaque attribut est rangé dans son propre tableau, indexé par le rang de la personne :
+ * codes de dictionnaire pour les chaînes, identifiant canonique pour l'adresse et rang du dossier
+ * médical joint. Les dossiers ont leurs propres colonnes (jour epoch de la date de naissance,
+ * position des médicaments et allergies, rangés hors du tas par {@link MedicalPayloads} et décodés
+ * à la demande) et la station couvrant une adresse est rangée une fois par identifiant d'adresse.
+ * Un parcours par adresse ne lit qu'un tableau d'entiers au lieu de suivre une référence par personne.
+ *
+ * Les colonnes sont maintenues par différence sur le thread d'écriture : une personne ajoutée reçoit
+ * le rang suivant, une personne mise à jour conserve le sien et une personne supprimée laisse un rang
+ * libre ; un dossier ou un mapping modifié ne réécrit que ses propres cellules et, s'il devient ou
+ * cesse d'être le premier de son nom, le rang de dossier de ses homonymes. Lorsque les rangs libres
+ * dépassent les personnes stockées, ou qu'un dictionnaire garde trop de valeurs qui ne sont plus
+ * utilisées, seules les colonnes des personnes et leurs dictionnaires sont reconstruits : les dossiers,
+ * leurs entrées hors tas et les stations gardent leurs cellules. Lorsque les entrées hors tas
+ * remplacées dépassent les entrées vivantes, celles-ci sont recopiées dans une nouvelle arène.
+ *
+ * Chaque lot est appliqué à une nouvelle version des colonnes, publiée d'un seul coup. Les colonnes
+ * sont découpées en pages : une version partage avec la précédente toutes les pages que le lot ne
+ * touche pas. Les objets du modèle restent la source de vérité (persistance JSON, pipeline d'écriture).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ColumnarStore implements DataIndex {
+
+    /**
+     * Jour epoch d'une personne sans dossier médical (ou sans date de naissance).
+     */
+    public static final int NO_BIRTHDATE = Integer.MIN_VALUE;
+
+    /**
+     * Station d'une personne dont l'adresse n'est couverte par aucune station numérique.
+     */
+    public static final int NO_STATION = -1;
+
+    /**
+     * Nombre maximal de cellules par page d'une colonne.
+     */
+    static final int PAGE_SIZE = 1024;
+
+    // Colonnes indexées par rang de personne
+    private static final int FIRST_NAME = 0;
+    private static final int LAST_NAME = 1;
+    private static final int ADDRESS = 2;
+    private static final int ADDRESS_ID = 3;
+    private static final int CITY = 4;
+    private static final int ZIP = 5;
+    private static final int PHONE = 6;
+    private static final int EMAIL = 7;
+    private static final int RECORD = 8;
+    // Colonnes indexées par rang de dossier médical
+    private static final int BIRTHDATE = 9;
+    private static final int PAYLOAD = 10;
+    // Colonne indexée par identifiant d'adresse : numéro de station + 1, 0 si aucune
+    private static final int STATION = 11;
+    private static final int COLUMNS = 12;
+
+    /**
+     * Identifiant d'adresse d'un rang libéré.
+     */
+    private static final int FREE_ROW = Integer.MIN_VALUE;
+
+    /**
+     * Fin de chaîne, personne sans dossier médical ou nom absent des tables.
+     */
+    private static final int NONE = SlotLists.NONE;
+
+    private final DataRepository dataRepository;
+    private final AddressDictionary addressDictionary;
+
+
+    // Tables de travail du thread d'écriture
+    private final StringDictionary names = new StringDictionary();
+    private final StringDictionary addresses = new StringDictionary();
+    private final StringDictionary cities = new StringDictionary();
+    private final StringDictionary zips = new StringDictionary();
+    private final StringDictionary phones = new StringDictionary();
+    private final StringDictionary emails = new StringDictionary();
+    private final MedicalPayloads payloads = new MedicalPayloads();
+    // Rangs chaînés par seau de hachage du nom exact : tête de chaîne par seau, rang suivant par rang
+    private int[] rowBuckets;
+    private int[] nextByName;
+    // Dossiers par seau de hachage du nom exact, mappings par identifiant d'adresse, dans l'ordre des données
+    private final SlotLists<MedicalRecord> records = new SlotLists<>();
+    private final SlotLists<FireStation> mappings = new SlotLists<>();
+
+    private volatile Columns columns;
+
+    @Override
+    public String getName() {
+        return "columnar";
+    }
+
+    @Override
+    public boolean isReady() {
+        return columns != null;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        dictionaries().forEach(StringDictionary::clear);
+        payloads.clear();
+        rowBuckets = emptyBuckets(16);
+        nextByName = new int[0];
+        records.clear();
+        mappings.clear();
+        // Dossiers avant les personnes : chaque personne est jointe à son dossier dès son ajout
+        Editor editor = new Editor(new Columns(addressDictionary));
+        for (FireStation fireStation : data.getFireStations()) {
+            moveMapping(editor, null, fireStation);
+        }
+        for (MedicalRecord record : data.getMedicalRecords()) {
+            moveRecord(editor, null, record);
+        }
+        for (Person person : data.getPersons()) {
+            movePerson(editor, null, person);
+        }
+        Columns rebuilt = publish(editor);
+        log.debug("Stockage en colonnes construit : {} personnes, {} villes, {} octets hors tas",
+                rebuilt.count, cities.size(), payloads.capacity());
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        Columns current = columns;
+        if (current == null || changes.isEmpty()) {
+            return;
+        }
+        Editor editor = new Editor(current);
+        for (DataChange change : changes) {
+            switch (change.getEntity()) {
+                case PERSON -> movePerson(editor, (Person) change.getBefore(), (Person) change.getAfter());
+                case MEDICAL_RECORD -> moveRecord(editor,
+                        (MedicalRecord) change.getBefore(), (MedicalRecord) change.getAfter());
+                case FIRE_STATION -> moveMapping(editor,
+                        (FireStation) change.getBefore(), (FireStation) change.getAfter());
+            }
+        }
+        if (needsCompaction(editor.next)) {
+            log.debug("Compactage du stockage en colonnes : {} rangs libres pour {} personnes",
+                    editor.next.size - editor.next.count, editor.next.count);
+            editor = compactRows(editor.next);
+        }
+        if (payloads.needsCompaction()) {
+            log.debug("Compactage des dossiers médicaux hors tas : {} octets libérés pour {} octets utilisés",
+                    payloads.releasedBytes(), payloads.liveBytes());
+            compactPayloads(editor);
+        }
+        publish(editor);
+    }
+
+    /**
+     * @return les colonnes publiées, ou null si le stockage n'est pas encore construit
+     */
+    public Columns columns() {
+        return columns;
+    }
+
+    /**
+     * Ajoute, met à jour (même rang) ou supprime (rang libéré) une personne.
+     */
+    private void movePerson(Editor editor, Person before, Person after) {
+        Columns next = editor.next;
+        int row = before == null ? NONE : rowOf(next, before);
+        if (row != NONE) {
+            unlinkRow(row, nameBucket(before.getFirstName(), before.getLastName(), rowBuckets.length));
+            if (after == null) {
+                editor.set(ADDRESS_ID, row, FREE_ROW);
+                editor.set(RECORD, row, NONE);
+                next.count--;
+                return;
+            }
+        } else if (after != null) {
+            if (next.count >= rowBuckets.length) {
+                rehashRows(next, rowBuckets.length * 2);
+            }
+            row = next.size++;
+            next.count++;
+            if (row == nextByName.length) {
+                nextByName = Arrays.copyOf(nextByName, Math.max(PAGE_SIZE, row * 2));
+            }
+        } else {
+            return;
+        }
+        editor.set(FIRST_NAME, row, names.encode(after.getFirstName()));
+        editor.set(LAST_NAME, row, names.encode(after.getLastName()));
+        editor.set(ADDRESS, row, addresses.encode(after.getAddress()));
+        editor.set(ADDRESS_ID, row, addressDictionary.idOf(after.getAddress()));
+        editor.set(CITY, row, cities.encode(after.getCity()));
+        editor.set(ZIP, row, zips.encode(after.getZip()));
+        editor.set(PHONE, row, phones.encode(after.getPhone()));
+        editor.set(EMAIL, row, emails.encode(after.getEmail()));
+        int bucket = nameBucket(after.getFirstName(), after.getLastName(), rowBuckets.length);
+        nextByName[row] = rowBuckets[bucket];
+        rowBuckets[bucket] = row;
+        editor.set(RECORD, row, firstRecord(after.getFirstName(), after.getLastName()));
+    }
+
+    /**
+     * Retrouve le rang d'une personne dans le seau de son nom : toutes ses valeurs sont comparées,
+     * deux personnes identiques étant interchangeables.
+     */
+    private int rowOf(Columns next, Person person) {
+        int firstName = names.find(person.getFirstName());
+        int lastName = names.find(person.getLastName());
+        int bucket = nameBucket(person.getFirstName(), person.getLastName(), rowBuckets.length);
+        for (int row = rowBuckets[bucket]; row != NONE; row = nextByName[row]) {
+            if (next.get(FIRST_NAME, row) == firstName && next.get(LAST_NAME, row) == lastName
+                    && next.get(ADDRESS, row) == addresses.find(person.getAddress())
+                    && next.get(CITY, row) == cities.find(person.getCity())
+                    && next.get(ZIP, row) == zips.find(person.getZip())
+                    && next.get(PHONE, row) == phones.find(person.getPhone())
+                    && next.get(EMAIL, row) == emails.find(person.getEmail())) {
+                return row;
+            }
+        }
+        return NONE;
+    }
+
+    private void unlinkRow(int row, int bucket) {
+        if (rowBuckets[bucket] == row) {
+            rowBuckets[bucket] = nextByName[row];
+            return;
+        }
+        for (int previous = rowBuckets[bucket]; previous != NONE; previous = nextByName[previous]) {
+            if (nextByName[previous] == row) {
+                nextByName[previous] = nextByName[row];
+                return;
+            }
+        }
+    }
+
+    private void rehashRows(Columns next, int buckets) {
+        rowBuckets = emptyBuckets(buckets);
+        for (int row = 0; row < next.size; row++) {
+            if (next.get(ADDRESS_ID, row) != FREE_ROW) {
+                int bucket = nameBucket(StringDictionary.decode(names.values(), next.get(FIRST_NAME, row)),
+                        StringDictionary.decode(names.values(), next.get(LAST_NAME, row)), buckets);
+                nextByName[row] = rowBuckets[bucket];
+                rowBuckets[bucket] = row;
+            }
+        }
+    }
+
+    /**
+     * Ajoute, met à jour ou supprime un dossier médical. Le premier dossier d'un nom, dans l'ordre
+     * des données, est celui des homonymes exacts ; ils sont rejoints lorsqu'il change.
+     */
+    private void moveRecord(Editor editor, MedicalRecord before, MedicalRecord after) {
+        if (before != null) {
+            int bucket = recordBucket(before);
+            int slot = records.find(bucket, before);
+            if (slot != NONE) {
+                payloads.release(editor.next.get(PAYLOAD, slot));
+                if (after != null && Objects.equals(before.getFirstName(), after.getFirstName())
+                        && Objects.equals(before.getLastName(), after.getLastName())) {
+                    // Même nom : le dossier garde sa place parmi les dossiers homonymes
+                    records.set(slot, after);
+                    writeRecord(editor, slot, after);
+                    return;
+                }
+                boolean first = firstRecord(before.getFirstName(), before.getLastName()) == slot;
+                records.remove(bucket, slot);
+                if (first) {
+                    join(editor, before, firstRecord(before.getFirstName(), before.getLastName()));
+                }
+            }
+        }
+        if (after != null) {
+            if (records.size() >= records.buckets()) {
+                int buckets = Math.max(16, records.buckets() * 2);
+                records.rehash(buckets, record -> nameBucket(record.getFirstName(), record.getLastName(), buckets));
+            }
+            int slot = records.add(recordBucket(after), after);
+            writeRecord(editor, slot, after);
+            if (firstRecord(after.getFirstName(), after.getLastName()) == slot) {
+                join(editor, after, slot);
+            }
+        }
+    }
+
+    private void writeRecord(Editor editor, int slot, MedicalRecord record) {
+        LocalDate birthdate = record.getBirthdate();
+        editor.set(BIRTHDATE, slot, birthdate == null ? NO_BIRTHDATE : (int) birthdate.toEpochDay());
+        editor.set(PAYLOAD, slot, payloads.append(record.getMedications(), record.getAllergies()));
+    }
+
+    /**
+     * @return le premier dossier portant ce nom exact, ou {@link #NONE}
+     */
+    private int firstRecord(String firstName, String lastName) {
+        int bucket = nameBucket(firstName, lastName, records.buckets());
+        for (int slot = records.first(bucket); slot != NONE; slot = records.next(bucket, slot)) {
+            MedicalRecord record = records.get(slot);
+            if (Objects.equals(record.getFirstName(), firstName) && Objects.equals(record.getLastName(), lastName)) {
+                return slot;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Joint les personnes portant le nom exact d'un dossier au rang de dossier donné.
+     */
+    private void join(Editor editor, MedicalRecord record, int slot) {
+        int firstName = names.find(record.getFirstName());
+        int lastName = names.find(record.getLastName());
+        int bucket = nameBucket(record.getFirstName(), record.getLastName(), rowBuckets.length);
+        for (int row = rowBuckets[bucket]; row != NONE; row = nextByName[row]) {
+            if (editor.next.get(FIRST_NAME, row) == firstName && editor.next.get(LAST_NAME, row) == lastName) {
+                editor.set(RECORD, row, slot);
+            }
+        }
+    }
+
+    private int recordBucket(MedicalRecord record) {
+        return nameBucket(record.getFirstName(), record.getLastName(), records.buckets());
+    }
+
+    /**
+     * La station d'une adresse est celle de son premier mapping, dans l'ordre des données.
+     */
+    private void moveMapping(Editor editor, FireStation before, FireStation after) {
+        int beforeId = before == null ? AddressDictionary.NO_ID : addressDictionary.idOf(before.getAddress());
+        int afterId = after == null ? AddressDictionary.NO_ID : addressDictionary.idOf(after.getAddress());
+        if (afterId != AddressDictionary.NO_ID) {
+            mappings.ensureBuckets(afterId + 1);
+        }
+        int slot = beforeId == AddressDictionary.NO_ID || beforeId >= mappings.buckets()
+                ? NONE : mappings.find(beforeId, before);
+        if (slot != NONE && afterId == beforeId) {
+            mappings.set(slot, after);
+        } else {
+            if (slot != NONE) {
+                mappings.remove(beforeId, slot);
+            }
+            if (afterId != AddressDictionary.NO_ID) {
+                mappings.add(afterId, after);
+            }
+        }
+        for (int id : new int[]{beforeId, afterId}) {
+            if (id != AddressDictionary.NO_ID && id < mappings.buckets()) {
+                int first = mappings.first(id);
+                editor.set(STATION, id, first == NONE ? 0 : stationNumber(mappings.get(first).getStation()) + 1);
+            }
+        }
+    }
+
+    private static int stationNumber(String station) {
+        try {
+            int number = Integer.parseInt(station);
+            // Seule une écriture décimale canonique est réversible en chaîne
+            return number >= 0 && String.valueOf(number).equals(station) ? number : NO_STATION;
+        } catch (NumberFormatException e) {
+            return NO_STATION;
+        }
+    }
+
+    /**
+     * Un dictionnaire reconstruit contient au plus deux valeurs par personne (prénom et nom) :
+     * au-delà du double, la plupart de ses valeurs ne sont plus utilisées.
+     */
+    private boolean needsCompaction(Columns next) {
+        if (next.size - next.count > Math.max(PAGE_SIZE, next.count)) {
+            return true;
+        }
+        long bound = 4L * Math.max(PAGE_SIZE, next.count);
+        for (StringDictionary dictionary : dictionaries()) {
+            if (dictionary.size() > bound) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reconstruit les colonnes des personnes et leurs dictionnaires depuis les données, qui incluent
+     * déjà le lot en cours. Les colonnes des dossiers et des stations sont reprises telles quelles.
+     *
+     * @return l'éditeur de la version compactée
+     */
+    private Editor compactRows(Columns current) {
+        dictionaries().forEach(StringDictionary::clear);
+        rowBuckets = emptyBuckets(16);
+        nextByName = new int[0];
+        Editor editor = new Editor(current.withoutPersons());
+        for (Person person : dataRepository.getData().getPersons()) {
+            movePerson(editor, null, person);
+        }
+        return editor;
+    }
+
+    /**
+     * Recopie les entrées hors tas des dossiers stockés dans une arène vidée, sans les décoder.
+     * Les versions publiées gardent les blocs précédents.
+     */
+    private void compactPayloads(Editor editor) {
+        ByteBuffer[] previous = payloads.chunks();
+        payloads.clear();
+        for (int slot = 0; slot < records.slots(); slot++) {
+            if (records.get(slot) != null) {
+                editor.set(PAYLOAD, slot, payloads.copy(previous, editor.next.get(PAYLOAD, slot)));
+            }
+        }
+    }
+
+    private Columns publish(Editor editor) {
+        Columns next = editor.next;
+        next.names = names.values();
+        next.addresses = addresses.values();
+        next.cities = cities.values();
+        next.zips = zips.values();
+        next.phones = phones.values();
+        next.emails = emails.values();
+        next.chunks = payloads.chunks();
+        next.tablesBytes = tablesBytes();
+        this.columns = next;
+        return next;
+    }
+
+    /**
+     * Estime l'empreinte des tables de travail : tables de codage des dictionnaires,
+     * chaînages des homonymes, des dossiers et des mappings.
+     */
+    private long tablesBytes() {
+        long bytes = HeapEstimator.arrayBytes(rowBuckets.length, 4) + HeapEstimator.arrayBytes(nextByName.length, 4)
+                + records.footprintBytes() + mappings.footprintBytes();
+        for (StringDictionary dictionary : dictionaries()) {
+            bytes += dictionary.tableBytes();
+        }
+        return bytes;
+    }
+
+    private List<StringDictionary> dictionaries() {
+        return List.of(names, addresses, cities, zips, phones, emails);
+    }
+
+    private static int[] emptyBuckets(int buckets) {
+        int[] empty = new int[buckets];
+        Arrays.fill(empty, NONE);
+        return empty;
+    }
+
+    /**
+     * Seau d'un nom exact parmi un nombre de seaux puissance de deux.
+     */
+    private static int nameBucket(String firstName, String lastName, int buckets) {
+        int hash = (31 * Objects.hashCode(firstName) + Objects.hashCode(lastName)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (buckets - 1);
+    }
+
+    /**
+     * Colonnes d'une version des données, jamais modifiées une fois publiées.
+     */
+    public static final class Columns {
+        private final AddressDictionary addressDictionary;
+        private final int[][][] pages = new int[COLUMNS][][];
+        private int size;
+        private int count;
+        private String[] names;
+        private String[] addresses;
+        private String[] cities;
+        private String[] zips;
+        private String[] phones;
+        private String[] emails;
+        private ByteBuffer[] chunks;
+        private long tablesBytes;
+
+        private Columns(AddressDictionary addressDictionary) {
+            this.addressDictionary = addressDictionary;
+            Arrays.fill(pages, new int[0][]);
+        }
+
+        /**
+         * Version suivante : partage les pages de celle-ci.
+         */
+        private Columns next() {
+            Columns next = new Columns(addressDictionary);
+            for (int column = 0; column < COLUMNS; column++) {
+                next.pages[column] = pages[column].clone();
+            }
+            next.size = size;
+            next.count = count;
+            return next;
+        }
+
+        /**
+         * Version suivante sans aucune personne : seules les colonnes des dossiers et des stations
+         * sont partagées.
+         */
+        private Columns withoutPersons() {
+            Columns next = next();
+            for (int column = 0; column < BIRTHDATE; column++) {
+                next.pages[column] = new int[0][];
+            }
+            next.size = 0;
+            next.count = 0;
+            return next;
+        }
+
+        /**
+         * Parcourt la colonne des identifiants d'adresse.
+         *
+         * @param address une adresse, sous n'importe quelle forme équivalente
+         * @return les rangs des résidents de l'adresse, dans l'ordre des données
+         */
+        public int[] rowsAt(String address) {
+            int addressId = addressDictionary.find(address);
+            if (addressId == AddressDictionary.NO_ID) {
+                return new int[0];
+            }
+            int[] rows = new int[8];
+            int count = 0;
+            int[][] directory = pages[ADDRESS_ID];
+            for (int index = 0; index * PAGE_SIZE < size; index++) {
+                int[] page = directory[index];
+                int end = Math.min(page.length, size - index * PAGE_SIZE);
+                for (int offset = 0; offset < end; offset++) {
+                    if (page[offset] == addressId) {
+                        if (count == rows.length) {
+                            rows = Arrays.copyOf(rows, count * 2);
+                        }
+                        rows[count++] = index * PAGE_SIZE + offset;
+                    }
+                }
+            }
+            return Arrays.copyOf(rows, count);
+        }
+
+        /**
+         * @return le nombre de rangs attribués, rangs libérés compris
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return le nombre de personnes stockées
+         */
+        public int count() {
+            return count;
+        }
+
+        public String firstName(int row) {
+            return StringDictionary.decode(names, get(FIRST_NAME, row));
+        }
+
+        public String lastName(int row) {
+            return StringDictionary.decode(names, get(LAST_NAME, row));
+        }
+
+        public String address(int row) {
+            return StringDictionary.decode(addresses, get(ADDRESS, row));
+        }
+
+        public String city(int row) {
+            return StringDictionary.decode(cities, get(CITY, row));
+        }
+
+        public String zip(int row) {
+            return StringDictionary.decode(zips, get(ZIP, row));
+        }
+
+        public String phone(int row) {
+            return StringDictionary.decode(phones, get(PHONE, row));
+        }
+
+        public String email(int row) {
+            return StringDictionary.decode(emails, get(EMAIL, row));
+        }
+
+        /**
+         * @param row le rang d'une personne
+         * @return true si la personne a un dossier médical daté
+         */
+        public boolean hasBirthdate(int row) {
+            return epochDay(row) != NO_BIRTHDATE;
+        }
+
+        /**
+         * @param row le rang d'une personne
+         * @return sa date de naissance, ou null si elle n'a pas de dossier médical daté
+         */
+        public LocalDate birthdate(int row) {
+            int epochDay = epochDay(row);
+            return epochDay == NO_BIRTHDATE ? null : LocalDate.ofEpochDay(epochDay);
+        }
+
+        /**
+         * @param row le rang d'une personne
+         * @return le numéro de la station couvrant son adresse, ou {@link #NO_STATION}
+         */
+        public int station(int row) {
+            int addressId = get(ADDRESS_ID, row);
+            return addressId < 0 ? NO_STATION : get(STATION, addressId) - 1;
+        }
+
+        /**
+         * @param row le rang d'une personne
+         * @return ses médicaments, décodés depuis le stockage hors tas
+         */
+        public List<String> medications(int row) {
+            return MedicalPayloads.medications(chunks, payload(row));
+        }
+
+        /**
+         * @param row le rang d'une personne
+         * @return ses allergies, décodées depuis le stockage hors tas
+         */
+        public List<String> allergies(int row) {
+            return MedicalPayloads.allergies(chunks, payload(row));
+        }
+
+        /**
+         * Estime l'empreinte sur le tas des colonnes, de leurs dictionnaires et des tables de travail
+         * du thread d'écriture lors de la publication, hors stockage des dossiers médicaux
+         * (voir {@link #offHeapBytes()}).
+         *
+         * @return la taille estimée en octets
+         */
+        public long footprintBytes() {
+            HeapEstimator.Counter counter = new HeapEstimator.Counter();
+            for (int[][] directory : pages) {
+                counter.add(HeapEstimator.arrayBytes(directory.length, HeapEstimator.REFERENCE));
+                for (int[] page : directory) {
+                    if (page != null) {
+                        counter.add(HeapEstimator.arrayBytes(page.length, 4));
+                    }
+                }
+            }
+            for (String[] values : List.of(names, addresses, cities, zips, phones, emails)) {
+                counter.add(StringDictionary.footprintBytes(values, counter));
+            }
+            return counter.add(HeapEstimator.arrayBytes(chunks.length, HeapEstimator.REFERENCE))
+                    .add(tablesBytes).bytes();
+        }
+
+        /**
+         * @return la taille du stockage hors tas des médicaments et allergies, en octets
+         */
+        public long offHeapBytes() {
+            long bytes = 0;
+            for (ByteBuffer chunk : chunks) {
+                bytes += chunk == null ? 0 : chunk.capacity();
+            }
+            return bytes;
+        }
+
+        private int epochDay(int row) {
+            int record = get(RECORD, row);
+            return record == NONE ? NO_BIRTHDATE : get(BIRTHDATE, record);
+        }
+
+        private int payload(int row) {
+            int record = get(RECORD, row);
+            return record == NONE ? MedicalPayloads.NO_PAYLOAD : get(PAYLOAD, record);
+        }
+
+        /**
+         * @return la cellule, ou 0 si elle n'a jamais été écrite
+         */
+        private int get(int column, int index) {
+            int[][] directory = pages[column];
+            int page = index / PAGE_SIZE;
+            if (page >= directory.length || directory[page] == null) {
+                return 0;
+            }
+            int offset = index % PAGE_SIZE;
+            return offset < directory[page].length ? directory[page][offset] : 0;
+        }
+    }
+
+    /**
+     * Modifications d'un lot : chaque page partagée avec la version précédente est recopiée au plus
+     * une fois, à sa première modification. Une page ne prend sa taille pleine qu'une fois remplie,
+     * ce qui garde compact un petit jeu de données.
+     */
+    private static final class Editor {
+        private final Columns next;
+        private final Set<int[]> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private Editor(Columns current) {
+            this.next = current.next();
+        }
+
+        private void set(int column, int index, int value) {
+            int[][] directory = next.pages[column];
+            int pageIndex = index / PAGE_SIZE;
+            if (pageIndex >= directory.length) {
+                directory = Arrays.copyOf(directory, Math.max(pageIndex + 1, directory.length * 2));
+                next.pages[column] = directory;
+            }
+            int offset = index % PAGE_SIZE;
+            int[] page = directory[pageIndex];
+            if (page == null || offset >= page.length) {
+                int length = page == null ? 16 : page.length;
+                while (length <= offset) {
+                    length *= 2;
+                }
+                page = page == null ? new int[Math.min(length, PAGE_SIZE)] : Arrays.copyOf(page, Math.min(length, PAGE_SIZE));
+                owned.add(page);
+                directory[pageIndex] = page;
+            } else if (!owned.contains(page)) {
+                page = page.clone();
+                owned.add(page);
+                directory[pageIndex] = page;
+            }
+            page[offset] = value;
+        }
+    }
+}
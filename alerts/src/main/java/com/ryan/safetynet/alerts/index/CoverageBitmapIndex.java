@@ -0,0 +1,743 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import com.ryan.safetynet.alerts.utils.AgeCalculator;
+import com.ryan.safetynet.alerts.utils.CaseFolding;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Index de couverture sous forme de bitmaps. Chaque personne reçoit un ordinal stable ; chaque station,
+ * ville et code postal est associé au {@link BitSet} des ordinaux de ses résidents. Les adresses et
+ * les noms exacts, qui ne regroupent que quelques personnes, sont associés au tableau trié de leurs
+ * ordinaux plutôt qu'à un bitmap dont la taille suivrait le plus grand ordinal. Les requêtes de
+ * couverture (/phoneAlert, /flood/stations, /firestation) deviennent des unions et intersections de
+ * bitmaps plutôt que des filtrages de listes.
+ *
+ * Une personne ajoutée reçoit l'ordinal suivant, une personne mise à jour conserve le sien et une
+ * personne supprimée laisse un emplacement libre : les ordinaux suivent l'ordre des données et chaque
+ * modification ne fait que lever ou baisser les bits des clés de l'entité concernée. Lorsque les
+ * emplacements libres dépassent les personnes indexées, l'index est reconstruit pour les compacter.
+ *
+ * Le thread d'écriture applique chaque lot sur une nouvelle version de l'état, publiée d'un seul coup :
+ * une requête travaille toujours sur un {@link Snapshot} cohérent. Une version partage avec la
+ * précédente tout ce que le lot ne touche pas ; seuls sont recopiés les répertoires de pages, les
+ * pages et partitions modifiées et les bitmaps des clés concernées.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CoverageBitmapIndex implements DataIndex {
+
+    /**
+     * Âge jusqu'auquel une personne est comptée comme enfant, comme pour /firestation.
+     */
+    public static final int CHILD_MAX_AGE = 18;
+
+    /**
+     * Nombre d'ordinaux par page des tableaux de personnes et de dates de naissance.
+     */
+    static final int PAGE_SIZE = 1024;
+
+    /**
+     * Nombre de partitions de chaque table de bitmaps.
+     */
+    static final int PARTITIONS = 256;
+
+    private final DataRepository dataRepository;
+    private final AddressDictionary addressDictionary;
+
+    // Tables de travail du thread d'écriture
+    private final Map<Person, Integer> ordinals = new IdentityHashMap<>();
+    private final Map<String, List<MedicalRecord>> recordsByName = new HashMap<>();
+    private final Map<Integer, Map<String, Integer>> stationsByAddress = new HashMap<>();
+
+    private volatile Snapshot snapshot;
+
+    @Override
+    public String getName() {
+        return "coverageBitmap";
+    }
+
+    @Override
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        ordinals.clear();
+        recordsByName.clear();
+        stationsByAddress.clear();
+        Editor editor = new Editor(new Snapshot(addressDictionary));
+        for (MedicalRecord record : data.getMedicalRecords()) {
+            IndexLists.append(recordsByName, MedicalTermIndex.residentKey(record.getFirstName(), record.getLastName()),
+                    record);
+        }
+        for (FireStation fireStation : data.getFireStations()) {
+            moveMapping(editor, null, fireStation);
+        }
+        for (Person person : data.getPersons()) {
+            movePerson(editor, null, person);
+        }
+        Snapshot rebuilt = editor.next;
+        this.snapshot = rebuilt;
+        log.debug("Bitmaps de couverture construits : {} personnes, {} stations, {} adresses, {} villes",
+                rebuilt.count, rebuilt.byStation.size(), rebuilt.byAddress.size(), rebuilt.byCity.size());
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        Snapshot current = snapshot;
+        if (current == null || changes.isEmpty()) {
+            return;
+        }
+        Editor editor = new Editor(current);
+        for (DataChange change : changes) {
+            switch (change.getEntity()) {
+                case PERSON -> movePerson(editor, (Person) change.getBefore(), (Person) change.getAfter());
+                case MEDICAL_RECORD -> moveRecord(editor,
+                        (MedicalRecord) change.getBefore(), (MedicalRecord) change.getAfter());
+                case FIRE_STATION -> moveMapping(editor,
+                        (FireStation) change.getBefore(), (FireStation) change.getAfter());
+            }
+        }
+        Snapshot next = editor.next;
+        if (next.size - next.count > Math.max(PAGE_SIZE, next.count)) {
+            log.debug("Compactage des bitmaps de couverture : {} emplacements libres pour {} personnes",
+                    next.size - next.count, next.count);
+            rebuild(dataRepository.getData());
+            return;
+        }
+        this.snapshot = next;
+    }
+
+    /**
+     * @return l'état publié de l'index, ou null s'il n'est pas encore construit
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Ajoute, met à jour (même ordinal) ou supprime (emplacement libéré) une personne.
+     */
+    private void movePerson(Editor editor, Person before, Person after) {
+        Integer ordinal = before == null ? null : ordinals.remove(before);
+        if (ordinal != null) {
+            unindex(editor, ordinal, before);
+            if (after == null) {
+                editor.setPerson(ordinal, null);
+                editor.setBirthdate(ordinal, null);
+                editor.bits(editor.next.byLive, Boolean.TRUE, true).clear(ordinal);
+                editor.next.count--;
+                return;
+            }
+        } else if (after != null) {
+            ordinal = editor.append();
+            editor.bits(editor.next.byLive, Boolean.TRUE, true).set(ordinal);
+            editor.next.count++;
+        } else {
+            return;
+        }
+        ordinals.put(after, ordinal);
+        editor.setPerson(ordinal, after);
+        editor.setBirthdate(ordinal, birthdateOf(residentKey(after)));
+        int address = addressDictionary.idOf(after.getAddress());
+        editor.add(editor.next.byAddress, address, ordinal);
+        editor.set(editor.next.byCity, CaseFolding.fold(after.getCity()), ordinal);
+        editor.set(editor.next.byZip, String.valueOf(after.getZip()), ordinal);
+        editor.add(editor.next.byResident, residentKey(after), ordinal);
+        for (String station : stationsByAddress.getOrDefault(address, Map.of()).keySet()) {
+            editor.set(editor.next.byStation, station, ordinal);
+        }
+    }
+
+    private void unindex(Editor editor, int ordinal, Person person) {
+        int address = addressDictionary.idOf(person.getAddress());
+        editor.remove(editor.next.byAddress, address, ordinal);
+        editor.clear(editor.next.byCity, CaseFolding.fold(person.getCity()), ordinal);
+        editor.clear(editor.next.byZip, String.valueOf(person.getZip()), ordinal);
+        editor.remove(editor.next.byResident, residentKey(person), ordinal);
+        for (String station : stationsByAddress.getOrDefault(address, Map.of()).keySet()) {
+            editor.clear(editor.next.byStation, station, ordinal);
+        }
+    }
+
+    /**
+     * Met à jour la date de naissance des homonymes exacts : celle du premier dossier portant leur nom.
+     */
+    private void moveRecord(Editor editor, MedicalRecord before, MedicalRecord after) {
+        String beforeKey = before == null ? null : MedicalTermIndex.residentKey(before.getFirstName(), before.getLastName());
+        String afterKey = after == null ? null : MedicalTermIndex.residentKey(after.getFirstName(), after.getLastName());
+        IndexLists.move(recordsByName, beforeKey, afterKey, before, after);
+        for (String key : new String[]{beforeKey, afterKey}) {
+            int[] homonyms = key == null ? null : editor.next.byResident.get(key);
+            if (homonyms == null) {
+                continue;
+            }
+            LocalDate birthdate = birthdateOf(key);
+            for (int ordinal : homonyms) {
+                editor.setBirthdate(ordinal, birthdate);
+            }
+        }
+    }
+
+    /**
+     * Une station couvre les résidents d'une adresse tant qu'au moins un mapping les relie.
+     */
+    private void moveMapping(Editor editor, FireStation before, FireStation after) {
+        if (before != null) {
+            int address = addressDictionary.idOf(before.getAddress());
+            if (count(address, before.getStation(), -1) == 0) {
+                int[] residents = editor.next.byAddress.get(address);
+                if (residents != null) {
+                    BitSet covered = editor.bits(editor.next.byStation, before.getStation(), true);
+                    for (int ordinal : residents) {
+                        covered.clear(ordinal);
+                    }
+                }
+            }
+        }
+        if (after != null) {
+            int address = addressDictionary.idOf(after.getAddress());
+            BitSet covered = editor.bits(editor.next.byStation, after.getStation(), true);
+            if (count(address, after.getStation(), 1) == 1) {
+                int[] residents = editor.next.byAddress.get(address);
+                if (residents != null) {
+                    for (int ordinal : residents) {
+                        covered.set(ordinal);
+                    }
+                }
+            }
+        }
+    }
+
+    private int count(int address, String station, int delta) {
+        Map<String, Integer> counts = stationsByAddress.computeIfAbsent(address, a -> new HashMap<>(2));
+        Integer updated = counts.merge(station, delta, (a, b) -> a + b == 0 ? null : a + b);
+        if (counts.isEmpty()) {
+            stationsByAddress.remove(address);
+        }
+        return updated == null ? 0 : updated;
+    }
+
+    private LocalDate birthdateOf(String residentKey) {
+        List<MedicalRecord> records = recordsByName.get(residentKey);
+        return records == null ? null : records.get(0).getBirthdate();
+    }
+
+    private static String residentKey(Person person) {
+        return MedicalTermIndex.residentKey(person.getFirstName(), person.getLastName());
+    }
+
+    /**
+     * État de l'index à une version donnée, jamais modifié une fois publié. Chaque méthode retourne
+     * un nouveau {@link BitSet} que l'appelant peut combiner librement avec {@link BitSet#and},
+     * {@link BitSet#or} ou {@link BitSet#andNot}. Les méthodes {@code ...Postings} donnent au contraire
+     * une {@link Postings} lue sur les bitmaps de la version, sans copie.
+     */
+    public static final class Snapshot {
+        private final AddressDictionary addressDictionary;
+        private Person[][] persons = new Person[0][];
+        private LocalDate[][] birthdates = new LocalDate[0][];
+        private int size;
+        private int count;
+        private Table<Boolean, BitSet> byLive = new Table<>();
+        private Table<String, BitSet> byStation = new Table<>();
+        private Table<Integer, int[]> byAddress = new Table<>();
+        private Table<String, BitSet> byCity = new Table<>();
+        private Table<String, BitSet> byZip = new Table<>();
+        private Table<String, int[]> byResident = new Table<>();
+        private volatile Children children;
+
+        private Snapshot(AddressDictionary addressDictionary) {
+            this.addressDictionary = addressDictionary;
+        }
+
+        /**
+         * Version suivante : partage les pages, partitions et bitmaps de celle-ci.
+         */
+        private Snapshot next() {
+            Snapshot next = new Snapshot(addressDictionary);
+            next.persons = persons.clone();
+            next.birthdates = birthdates.clone();
+            next.size = size;
+            next.count = count;
+            next.byLive = byLive.next();
+            next.byStation = byStation.next();
+            next.byAddress = byAddress.next();
+            next.byCity = byCity.next();
+            next.byZip = byZip.next();
+            next.byResident = byResident.next();
+            Children current = children;
+            next.children = current != null && current.day.equals(LocalDate.now()) ? current : null;
+            return next;
+        }
+
+        /**
+         * @param stationNumbers numéros de stations
+         * @return les personnes couvertes par au moins une des stations
+         */
+        public BitSet stations(Collection<?> stationNumbers) {
+            return stationPostings(stationNumbers).toBitSet();
+        }
+
+        /**
+         * @param address une adresse, sous n'importe quelle forme équivalente
+         * @return les résidents de l'adresse
+         */
+        public BitSet address(String address) {
+            return addressPostings(address).toBitSet();
+        }
+
+        /**
+         * @param city une ville, insensible à la casse
+         * @return les résidents de la ville
+         */
+        public BitSet city(String city) {
+            return cityPostings(city).toBitSet();
+        }
+
+        /**
+         * @param zip un code postal, comparé exactement
+         * @return les résidents du code postal
+         */
+        public BitSet zip(String zip) {
+            return zipPostings(zip).toBitSet();
+        }
+
+        /**
+         * @param stationNumbers numéros de stations
+         * @return les personnes couvertes par au moins une des stations, sans copie
+         */
+        public Postings stationPostings(Collection<?> stationNumbers) {
+            List<BitSet> bitmaps = new ArrayList<>(stationNumbers.size());
+            for (Object station : stationNumbers) {
+                BitSet residents = byStation.get(String.valueOf(station));
+                if (residents != null) {
+                    bitmaps.add(residents);
+                }
+            }
+            return new Postings(bitmaps.toArray(new BitSet[0]), null, size);
+        }
+
+        /**
+         * @param address une adresse, sous n'importe quelle forme équivalente
+         * @return les résidents de l'adresse, sans copie
+         */
+        public Postings addressPostings(String address) {
+            int[] ordinals = byAddress.get(addressDictionary.find(address));
+            return new Postings(null, ordinals == null ? new int[0] : ordinals, size);
+        }
+
+        /**
+         * @param city une ville, insensible à la casse
+         * @return les résidents de la ville, sans copie
+         */
+        public Postings cityPostings(String city) {
+            return Postings.of(byCity.get(CaseFolding.fold(city)), size);
+        }
+
+        /**
+         * @param zip un code postal, comparé exactement
+         * @return les résidents du code postal, sans copie
+         */
+        public Postings zipPostings(String zip) {
+            return Postings.of(byZip.get(zip), size);
+        }
+
+        /**
+         * @return les enfants à la date du jour, sans copie ({@link #children()})
+         */
+        public Postings childPostings() {
+            return Postings.of(childBitmap(), size);
+        }
+
+        /**
+         * @param residentKeys clés de résidents ({@link MedicalTermIndex#residentKey})
+         * @return les personnes portant l'un de ces noms exacts
+         */
+        public BitSet residents(Collection<String> residentKeys) {
+            BitSet residents = new BitSet(size);
+            for (String key : residentKeys) {
+                int[] homonyms = byResident.get(key);
+                if (homonyms != null) {
+                    for (int ordinal : homonyms) {
+                        residents.set(ordinal);
+                    }
+                }
+            }
+            return residents;
+        }
+
+        /**
+         * @return toutes les personnes indexées, sans les emplacements libres
+         */
+        public BitSet all() {
+            return copy(byLive.get(Boolean.TRUE));
+        }
+
+        /**
+         * Retourne les enfants à la date du jour. Le bitmap est calculé au premier appel de la
+         * journée puis réutilisé, y compris par les versions suivantes qui le tiennent à jour :
+         * un enfant devient adulte sans modification des données.
+         *
+         * @return les personnes de {@value #CHILD_MAX_AGE} ans ou moins ayant un dossier médical
+         */
+        public BitSet children() {
+            return (BitSet) childBitmap().clone();
+        }
+
+        /**
+         * @return le bitmap partagé des enfants du jour, calculé au premier appel de la journée
+         */
+        private BitSet childBitmap() {
+            LocalDate today = LocalDate.now();
+            Children current = children;
+            if (current == null || !current.day.equals(today)) {
+                BitSet computed = new BitSet(size);
+                for (int ordinal = 0; ordinal < size; ordinal++) {
+                    if (isChild(birthdate(ordinal), today)) {
+                        computed.set(ordinal);
+                    }
+                }
+                current = new Children(today, computed);
+                children = current;
+            }
+            return current.bitmap;
+        }
+
+        /**
+         * @return les personnes ayant un dossier médical et plus de {@value #CHILD_MAX_AGE} ans
+         */
+        public BitSet adults() {
+            BitSet adults = new BitSet(size);
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                if (birthdate(ordinal) != null) {
+                    adults.set(ordinal);
+                }
+            }
+            adults.andNot(children());
+            return adults;
+        }
+
+        /**
+         * @param ordinal l'ordinal d'une personne
+         * @return la personne, ou null pour un emplacement libre
+         */
+        public Person person(int ordinal) {
+            return get(persons, ordinal);
+        }
+
+        /**
+         * @param ordinal l'ordinal d'une personne
+         * @return sa date de naissance, ou null si elle n'a pas de dossier médical
+         */
+        public LocalDate birthdate(int ordinal) {
+            return get(birthdates, ordinal);
+        }
+
+        /**
+         * @return le nombre d'ordinaux attribués, emplacements libres compris
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return le nombre de personnes indexées
+         */
+        public int count() {
+            return count;
+        }
+
+        private static <T> T get(T[][] pages, int ordinal) {
+            T[] page = pages[ordinal / PAGE_SIZE];
+            return page == null ? null : page[ordinal % PAGE_SIZE];
+        }
+
+        private static boolean isChild(LocalDate birthdate, LocalDate day) {
+            return birthdate != null && AgeCalculator.calculateAge(birthdate, day) <= CHILD_MAX_AGE;
+        }
+
+        private static BitSet copy(BitSet bitmap) {
+            return bitmap == null ? new BitSet() : (BitSet) bitmap.clone();
+        }
+
+    }
+
+    /**
+     * Personnes retenues par un critère, lues sur les bitmaps ou tableaux d'ordinaux d'une version
+     * sans les recopier : la taille de la liste et l'appartenance d'un ordinal sont obtenues
+     * directement, un {@link BitSet} n'est construit que par {@link #toBitSet()}. La liste d'un
+     * critère portant sur plusieurs clés (plusieurs stations) est l'union de leurs bitmaps.
+     */
+    public static final class Postings {
+        private final BitSet[] bitmaps;
+        private final int[] ordinals;
+        private final int size;
+
+        private Postings(BitSet[] bitmaps, int[] ordinals, int size) {
+            this.bitmaps = bitmaps;
+            this.ordinals = ordinals;
+            this.size = size;
+        }
+
+        private static Postings of(BitSet bitmap, int size) {
+            return new Postings(bitmap == null ? new BitSet[0] : new BitSet[]{bitmap}, null, size);
+        }
+
+        /**
+         * @return le nombre de personnes de la liste ; pour une union, chaque personne est comptée
+         * dans le premier bitmap qui la contient
+         */
+        public int cardinality() {
+            if (ordinals != null) {
+                return ordinals.length;
+            }
+            int cardinality = bitmaps.length == 0 ? 0 : bitmaps[0].cardinality();
+            for (int i = 1; i < bitmaps.length; i++) {
+                for (int ordinal = bitmaps[i].nextSetBit(0); ordinal >= 0; ordinal = bitmaps[i].nextSetBit(ordinal + 1)) {
+                    if (!contains(ordinal, i)) {
+                        cardinality++;
+                    }
+                }
+            }
+            return cardinality;
+        }
+
+        /**
+         * @param ordinal l'ordinal d'une personne
+         * @return true si la personne fait partie de la liste
+         */
+        public boolean contains(int ordinal) {
+            if (ordinals != null) {
+                return Arrays.binarySearch(ordinals, ordinal) >= 0;
+            }
+            return contains(ordinal, bitmaps.length);
+        }
+
+        /**
+         * @return un nouveau bitmap de la liste
+         */
+        public BitSet toBitSet() {
+            BitSet bitmap = new BitSet(size);
+            if (ordinals != null) {
+                for (int ordinal : ordinals) {
+                    bitmap.set(ordinal);
+                }
+            } else {
+                for (BitSet residents : bitmaps) {
+                    bitmap.or(residents);
+                }
+            }
+            return bitmap;
+        }
+
+        private boolean contains(int ordinal, int count) {
+            for (int i = 0; i < count; i++) {
+                if (bitmaps[i].get(ordinal)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Table « clé → ordinaux » partitionnée par hachage : une version ne recopie que les partitions
+     * dont une clé change.
+     */
+    private static final class Table<K, V> {
+        private final Map<K, V>[] partitions;
+
+        @SuppressWarnings("unchecked")
+        private Table() {
+            this.partitions = new Map[PARTITIONS];
+            Arrays.fill(partitions, Map.of());
+        }
+
+        private Table(Map<K, V>[] partitions) {
+            this.partitions = partitions;
+        }
+
+        private Table<K, V> next() {
+            return new Table<>(partitions.clone());
+        }
+
+        private V get(K key) {
+            return partitions[partition(key)].get(key);
+        }
+
+        private int size() {
+            int size = 0;
+            for (Map<K, V> partition : partitions) {
+                size += partition.size();
+            }
+            return size;
+        }
+
+        private static int partition(Object key) {
+            int hash = Objects.hashCode(key);
+            return (hash ^ (hash >>> 16)) & (PARTITIONS - 1);
+        }
+    }
+
+    /**
+     * Modifications d'un lot : chaque page, partition ou bitmap partagé avec la version précédente
+     * est recopié au plus une fois, à sa première modification. Les listes triées d'ordinaux ne sont
+     * jamais modifiées : chaque modification les remplace.
+     */
+    private static final class Editor {
+        private final Snapshot next;
+        private final Set<Object> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private Editor(Snapshot current) {
+            this.next = current.next();
+        }
+
+        private int append() {
+            int ordinal = next.size++;
+            if (ordinal / PAGE_SIZE >= next.persons.length) {
+                int pages = Math.max(1, next.persons.length * 2);
+                next.persons = Arrays.copyOf(next.persons, pages);
+                next.birthdates = Arrays.copyOf(next.birthdates, pages);
+            }
+            return ordinal;
+        }
+
+        private void setPerson(int ordinal, Person person) {
+            page(next.persons, ordinal, Person[]::new)[ordinal % PAGE_SIZE] = person;
+        }
+
+        private void setBirthdate(int ordinal, LocalDate birthdate) {
+            page(next.birthdates, ordinal, LocalDate[]::new)[ordinal % PAGE_SIZE] = birthdate;
+            Children children = next.children;
+            if (children == null) {
+                return;
+            }
+            // Bitmap des enfants du jour tenu à jour plutôt que recalculé à la prochaine lecture
+            BitSet bitmap = children.bitmap;
+            if (!owned.contains(bitmap)) {
+                bitmap = (BitSet) bitmap.clone();
+                owned.add(bitmap);
+                next.children = new Children(children.day, bitmap);
+            }
+            bitmap.set(ordinal, Snapshot.isChild(birthdate, children.day));
+        }
+
+        private <T> T[] page(T[][] pages, int ordinal, IntFunction<T[]> factory) {
+            int index = ordinal / PAGE_SIZE;
+            T[] page = pages[index];
+            if (page == null || !owned.contains(page)) {
+                page = page == null ? factory.apply(PAGE_SIZE) : page.clone();
+                pages[index] = page;
+                owned.add(page);
+            }
+            return page;
+        }
+
+        private <K> void set(Table<K, BitSet> bitmaps, K key, int ordinal) {
+            bits(bitmaps, key, true).set(ordinal);
+        }
+
+        private <K> void clear(Table<K, BitSet> bitmaps, K key, int ordinal) {
+            BitSet bitmap = bits(bitmaps, key, false);
+            if (bitmap != null) {
+                bitmap.clear(ordinal);
+                if (bitmap.isEmpty() && bitmaps != next.byStation) {
+                    partition(bitmaps, key).remove(key);
+                }
+            }
+        }
+
+        /**
+         * Ajoute un ordinal à une liste triée, remplacée par une copie (quelques personnes par clé).
+         */
+        private <K> void add(Table<K, int[]> postings, K key, int ordinal) {
+            int[] ordinals = postings.get(key);
+            if (ordinals == null) {
+                partition(postings, key).put(key, new int[]{ordinal});
+                return;
+            }
+            int position = Arrays.binarySearch(ordinals, ordinal);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            int[] extended = new int[ordinals.length + 1];
+            System.arraycopy(ordinals, 0, extended, 0, position);
+            extended[position] = ordinal;
+            System.arraycopy(ordinals, position, extended, position + 1, ordinals.length - position);
+            partition(postings, key).put(key, extended);
+        }
+
+        private <K> void remove(Table<K, int[]> postings, K key, int ordinal) {
+            int[] ordinals = postings.get(key);
+            int position = ordinals == null ? -1 : Arrays.binarySearch(ordinals, ordinal);
+            if (position < 0) {
+                return;
+            }
+            if (ordinals.length == 1) {
+                partition(postings, key).remove(key);
+                return;
+            }
+            int[] remaining = new int[ordinals.length - 1];
+            System.arraycopy(ordinals, 0, remaining, 0, position);
+            System.arraycopy(ordinals, position + 1, remaining, position, ordinals.length - position - 1);
+            partition(postings, key).put(key, remaining);
+        }
+
+        /**
+         * Retourne le bitmap modifiable d'une clé, créé si nécessaire.
+         */
+        private <K> BitSet bits(Table<K, BitSet> bitmaps, K key, boolean create) {
+            BitSet bitmap = bitmaps.get(key);
+            if (bitmap != null && owned.contains(bitmap)) {
+                return bitmap;
+            }
+            if (bitmap == null && !create) {
+                return null;
+            }
+            bitmap = bitmap == null ? new BitSet() : (BitSet) bitmap.clone();
+            owned.add(bitmap);
+            partition(bitmaps, key).put(key, bitmap);
+            return bitmap;
+        }
+
+        private <K, V> Map<K, V> partition(Table<K, V> table, K key) {
+            int index = Table.partition(key);
+            Map<K, V> partition = table.partitions[index];
+            if (!owned.contains(partition)) {
+                partition = new HashMap<>(partition);
+                table.partitions[index] = partition;
+                owned.add(partition);
+            }
+            return partition;
+        }
+    }
+
+    private record Children(LocalDate day, BitSet bitmap) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChangeListener;
+import com.ryan.safetynet.alerts.model.Data;
+
+/**
+ * Index en mémoire dérivé des données.
+ * Un index est reconstruit entièrement au chargement des données par {@link IndexManager},
+ * puis maintenu de manière incrémentale à partir des modifications du pipeline de mutations.
+ * Tant qu'il n'est pas prêt, les services se rabattent sur un parcours des données.
+ */
+public interface DataIndex extends DataChangeListener {
+
+    /**
+     * @return le nom de l'index, utilisé dans les logs
+     */
+    String getName();
+
+    /**
+     * Reconstruit l'index à partir de l'ensemble des données.
+     *
+     * @param data les données chargées
+     */
+    void rebuild(Data data);
+
+    /**
+     * @return true si l'index a été construit et peut être interrogé
+     */
+    boolean isReady();
+}
@@ -0,0 +1,95 @@
+package com.ryan.safetynet.alerts.index;
+
+import java.time.LocalDate;
+
+/**
+ * Nombre de dates par jour, tenu dans un arbre de Fenwick dont chaque seau est un jour : ajouter
+ * ou retirer une date et compter les dates antérieures ou égales à un jour coûtent chacun
+ * O(log n) opérations, sans trier ni recopier les dates.
+ *
+ * Les seaux couvrent {@value #DAYS} jours à partir du 1er janvier 1900 ; une date hors de cette
+ * plage est ramenée à sa borne la plus proche, à l'ajout comme à la recherche. L'arbre est découpé
+ * en pages allouées au premier compteur qu'elles reçoivent. Une version obtenue par
+ * {@link #snapshot()} partage ses pages avec l'arbre, qui recopie une page partagée avant de la
+ * modifier : publier une version ne coûte que le répertoire des pages.
+ * Non synchronisé : l'arbre est réservé au thread d'écriture, une version n'est plus modifiée.
+ */
+final class DayCounts {
+
+    /**
+     * Nombre de jours couverts.
+     */
+    static final int DAYS = 1 << 16;
+
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final long ORIGIN = LocalDate.of(1900, 1, 1).toEpochDay();
+
+    private final int[][] pages;
+    // Pages partagées avec une version, à recopier avant modification
+    private final boolean[] shared;
+
+    DayCounts() {
+        this(new int[DAYS >> PAGE_BITS][]);
+    }
+
+    private DayCounts(int[][] pages) {
+        this.pages = pages;
+        this.shared = new boolean[pages.length];
+    }
+
+    /**
+     * Ajoute delta au nombre de dates du jour donné.
+     */
+    void add(LocalDate date, int delta) {
+        for (int node = bucket(date) + 1; node <= DAYS; node += node & -node) {
+            page(node)[(node - 1) & (PAGE_SIZE - 1)] += delta;
+        }
+    }
+
+    /**
+     * @return le nombre de dates antérieures ou égales au jour donné
+     */
+    int countOnOrBefore(LocalDate date) {
+        int count = 0;
+        for (int node = bucket(date) + 1; node > 0; node -= node & -node) {
+            int[] page = pages[(node - 1) >> PAGE_BITS];
+            if (page != null) {
+                count += page[(node - 1) & (PAGE_SIZE - 1)];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return une version figée des compteurs, qui partage les pages actuelles
+     */
+    DayCounts snapshot() {
+        for (int i = 0; i < pages.length; i++) {
+            shared[i] = pages[i] != null;
+        }
+        return new DayCounts(pages.clone());
+    }
+
+    /**
+     * @return la page modifiable d'un nœud de l'arbre
+     */
+    private int[] page(int node) {
+        int index = (node - 1) >> PAGE_BITS;
+        int[] page = pages[index];
+        if (page == null) {
+            page = new int[PAGE_SIZE];
+            pages[index] = page;
+        } else if (shared[index]) {
+            page = page.clone();
+            pages[index] = page;
+            shared[index] = false;
+        }
+        return page;
+    }
+
+    private static int bucket(LocalDate date) {
+        long day = date.toEpochDay() - ORIGIN;
+        return (int) Math.max(0, Math.min(DAYS - 1, day));
+    }
+}
@@ -0,0 +1,42 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.dto.ExistenceFilterStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Endpoint Actuator exposant les métriques des filtres de Bloom de l'index d'existence.
+ * Accessible via /actuator/existence (toutes les entités) ou /actuator/existence/{entity}.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "existence")
+public class ExistenceFilterEndpoint {
+
+    private final ExistenceIndex existenceIndex;
+
+    /**
+     * @return les métriques du filtre de chaque entité
+     */
+    @ReadOperation
+    public List<ExistenceFilterStatsDTO> filters() {
+        return existenceIndex.getStats();
+    }
+
+    /**
+     * @param entity nom de l'entité (person, medicalRecord ou fireStation)
+     * @return les métriques du filtre de l'entité, ou null si l'entité est inconnue
+     */
+    @ReadOperation
+    public ExistenceFilterStatsDTO filter(@Selector String entity) {
+        return existenceIndex.getStats().stream()
+                .filter(s -> s.getEntity().equals(entity))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,239 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.dto.ExistenceFilterStatsDTO;
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Index d'existence utilisé par les contrôles de doublons des ajouts : personne (prénom, nom, adresse canonique),
+ * dossier médical (prénom, nom) et mapping de caserne (adresse canonique).
+ * Chaque entité a un filtre de Bloom placé devant une table de hachage exacte : le cas courant,
+ * une clé absente, est tranché par le filtre sans consulter la table ni parcourir les listes.
+ *
+ * L'index est maintenu mutation par mutation ({@link #onMutationApplied}) et non par lot, car
+ * une mutation doit voir les ajouts des mutations précédentes du même lot. Un filtre de Bloom ne
+ * permettant pas de retirer une clé, il est reconstruit à partir de la table exacte lorsqu'il
+ * dépasse sa capacité ou que les suppressions accumulées dégradent son taux de faux positifs.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExistenceIndex implements DataIndex {
+
+    /**
+     * Taux de faux positifs visé à pleine capacité.
+     */
+    static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private static final int MIN_CAPACITY = 64;
+
+    private final AddressDictionary addressDictionary;
+
+    private final KeyFilter persons = new KeyFilter("person");
+    private final KeyFilter medicalRecords = new KeyFilter("medicalRecord");
+    private final KeyFilter fireStations = new KeyFilter("fireStation");
+    private volatile boolean ready;
+
+    @Override
+    public String getName() {
+        return "existence";
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        ready = false;
+        persons.reset(data.getPersons().size());
+        medicalRecords.reset(data.getMedicalRecords().size());
+        fireStations.reset(data.getFireStations().size());
+        data.getPersons().forEach(person -> persons.add(personKey(person)));
+        data.getMedicalRecords().forEach(record -> medicalRecords.add(recordKey(record)));
+        data.getFireStations().forEach(fireStation -> fireStations.add(addressDictionary.idOf(fireStation.getAddress())));
+        ready = true;
+        log.debug("Index d'existence construit : {} personnes, {} dossiers, {} mappings",
+                data.getPersons().size(), data.getMedicalRecords().size(), data.getFireStations().size());
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        // Déjà appliqué mutation par mutation
+    }
+
+    @Override
+    public void onMutationApplied(List<DataChange> changes) {
+        if (!ready) {
+            return;
+        }
+        for (DataChange change : changes) {
+            switch (change.getEntity()) {
+                case PERSON -> {
+                    if (change.getBefore() != null) {
+                        persons.remove(personKey((Person) change.getBefore()));
+                    }
+                    if (change.getAfter() != null) {
+                        persons.add(personKey((Person) change.getAfter()));
+                    }
+                }
+                case MEDICAL_RECORD -> {
+                    if (change.getBefore() != null) {
+                        medicalRecords.remove(recordKey((MedicalRecord) change.getBefore()));
+                    }
+                    if (change.getAfter() != null) {
+                        medicalRecords.add(recordKey((MedicalRecord) change.getAfter()));
+                    }
+                }
+                case FIRE_STATION -> {
+                    if (change.getBefore() != null) {
+                        fireStations.remove(addressDictionary.idOf(((FireStation) change.getBefore()).getAddress()));
+                    }
+                    if (change.getAfter() != null) {
+                        fireStations.add(addressDictionary.idOf(((FireStation) change.getAfter()).getAddress()));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param firstName Prénom
+     * @param lastName Nom
+     * @param address Adresse, comparée sous sa forme canonique
+     * @return true si une personne porte ce nom à cette adresse
+     */
+    public boolean containsPerson(String firstName, String lastName, String address) {
+        int id = addressDictionary.find(address);
+        return id != AddressDictionary.NO_ID && persons.contains(personKey(firstName, lastName, id));
+    }
+
+    /**
+     * @param firstName Prénom
+     * @param lastName Nom
+     * @return true si un dossier médical existe pour ce nom
+     */
+    public boolean containsMedicalRecord(String firstName, String lastName) {
+        return medicalRecords.contains(MedicalTermIndex.residentKey(firstName, lastName));
+    }
+
+    /**
+     * @param address Adresse, comparée sous sa forme canonique
+     * @return true si au moins un mapping de caserne couvre cette adresse
+     */
+    public boolean containsFireStationAddress(String address) {
+        int id = addressDictionary.find(address);
+        return id != AddressDictionary.NO_ID && fireStations.contains(id);
+    }
+
+    /**
+     * @return les métriques du filtre de chaque entité
+     */
+    public List<ExistenceFilterStatsDTO> getStats() {
+        return List.of(persons.toStats(), medicalRecords.toStats(), fireStations.toStats());
+    }
+
+    private String personKey(Person person) {
+        return personKey(person.getFirstName(), person.getLastName(), addressDictionary.idOf(person.getAddress()));
+    }
+
+    private static String personKey(String firstName, String lastName, int addressId) {
+        return firstName + '\u0000' + lastName + '\u0000' + addressId;
+    }
+
+    private static String recordKey(MedicalRecord record) {
+        return MedicalTermIndex.residentKey(record.getFirstName(), record.getLastName());
+    }
+
+    /**
+     * Filtre de Bloom et table exacte d'une entité.
+     * La table compte les occurrences de chaque clé, les données chargées pouvant contenir des doublons.
+     */
+    private static final class KeyFilter {
+        private final String entity;
+        private final Map<Object, Integer> counts = new ConcurrentHashMap<>();
+        private final LongAdder lookups = new LongAdder();
+        private final LongAdder filteredLookups = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+        private volatile BloomFilter bloom = new BloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+        private int removals;
+
+        private KeyFilter(String entity) {
+            this.entity = entity;
+        }
+
+        private void reset(int expectedKeys) {
+            counts.clear();
+            removals = 0;
+            bloom = new BloomFilter(Math.max(MIN_CAPACITY, expectedKeys * 2), FALSE_POSITIVE_RATE);
+        }
+
+        private void add(Object key) {
+            counts.merge(key, 1, Integer::sum);
+            bloom.put(key);
+            if (counts.size() > bloom.capacity()) {
+                resize();
+            }
+        }
+
+        private void remove(Object key) {
+            if (counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null) == null
+                    && ++removals > bloom.capacity() / 2) {
+                // Les bits des clés retirées restent positionnés : au-delà, le filtre est reconstruit
+                resize();
+            }
+        }
+
+        private boolean contains(Object key) {
+            lookups.increment();
+            if (!bloom.mightContain(key)) {
+                filteredLookups.increment();
+                return false;
+            }
+            boolean present = counts.containsKey(key);
+            if (!present) {
+                falsePositives.increment();
+            }
+            return present;
+        }
+
+        private void resize() {
+            BloomFilter resized = new BloomFilter(Math.max(MIN_CAPACITY, counts.size() * 2), FALSE_POSITIVE_RATE);
+            counts.keySet().forEach(resized::put);
+            bloom = resized;
+            removals = 0;
+            log.debug("Filtre de Bloom {} reconstruit pour {} clés", entity, counts.size());
+        }
+
+        private ExistenceFilterStatsDTO toStats() {
+            BloomFilter current = bloom;
+            long filtered = filteredLookups.sum();
+            long falsePositive = falsePositives.sum();
+            ExistenceFilterStatsDTO dto = new ExistenceFilterStatsDTO();
+            dto.setEntity(entity);
+            dto.setKeys(counts.size());
+            dto.setCapacity(current.capacity());
+            dto.setBits(current.bitCount());
+            dto.setHashFunctions(current.hashFunctions());
+            dto.setLookups(lookups.sum());
+            dto.setFilteredLookups(filtered);
+            dto.setFalsePositives(falsePositive);
+            // Part des clés absentes que le filtre n'a pas su écarter
+            dto.setFalsePositiveRate(filtered + falsePositive == 0 ? 0 : (double) falsePositive / (filtered + falsePositive));
+            dto.setExpectedFalsePositiveRate(current.expectedFalsePositiveRate(counts.size()));
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ryan.safetynet.alerts.dto.FireAlertDTO;
+import com.ryan.safetynet.alerts.dto.PersonWithMedicalInfoDTO;
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.utils.AgeCalculator;
+import com.ryan.safetynet.alerts.utils.MedicalRecordUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fiches /fire précalculées : pour chaque adresse couverte, la réponse JSON complète (résidents,
+ * informations médicales et numéro de caserne) est encodée à l'avance, de sorte qu'une requête
+ * se résume à une recherche par adresse suivie de l'écriture d'un tableau d'octets.
+ *
+ * Les fiches sont projetées depuis la {@link ResidentView}, notifiée avant cet index : le thread
+ * d'écriture réencode la fiche de chaque adresse touchée par un lot (résident, dossier médical
+ * d'un résident ou mapping de l'adresse). Une fiche contient des âges : elle est valable jusqu'au
+ * prochain anniversaire de l'un des résidents, après quoi la première lecture la réencode.
+ * Une adresse sans caserne, sans résident ou dont un résident n'a pas de dossier médical n'a pas
+ * de fiche : sa réponse (vide ou erreur) reste construite par le service.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FireCardIndex implements DataIndex {
+
+    private final AddressDictionary addressDictionary;
+    private final ResidentView residentView;
+    private final ObjectMapper objectMapper;
+
+    private volatile Map<Integer, Card> published;
+
+    /**
+     * Fiche encodée d'une adresse, avec les résidents dont elle provient.
+     */
+    private record Card(byte[] payload, List<ResidentView.Resident> residents, String station,
+                        LocalDate asOf, LocalDate validUntil) {
+
+        private boolean isValidOn(LocalDate date) {
+            return !date.isBefore(asOf) && date.isBefore(validUntil);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "fireCard";
+    }
+
+    @Override
+    public boolean isReady() {
+        return published != null;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        published = null;
+        if (!residentView.isReady()) {
+            log.warn("Vue des résidents indisponible, les fiches /fire ne sont pas construites");
+            return;
+        }
+        Set<String> addresses = new LinkedHashSet<>();
+        for (FireStation fireStation : data.getFireStations()) {
+            addresses.add(fireStation.getAddress());
+        }
+        Map<Integer, Card> rebuilt = new ConcurrentHashMap<>();
+        publish(rebuilt, addresses, LocalDate.now());
+        this.published = rebuilt;
+        log.debug("Fiches /fire construites pour {} adresses", rebuilt.size());
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        Map<Integer, Card> current = published;
+        if (current == null) {
+            return;
+        }
+        Set<String> addresses = new LinkedHashSet<>();
+        for (DataChange change : changes) {
+            switch (change.getEntity()) {
+                case PERSON -> {
+                    if (change.getBefore() != null) {
+                        addresses.add(((Person) change.getBefore()).getAddress());
+                    }
+                    if (change.getAfter() != null) {
+                        addresses.add(((Person) change.getAfter()).getAddress());
+                    }
+                }
+                case MEDICAL_RECORD -> {
+                    addRecordAddresses((MedicalRecord) change.getBefore(), addresses);
+                    addRecordAddresses((MedicalRecord) change.getAfter(), addresses);
+                }
+                case FIRE_STATION -> {
+                    if (change.getBefore() != null) {
+                        addresses.add(((FireStation) change.getBefore()).getAddress());
+                    }
+                    if (change.getAfter() != null) {
+                        addresses.add(((FireStation) change.getAfter()).getAddress());
+                    }
+                }
+            }
+        }
+        publish(current, addresses, LocalDate.now());
+    }
+
+    /**
+     * Retourne la fiche /fire encodée d'une adresse. Le tableau est partagé entre les requêtes
+     * et ne doit pas être modifié.
+     *
+     * @param address l'adresse, comparée sous sa forme canonique
+     * @return la réponse JSON encodée en UTF-8, ou null si l'adresse n'a pas de fiche
+     */
+    public byte[] cardAt(String address) {
+        return cardAt(address, LocalDate.now());
+    }
+
+    /**
+     * Retourne la fiche encodée d'une adresse, à jour à la date donnée.
+     */
+    byte[] cardAt(String address, LocalDate date) {
+        Map<Integer, Card> current = published;
+        int id = addressDictionary.find(address);
+        if (current == null || id == AddressDictionary.NO_ID) {
+            return null;
+        }
+        Card card = current.get(id);
+        if (card == null || card.isValidOn(date)) {
+            return card == null ? null : card.payload();
+        }
+        Card refreshed = encode(card.residents(), card.station(), date);
+        if (refreshed == null) {
+            return null;
+        }
+        // Si le thread d'écriture a republié la fiche entre-temps, sa version est conservée
+        current.replace(id, card, refreshed);
+        return refreshed.payload();
+    }
+
+    /**
+     * Désigne les adresses des résidents qui partagent ce dossier médical (homonymes exacts).
+     */
+    private void addRecordAddresses(MedicalRecord record, Set<String> addresses) {
+        if (record == null) {
+            return;
+        }
+        for (ResidentView.Resident resident : residentView.findByLastName(record.getLastName())) {
+            if (resident.firstName().equals(record.getFirstName()) && resident.lastName().equals(record.getLastName())) {
+                addresses.add(resident.address());
+            }
+        }
+    }
+
+    private void publish(Map<Integer, Card> target, Set<String> addresses, LocalDate date) {
+        for (String address : addresses) {
+            int id = addressDictionary.idOf(address);
+            Card card = encode(residentView.residentsAt(address), residentView.stationOf(address), date);
+            if (card == null) {
+                target.remove(id);
+            } else {
+                target.put(id, card);
+            }
+        }
+    }
+
+    /**
+     * Encode la fiche d'une adresse, ou retourne null si sa réponse n'est pas une liste de résidents.
+     */
+    private Card encode(List<ResidentView.Resident> residents, String station, LocalDate date) {
+        if (station == null || residents.isEmpty()) {
+            return null;
+        }
+        List<PersonWithMedicalInfoDTO> dtos = new ArrayList<>(residents.size());
+        LocalDate validUntil = LocalDate.MAX;
+        for (ResidentView.Resident resident : residents) {
+            if (!resident.hasMedicalRecord()) {
+                return null;
+            }
+            PersonWithMedicalInfoDTO dto = MedicalRecordUtils.toMedicalInfo(resident);
+            dto.setAge(AgeCalculator.calculateAge(resident.birthdate(), date));
+            dtos.add(dto);
+            LocalDate birthday = AgeCalculator.nextAgeChange(resident.birthdate(), date);
+            if (birthday.isBefore(validUntil)) {
+                validUntil = birthday;
+            }
+        }
+        FireAlertDTO response = new FireAlertDTO();
+        response.setResidents(dtos);
+        response.setFireStationNumber(station);
+        try {
+            return new Card(objectMapper.writeValueAsBytes(response), residents, station, date, validUntil);
+        } catch (JsonProcessingException e) {
+            log.error("Erreur lors de l'encodage de la fiche /fire de l'adresse {} : {}",
+                    residents.get(0).address(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.utils.CaseFolding;
+import com.ryan.safetynet.alerts.utils.NameMatching;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index de recherche approchée des résidents par nom, pour les noms mal orthographiés.
+ * Deux sources de candidats sont combinées :
+ * <ul>
+ *     <li>un index phonétique : les noms complets partageant les codes Soundex du prénom et du nom ;</li>
+ *     <li>un arbre BK sur les noms complets normalisés, pour les noms à faible distance d'édition.</li>
+ * </ul>
+ * Les candidats sont classés par distance d'édition, les correspondances phonétiques d'abord
+ * à distance égale.
+ *
+ * Les noms sont indexés sous forme normalisée (« prénom nom ») ; un nom dont plus aucun résident
+ * ne porte la forme reste dans l'arbre BK mais est ignoré lors des recherches, jusqu'à la
+ * prochaine reconstruction.
+ */
+@Slf4j
+@Component
+public class FuzzyNameIndex implements DataIndex {
+
+    private volatile State state;
+
+    /**
+     * Résident candidat à une recherche approchée.
+     *
+     * @param person la personne
+     * @param distance la distance d'édition entre la requête et son nom complet normalisé
+     * @param phonetic true si le prénom et le nom ont les mêmes codes phonétiques que la requête
+     */
+    public record Match(Person person, int distance, boolean phonetic) {
+    }
+
+    /**
+     * Ordre de classement des candidats.
+     */
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparingInt(Candidate::distance)
+            .thenComparing(Candidate::phonetic, Comparator.reverseOrder())
+            .thenComparing(Candidate::term);
+
+    @Override
+    public String getName() {
+        return "fuzzyName";
+    }
+
+    @Override
+    public boolean isReady() {
+        return state != null;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        State rebuilt = new State();
+        for (Person person : data.getPersons()) {
+            rebuilt.add(person);
+        }
+        this.state = rebuilt;
+        log.debug("Index de recherche approchée construit : {} noms, {} codes phonétiques",
+                rebuilt.persons.size(), rebuilt.phonetic.size());
+    }
+
+    /**
+     * Recherche les résidents dont le nom est proche de celui demandé.
+     *
+     * @param firstName le prénom recherché
+     * @param lastName le nom de famille recherché
+     * @param maxDistance la distance d'édition maximale des candidats non phonétiques
+     * @param limit le nombre maximal de résultats
+     * @param budgetNanos durée maximale de la recherche dans l'arbre BK ; au-delà,
+     *                    les candidats trouvés jusque-là sont retournés
+     * @return les candidats classés
+     */
+    public List<Match> search(String firstName, String lastName, int maxDistance, int limit, long budgetNanos) {
+        State current = state;
+        if (current == null) {
+            return List.of();
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        String query = term(firstName, lastName);
+        String code = phoneticCode(firstName, lastName);
+
+        Map<String, Candidate> candidates = new HashMap<>();
+        for (String term : current.phonetic.getOrDefault(code, Set.of())) {
+            candidates.put(term, new Candidate(term, NameMatching.levenshtein(query, term), true));
+        }
+        boolean complete = current.tree.search(query, maxDistance, deadline, (term, distance) -> {
+            if (current.persons.containsKey(term)) {
+                candidates.putIfAbsent(term, new Candidate(term, distance, false));
+            }
+        });
+        if (!complete) {
+            log.warn("Recherche approchée de {} {} interrompue après {} µs, résultats partiels",
+                    firstName, lastName, budgetNanos / 1000);
+        }
+
+        List<Match> matches = new ArrayList<>();
+        candidates.values().stream().sorted(RANKING).forEach(candidate -> {
+            for (Person person : current.persons.getOrDefault(candidate.term(), List.of())) {
+                if (matches.size() < limit) {
+                    matches.add(new Match(person, candidate.distance(), candidate.phonetic()));
+                }
+            }
+        });
+        return matches;
+    }
+
+    /**
+     * Recherche approchée par parcours de toutes les personnes, utilisée tant que l'index
+     * n'est pas construit. Le classement est identique à celui de {@link #search}.
+     *
+     * @param persons les personnes à parcourir
+     * @param firstName le prénom recherché
+     * @param lastName le nom de famille recherché
+     * @param maxDistance la distance d'édition maximale des candidats non phonétiques
+     * @param limit le nombre maximal de résultats
+     * @return les candidats classés
+     */
+    public static List<Match> scan(List<Person> persons, String firstName, String lastName,
+                                   int maxDistance, int limit) {
+        String query = term(firstName, lastName);
+        String code = phoneticCode(firstName, lastName);
+        List<Match> matches = new ArrayList<>();
+        for (Person person : persons) {
+            String term = term(person.getFirstName(), person.getLastName());
+            boolean phonetic = code.equals(phoneticCode(person.getFirstName(), person.getLastName()));
+            int distance = NameMatching.levenshtein(query, term);
+            if (phonetic || distance <= maxDistance) {
+                matches.add(new Match(person, distance, phonetic));
+            }
+        }
+        // Le tri est stable : à classement égal, l'ordre des données est conservé
+        matches.sort(Comparator.comparingInt(Match::distance)
+                .thenComparing(Match::phonetic, Comparator.reverseOrder())
+                .thenComparing(match -> term(match.person().getFirstName(), match.person().getLastName())));
+        return new ArrayList<>(matches.subList(0, Math.min(limit, matches.size())));
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        State current = state;
+        if (current == null) {
+            return;
+        }
+        for (DataChange change : changes) {
+            if (change.getEntity() != DataChange.Entity.PERSON) {
+                continue;
+            }
+            if (change.getBefore() != null) {
+                current.remove((Person) change.getBefore());
+            }
+            if (change.getAfter() != null) {
+                current.add((Person) change.getAfter());
+            }
+        }
+    }
+
+    private static String term(String firstName, String lastName) {
+        return CaseFolding.fold(String.valueOf(firstName)).trim() + " " + CaseFolding.fold(String.valueOf(lastName)).trim();
+    }
+
+    private static String phoneticCode(String firstName, String lastName) {
+        return NameMatching.soundex(firstName) + "-" + NameMatching.soundex(lastName);
+    }
+
+    /**
+     * Nom complet candidat, avant expansion en résidents.
+     */
+    private record Candidate(String term, int distance, boolean phonetic) {
+    }
+
+    /**
+     * État de l'index, remplacé en bloc lors d'une reconstruction. Modifié par le seul thread
+     * d'écriture : les listes et ensembles publiés sont immuables et remplacés.
+     */
+    private static final class State {
+        private final BkTree tree = new BkTree();
+        private final Map<String, List<Person>> persons = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> phonetic = new ConcurrentHashMap<>();
+
+        private void add(Person person) {
+            String term = term(person.getFirstName(), person.getLastName());
+            List<Person> existing = persons.getOrDefault(term, List.of());
+            List<Person> extended = new ArrayList<>(existing.size() + 1);
+            extended.addAll(existing);
+            extended.add(person);
+            persons.put(term, Collections.unmodifiableList(extended));
+            if (existing.isEmpty()) {
+                tree.add(term);
+                String code = phoneticCode(person.getFirstName(), person.getLastName());
+                Set<String> terms = new LinkedHashSet<>(phonetic.getOrDefault(code, Set.of()));
+                terms.add(term);
+                phonetic.put(code, Collections.unmodifiableSet(terms));
+            }
+        }
+
+        private void remove(Person person) {
+            String term = term(person.getFirstName(), person.getLastName());
+            List<Person> existing = persons.get(term);
+            if (existing == null) {
+                return;
+            }
+            List<Person> remaining = new ArrayList<>(existing);
+            remaining.removeIf(candidate -> candidate == person);
+            if (!remaining.isEmpty()) {
+                persons.put(term, Collections.unmodifiableList(remaining));
+                return;
+            }
+            persons.remove(term);
+            String code = phoneticCode(person.getFirstName(), person.getLastName());
+            Set<String> terms = new LinkedHashSet<>(phonetic.getOrDefault(code, Set.of()));
+            terms.remove(term);
+            if (terms.isEmpty()) {
+                phonetic.remove(code);
+            } else {
+                phonetic.put(code, Collections.unmodifiableSet(terms));
+            }
+        }
+    }
+}
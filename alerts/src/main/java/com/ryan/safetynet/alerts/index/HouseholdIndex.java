@@ -0,0 +1,332 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.utils.AgeCalculator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index des foyers par adresse, utilisé par /childAlert : les résidents ayant un dossier médical
+ * y sont déjà répartis entre enfants ({@value CoverageBitmapIndex#CHILD_MAX_AGE} ans ou moins) et adultes,
+ * de sorte qu'une requête se résume à une recherche par adresse.
+ *
+ * Les foyers sont projetés depuis la {@link ResidentView}, notifiée avant cet index : le thread
+ * d'écriture republie le foyer de chaque adresse touchée par un lot (déménagement, ajout ou
+ * suppression d'un résident, ou modification d'un dossier médical, et donc d'une date de naissance,
+ * de l'un de ses membres) à partir des résidents déjà joints par la vue. Un foyer publié est valable jusqu'au prochain anniversaire
+ * de l'un de ses enfants ; passé cette date, la première lecture le répartit de nouveau et remplace
+ * l'entrée publiée, ce qui suit le changement de jour sans tâche planifiée.
+ * L'index conserve aussi les adresses couvertes par chaque station, pour énumérer les foyers
+ * avec enfants d'une station.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HouseholdIndex implements DataIndex {
+
+    private final AddressDictionary addressDictionary;
+    private final ResidentView residentView;
+
+    // Table de travail du thread d'écriture
+    private final Map<String, Map<Integer, Integer>> addressesByStation = new HashMap<>();
+
+    private volatile Published published;
+
+    /**
+     * Membre d'un foyer, avec son âge à la date de la répartition.
+     *
+     * @param firstName prénom
+     * @param lastName nom de famille
+     * @param age âge en années
+     */
+    public record Member(String firstName, String lastName, int age) {
+    }
+
+    /**
+     * Foyer d'une adresse, réparti entre enfants et adultes à une date donnée.
+     * Les résidents sans dossier médical n'en font pas partie.
+     */
+    public static final class Household {
+        private final String address;
+        private final List<ResidentView.Resident> residents;
+        private final List<Member> children;
+        private final List<Member> adults;
+        private final LocalDate asOf;
+        private final LocalDate validUntil;
+
+        private Household(String address, List<ResidentView.Resident> residents, LocalDate date) {
+            this.address = address;
+            this.residents = residents;
+            List<Member> childList = new ArrayList<>();
+            List<Member> adultList = new ArrayList<>();
+            LocalDate nextChange = LocalDate.MAX;
+            for (ResidentView.Resident resident : residents) {
+                int age = AgeCalculator.calculateAge(resident.birthdate(), date);
+                Member member = new Member(resident.firstName(), resident.lastName(), age);
+                if (age > CoverageBitmapIndex.CHILD_MAX_AGE) {
+                    adultList.add(member);
+                    continue;
+                }
+                childList.add(member);
+                // L'âge d'un enfant change à son anniversaire, qui peut aussi en faire un adulte
+                LocalDate birthday = AgeCalculator.nextAgeChange(resident.birthdate(), date);
+                if (birthday.isBefore(nextChange)) {
+                    nextChange = birthday;
+                }
+            }
+            this.children = Collections.unmodifiableList(childList);
+            this.adults = Collections.unmodifiableList(adultList);
+            this.asOf = date;
+            this.validUntil = nextChange;
+        }
+
+        /**
+         * @return l'adresse, telle que saisie pour le premier résident
+         */
+        public String getAddress() {
+            return address;
+        }
+
+        /**
+         * @return les enfants du foyer, dans l'ordre des données
+         */
+        public List<Member> getChildren() {
+            return children;
+        }
+
+        /**
+         * @return les adultes du foyer, dans l'ordre des données
+         */
+        public List<Member> getAdults() {
+            return adults;
+        }
+
+        private boolean isValidOn(LocalDate date) {
+            return !date.isBefore(asOf) && date.isBefore(validUntil);
+        }
+
+        private Household on(LocalDate date) {
+            return new Household(address, residents, date);
+        }
+    }
+
+    /**
+     * Entrées publiées, remplacées en bloc lors d'une reconstruction.
+     */
+    private static final class Published {
+        private final Map<Integer, Household> households = new ConcurrentHashMap<>();
+        private final Map<String, List<Integer>> addressesByStation = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public String getName() {
+        return "household";
+    }
+
+    @Override
+    public boolean isReady() {
+        return published != null;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        published = null;
+        addressesByStation.clear();
+        if (!residentView.isReady()) {
+            log.warn("Vue des résidents indisponible, l'index des foyers n'est pas construit");
+            return;
+        }
+        Set<String> stations = new HashSet<>();
+        for (FireStation fireStation : data.getFireStations()) {
+            moveMapping(null, fireStation, stations);
+        }
+        Set<String> addresses = new LinkedHashSet<>();
+        for (Person person : data.getPersons()) {
+            addresses.add(person.getAddress());
+        }
+        Published rebuilt = new Published();
+        publish(rebuilt, addresses, stations, LocalDate.now());
+        this.published = rebuilt;
+        log.debug("Index des foyers construit : {} adresses, {} stations",
+                rebuilt.households.size(), rebuilt.addressesByStation.size());
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        Published current = published;
+        if (current == null) {
+            return;
+        }
+        Set<String> addresses = new LinkedHashSet<>();
+        Set<String> stations = new HashSet<>();
+        for (DataChange change : changes) {
+            switch (change.getEntity()) {
+                case PERSON -> {
+                    if (change.getBefore() != null) {
+                        addresses.add(((Person) change.getBefore()).getAddress());
+                    }
+                    if (change.getAfter() != null) {
+                        addresses.add(((Person) change.getAfter()).getAddress());
+                    }
+                }
+                case MEDICAL_RECORD -> {
+                    addRecordAddresses((MedicalRecord) change.getBefore(), addresses);
+                    addRecordAddresses((MedicalRecord) change.getAfter(), addresses);
+                }
+                case FIRE_STATION -> moveMapping(
+                        (FireStation) change.getBefore(), (FireStation) change.getAfter(), stations);
+            }
+        }
+        publish(current, addresses, stations, LocalDate.now());
+    }
+
+    /**
+     * Retourne le foyer d'une adresse, réparti à la date du jour.
+     *
+     * @param address l'adresse, comparée sous sa forme canonique
+     * @return le foyer, ou null si aucun résident n'habite à cette adresse
+     */
+    public Household householdAt(String address) {
+        return householdAt(address, LocalDate.now());
+    }
+
+    /**
+     * Retourne le foyer d'une adresse, réparti à la date donnée.
+     */
+    Household householdAt(String address, LocalDate date) {
+        Published current = published;
+        int id = addressDictionary.find(address);
+        if (current == null || id == AddressDictionary.NO_ID) {
+            return null;
+        }
+        return current(current, id, date);
+    }
+
+    /**
+     * Énumère les foyers avec au moins un enfant parmi les adresses couvertes par une station.
+     *
+     * @param stationNumber le numéro de la station
+     * @return les foyers, dans l'ordre des mappings de la station
+     */
+    public List<Household> householdsWithChildren(int stationNumber) {
+        return householdsWithChildren(stationNumber, LocalDate.now());
+    }
+
+    /**
+     * Énumère les foyers avec au moins un enfant à la date donnée parmi les adresses d'une station.
+     */
+    List<Household> householdsWithChildren(int stationNumber, LocalDate date) {
+        Published current = published;
+        if (current == null) {
+            return List.of();
+        }
+        List<Household> households = new ArrayList<>();
+        for (int id : current.addressesByStation.getOrDefault(String.valueOf(stationNumber), List.of())) {
+            Household household = current(current, id, date);
+            if (household != null && !household.getChildren().isEmpty()) {
+                households.add(household);
+            }
+        }
+        return households;
+    }
+
+    /**
+     * Lit le foyer publié d'une adresse et le répartit de nouveau si un anniversaire est passé depuis.
+     */
+    private static Household current(Published current, int id, LocalDate date) {
+        Household household = current.households.get(id);
+        if (household == null || household.isValidOn(date)) {
+            return household;
+        }
+        Household refreshed = household.on(date);
+        // Si le thread d'écriture a republié le foyer entre-temps, sa version est conservée
+        current.households.replace(id, household, refreshed);
+        return refreshed;
+    }
+
+    /**
+     * Désigne les adresses des résidents qui partagent ce dossier médical (homonymes exacts).
+     */
+    private void addRecordAddresses(MedicalRecord record, Set<String> addresses) {
+        if (record == null) {
+            return;
+        }
+        for (ResidentView.Resident resident : residentView.findByLastName(record.getLastName())) {
+            if (resident.firstName().equals(record.getFirstName()) && resident.lastName().equals(record.getLastName())) {
+                addresses.add(resident.address());
+            }
+        }
+    }
+
+    /**
+     * Compte les mappings de chaque couple station/adresse : une adresse ne quitte une station
+     * qu'avec son dernier mapping.
+     */
+    private void moveMapping(FireStation before, FireStation after, Set<String> stations) {
+        if (before != null) {
+            Map<Integer, Integer> addresses = addressesByStation.get(before.getStation());
+            int id = addressDictionary.idOf(before.getAddress());
+            if (addresses != null && addresses.containsKey(id)) {
+                if (addresses.merge(id, -1, Integer::sum) == 0) {
+                    addresses.remove(id);
+                }
+                stations.add(before.getStation());
+            }
+        }
+        if (after != null) {
+            addressesByStation.computeIfAbsent(after.getStation(), s -> new LinkedHashMap<>())
+                    .merge(addressDictionary.idOf(after.getAddress()), 1, Integer::sum);
+            stations.add(after.getStation());
+        }
+    }
+
+    private void publish(Published target, Set<String> addresses, Set<String> stations, LocalDate date) {
+        for (String address : addresses) {
+            int id = addressDictionary.idOf(address);
+            List<ResidentView.Resident> residents = residentView.residentsAt(address);
+            if (residents.isEmpty()) {
+                target.households.remove(id);
+            } else {
+                target.households.put(id, new Household(residents.get(0).address(), withBirthdate(residents), date));
+            }
+        }
+        for (String station : stations) {
+            Map<Integer, Integer> covered = addressesByStation.get(station);
+            if (covered == null || covered.isEmpty()) {
+                target.addressesByStation.remove(station);
+            } else {
+                target.addressesByStation.put(station, List.copyOf(covered.keySet()));
+            }
+        }
+    }
+
+    /**
+     * Retient les résidents dont le dossier médical donne une date de naissance.
+     */
+    private static List<ResidentView.Resident> withBirthdate(List<ResidentView.Resident> residents) {
+        List<ResidentView.Resident> retained = new ArrayList<>(residents.size());
+        for (ResidentView.Resident resident : residents) {
+            if (resident.hasMedicalRecord() && resident.birthdate() != null) {
+                retained.add(resident);
+            }
+        }
+        return retained;
+    }
+}
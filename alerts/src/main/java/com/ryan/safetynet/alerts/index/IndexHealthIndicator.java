@@ -0,0 +1,33 @@
+package com.ryan.safetynet.alerts.index;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Indicateur de santé des index en mémoire, inclus dans la sonde de disponibilité (readiness) seulement :
+ * un index en échec ne justifie pas de redémarrer l'application, mais de ne plus lui envoyer de trafic.
+ * L'application répond pendant la construction des index, par parcours des données : l'indicateur reste
+ * alors UP en précisant l'état « indexing ». Si la construction d'un index a échoué (« degraded »), il
+ * passe OUT_OF_SERVICE. Le détail donne aussi la durée de construction de chaque index.
+ * Accessible via /actuator/health/index.
+ */
+@Component
+@RequiredArgsConstructor
+public class IndexHealthIndicator implements HealthIndicator {
+
+    private final IndexManager indexManager;
+
+    @Override
+    public Health health() {
+        IndexManager.State state = indexManager.getState();
+        Health.Builder builder = state == IndexManager.State.DEGRADED ? Health.outOfService() : Health.up();
+        return builder
+                .withDetail("state", state.name().toLowerCase(Locale.ROOT))
+                .withDetail("indexes", indexManager.getStats())
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.ryan.safetynet.alerts.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opérations sur les tables de travail « clé → liste d'entités » des index maintenus par différence.
+ * Les entités du modèle ne redéfinissent pas equals : elles sont retrouvées par identité.
+ */
+final class IndexLists {
+
+    private IndexLists() {
+    }
+
+    /**
+     * Déplace une entité d'une clé à une autre. Si la clé est inchangée, la nouvelle version
+     * remplace l'ancienne à la même position.
+     */
+    static <K, V> void move(Map<K, List<V>> index, K beforeKey, K afterKey, V before, V after) {
+        if (before != null) {
+            List<V> values = index.get(beforeKey);
+            int position = values == null ? -1 : indexOf(values, before);
+            if (position >= 0) {
+                if (after != null && beforeKey.equals(afterKey)) {
+                    values.set(position, after);
+                    return;
+                }
+                values.remove(position);
+                if (values.isEmpty()) {
+                    index.remove(beforeKey);
+                }
+            }
+        }
+        if (after != null) {
+            append(index, afterKey, after);
+        }
+    }
+
+    static <K, V> void append(Map<K, List<V>> index, K key, V value) {
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+    }
+
+    static <V> int indexOf(List<V> values, V value) {
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
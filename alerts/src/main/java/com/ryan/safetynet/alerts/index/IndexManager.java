@@ -0,0 +1,166 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.concurrency.MutationPipeline;
+import com.ryan.safetynet.alerts.dto.IndexBuildStatsDTO;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Construit les index en mémoire une fois les données chargées.
+ *
+ * Par défaut ({@code index.build.background=true}), la construction a lieu en arrière-plan :
+ * l'application répond dès son démarrage, les services se rabattant sur un parcours des données
+ * tant qu'un index n'est pas prêt. Chaque index est reconstruit par une mutation exclusive du
+ * pipeline, seule dans son lot : elle lit les données sans écriture concurrente, et les modifications
+ * suivantes lui sont notifiées normalement une fois l'index publié. Les écritures sont ainsi
+ * suspendues le temps de la construction d'un index, et non de l'ensemble.
+ * Un index devient visible d'un bloc, à la publication de son état en fin de reconstruction.
+ */
+@Slf4j
+@Component
+public class IndexManager {
+
+    /**
+     * État de la construction des index.
+     */
+    public enum State {
+        /** Construction en cours : certaines requêtes sont servies par parcours des données. */
+        INDEXING,
+        /** Tous les index sont construits. */
+        READY,
+        /** La construction d'au moins un index a échoué : ses requêtes restent servies par parcours. */
+        DEGRADED
+    }
+
+    private final DataRepository dataRepository;
+    private final List<DataIndex> indexes;
+    private final MutationPipeline mutationPipeline;
+    private final Map<String, Long> buildMillis = new ConcurrentHashMap<>();
+    private volatile State state = State.INDEXING;
+
+    /**
+     * Construit un gestionnaire qui reconstruit les index de manière synchrone.
+     *
+     * @param dataRepository le repository des données
+     * @param indexes les index à construire, dans l'ordre de construction
+     */
+    public IndexManager(DataRepository dataRepository, List<DataIndex> indexes) {
+        this(dataRepository, indexes, null, false);
+    }
+
+    /**
+     * Construit le gestionnaire avec la configuration de l'application.
+     *
+     * @param dataRepository le repository des données
+     * @param indexes les index à construire, dans l'ordre de construction
+     * @param mutationPipeline le pipeline sur lequel les index sont reconstruits en arrière-plan
+     * @param background true pour construire les index en arrière-plan
+     */
+    @Autowired
+    public IndexManager(DataRepository dataRepository, List<DataIndex> indexes, MutationPipeline mutationPipeline,
+                        @Value("${index.build.background:true}") boolean background) {
+        this.dataRepository = dataRepository;
+        this.indexes = indexes;
+        this.mutationPipeline = background ? mutationPipeline : null;
+    }
+
+    /**
+     * Lance la construction des index au démarrage, en arrière-plan ou de manière synchrone.
+     */
+    @PostConstruct
+    public void start() {
+        if (mutationPipeline == null) {
+            rebuildAll();
+            return;
+        }
+        Thread thread = new Thread(this::buildInBackground, "index-builder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reconstruit tous les index à partir des données courantes, sur le thread appelant.
+     */
+    public void rebuildAll() {
+        state = State.INDEXING;
+        Data data = dataRepository.getData();
+        if (data == null) {
+            log.warn("Aucune donnée chargée, les index ne sont pas construits");
+            state = State.DEGRADED;
+            return;
+        }
+        boolean failed = false;
+        for (DataIndex index : indexes) {
+            failed |= !build(index, data);
+        }
+        state = failed ? State.DEGRADED : State.READY;
+    }
+
+    /**
+     * @return l'état de la construction des index
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Retourne l'état et la durée de construction de chaque index, dans l'ordre de construction.
+     *
+     * @return une entrée par index ; la durée est null tant que l'index n'a pas été construit
+     */
+    public List<IndexBuildStatsDTO> getStats() {
+        List<IndexBuildStatsDTO> stats = new ArrayList<>(indexes.size());
+        for (DataIndex index : indexes) {
+            IndexBuildStatsDTO dto = new IndexBuildStatsDTO();
+            dto.setName(index.getName());
+            dto.setReady(index.isReady());
+            dto.setBuildMillis(buildMillis.get(index.getName()));
+            stats.add(dto);
+        }
+        return stats;
+    }
+
+    private void buildInBackground() {
+        long start = System.nanoTime();
+        boolean failed = false;
+        for (DataIndex index : indexes) {
+            try {
+                Boolean built = mutationPipeline.submitExclusive(context -> {
+                    Data data = dataRepository.getData();
+                    return data != null && build(index, data);
+                }).awaitVisible();
+                failed |= !built;
+            } catch (RuntimeException e) {
+                log.error("Construction de l'index {} interrompue : {}", index.getName(), e.getMessage());
+                failed = true;
+            }
+        }
+        state = failed ? State.DEGRADED : State.READY;
+        log.info("Construction des index terminée en {} ms (état : {})",
+                (System.nanoTime() - start) / 1_000_000, state);
+    }
+
+    private boolean build(DataIndex index, Data data) {
+        long start = System.nanoTime();
+        try {
+            index.rebuild(data);
+        } catch (RuntimeException e) {
+            log.error("Erreur lors de la construction de l'index {}", index.getName(), e);
+            return false;
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        buildMillis.put(index.getName(), elapsed);
+        log.info("Index {} construit en {} ms", index.getName(), elapsed);
+        return true;
+    }
+}
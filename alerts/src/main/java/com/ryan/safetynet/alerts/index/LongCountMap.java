@@ -0,0 +1,134 @@
+package com.ryan.safetynet.alerts.index;
+
+import java.util.Arrays;
+
+/**
+ * Table de hachage à adressage ouvert (sondage linéaire) associant un compteur à des clés
+ * longues positives, sans objet par entrée. Une clé dont le compteur retombe à zéro est retirée
+ * par décalage arrière des entrées suivantes, sans marqueur de suppression.
+ * Non synchronisée : réservée au thread d'écriture.
+ */
+final class LongCountMap {
+
+    private static final long EMPTY = -1L;
+
+    private long[] keys;
+    private int[] counts;
+    private int size;
+
+    LongCountMap() {
+        this(16);
+    }
+
+    LongCountMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Ajoute delta au compteur de la clé.
+     *
+     * @return true si la clé apparaît ou disparaît de la table
+     */
+    boolean add(long key, int delta) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                counts[slot] += delta;
+                if (counts[slot] <= 0) {
+                    remove(slot, mask);
+                    return true;
+                }
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (delta <= 0) {
+            return false;
+        }
+        keys[slot] = key;
+        counts[slot] = delta;
+        if (++size * 4 > keys.length * 3) {
+            resize();
+        }
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Parcourt les entrées de la table.
+     */
+    void forEach(Entry consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                consumer.accept(keys[slot], counts[slot]);
+            }
+        }
+    }
+
+    /**
+     * @return les clés de la table, triées
+     */
+    long[] sortedKeys() {
+        long[] sorted = new long[size];
+        int i = 0;
+        for (long key : keys) {
+            if (key != EMPTY) {
+                sorted[i++] = key;
+            }
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private void remove(int slot, int mask) {
+        size--;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = slot(keys[next], mask);
+            // L'entrée peut combler le trou si sa position d'origine n'est pas entre le trou et elle
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                counts[hole] = counts[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        counts[hole] = 0;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                add(oldKeys[slot], oldCounts[slot]);
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * Consommateur d'une entrée (clé, compteur).
+     */
+    @FunctionalInterface
+    interface Entry {
+        void accept(long key, int count);
+    }
+}
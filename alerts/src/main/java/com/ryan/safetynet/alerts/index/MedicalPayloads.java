@@ -0,0 +1,299 @@
+package com.ryan.safetynet.alerts.index;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Médicaments et allergies des dossiers médicaux, stockés hors du tas dans une arène de blocs
+ * directs. Seule la position de chaque entrée reste sur le tas ; les listes ne sont décodées que
+ * lorsqu'un résident apparaît dans une réponse.
+ *
+ * Les entrées sont écrites à la suite dans le dernier bloc, par le thread d'écriture uniquement ;
+ * un bloc plein est complété par un nouveau bloc. Une entrée n'est jamais modifiée une fois écrite :
+ * une version des colonnes la lit, avec des accès absolus et le tableau des blocs obtenu par
+ * {@link #chunks()} lors de sa publication, pendant que les entrées suivantes sont ajoutées.
+ *
+ * Une entrée remplacée ou supprimée est signalée par {@link #release} : elle reste lisible par les
+ * versions qui la référencent, mais ses octets sont comptés comme perdus. Lorsqu'ils dépassent les
+ * octets encore utilisés, le propriétaire de l'arène la compacte : il la vide puis recopie chaque
+ * entrée vivante, octet pour octet, par {@link #copy} depuis les blocs précédents. Les anciens blocs
+ * sont libérés par le ramasse-miettes une fois que plus aucune version ne les référence.
+ *
+ * Format d'une entrée : nombre de médicaments, puis chaque médicament (longueur sur deux octets
+ * et octets UTF-8), puis de même pour les allergies. La position d'une entrée code le numéro
+ * du bloc dans ses bits de poids fort et le décalage dans le bloc dans ses {@value #CHUNK_BITS}
+ * bits de poids faible. Les blocs publiés sont en lecture seule.
+ */
+final class MedicalPayloads {
+
+    /**
+     * Position d'un dossier sans médicament ni allergie : aucune entrée n'est écrite.
+     */
+    static final int NO_PAYLOAD = -1;
+
+    static final int CHUNK_BITS = 20;
+
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int MAX_CHUNKS = 1 << (31 - CHUNK_BITS);
+
+    // Vues en lecture seule des blocs, publiées avec les colonnes ; seul le dernier bloc est écrit
+    private ByteBuffer[] chunks;
+    private ByteBuffer current;
+    private int chunkCount;
+    // Décalage de la prochaine écriture dans le dernier bloc
+    private int position;
+    private long capacity;
+    private long written;
+    private long released;
+
+    MedicalPayloads() {
+        clear();
+    }
+
+    /**
+     * Écrit une entrée à la suite des précédentes.
+     *
+     * @return la position de l'entrée, ou {@link #NO_PAYLOAD} si les deux listes sont vides
+     */
+    int append(List<String> medications, List<String> allergies) {
+        if (isEmpty(medications) && isEmpty(allergies)) {
+            return NO_PAYLOAD;
+        }
+        byte[][] encodedMedications = encode(medications);
+        byte[][] encodedAllergies = encode(allergies);
+        long length = 4L + encodedLength(encodedMedications) + encodedLength(encodedAllergies);
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Dossier médical trop volumineux pour le stockage hors tas : "
+                    + length + " octets");
+        }
+        ByteBuffer chunk = reserve((int) length);
+        int offset = position;
+        position = write(chunk, write(chunk, offset, encodedMedications), encodedAllergies);
+        written += length;
+        return ((chunkCount - 1) << CHUNK_BITS) | offset;
+    }
+
+    /**
+     * Recopie telle quelle une entrée lue dans les blocs d'une version précédente, sans la décoder.
+     *
+     * @param from les blocs où se trouve l'entrée
+     * @param payload la position de l'entrée dans ces blocs
+     * @return sa position dans cette arène
+     */
+    int copy(ByteBuffer[] from, int payload) {
+        if (payload == NO_PAYLOAD) {
+            return NO_PAYLOAD;
+        }
+        ByteBuffer source = from[payload >>> CHUNK_BITS];
+        int start = payload & (CHUNK_SIZE - 1);
+        int length = entryLength(source, start);
+        ByteBuffer chunk = reserve(length);
+        int offset = position;
+        chunk.put(offset, source, start, length);
+        position += length;
+        written += length;
+        return ((chunkCount - 1) << CHUNK_BITS) | offset;
+    }
+
+    /**
+     * Signale qu'une entrée n'est plus référencée par la version en cours d'écriture.
+     */
+    void release(int payload) {
+        if (payload != NO_PAYLOAD) {
+            released += entryLength(chunks[payload >>> CHUNK_BITS], payload & (CHUNK_SIZE - 1));
+        }
+    }
+
+    /**
+     * @return true si les octets des entrées libérées dépassent ceux des entrées vivantes,
+     * et au moins un bloc
+     */
+    boolean needsCompaction() {
+        return released > Math.max(CHUNK_SIZE, written - released);
+    }
+
+    /**
+     * @return les octets des entrées vivantes
+     */
+    long liveBytes() {
+        return written - released;
+    }
+
+    /**
+     * @return les octets des entrées libérées depuis le dernier vidage
+     */
+    long releasedBytes() {
+        return released;
+    }
+
+    /**
+     * @param payload la position d'une entrée
+     * @return le bloc en lecture seule qui la contient, ou null pour {@link #NO_PAYLOAD}
+     */
+    ByteBuffer chunk(int payload) {
+        return payload == NO_PAYLOAD ? null : chunks[payload >>> CHUNK_BITS];
+    }
+
+    /**
+     * @return le tableau des blocs, à publier avec une version des colonnes
+     */
+    ByteBuffer[] chunks() {
+        return chunks;
+    }
+
+    /**
+     * @return la taille des blocs hors tas alloués, en octets
+     */
+    long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Abandonne tous les blocs : les versions publiées gardent les leurs.
+     */
+    void clear() {
+        chunks = new ByteBuffer[4];
+        current = null;
+        chunkCount = 0;
+        position = CHUNK_SIZE;
+        capacity = 0;
+        written = 0;
+        released = 0;
+    }
+
+    static List<String> medications(ByteBuffer[] chunks, int payload) {
+        return medications(payload == NO_PAYLOAD ? null : chunks[payload >>> CHUNK_BITS], payload);
+    }
+
+    static List<String> allergies(ByteBuffer[] chunks, int payload) {
+        return allergies(payload == NO_PAYLOAD ? null : chunks[payload >>> CHUNK_BITS], payload);
+    }
+
+    /**
+     * @param chunk le bloc de l'entrée, obtenu par {@link #chunk(int)}
+     * @param payload la position de l'entrée
+     * @return ses médicaments
+     */
+    static List<String> medications(ByteBuffer chunk, int payload) {
+        return decode(chunk, payload, 0);
+    }
+
+    /**
+     * @param chunk le bloc de l'entrée, obtenu par {@link #chunk(int)}
+     * @param payload la position de l'entrée
+     * @return ses allergies
+     */
+    static List<String> allergies(ByteBuffer chunk, int payload) {
+        return decode(chunk, payload, 1);
+    }
+
+    /**
+     * Retourne un bloc pouvant recevoir l'entrée à la position courante, alloué si nécessaire.
+     */
+    private ByteBuffer reserve(int length) {
+        if (current != null && position + length <= current.capacity()) {
+            return current;
+        }
+        if (chunkCount == MAX_CHUNKS) {
+            throw new IllegalStateException("Stockage hors tas des dossiers médicaux plein : "
+                    + capacity + " octets");
+        }
+        // Une entrée plus grande qu'un bloc ordinaire reçoit un bloc à sa taille, plein après elle
+        ByteBuffer chunk = ByteBuffer.allocateDirect(Math.max(CHUNK_SIZE, length));
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        chunks[chunkCount++] = chunk.asReadOnlyBuffer();
+        current = chunk;
+        position = 0;
+        capacity += chunk.capacity();
+        return chunk;
+    }
+
+    /**
+     * @return la longueur de l'entrée commençant à cette position
+     */
+    private static int entryLength(ByteBuffer chunk, int start) {
+        return skip(chunk, skip(chunk, start)) - start;
+    }
+
+    /**
+     * @return la position qui suit la liste commençant à cette position
+     */
+    private static int skip(ByteBuffer chunk, int position) {
+        int count = Short.toUnsignedInt(chunk.getShort(position));
+        position += 2;
+        for (int i = 0; i < count; i++) {
+            position += 2 + Short.toUnsignedInt(chunk.getShort(position));
+        }
+        return position;
+    }
+
+    private static List<String> decode(ByteBuffer chunk, int payload, int list) {
+        if (payload == NO_PAYLOAD) {
+            return Collections.emptyList();
+        }
+        int position = payload & (CHUNK_SIZE - 1);
+        if (list == 1) {
+            position = skip(chunk, position);
+        }
+        int count = Short.toUnsignedInt(chunk.getShort(position));
+        position += 2;
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = Short.toUnsignedInt(chunk.getShort(position));
+            byte[] bytes = new byte[length];
+            chunk.get(position + 2, bytes);
+            values.add(new String(bytes, StandardCharsets.UTF_8));
+            position += 2 + length;
+        }
+        return values;
+    }
+
+    private static byte[][] encode(List<String> values) {
+        int count = values == null ? 0 : values.size();
+        checkShort(count);
+        byte[][] encoded = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            encoded[i] = values.get(i) == null ? new byte[0] : values.get(i).getBytes(StandardCharsets.UTF_8);
+            checkShort(encoded[i].length);
+        }
+        return encoded;
+    }
+
+    private static long encodedLength(byte[][] encoded) {
+        long length = 0;
+        for (byte[] value : encoded) {
+            length += 2 + value.length;
+        }
+        return length;
+    }
+
+    private static int write(ByteBuffer chunk, int position, byte[][] encoded) {
+        chunk.putShort(position, (short) encoded.length);
+        position += 2;
+        for (byte[] value : encoded) {
+            chunk.putShort(position, (short) value.length);
+            chunk.put(position + 2, value);
+            position += 2 + value.length;
+        }
+        return position;
+    }
+
+    private static void checkShort(int value) {
+        if (value > 0xFFFF) {
+            throw new IllegalArgumentException("Valeur trop longue pour le stockage hors tas : " + value);
+        }
+    }
+
+    private static boolean isEmpty(List<String> values) {
+        return values == null || values.isEmpty();
+    }
+}
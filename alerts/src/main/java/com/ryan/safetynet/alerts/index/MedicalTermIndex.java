@@ -0,0 +1,174 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.utils.CaseFolding;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index inversé des médicaments et allergies : pour chaque terme normalisé, l'ensemble
+ * des résidents dont le dossier médical le mentionne.
+ *
+ * Un terme est la forme repliée du médicament sans sa posologie (« aznol:350mg » devient
+ * « aznol ») ou de l'allergie. Les résidents sont identifiés par leur nom exact, la clé qui
+ * relie une personne à son dossier médical. Les ensembles sont concurrents et modifiés sur place
+ * par le thread d'écriture : seule la différence entre l'ancien et le nouveau dossier est appliquée.
+ */
+@Slf4j
+@Component
+public class MedicalTermIndex implements DataIndex {
+
+    private volatile State state;
+
+    @Override
+    public String getName() {
+        return "medicalTerm";
+    }
+
+    @Override
+    public boolean isReady() {
+        return state != null;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        State rebuilt = new State();
+        for (MedicalRecord record : data.getMedicalRecords()) {
+            String key = residentKey(record.getFirstName(), record.getLastName());
+            add(rebuilt.medications, terms(record.getMedications()), key);
+            add(rebuilt.allergies, terms(record.getAllergies()), key);
+        }
+        this.state = rebuilt;
+        log.debug("Index des termes médicaux construit : {} médicaments, {} allergies",
+                rebuilt.medications.size(), rebuilt.allergies.size());
+    }
+
+    /**
+     * @param medication le médicament, avec ou sans posologie
+     * @return les clés des résidents traités par ce médicament
+     */
+    public Set<String> withMedication(String medication) {
+        State current = state;
+        return current == null ? Set.of() : current.medications.getOrDefault(normalizeTerm(medication), Set.of());
+    }
+
+    /**
+     * @param allergy l'allergie
+     * @return les clés des résidents présentant cette allergie
+     */
+    public Set<String> withAllergy(String allergy) {
+        State current = state;
+        return current == null ? Set.of() : current.allergies.getOrDefault(normalizeTerm(allergy), Set.of());
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        State current = state;
+        if (current == null) {
+            return;
+        }
+        for (DataChange change : changes) {
+            if (change.getEntity() != DataChange.Entity.MEDICAL_RECORD) {
+                continue;
+            }
+            MedicalRecord before = (MedicalRecord) change.getBefore();
+            MedicalRecord after = (MedicalRecord) change.getAfter();
+            apply(current.medications, before, after, before == null ? Set.of() : terms(before.getMedications()),
+                    after == null ? Set.of() : terms(after.getMedications()));
+            apply(current.allergies, before, after, before == null ? Set.of() : terms(before.getAllergies()),
+                    after == null ? Set.of() : terms(after.getAllergies()));
+        }
+    }
+
+    /**
+     * Clé d'un résident : son nom exact, partagé par la personne et son dossier médical.
+     *
+     * @param firstName le prénom
+     * @param lastName le nom de famille
+     * @return la clé du résident
+     */
+    public static String residentKey(String firstName, String lastName) {
+        return firstName + '\u0000' + lastName;
+    }
+
+    /**
+     * Normalise un médicament ou une allergie : casse repliée, posologie retirée.
+     *
+     * @param value le médicament ou l'allergie
+     * @return le terme normalisé
+     */
+    public static String normalizeTerm(String value) {
+        if (value == null) {
+            return "";
+        }
+        int dosage = value.indexOf(':');
+        String name = dosage >= 0 ? value.substring(0, dosage) : value;
+        return CaseFolding.fold(name).trim();
+    }
+
+    static Set<String> terms(Collection<String> values) {
+        Set<String> terms = new HashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                String term = normalizeTerm(value);
+                if (!term.isEmpty()) {
+                    terms.add(term);
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static void add(Map<String, Set<String>> postings, Set<String> terms, String key) {
+        for (String term : terms) {
+            postings.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    /**
+     * Applique la différence entre deux versions d'un dossier. Si le résident a changé de nom,
+     * tous les termes sont déplacés d'une clé à l'autre.
+     */
+    private static void apply(Map<String, Set<String>> postings, MedicalRecord before, MedicalRecord after,
+                              Set<String> beforeTerms, Set<String> afterTerms) {
+        String beforeKey = before == null ? null : residentKey(before.getFirstName(), before.getLastName());
+        String afterKey = after == null ? null : residentKey(after.getFirstName(), after.getLastName());
+        boolean sameKey = beforeKey != null && beforeKey.equals(afterKey);
+        for (String term : beforeTerms) {
+            if (sameKey && afterTerms.contains(term)) {
+                continue;
+            }
+            Set<String> keys = postings.get(term);
+            if (keys != null) {
+                keys.remove(beforeKey);
+                if (keys.isEmpty()) {
+                    postings.remove(term, keys);
+                }
+            }
+        }
+        if (afterKey != null) {
+            Set<String> added = new HashSet<>(afterTerms);
+            if (sameKey) {
+                added.removeAll(beforeTerms);
+            }
+            add(postings, added, afterKey);
+        }
+    }
+
+    /**
+     * État de l'index, remplacé en bloc lors d'une reconstruction.
+     */
+    private static final class State {
+        private final Map<String, Set<String>> medications = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> allergies = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,229 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.utils.CaseFolding;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index des résidents par nom, utilisé par /personInfo.
+ * Les personnes sont indexées par prénom et nom, et par nom seul, sous forme normalisée
+ * ({@link CaseFolding#fold}) ; les dossiers médicaux sont indexés par le nom exact, clé
+ * partagée avec les personnes, ce qui permet de joindre une personne à son dossier
+ * par une simple recherche.
+ *
+ * Les listes de personnes associées à une clé sont immuables et remplacées à chaque
+ * modification par le thread d'écriture : un lecteur n'observe jamais de liste en cours
+ * de modification. L'ordre des personnes d'une clé suit l'ordre des données.
+ */
+@Slf4j
+@Component
+public class PersonNameIndex implements DataIndex {
+
+    private volatile State state;
+
+    /**
+     * Résident trouvé et son dossier médical (null si la personne n'en a pas).
+     *
+     * @param person la personne
+     * @param medicalRecord son dossier médical
+     */
+    public record Resident(Person person, MedicalRecord medicalRecord) {
+    }
+
+    @Override
+    public String getName() {
+        return "personName";
+    }
+
+    @Override
+    public boolean isReady() {
+        return state != null;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        // Listes modifiables pendant la construction, figées une seule fois avant publication
+        Map<String, List<Person>> byFullName = new HashMap<>();
+        Map<String, List<Person>> byLastName = new HashMap<>();
+        for (Person person : data.getPersons()) {
+            byFullName.computeIfAbsent(fullNameKey(person), key -> new ArrayList<>(1)).add(person);
+            byLastName.computeIfAbsent(lastNameKey(person.getLastName()), key -> new ArrayList<>(1)).add(person);
+        }
+        State rebuilt = new State();
+        freeze(byFullName, rebuilt.byFullName);
+        freeze(byLastName, rebuilt.byLastName);
+        for (MedicalRecord record : data.getMedicalRecords()) {
+            rebuilt.records.putIfAbsent(recordKey(record.getFirstName(), record.getLastName()), record);
+        }
+        this.state = rebuilt;
+        log.debug("Index des noms construit : {} noms complets, {} noms de famille",
+                rebuilt.byFullName.size(), rebuilt.byLastName.size());
+    }
+
+    /**
+     * Recherche la première personne portant ces prénom et nom, sans tenir compte de la casse.
+     *
+     * @param firstName le prénom
+     * @param lastName le nom de famille
+     * @return le résident et son dossier médical, s'il existe
+     */
+    public Optional<Resident> findFirst(String firstName, String lastName) {
+        State current = state;
+        if (current == null || firstName == null || lastName == null) {
+            return Optional.empty();
+        }
+        List<Person> persons = current.byFullName.get(fullNameKey(firstName, lastName));
+        if (persons == null) {
+            return Optional.empty();
+        }
+        return Optional.of(current.resident(persons.get(0)));
+    }
+
+    /**
+     * Recherche les personnes portant ce nom de famille, sans tenir compte de la casse.
+     *
+     * @param lastName le nom de famille
+     * @return les résidents et leurs dossiers médicaux, dans l'ordre des données
+     */
+    public List<Resident> findByLastName(String lastName) {
+        State current = state;
+        if (current == null || lastName == null) {
+            return List.of();
+        }
+        List<Person> persons = current.byLastName.getOrDefault(lastNameKey(lastName), List.of());
+        List<Resident> residents = new ArrayList<>(persons.size());
+        for (Person person : persons) {
+            residents.add(current.resident(person));
+        }
+        return residents;
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        State current = state;
+        if (current == null) {
+            return;
+        }
+        for (DataChange change : changes) {
+            if (change.getEntity() == DataChange.Entity.PERSON) {
+                Person before = (Person) change.getBefore();
+                Person after = (Person) change.getAfter();
+                move(current.byFullName, before == null ? null : fullNameKey(before),
+                        after == null ? null : fullNameKey(after), before, after);
+                move(current.byLastName, before == null ? null : lastNameKey(before.getLastName()),
+                        after == null ? null : lastNameKey(after.getLastName()), before, after);
+            } else if (change.getEntity() == DataChange.Entity.MEDICAL_RECORD) {
+                MedicalRecord before = (MedicalRecord) change.getBefore();
+                MedicalRecord after = (MedicalRecord) change.getAfter();
+                if (before != null) {
+                    current.records.remove(recordKey(before.getFirstName(), before.getLastName()), before);
+                }
+                if (after != null) {
+                    current.records.put(recordKey(after.getFirstName(), after.getLastName()), after);
+                }
+            }
+        }
+    }
+
+    /**
+     * Déplace une personne d'une clé à une autre. Si la clé est inchangée, la personne
+     * remplace l'ancienne version à la même position.
+     */
+    private static void move(Map<String, List<Person>> index, String beforeKey, String afterKey,
+                             Person before, Person after) {
+        if (beforeKey != null && beforeKey.equals(afterKey)) {
+            List<Person> persons = index.get(beforeKey);
+            int position = persons == null ? -1 : indexOf(persons, before);
+            if (position >= 0) {
+                List<Person> replaced = new ArrayList<>(persons);
+                replaced.set(position, after);
+                index.put(beforeKey, Collections.unmodifiableList(replaced));
+                return;
+            }
+        }
+        if (beforeKey != null) {
+            List<Person> persons = index.get(beforeKey);
+            int position = persons == null ? -1 : indexOf(persons, before);
+            if (position >= 0) {
+                List<Person> remaining = new ArrayList<>(persons);
+                remaining.remove(position);
+                if (remaining.isEmpty()) {
+                    index.remove(beforeKey);
+                } else {
+                    index.put(beforeKey, Collections.unmodifiableList(remaining));
+                }
+            }
+        }
+        if (afterKey != null) {
+            append(index, afterKey, after);
+        }
+    }
+
+    private static void freeze(Map<String, List<Person>> building, Map<String, List<Person>> index) {
+        building.forEach((key, persons) -> index.put(key, Collections.unmodifiableList(persons)));
+    }
+
+    private static void append(Map<String, List<Person>> index, String key, Person person) {
+        List<Person> persons = index.getOrDefault(key, List.of());
+        List<Person> extended = new ArrayList<>(persons.size() + 1);
+        extended.addAll(persons);
+        extended.add(person);
+        index.put(key, Collections.unmodifiableList(extended));
+    }
+
+    /**
+     * Recherche par identité : les entités ne redéfinissent pas equals.
+     */
+    private static int indexOf(List<Person> persons, Person person) {
+        for (int i = 0; i < persons.size(); i++) {
+            if (persons.get(i) == person) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String fullNameKey(Person person) {
+        return fullNameKey(person.getFirstName(), person.getLastName());
+    }
+
+    private static String fullNameKey(String firstName, String lastName) {
+        return CaseFolding.fold(firstName) + '\u0000' + CaseFolding.fold(lastName);
+    }
+
+    private static String lastNameKey(String lastName) {
+        return lastName == null ? "" : CaseFolding.fold(lastName);
+    }
+
+    /**
+     * Clé partagée entre une personne et son dossier médical : le nom exact.
+     */
+    private static String recordKey(String firstName, String lastName) {
+        return firstName + '\u0000' + lastName;
+    }
+
+    /**
+     * État de l'index, remplacé en bloc lors d'une reconstruction.
+     */
+    private static final class State {
+        private final Map<String, List<Person>> byFullName = new ConcurrentHashMap<>();
+        private final Map<String, List<Person>> byLastName = new ConcurrentHashMap<>();
+        private final Map<String, MedicalRecord> records = new ConcurrentHashMap<>();
+
+        private Resident resident(Person person) {
+            return new Resident(person, records.get(recordKey(person.getFirstName(), person.getLastName())));
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.utils.AgeCalculator;
+import com.ryan.safetynet.alerts.utils.CaseFolding;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vue matérialisée des résidents : pour chaque personne, un enregistrement immuable qui joint
+ * ses coordonnées, son dossier médical et la caserne qui couvre son adresse.
+ * Les services /fire, /childAlert, /flood/stations et /personInfo projettent leurs réponses
+ * depuis cette vue au lieu de refaire la jointure à chaque requête.
+ *
+ * La vue est maintenue par propagation des modifications : chaque modification d'une personne,
+ * d'un dossier ou d'un mapping désigne les résidents à joindre de nouveau (la personne elle-même,
+ * les homonymes exacts d'un dossier, les résidents d'une adresse), puis seules les entrées publiées
+ * qui les contiennent (adresse, nom complet, nom de famille) sont remplacées.
+ * Les tables de travail ne sont lues et modifiées que par le thread d'écriture ; les listes publiées
+ * sont immuables et suivent l'ordre des données. L'âge est calculé à la lecture, à partir de la date
+ * de naissance enregistrée, pour rester juste d'un jour à l'autre.
+ *
+ * Les médicaments et allergies ne sont pas recopiés sur le tas : ceux de chaque dossier sont écrits
+ * une fois hors du tas ({@link MedicalPayloads}) et décodés à la lecture, lorsqu'un résident apparaît
+ * dans une réponse. Un dossier modifié écrit une nouvelle entrée ; lorsque les entrées remplacées
+ * dépassent les entrées vivantes, celles-ci sont recopiées dans une nouvelle arène et les résidents
+ * concernés sont republiés.
+ * La vue est construite et notifiée avant les autres index, pour que les projections qui la lisent
+ * ({@link FireCardIndex}, {@link HouseholdIndex}) la trouvent à jour.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class ResidentView implements DataIndex {
+
+    private final AddressDictionary addressDictionary;
+
+    private volatile State state;
+
+    /**
+     * Résident pré-joint : coordonnées, dossier médical et caserne de son adresse.
+     *
+     * @param firstName prénom
+     * @param lastName nom de famille
+     * @param address adresse
+     * @param city ville
+     * @param zip code postal
+     * @param phone téléphone
+     * @param email email
+     * @param hasMedicalRecord true si la personne a un dossier médical
+     * @param birthdate date de naissance (null sans dossier médical)
+     * @param medicalChunk bloc hors tas, en lecture seule, des médicaments et allergies (null sans entrée)
+     * @param medicalPayload position des médicaments et allergies dans ce bloc
+     * @param station numéro de la caserne du premier mapping de l'adresse (null si l'adresse n'est pas couverte)
+     */
+    public record Resident(String firstName, String lastName, String address, String city, String zip,
+                           String phone, String email, boolean hasMedicalRecord, LocalDate birthdate,
+                           ByteBuffer medicalChunk, int medicalPayload, String station) {
+
+        /**
+         * @return l'âge du résident à la date du jour
+         */
+        public int age() {
+            return AgeCalculator.calculateAge(birthdate);
+        }
+
+        /**
+         * @return les médicaments, décodés à chaque appel (null sans dossier médical)
+         */
+        public List<String> medications() {
+            return hasMedicalRecord ? MedicalPayloads.medications(medicalChunk, medicalPayload) : null;
+        }
+
+        /**
+         * @return les allergies, décodées à chaque appel (null sans dossier médical)
+         */
+        public List<String> allergies() {
+            return hasMedicalRecord ? MedicalPayloads.allergies(medicalChunk, medicalPayload) : null;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "resident";
+    }
+
+    @Override
+    public boolean isReady() {
+        return state != null;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        State rebuilt = new State();
+        Changes dirty = new Changes();
+        for (FireStation fireStation : data.getFireStations()) {
+            IndexLists.append(rebuilt.mappingsByAddress, addressDictionary.idOf(fireStation.getAddress()),
+                    fireStation);
+        }
+        for (MedicalRecord record : data.getMedicalRecords()) {
+            IndexLists.append(rebuilt.recordsByName, nameKey(record.getFirstName(), record.getLastName()), record);
+            rebuilt.payloadOf.put(record, rebuilt.payloads.append(record.getMedications(), record.getAllergies()));
+        }
+        for (Person person : data.getPersons()) {
+            rebuilt.movePerson(null, person, dirty);
+        }
+        rebuilt.mappingsByAddress.keySet().forEach(dirty.addresses::add);
+        rebuilt.propagate(dirty);
+        this.state = rebuilt;
+        log.debug("Vue des résidents construite : {} résidents, {} adresses, {} octets hors tas",
+                rebuilt.residentOf.size(), rebuilt.byAddress.size(), rebuilt.payloads.capacity());
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        State current = state;
+        if (current == null) {
+            return;
+        }
+        Changes dirty = new Changes();
+        for (DataChange change : changes) {
+            switch (change.getEntity()) {
+                case PERSON -> current.movePerson((Person) change.getBefore(), (Person) change.getAfter(), dirty);
+                case MEDICAL_RECORD -> current.moveRecord(
+                        (MedicalRecord) change.getBefore(), (MedicalRecord) change.getAfter(), dirty);
+                case FIRE_STATION -> current.moveMapping(
+                        (FireStation) change.getBefore(), (FireStation) change.getAfter(), dirty);
+            }
+        }
+        if (current.payloads.needsCompaction()) {
+            log.debug("Compactage des dossiers médicaux hors tas de la vue : {} octets libérés pour {} octets utilisés",
+                    current.payloads.releasedBytes(), current.payloads.liveBytes());
+            current.compactPayloads(dirty);
+        }
+        current.propagate(dirty);
+    }
+
+    /**
+     * @param address l'adresse, comparée sous sa forme canonique
+     * @return les résidents de l'adresse, dans l'ordre des données
+     */
+    public List<Resident> residentsAt(String address) {
+        State current = state;
+        int id = addressDictionary.find(address);
+        if (current == null || id == AddressDictionary.NO_ID) {
+            return List.of();
+        }
+        return current.byAddress.getOrDefault(id, List.of());
+    }
+
+    /**
+     * @param address l'adresse, comparée sous sa forme canonique
+     * @return le numéro de la caserne du premier mapping de l'adresse, ou null si elle n'est pas couverte
+     */
+    public String stationOf(String address) {
+        State current = state;
+        int id = addressDictionary.find(address);
+        if (current == null || id == AddressDictionary.NO_ID) {
+            return null;
+        }
+        return current.stationByAddress.get(id);
+    }
+
+    /**
+     * Recherche le premier résident portant ces prénom et nom, sans tenir compte de la casse.
+     *
+     * @param firstName le prénom
+     * @param lastName le nom de famille
+     * @return le résident, s'il existe
+     */
+    public Optional<Resident> findFirst(String firstName, String lastName) {
+        State current = state;
+        if (current == null || firstName == null || lastName == null) {
+            return Optional.empty();
+        }
+        List<Resident> residents = current.byFullName.get(fullNameKey(firstName, lastName));
+        return residents == null ? Optional.empty() : Optional.of(residents.get(0));
+    }
+
+    /**
+     * Recherche les résidents portant ce nom de famille, sans tenir compte de la casse.
+     *
+     * @param lastName le nom de famille
+     * @return les résidents, dans l'ordre des données
+     */
+    public List<Resident> findByLastName(String lastName) {
+        State current = state;
+        if (current == null || lastName == null) {
+            return List.of();
+        }
+        return current.byLastName.getOrDefault(CaseFolding.fold(lastName), List.of());
+    }
+
+    private static String nameKey(String firstName, String lastName) {
+        return MedicalTermIndex.residentKey(firstName, lastName);
+    }
+
+    private static String fullNameKey(String firstName, String lastName) {
+        return CaseFolding.fold(firstName) + '\u0000' + CaseFolding.fold(lastName);
+    }
+
+    private static String lastNameKey(Person person) {
+        return person.getLastName() == null ? "" : CaseFolding.fold(person.getLastName());
+    }
+
+    /**
+     * Résidents à joindre de nouveau et entrées publiées à remplacer au terme d'un lot.
+     */
+    private static final class Changes {
+        private final Set<Person> persons = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Set<Integer> addresses = new HashSet<>();
+        private final Set<String> fullNames = new HashSet<>();
+        private final Set<String> lastNames = new HashSet<>();
+    }
+
+    /**
+     * État de la vue, remplacé en bloc lors d'une reconstruction.
+     */
+    private final class State {
+        // Tables de travail du thread d'écriture
+        private final Map<Integer, List<Person>> personsByAddress = new HashMap<>();
+        private final Map<String, List<Person>> personsByFullName = new HashMap<>();
+        private final Map<String, List<Person>> personsByLastName = new HashMap<>();
+        private final Map<String, List<Person>> personsByName = new HashMap<>();
+        private final Map<String, List<MedicalRecord>> recordsByName = new HashMap<>();
+        private final Map<Integer, List<FireStation>> mappingsByAddress = new HashMap<>();
+        private final Map<Person, Resident> residentOf = new IdentityHashMap<>();
+        private final MedicalPayloads payloads = new MedicalPayloads();
+        private final Map<MedicalRecord, Integer> payloadOf = new IdentityHashMap<>();
+
+        // Entrées publiées
+        private final Map<Integer, List<Resident>> byAddress = new ConcurrentHashMap<>();
+        private final Map<Integer, String> stationByAddress = new ConcurrentHashMap<>();
+        private final Map<String, List<Resident>> byFullName = new ConcurrentHashMap<>();
+        private final Map<String, List<Resident>> byLastName = new ConcurrentHashMap<>();
+
+        private void movePerson(Person before, Person after, Changes dirty) {
+            Integer beforeAddress = before == null ? null : addressDictionary.idOf(before.getAddress());
+            Integer afterAddress = after == null ? null : addressDictionary.idOf(after.getAddress());
+            String beforeFullName = before == null ? null : fullNameKey(before.getFirstName(), before.getLastName());
+            String afterFullName = after == null ? null : fullNameKey(after.getFirstName(), after.getLastName());
+            String beforeLastName = before == null ? null : lastNameKey(before);
+            String afterLastName = after == null ? null : lastNameKey(after);
+            IndexLists.move(personsByAddress, beforeAddress, afterAddress, before, after);
+            IndexLists.move(personsByFullName, beforeFullName, afterFullName, before, after);
+            IndexLists.move(personsByLastName, beforeLastName, afterLastName, before, after);
+            IndexLists.move(personsByName, before == null ? null : nameKey(before.getFirstName(), before.getLastName()),
+                    after == null ? null : nameKey(after.getFirstName(), after.getLastName()), before, after);
+            if (before != null) {
+                residentOf.remove(before);
+                dirty.persons.remove(before);
+                dirty.addresses.add(beforeAddress);
+                dirty.fullNames.add(beforeFullName);
+                dirty.lastNames.add(beforeLastName);
+            }
+            if (after != null) {
+                dirty.persons.add(after);
+            }
+        }
+
+        private void moveRecord(MedicalRecord before, MedicalRecord after, Changes dirty) {
+            String beforeKey = before == null ? null : nameKey(before.getFirstName(), before.getLastName());
+            String afterKey = after == null ? null : nameKey(after.getFirstName(), after.getLastName());
+            IndexLists.move(recordsByName, beforeKey, afterKey, before, after);
+            if (before != null) {
+                Integer payload = payloadOf.remove(before);
+                if (payload != null) {
+                    payloads.release(payload);
+                }
+            }
+            if (after != null) {
+                payloadOf.put(after, payloads.append(after.getMedications(), after.getAllergies()));
+            }
+            // Les homonymes exacts partagent le dossier : ils sont tous joints de nouveau
+            if (beforeKey != null) {
+                dirty.persons.addAll(personsByName.getOrDefault(beforeKey, List.of()));
+            }
+            if (afterKey != null) {
+                dirty.persons.addAll(personsByName.getOrDefault(afterKey, List.of()));
+            }
+        }
+
+        private void moveMapping(FireStation before, FireStation after, Changes dirty) {
+            Integer beforeAddress = before == null ? null : addressDictionary.idOf(before.getAddress());
+            Integer afterAddress = after == null ? null : addressDictionary.idOf(after.getAddress());
+            IndexLists.move(mappingsByAddress, beforeAddress, afterAddress, before, after);
+            for (Integer address : new Integer[]{beforeAddress, afterAddress}) {
+                if (address != null) {
+                    dirty.addresses.add(address);
+                    dirty.persons.addAll(personsByAddress.getOrDefault(address, List.of()));
+                }
+            }
+        }
+
+        /**
+         * Recopie les entrées des dossiers dans une arène vidée, sans les décoder, et désigne les
+         * résidents à joindre de nouveau : les résidents publiés gardent les blocs précédents.
+         */
+        private void compactPayloads(Changes dirty) {
+            ByteBuffer[] previous = payloads.chunks();
+            payloads.clear();
+            payloadOf.replaceAll((record, payload) -> payloads.copy(previous, payload));
+            residentOf.forEach((person, resident) -> {
+                if (resident.medicalChunk() != null) {
+                    dirty.persons.add(person);
+                }
+            });
+        }
+
+        /**
+         * Joint de nouveau les résidents désignés puis republie les entrées qui les contiennent.
+         */
+        private void propagate(Changes dirty) {
+            for (Person person : dirty.persons) {
+                residentOf.put(person, join(person));
+                dirty.addresses.add(addressDictionary.idOf(person.getAddress()));
+                dirty.fullNames.add(fullNameKey(person.getFirstName(), person.getLastName()));
+                dirty.lastNames.add(lastNameKey(person));
+            }
+            for (Integer address : dirty.addresses) {
+                publish(byAddress, address, personsByAddress.get(address));
+                List<FireStation> mappings = mappingsByAddress.get(address);
+                if (mappings == null) {
+                    stationByAddress.remove(address);
+                } else {
+                    stationByAddress.put(address, mappings.get(0).getStation());
+                }
+            }
+            for (String fullName : dirty.fullNames) {
+                publish(byFullName, fullName, personsByFullName.get(fullName));
+            }
+            for (String lastName : dirty.lastNames) {
+                publish(byLastName, lastName, personsByLastName.get(lastName));
+            }
+        }
+
+        private <K> void publish(Map<K, List<Resident>> published, K key, List<Person> persons) {
+            if (persons == null) {
+                published.remove(key);
+                return;
+            }
+            List<Resident> residents = new ArrayList<>(persons.size());
+            for (Person person : persons) {
+                residents.add(residentOf.get(person));
+            }
+            published.put(key, Collections.unmodifiableList(residents));
+        }
+
+        private Resident join(Person person) {
+            List<MedicalRecord> records = recordsByName.get(nameKey(person.getFirstName(), person.getLastName()));
+            MedicalRecord record = records == null ? null : records.get(0);
+            List<FireStation> mappings = mappingsByAddress.get(addressDictionary.idOf(person.getAddress()));
+            int payload = record == null ? MedicalPayloads.NO_PAYLOAD : payloadOf.get(record);
+            return new Resident(person.getFirstName(), person.getLastName(), person.getAddress(), person.getCity(),
+                    person.getZip(), person.getPhone(), person.getEmail(), record != null,
+                    record == null ? null : record.getBirthdate(), payloads.chunk(payload), payload,
+                    mappings == null ? null : mappings.get(0).getStation());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.utils.HeapEstimator;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * Entités rangées dans des emplacements numérotés et chaînées en listes circulaires, une liste par
+ * seau, dans l'ordre d'ajout. Chaque seau ne retient que son dernier emplacement, le suivant du
+ * dernier étant le premier : un ajout en fin de liste est immédiat, un retrait parcourt la liste
+ * de son seau. Les chaînages sont des tableaux d'entiers, sans objet par entrée ; un emplacement
+ * libéré est réattribué au prochain ajout. Non synchronisée : réservée au thread d'écriture.
+ *
+ * @param <T> le type des entités
+ */
+final class SlotLists<T> {
+
+    /**
+     * Fin de liste, seau vide ou entité absente.
+     */
+    static final int NONE = -1;
+
+    private Object[] values;
+    private int[] next;
+    private int[] lasts;
+    private int slots;
+    private int[] free;
+    private int freeCount;
+
+    SlotLists() {
+        clear();
+    }
+
+    /**
+     * Ajoute une entité à la fin de la liste d'un seau.
+     *
+     * @return l'emplacement attribué
+     */
+    int add(int bucket, T value) {
+        int slot = allocate();
+        values[slot] = value;
+        int last = lasts[bucket];
+        if (last == NONE) {
+            next[slot] = slot;
+        } else {
+            next[slot] = next[last];
+            next[last] = slot;
+        }
+        lasts[bucket] = slot;
+        return slot;
+    }
+
+    /**
+     * Retire un emplacement de la liste de son seau et le libère.
+     */
+    void remove(int bucket, int slot) {
+        if (next[slot] == slot) {
+            lasts[bucket] = NONE;
+        } else {
+            int previous = slot;
+            while (next[previous] != slot) {
+                previous = next[previous];
+            }
+            next[previous] = next[slot];
+            if (lasts[bucket] == slot) {
+                lasts[bucket] = previous;
+            }
+        }
+        values[slot] = null;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, Math.max(16, freeCount * 2));
+        }
+        free[freeCount++] = slot;
+    }
+
+    /**
+     * @return le premier emplacement du seau, ou {@link #NONE}
+     */
+    int first(int bucket) {
+        int last = lasts[bucket];
+        return last == NONE ? NONE : next[last];
+    }
+
+    /**
+     * @return l'emplacement suivant dans la liste du seau, ou {@link #NONE} après le dernier
+     */
+    int next(int bucket, int slot) {
+        return slot == lasts[bucket] ? NONE : next[slot];
+    }
+
+    /**
+     * Recherche une entité par identité : les entités du modèle ne redéfinissent pas equals.
+     *
+     * @return son emplacement, ou {@link #NONE}
+     */
+    int find(int bucket, T value) {
+        for (int slot = first(bucket); slot != NONE; slot = next(bucket, slot)) {
+            if (values[slot] == value) {
+                return slot;
+            }
+        }
+        return NONE;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int slot) {
+        return (T) values[slot];
+    }
+
+    void set(int slot, T value) {
+        values[slot] = value;
+    }
+
+    /**
+     * @return le nombre d'entités rangées
+     */
+    int size() {
+        return slots - freeCount;
+    }
+
+    /**
+     * @return le nombre d'emplacements attribués, emplacements libres compris ; un emplacement
+     * libre contient null
+     */
+    int slots() {
+        return slots;
+    }
+
+    int buckets() {
+        return lasts.length;
+    }
+
+    /**
+     * Agrandit la table des seaux sans déplacer les entités, pour des seaux indexés directement.
+     */
+    void ensureBuckets(int buckets) {
+        if (buckets > lasts.length) {
+            int previous = lasts.length;
+            lasts = Arrays.copyOf(lasts, Math.max(buckets, previous * 2));
+            Arrays.fill(lasts, previous, lasts.length, NONE);
+        }
+    }
+
+    /**
+     * Redistribue les entités dans une nouvelle table de seaux, en conservant leur ordre relatif.
+     */
+    void rehash(int buckets, ToIntFunction<T> bucketOf) {
+        int[] previous = lasts;
+        int[] following = next.clone();
+        lasts = new int[buckets];
+        Arrays.fill(lasts, NONE);
+        for (int last : previous) {
+            if (last == NONE) {
+                continue;
+            }
+            int slot = last;
+            do {
+                slot = following[slot];
+                int bucket = bucketOf.applyAsInt(get(slot));
+                int tail = lasts[bucket];
+                if (tail == NONE) {
+                    next[slot] = slot;
+                } else {
+                    next[slot] = next[tail];
+                    next[tail] = slot;
+                }
+                lasts[bucket] = slot;
+            } while (slot != last);
+        }
+    }
+
+    void clear() {
+        values = new Object[0];
+        next = new int[0];
+        lasts = new int[]{NONE};
+        slots = 0;
+        free = new int[0];
+        freeCount = 0;
+    }
+
+    /**
+     * @return l'empreinte des tableaux, hors entités
+     */
+    long footprintBytes() {
+        return HeapEstimator.arrayBytes(values.length, HeapEstimator.REFERENCE) + HeapEstimator.arrayBytes(next.length, 4)
+                + HeapEstimator.arrayBytes(lasts.length, 4) + HeapEstimator.arrayBytes(free.length, 4);
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return free[--freeCount];
+        }
+        int slot = slots++;
+        if (slot == values.length) {
+            int capacity = Math.max(16, slot * 2);
+            values = Arrays.copyOf(values, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return slot;
+    }
+}
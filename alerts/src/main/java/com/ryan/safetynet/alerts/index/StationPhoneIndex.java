@@ -0,0 +1,209 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.utils.PhoneNumbers;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index des numéros de téléphone distincts par station, utilisé par /phoneAlert.
+ * Les numéros sont codés en entiers longs ({@link PhoneNumbers}) et comptés par adresse et par
+ * station dans des tables à adressage ouvert ({@link LongCountMap}) : le compteur d'un numéro est
+ * le nombre de résidents couverts qui le partagent, ce qui permet de le retirer au départ du dernier.
+ *
+ * Les tables ne sont modifiées que par le thread d'écriture, qui n'applique que les différences
+ * de chaque modification. Pour chaque station touchée par un lot, le tableau trié de ses numéros est
+ * ensuite republié : une requête lit ce tableau sans verrou ni allocation. Les numéros sont restitués
+ * dans l'ordre numérique de leurs codes, et non dans l'ordre des données.
+ *
+ * Un numéro hors format ne peut pas être codé : tant qu'un résident en porte un, l'index est
+ * indisponible et les requêtes se rabattent sur un parcours. Les tables restent tenues à jour
+ * pendant ce temps, ces numéros mis à part ; le lot qui retire le dernier d'entre eux republie
+ * les tableaux de toutes les stations, sans reconstruction depuis les données.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StationPhoneIndex implements DataIndex {
+
+    private static final long[] NO_PHONES = new long[0];
+
+    private final AddressDictionary addressDictionary;
+
+    private final Map<Integer, LongCountMap> phonesByAddress = new HashMap<>();
+    private final Map<Integer, Map<String, Integer>> stationsByAddress = new HashMap<>();
+    private final Map<String, LongCountMap> phonesByStation = new HashMap<>();
+    // Nombre de résidents dont le numéro est hors format, pour toutes les stations
+    private int invalidPhones;
+    // Tables construites, même si l'index est indisponible
+    private boolean built;
+    private volatile Map<String, long[]> published;
+
+    @Override
+    public String getName() {
+        return "stationPhone";
+    }
+
+    @Override
+    public boolean isReady() {
+        return published != null;
+    }
+
+    @Override
+    public void rebuild(Data data) {
+        published = null;
+        phonesByAddress.clear();
+        stationsByAddress.clear();
+        phonesByStation.clear();
+        invalidPhones = 0;
+        built = true;
+        Set<String> touched = new HashSet<>();
+        for (FireStation fireStation : data.getFireStations()) {
+            addMapping(fireStation, touched);
+        }
+        for (Person person : data.getPersons()) {
+            addPerson(person, 1, touched);
+        }
+        if (invalidPhones > 0) {
+            log.warn("{} numéros hors format : index des téléphones indisponible jusqu'à leur correction", invalidPhones);
+            return;
+        }
+        publishAll();
+        log.debug("Index des téléphones construit pour {} stations", published.size());
+    }
+
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        if (!built) {
+            return;
+        }
+        Set<String> touched = new HashSet<>();
+        for (DataChange change : changes) {
+            if (change.getEntity() == DataChange.Entity.PERSON) {
+                if (change.getBefore() != null) {
+                    addPerson((Person) change.getBefore(), -1, touched);
+                }
+                if (change.getAfter() != null) {
+                    addPerson((Person) change.getAfter(), 1, touched);
+                }
+            } else if (change.getEntity() == DataChange.Entity.FIRE_STATION) {
+                if (change.getBefore() != null) {
+                    removeMapping((FireStation) change.getBefore(), touched);
+                }
+                if (change.getAfter() != null) {
+                    addMapping((FireStation) change.getAfter(), touched);
+                }
+            }
+        }
+        Map<String, long[]> current = published;
+        if (invalidPhones > 0) {
+            if (current != null) {
+                log.warn("Numéro hors format : index des téléphones indisponible jusqu'à sa correction");
+                published = null;
+            }
+            return;
+        }
+        if (current == null) {
+            publishAll();
+            log.info("Numéros hors format corrigés : index des téléphones de nouveau disponible");
+            return;
+        }
+        for (String station : touched) {
+            LongCountMap phones = phonesByStation.get(station);
+            if (phones == null || phones.size() == 0) {
+                current.remove(station);
+            } else {
+                current.put(station, phones.sortedKeys());
+            }
+        }
+    }
+
+    /**
+     * Republie les tableaux de toutes les stations depuis les tables.
+     */
+    private void publishAll() {
+        Map<String, long[]> rebuilt = new ConcurrentHashMap<>();
+        phonesByStation.forEach((station, phones) -> {
+            if (phones.size() > 0) {
+                rebuilt.put(station, phones.sortedKeys());
+            }
+        });
+        this.published = rebuilt;
+    }
+
+    /**
+     * Retourne les numéros distincts des résidents couverts par une station.
+     * Le tableau est partagé entre les requêtes et ne doit pas être modifié.
+     *
+     * @param stationNumber le numéro de la station
+     * @return les codes des numéros, dans l'ordre numérique, vide si la station est inconnue ou l'index indisponible
+     */
+    public long[] phonesOf(int stationNumber) {
+        Map<String, long[]> current = published;
+        return current == null ? NO_PHONES : current.getOrDefault(String.valueOf(stationNumber), NO_PHONES);
+    }
+
+    /**
+     * Compte (ou décompte) le numéro d'une personne pour son adresse et les stations qui la couvrent.
+     * Un numéro hors format n'est compté que parmi les numéros hors format.
+     */
+    private void addPerson(Person person, int delta, Set<String> touched) {
+        long phone = PhoneNumbers.encode(person.getPhone());
+        if (phone == PhoneNumbers.INVALID) {
+            log.debug("Numéro hors format pour {} {}", person.getFirstName(), person.getLastName());
+            invalidPhones += delta;
+            return;
+        }
+        int addressId = addressDictionary.idOf(person.getAddress());
+        phonesByAddress.computeIfAbsent(addressId, id -> new LongCountMap()).add(phone, delta);
+        for (String station : stationsByAddress.getOrDefault(addressId, Map.of()).keySet()) {
+            if (phonesByStation.computeIfAbsent(station, s -> new LongCountMap()).add(phone, delta)) {
+                touched.add(station);
+            }
+        }
+    }
+
+    private void addMapping(FireStation fireStation, Set<String> touched) {
+        int addressId = addressDictionary.idOf(fireStation.getAddress());
+        int mappings = stationsByAddress.computeIfAbsent(addressId, id -> new HashMap<>())
+                .merge(fireStation.getStation(), 1, Integer::sum);
+        if (mappings == 1) {
+            transfer(addressId, fireStation.getStation(), 1, touched);
+        }
+    }
+
+    private void removeMapping(FireStation fireStation, Set<String> touched) {
+        int addressId = addressDictionary.idOf(fireStation.getAddress());
+        Map<String, Integer> stations = stationsByAddress.get(addressId);
+        if (stations == null || !stations.containsKey(fireStation.getStation())) {
+            return;
+        }
+        if (stations.merge(fireStation.getStation(), -1, Integer::sum) == 0) {
+            stations.remove(fireStation.getStation());
+            transfer(addressId, fireStation.getStation(), -1, touched);
+        }
+    }
+
+    /**
+     * Ajoute (ou retire) à une station les numéros des résidents d'une adresse.
+     */
+    private void transfer(int addressId, String station, int sign, Set<String> touched) {
+        LongCountMap phones = phonesByAddress.get(addressId);
+        LongCountMap stationPhones = phonesByStation.computeIfAbsent(station, s -> new LongCountMap());
+        touched.add(station);
+        if (phones != null) {
+            phones.forEach((phone, count) -> stationPhones.add(phone, sign * count));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.dto.StorageFootprintDTO;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import com.ryan.safetynet.alerts.repository.DataSnapshot;
+import com.ryan.safetynet.alerts.utils.HeapEstimator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Endpoint Actuator comparant l'empreinte mémoire du modèle objet à celle du stockage en colonnes.
+ * Accessible via /actuator/storage. Les tailles sont des estimations (voir {@link HeapEstimator}) :
+ * les chaînes partagées entre plusieurs objets ne sont comptées qu'une fois. L'empreinte du modèle
+ * est aussi estimée sans le dédoublonnage fait au chargement, comme si chaque valeur désérialisée
+ * était sa propre instance.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "storage")
+public class StorageFootprintEndpoint {
+
+    private final DataRepository dataRepository;
+    private final ColumnarStore columnarStore;
+
+    /**
+     * @return les empreintes estimées ; les tailles en colonnes valent 0 tant que le stockage n'est pas construit
+     */
+    @ReadOperation
+    public StorageFootprintDTO footprint() {
+        DataSnapshot snapshot = dataRepository.getSnapshot();
+        StorageFootprintDTO dto = new StorageFootprintDTO();
+        dto.setPersons(snapshot.getPersons().size());
+        dto.setMedicalRecords(snapshot.getMedicalRecords().size());
+        dto.setObjectModelBytes(objectModelBytes(snapshot.getPersons(), snapshot.getMedicalRecords(),
+                new HeapEstimator.Counter()));
+        dto.setUnpooledObjectModelBytes(objectModelBytes(snapshot.getPersons(), snapshot.getMedicalRecords(),
+                new HeapEstimator.Counter(false)));
+        dto.setPooledStrings(dataRepository.getPooledStrings());
+        ColumnarStore.Columns columns = columnarStore.columns();
+        dto.setColumnarBytes(columns == null ? 0 : columns.footprintBytes());
+        dto.setOffHeapBytes(columns == null ? 0 : columns.offHeapBytes());
+        dto.setColumnarRatio(dto.getObjectModelBytes() == 0 ? 0
+                : (double) dto.getColumnarBytes() / dto.getObjectModelBytes());
+        return dto;
+    }
+
+    /**
+     * Estime la taille des listes de personnes et de dossiers médicaux et des objets qu'elles référencent.
+     */
+    static long objectModelBytes(List<Person> persons, List<MedicalRecord> medicalRecords,
+                                 HeapEstimator.Counter counter) {
+        counter.add(HeapEstimator.arrayListBytes(persons.size()));
+        for (Person person : persons) {
+            // Person : sept références vers des chaînes
+            counter.add(HeapEstimator.objectBytes(7L * HeapEstimator.REFERENCE))
+                    .string(person.getFirstName())
+                    .string(person.getLastName())
+                    .string(person.getAddress())
+                    .string(person.getCity())
+                    .string(person.getZip())
+                    .string(person.getPhone())
+                    .string(person.getEmail());
+        }
+        counter.add(HeapEstimator.arrayListBytes(medicalRecords.size()));
+        for (MedicalRecord record : medicalRecords) {
+            // MedicalRecord : noms, date de naissance et deux listes ; LocalDate : int et deux short
+            counter.add(HeapEstimator.objectBytes(5L * HeapEstimator.REFERENCE))
+                    .string(record.getFirstName())
+                    .string(record.getLastName());
+            if (record.getBirthdate() != null) {
+                counter.add(HeapEstimator.objectBytes(4 + 2 + 2));
+            }
+            if (record.getMedications() != null) {
+                counter.add(HeapEstimator.arrayListBytes(record.getMedications().size()))
+                        .strings(record.getMedications());
+            }
+            if (record.getAllergies() != null) {
+                counter.add(HeapEstimator.arrayListBytes(record.getAllergies().size()))
+                        .strings(record.getAllergies());
+            }
+        }
+        return counter.bytes();
+    }
+}
@@ -0,0 +1,133 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.utils.HeapEstimator;
+
+import java.util.Arrays;
+
+/**
+ * Dictionnaire de chaînes d'une colonne : chaque valeur distincte reçoit un code entier,
+ * la colonne ne stocke que les codes. Le dictionnaire ne fait que croître : une valeur garde
+ * son code tant qu'il n'est pas vidé.
+ *
+ * Le codage est réservé au thread d'écriture. Les lecteurs décodent avec le tableau des valeurs
+ * obtenu par {@link #values()} au moment de la publication d'une version : les valeurs déjà codées
+ * n'y sont jamais modifiées, les suivantes sont écrites au-delà ou dans un nouveau tableau.
+ * La table de codage ne contient que des entiers, sans objet par entrée.
+ */
+final class StringDictionary {
+
+    /**
+     * Code d'une valeur absente (null).
+     */
+    static final int NULL_CODE = -1;
+
+    /**
+     * Résultat de {@link #find} pour une valeur jamais codée.
+     */
+    static final int UNKNOWN = -2;
+
+    private String[] values;
+    private int size;
+    // Codes + 1 rangés par hachage de la valeur, 0 pour un emplacement vide
+    private int[] table;
+
+    StringDictionary() {
+        clear();
+    }
+
+    /**
+     * @return le code de la valeur, attribué si nécessaire
+     */
+    int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        int mask = table.length - 1;
+        int slot = slot(value, mask);
+        for (; table[slot] != 0; slot = (slot + 1) & mask) {
+            if (values[table[slot] - 1].equals(value)) {
+                return table[slot] - 1;
+            }
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        table[slot] = ++size;
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return size - 1;
+    }
+
+    /**
+     * @return le code de la valeur, ou {@link #UNKNOWN} si elle n'a jamais été codée
+     */
+    int find(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        int mask = table.length - 1;
+        for (int slot = slot(value, mask); table[slot] != 0; slot = (slot + 1) & mask) {
+            if (values[table[slot] - 1].equals(value)) {
+                return table[slot] - 1;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * @return le tableau des valeurs, indexé par code, à publier avec une version des colonnes
+     */
+    String[] values() {
+        return values;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return l'empreinte de la table de codage, réservée au thread d'écriture
+     */
+    long tableBytes() {
+        return HeapEstimator.arrayBytes(table.length, 4);
+    }
+
+    void clear() {
+        values = new String[16];
+        size = 0;
+        table = new int[32];
+    }
+
+    static String decode(String[] values, int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    /**
+     * @return l'empreinte du tableau des valeurs et des chaînes qu'il référence
+     */
+    static long footprintBytes(String[] values, HeapEstimator.Counter counter) {
+        for (String value : values) {
+            counter.string(value);
+        }
+        return HeapEstimator.arrayBytes(values.length, HeapEstimator.REFERENCE);
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        int mask = capacity - 1;
+        for (int code = 0; code < size; code++) {
+            int slot = slot(values[code], mask);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = code + 1;
+        }
+    }
+
+    private static int slot(String value, int mask) {
+        int hash = value.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,181 @@
+package com.ryan.safetynet.alerts.repository;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.utils.AddressCanonicalizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Différence par clé entre les données en mémoire et une nouvelle version du fichier de données.
+ *
+ * Les personnes et les dossiers médicaux sont appariés par prénom et nom, les mappings par adresse
+ * canonique et numéro de station. Pour une même clé, les entités identiques s'annulent, les suivantes
+ * sont appariées dans l'ordre (mise à jour) et les dernières sont ajoutées ou supprimées, ce qui
+ * couvre les homonymes. Les modifications portent les entités en mémoire comme état « avant » :
+ * appliquées puis notifiées, elles ne touchent que les entrées des index et caches concernées.
+ */
+public final class DataDiff {
+
+    private final List<DataChange> changes = new ArrayList<>();
+    private final EntityDiff<Person> persons;
+    private final EntityDiff<MedicalRecord> medicalRecords;
+    private final EntityDiff<FireStation> fireStations;
+
+    private DataDiff(Data live, Data incoming) {
+        this.persons = new EntityDiff<>(listOf(live.getPersons()), listOf(incoming.getPersons()),
+                person -> nameKey(person.getFirstName(), person.getLastName()), DataDiff::samePerson, changes);
+        this.medicalRecords = new EntityDiff<>(listOf(live.getMedicalRecords()), listOf(incoming.getMedicalRecords()),
+                record -> nameKey(record.getFirstName(), record.getLastName()), DataDiff::sameRecord, changes);
+        this.fireStations = new EntityDiff<>(listOf(live.getFireStations()), listOf(incoming.getFireStations()),
+                mapping -> AddressCanonicalizer.canonicalize(mapping.getAddress()) + '\u0000' + mapping.getStation(),
+                (a, b) -> Objects.equals(a.getAddress(), b.getAddress()), changes);
+    }
+
+    /**
+     * Calcule la différence entre les données en mémoire et une nouvelle version.
+     * Doit être appelée par le thread d'écriture, seul à modifier les listes en mémoire.
+     *
+     * @param live les données en mémoire
+     * @param incoming la nouvelle version des données
+     * @return la différence
+     */
+    public static DataDiff between(Data live, Data incoming) {
+        return new DataDiff(live, incoming);
+    }
+
+    /**
+     * @return les modifications, personnes d'abord, puis dossiers médicaux et mappings
+     */
+    public List<DataChange> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * @return true si les deux versions sont identiques
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Applique la différence aux listes en mémoire : les entités modifiées sont remplacées à leur
+     * position, les entités supprimées retirées et les nouvelles ajoutées en fin de liste.
+     *
+     * @param live les données en mémoire à partir desquelles la différence a été calculée
+     */
+    public void applyTo(Data live) {
+        if (live.getPersons() == null) {
+            live.setPersons(new ArrayList<>());
+        }
+        if (live.getMedicalRecords() == null) {
+            live.setMedicalRecords(new ArrayList<>());
+        }
+        if (live.getFireStations() == null) {
+            live.setFireStations(new ArrayList<>());
+        }
+        persons.applyTo(live.getPersons());
+        medicalRecords.applyTo(live.getMedicalRecords());
+        fireStations.applyTo(live.getFireStations());
+    }
+
+    private static <T> List<T> listOf(List<T> values) {
+        // Un fichier JSON incomplet peut laisser une liste à null
+        return values == null ? List.of() : values;
+    }
+
+    private static String nameKey(String firstName, String lastName) {
+        return firstName + '\u0000' + lastName;
+    }
+
+    private static boolean samePerson(Person a, Person b) {
+        return Objects.equals(a.getAddress(), b.getAddress()) && Objects.equals(a.getCity(), b.getCity())
+                && Objects.equals(a.getZip(), b.getZip()) && Objects.equals(a.getPhone(), b.getPhone())
+                && Objects.equals(a.getEmail(), b.getEmail());
+    }
+
+    private static boolean sameRecord(MedicalRecord a, MedicalRecord b) {
+        return Objects.equals(a.getBirthdate(), b.getBirthdate())
+                && Objects.equals(a.getMedications(), b.getMedications())
+                && Objects.equals(a.getAllergies(), b.getAllergies());
+    }
+
+    /**
+     * Différence d'une liste d'entités, comparées par identité une fois appariées.
+     */
+    private static final class EntityDiff<T> {
+        private final Map<T, T> replaced = new IdentityHashMap<>();
+        private final Map<T, Boolean> removed = new IdentityHashMap<>();
+        private final List<T> added = new ArrayList<>();
+
+        private EntityDiff(List<T> live, List<T> incoming, Function<T, Object> key, BiPredicate<T, T> same,
+                           List<DataChange> changes) {
+            Map<Object, List<T>> liveByKey = group(live, key);
+            Map<Object, List<T>> incomingByKey = group(incoming, key);
+            for (Map.Entry<Object, List<T>> entry : liveByKey.entrySet()) {
+                match(entry.getValue(), incomingByKey.remove(entry.getKey()), same, changes);
+            }
+            for (List<T> remaining : incomingByKey.values()) {
+                match(List.of(), remaining, same, changes);
+            }
+        }
+
+        private void match(List<T> before, List<T> after, BiPredicate<T, T> same, List<DataChange> changes) {
+            List<T> olds = new ArrayList<>(before);
+            List<T> news = after == null ? new ArrayList<>() : new ArrayList<>(after);
+            for (Iterator<T> it = news.iterator(); it.hasNext(); ) {
+                T candidate = it.next();
+                for (Iterator<T> old = olds.iterator(); old.hasNext(); ) {
+                    if (same.test(old.next(), candidate)) {
+                        old.remove();
+                        it.remove();
+                        break;
+                    }
+                }
+            }
+            int paired = Math.min(olds.size(), news.size());
+            for (int i = 0; i < paired; i++) {
+                replaced.put(olds.get(i), news.get(i));
+                changes.add(DataChange.updated(olds.get(i), news.get(i)));
+            }
+            for (T old : olds.subList(paired, olds.size())) {
+                removed.put(old, Boolean.TRUE);
+                changes.add(DataChange.removed(old));
+            }
+            for (T value : news.subList(paired, news.size())) {
+                added.add(value);
+                changes.add(DataChange.added(value));
+            }
+        }
+
+        private void applyTo(List<T> live) {
+            if (!replaced.isEmpty()) {
+                live.replaceAll(value -> replaced.getOrDefault(value, value));
+            }
+            if (!removed.isEmpty()) {
+                live.removeIf(removed::containsKey);
+            }
+            live.addAll(added);
+        }
+
+        private static <T> Map<Object, List<T>> group(List<T> values, Function<T, Object> key) {
+            Map<Object, List<T>> groups = new LinkedHashMap<>();
+            for (T value : values) {
+                groups.computeIfAbsent(key.apply(value), k -> new ArrayList<>(1)).add(value);
+            }
+            return groups;
+        }
+    }
+}
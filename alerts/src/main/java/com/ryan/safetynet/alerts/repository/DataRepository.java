@@ -8,7 +8,9 @@ package com.ryan.safetynet.alerts.repository;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.utils.StringPool;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -22,16 +24,47 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Component
 public class DataRepository {
     @Value("${data.file.path:classpath:data.json}")
     private String dataFilePath;
+
+    /**
+     * Nombre maximal de valeurs distinctes dédoublonnées à chaque lecture du fichier.
+     */
+    @Value("${data.string-pool.capacity:" + StringPool.DEFAULT_CAPACITY + "}")
+    private int stringPoolCapacity = StringPool.DEFAULT_CAPACITY;
+
+    /**
+     * Nombre de valeurs distinctes partagées lors de la dernière lecture du fichier.
+     */
+    @Getter
+    private volatile int pooledStrings;
     
     @Getter
     private Data data;
     private final ObjectMapper objectMapper;
+    private final StripedLockManager lockManager;
+
+    /**
+     * Dernier instantané en lecture seule matérialisé, et numéro de la dernière version publiée.
+     * L'instantané n'est copié qu'à la demande d'un lecteur, une fois par version.
+     */
+    private volatile DataSnapshot snapshot = DataSnapshot.EMPTY;
+    private final AtomicLong snapshotVersion = new AtomicLong();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    /**
+     * Date de modification du fichier après la dernière sauvegarde de l'application,
+     * ou du fichier dont les données en mémoire ont été rechargées en dernier.
+     */
+    private volatile FileTime lastSavedTime;
 
     /**
      * Constructeur pour DataRepository.
@@ -39,9 +72,11 @@ public class DataRepository {
      * et le configure pour ignorer les propriétés inconnues lors de la désérialisation.
      *
      * @param objectMapper Jackson ObjectMapper pour la sérialisation/désérialisation JSON
+     * @param lockManager le gestionnaire de verrous, pris en lecture le temps de copier un instantané
      */
-    public DataRepository(ObjectMapper objectMapper) {
+    public DataRepository(ObjectMapper objectMapper, StripedLockManager lockManager) {
         this.objectMapper = objectMapper;
+        this.lockManager = lockManager;
         this.objectMapper.registerModule(new JavaTimeModule());
         this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     }
@@ -62,16 +97,16 @@ public class DataRepository {
                 log.info("Tentative de chargement depuis le classpath: {}", resourcePath);
                 
                 // Charger depuis le classpath
-                this.data = objectMapper.readValue(
+                this.data = deduplicate(objectMapper.readValue(
                     getClass().getClassLoader().getResourceAsStream(resourcePath),
                     Data.class
-                );
+                ));
                 log.info("Données chargées avec succès depuis le classpath: {}", resourcePath);
             } else {
                 // Charger depuis un fichier
                 File file = new File(dataFilePath);
                 if (file.exists()) {
-                    this.data = objectMapper.readValue(file, Data.class);
+                    this.data = deduplicate(objectMapper.readValue(file, Data.class));
                     log.info("Données chargées avec succès depuis le fichier: {}", dataFilePath);
                 } else {
                     this.data = new Data();
@@ -85,6 +120,130 @@ public class DataRepository {
                     dataFilePath, e.getMessage(), e);
             throw new DataLoadException("Échec du chargement des données depuis : " + dataFilePath, e);
         }
+        publishSnapshot();
+    }
+
+    /**
+     * Retourne un instantané à jour de la dernière version publiée. Un lecteur qui conserve
+     * l'instantané obtient une vue cohérente des données sans prendre de verrou.
+     *
+     * La copie des listes est faite par le premier lecteur qui demande une nouvelle version, sous
+     * verrou de lecture sur toutes les partitions : elle ne contient que des mutations complètes.
+     * Les lecteurs suivants de la même version partagent la copie, et une rafale d'écritures sans
+     * lecteur d'instantané ne coûte aucune copie.
+     *
+     * @return l'instantané courant
+     */
+    public DataSnapshot getSnapshot() {
+        DataSnapshot current = snapshot;
+        if (current.getVersion() == snapshotVersion.get() || data == null) {
+            return current;
+        }
+        snapshotLock.lock();
+        try {
+            long version = snapshotVersion.get();
+            current = snapshot;
+            if (current.getVersion() != version) {
+                // Le contenu peut déjà inclure des mutations du lot suivant : il n'est jamais plus ancien que la version
+                current = lockManager.readLocked(List.of(), () -> DataSnapshot.of(version, data));
+                snapshot = current;
+                log.debug("Instantané des données copié (version {})", version);
+            }
+            return current;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Publie une nouvelle version des données. Appelée après le chargement puis par le thread
+     * d'écriture du pipeline de mutations après chaque lot ; la publication ne copie rien,
+     * l'instantané correspondant n'est construit qu'à la première lecture.
+     *
+     * @return le numéro de la version publiée
+     */
+    public long publishSnapshot() {
+        if (data == null) {
+            return snapshotVersion.get();
+        }
+        long version = snapshotVersion.incrementAndGet();
+        log.debug("Version {} des données publiée", version);
+        return version;
+    }
+
+    /**
+     * Retourne le chemin du fichier de données externe.
+     *
+     * @return le chemin du fichier, ou null si les données proviennent du classpath
+     */
+    public Path getDataFile() {
+        return dataFilePath.startsWith("classpath:") ? null : Path.of(dataFilePath);
+    }
+
+    /**
+     * Lit et analyse le fichier de données externe sans modifier les données en mémoire.
+     * Utilisée par le rechargement à chaud, qui applique ensuite la différence sur le thread d'écriture.
+     *
+     * @return les données lues
+     * @throws IOException si le fichier est illisible ou son contenu invalide
+     * @throws IllegalStateException si les données proviennent du classpath
+     */
+    public Data readDataFile() throws IOException {
+        Path file = getDataFile();
+        if (file == null) {
+            throw new IllegalStateException("Les données du classpath ne peuvent pas être relues : " + dataFilePath);
+        }
+        return deduplicate(objectMapper.readValue(file.toFile(), Data.class));
+    }
+
+    /**
+     * Partage les valeurs répétées des données lues au moyen d'un dictionnaire propre à cette
+     * lecture, abandonné ensuite. Les objets reçus par les contrôleurs ne sont pas concernés.
+     */
+    private Data deduplicate(Data read) {
+        StringPool pool = new StringPool(stringPoolCapacity).deduplicate(read);
+        pooledStrings = pool.size();
+        log.debug("{} valeurs distinctes partagées, {} copies évitées", pool.size(), pool.hits());
+        return read;
+    }
+
+    /**
+     * Indique si le fichier de données est tel que l'application l'a sauvegardé ou rechargé en dernier,
+     * ce qui permet d'ignorer les notifications provoquées par ses propres écritures.
+     *
+     * @return true si le fichier n'a pas été modifié depuis la dernière sauvegarde ou le dernier rechargement
+     * @throws IOException si la date de modification ne peut pas être lue
+     */
+    public boolean isUnchangedSinceLastSave() throws IOException {
+        Path file = getDataFile();
+        FileTime saved = lastSavedTime;
+        return file != null && saved != null && saved.equals(Files.getLastModifiedTime(file));
+    }
+
+    /**
+     * Lit la date de modification actuelle du fichier de données externe.
+     * Relevée avant de relire le fichier, elle ne peut pas être postérieure au contenu lu.
+     *
+     * @return la date de modification du fichier
+     * @throws IOException si la date de modification ne peut pas être lue
+     * @throws IllegalStateException si les données proviennent du classpath
+     */
+    public FileTime readDataFileStamp() throws IOException {
+        Path file = getDataFile();
+        if (file == null) {
+            throw new IllegalStateException("Les données du classpath n'ont pas de date de modification : " + dataFilePath);
+        }
+        return Files.getLastModifiedTime(file);
+    }
+
+    /**
+     * Enregistre que les données en mémoire correspondent au fichier tel qu'il était à la date donnée,
+     * sans le réécrire. Appelée par le rechargement à chaud, sur le thread d'écriture.
+     *
+     * @param stamp la date de modification du fichier relu
+     */
+    public void markInSyncWith(FileTime stamp) {
+        lastSavedTime = stamp;
     }
 
     /**
@@ -113,6 +272,7 @@ public class DataRepository {
         }
 
         objectMapper.writeValue(file, data);
+        lastSavedTime = Files.getLastModifiedTime(file.toPath());
         log.info("Données sauvegardées dans {}", filePath);
     }
 
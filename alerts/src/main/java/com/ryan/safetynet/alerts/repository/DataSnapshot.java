@@ -0,0 +1,59 @@
+package com.ryan.safetynet.alerts.repository;
+
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Instantané en lecture seule des données, copié à la demande pour chaque version publiée par le
+ * pipeline de mutations.
+ * Les listes sont des copies non modifiables ; les entités qu'elles contiennent ne sont plus
+ * modifiées sur place (les mises à jour remplacent l'objet), l'instantané reste donc cohérent
+ * sans verrou aussi longtemps qu'un lecteur le conserve.
+ */
+@Getter
+public class DataSnapshot {
+
+    /**
+     * Instantané vide, utilisé avant le premier chargement.
+     */
+    public static final DataSnapshot EMPTY = new DataSnapshot(0L, List.of(), List.of(), List.of());
+
+    private final long version;
+    private final List<Person> persons;
+    private final List<FireStation> fireStations;
+    private final List<MedicalRecord> medicalRecords;
+
+    private DataSnapshot(long version, List<Person> persons, List<FireStation> fireStations,
+                         List<MedicalRecord> medicalRecords) {
+        this.version = version;
+        this.persons = persons;
+        this.fireStations = fireStations;
+        this.medicalRecords = medicalRecords;
+    }
+
+    /**
+     * Copie l'état courant des données dans un nouvel instantané.
+     *
+     * @param version numéro de version de l'instantané
+     * @param data les données à copier
+     * @return l'instantané
+     */
+    public static DataSnapshot of(long version, Data data) {
+        return new DataSnapshot(version,
+                copyOf(data.getPersons()),
+                copyOf(data.getFireStations()),
+                copyOf(data.getMedicalRecords()));
+    }
+
+    private static <T> List<T> copyOf(List<T> source) {
+        // Un fichier JSON incomplet peut laisser une liste à null
+        return source == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(source));
+    }
+}
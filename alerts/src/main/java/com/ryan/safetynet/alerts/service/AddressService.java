@@ -0,0 +1,103 @@
+package com.ryan.safetynet.alerts.service;
+
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.dto.AddressSuggestionDTO;
+import com.ryan.safetynet.alerts.index.AddressIndex;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import com.ryan.safetynet.alerts.utils.CaseFolding;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service d'autocomplétion des adresses.
+ * Les suggestions proviennent de l'index des adresses ; tant qu'il n'est pas construit,
+ * le service parcourt les personnes et les mappings des stations.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class AddressService {
+
+    private final DataRepository dataRepository;
+    private final StripedLockManager lockManager;
+    private final AddressIndex addressIndex;
+
+    /**
+     * Propose les adresses commençant par le préfixe saisi (adresse complète ou nom de rue),
+     * sans tenir compte de la casse, de la plus peuplée à la moins peuplée.
+     *
+     * @param prefix le début de l'adresse
+     * @param limit le nombre maximal de suggestions
+     * @return les suggestions classées
+     */
+    public List<AddressSuggestionDTO> autocomplete(String prefix, int limit) {
+        log.debug("Autocomplétion des adresses pour le préfixe : {}", prefix);
+        List<AddressSuggestionDTO> suggestions;
+        if (addressIndex.isReady()) {
+            suggestions = addressIndex.suggest(prefix, limit).stream()
+                    .map(address -> toSuggestion(address.getAddress(), address.getResidents(), address.getStations()))
+                    .collect(Collectors.toList());
+        } else {
+            suggestions = lockManager.read(List.of(), () -> scan(dataRepository.getData(), prefix, limit));
+        }
+        log.debug("Nombre de suggestions pour {} : {}", prefix, suggestions.size());
+        return suggestions;
+    }
+
+    /**
+     * Calcule les suggestions par parcours des données, avec le même classement que l'index.
+     */
+    private List<AddressSuggestionDTO> scan(Data data, String prefix, int limit) {
+        String key = normalize(prefix);
+        Map<String, Integer> residents = new LinkedHashMap<>();
+        Map<String, Set<String>> stations = new LinkedHashMap<>();
+        for (Person person : data.getPersons()) {
+            residents.merge(person.getAddress(), 1, Integer::sum);
+        }
+        for (FireStation fireStation : data.getFireStations()) {
+            stations.computeIfAbsent(fireStation.getAddress(), a -> new LinkedHashSet<>()).add(fireStation.getStation());
+        }
+        Set<String> addresses = new LinkedHashSet<>(residents.keySet());
+        addresses.addAll(stations.keySet());
+
+        List<AddressSuggestionDTO> suggestions = new ArrayList<>();
+        for (String address : addresses) {
+            String normalized = normalize(address);
+            int space = normalized.indexOf(' ');
+            boolean streetMatch = space > 0 && Character.isDigit(normalized.charAt(0))
+                    && normalized.substring(space + 1).startsWith(key);
+            if (normalized.startsWith(key) || streetMatch) {
+                suggestions.add(toSuggestion(address, residents.getOrDefault(address, 0),
+                        List.copyOf(stations.getOrDefault(address, Set.of()))));
+            }
+        }
+        suggestions.sort(Comparator.comparingInt(AddressSuggestionDTO::getResidentCount).reversed()
+                .thenComparing(AddressSuggestionDTO::getAddress));
+        return suggestions.subList(0, Math.min(limit, suggestions.size()));
+    }
+
+    private static String normalize(String value) {
+        return CaseFolding.fold(value).trim().replaceAll("\\s+", " ");
+    }
+
+    private static AddressSuggestionDTO toSuggestion(String address, int residents, List<String> stations) {
+        AddressSuggestionDTO dto = new AddressSuggestionDTO();
+        dto.setAddress(address);
+        dto.setResidentCount(residents);
+        dto.setStations(stations);
+        return dto;
+    }
+}
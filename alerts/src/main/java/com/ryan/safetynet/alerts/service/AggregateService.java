@@ -0,0 +1,82 @@
+package com.ryan.safetynet.alerts.service;
+
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.dto.AggregateStatsDTO;
+import com.ryan.safetynet.alerts.dto.TermCountDTO;
+import com.ryan.safetynet.alerts.index.AggregateIndex;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service des agrégats par station et par ville.
+ * Les agrégats sont lus dans {@link AggregateIndex}, qui les maintient à chaque modification ;
+ * tant que l'index n'est pas construit, ils sont calculés en parcourant les données.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class AggregateService {
+
+    static final String STATION = "station";
+    static final String CITY = "city";
+
+    private final DataRepository dataRepository;
+    private final StripedLockManager lockManager;
+    private final AggregateIndex aggregateIndex;
+
+    /**
+     * Retourne les agrégats des résidents couverts par une station.
+     *
+     * @param stationNumber le numéro de la station
+     * @return les agrégats, ou null si la station ne couvre aucun résident
+     */
+    public AggregateStatsDTO getStationStats(int stationNumber) {
+        log.debug("Recherche des agrégats de la station {}", stationNumber);
+        AggregateIndex.Stats stats = aggregateIndex.isReady()
+                ? aggregateIndex.station(stationNumber)
+                : lockManager.read(List.of(),
+                        () -> aggregateIndex.scanStation(dataRepository.getData(), stationNumber));
+        return stats == null ? null : toDTO(STATION, stats);
+    }
+
+    /**
+     * Retourne les agrégats des résidents d'une ville.
+     *
+     * @param city la ville, insensible à la casse
+     * @return les agrégats, ou null si aucun résident n'habite la ville
+     */
+    public AggregateStatsDTO getCityStats(String city) {
+        log.debug("Recherche des agrégats de la ville {}", city);
+        AggregateIndex.Stats stats = aggregateIndex.isReady()
+                ? aggregateIndex.city(city)
+                : lockManager.read(List.of(), () -> aggregateIndex.scanCity(dataRepository.getData(), city));
+        return stats == null ? null : toDTO(CITY, stats);
+    }
+
+    private static AggregateStatsDTO toDTO(String scope, AggregateIndex.Stats stats) {
+        AggregateStatsDTO dto = new AggregateStatsDTO();
+        dto.setScope(scope);
+        dto.setName(stats.getName());
+        dto.setResidents(stats.getResidents());
+        dto.setWithoutMedicalRecord(stats.getWithoutMedicalRecord());
+        dto.setAgeBuckets(stats.getAgeBuckets());
+        dto.setTopMedications(toDTOs(stats.getTopMedications()));
+        dto.setTopAllergies(toDTOs(stats.getTopAllergies()));
+        dto.setHouseholds(stats.getHouseholds());
+        dto.setHouseholdSizes(stats.getHouseholdSizes());
+        return dto;
+    }
+
+    private static List<TermCountDTO> toDTOs(List<AggregateIndex.TermCount> terms) {
+        return terms.stream().map(term -> {
+            TermCountDTO dto = new TermCountDTO();
+            dto.setTerm(term.term());
+            dto.setCount(term.count());
+            return dto;
+        }).toList();
+    }
+}
@@ -0,0 +1,422 @@
+package com.ryan.safetynet.alerts.service;
+
+import com.ryan.safetynet.alerts.dto.ChangeEventDTO;
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.event.DataChangeListener;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.ChangeScopeIndex;
+import com.ryan.safetynet.alerts.index.ChangeScopeIndex.Scope;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Flux des modifications par station et par adresse, diffusé en Server-Sent Events.
+ *
+ * Les modifications sont reçues du pipeline de mutations ({@link DataChangeListener}) sur
+ * le thread d'écriture, qui ne fait que les déposer dans le tampon de chaque abonné concerné ;
+ * la portée d'une modification (adresses canoniques et stations) est résolue par
+ * {@link ChangeScopeIndex}. Adresses suivies et portées sont comparées par identifiant canonique
+ * ({@link AddressDictionary}) : toutes les saisies d'une adresse désignent le même abonnement,
+ * comme pour /fire et /flood. Une adresse encore inconnue à l'abonnement est résolue lorsqu'une
+ * entité la porte, sans être ajoutée au dictionnaire.
+ *
+ * L'envoi au client est effectué par un pool dédié dont les threads sont créés à la demande :
+ * chaque abonné qui a des événements à envoyer occupe au plus un thread, de sorte qu'un client
+ * lent, dont l'écriture bloque, ne retarde que son propre flux. Le tampon est indexé par entité : une
+ * entité modifiée plusieurs fois avant l'envoi ne produit qu'un événement. Il est borné :
+ * un abonné trop lent perd son tampon et reçoit un événement {@value #RESYNC_EVENT} l'invitant
+ * à relire l'état complet, plutôt que de faire croître la mémoire sans limite.
+ */
+@Slf4j
+@Service
+public class ChangeFeedService implements DataChangeListener {
+
+    /**
+     * Nom de l'événement envoyé lorsque des modifications ont été perdues.
+     */
+    public static final String RESYNC_EVENT = "resync";
+
+    public static final int DEFAULT_BUFFER_SIZE = 256;
+    public static final long DEFAULT_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
+    private final DataRepository dataRepository;
+    private final ChangeScopeIndex scopeIndex;
+    private final AddressDictionary addressDictionary;
+    private final ExecutorService senders;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder overflows = new LongAdder();
+
+    /**
+     * @param dataRepository le repository des données, parcouru tant que l'index de portée n'est pas prêt
+     * @param scopeIndex l'index qui rattache les modifications aux adresses et stations
+     * @param addressDictionary le dictionnaire des adresses canoniques
+     * @param bufferSize nombre maximal d'entités en attente par abonné
+     * @param timeoutMillis durée de vie d'un abonnement (0 pour illimitée)
+     */
+    @Autowired
+    public ChangeFeedService(DataRepository dataRepository, ChangeScopeIndex scopeIndex,
+                             AddressDictionary addressDictionary,
+                             @Value("${changes.subscriber.buffer:" + DEFAULT_BUFFER_SIZE + "}") int bufferSize,
+                             @Value("${changes.sse.timeout:" + DEFAULT_TIMEOUT_MILLIS + "}") long timeoutMillis) {
+        this(dataRepository, scopeIndex, addressDictionary, newSenderPool(), bufferSize, timeoutMillis);
+    }
+
+    ChangeFeedService(DataRepository dataRepository, ChangeScopeIndex scopeIndex, AddressDictionary addressDictionary,
+                      ExecutorService senders, int bufferSize, long timeoutMillis) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("La taille du tampon doit être strictement positive");
+        }
+        this.dataRepository = dataRepository;
+        this.scopeIndex = scopeIndex;
+        this.addressDictionary = addressDictionary;
+        this.senders = senders;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    private static ExecutorService newSenderPool() {
+        AtomicInteger counter = new AtomicInteger();
+        // Un thread par abonné en cours d'envoi : une écriture bloquée n'immobilise pas les autres abonnés
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Ouvre un abonnement SSE aux modifications touchant les stations ou adresses données.
+     *
+     * @param stations numéros de stations suivis
+     * @param addresses adresses suivies
+     * @return l'émetteur SSE de l'abonnement
+     */
+    public SseEmitter subscribe(Collection<String> stations, Collection<String> addresses) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = register(stations, addresses, new SseSink(emitter));
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(e -> unregister(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Enregistre un abonné avec une destination arbitraire.
+     */
+    Subscriber register(Collection<String> stations, Collection<String> addresses, Sink sink) {
+        Subscriber subscriber = new Subscriber(new HashSet<>(stations), new HashSet<>(addresses), sink);
+        subscribers.add(subscriber);
+        log.info("Nouvel abonné au flux des modifications (stations {}, adresses {}), {} abonnés",
+                stations, addresses, subscribers.size());
+        return subscriber;
+    }
+
+    void unregister(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            log.info("Abonné retiré du flux des modifications, {} abonnés", subscribers.size());
+        }
+    }
+
+    /**
+     * @return le nombre d'abonnés actifs
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * @return le nombre de tampons abandonnés faute de consommation
+     */
+    public long getOverflowCount() {
+        return overflows.sum();
+    }
+
+    /**
+     * Répartit les modifications d'un lot entre les abonnés concernés.
+     * Appelée sur le thread d'écriture : aucune entrée/sortie n'est effectuée ici.
+     */
+    @Override
+    public void onDataChanged(List<DataChange> changes) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (DataChange change : changes) {
+            Scope scope = scopeOf(change);
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.matches(scope)) {
+                    subscriber.offer(change);
+                }
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.scheduleDrain();
+        }
+    }
+
+    /**
+     * Ferme les abonnements et arrête le pool d'envoi.
+     */
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.sink.close());
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    /**
+     * Adresses canoniques et stations concernées par une modification, résolues par l'index de portée.
+     * Tant que l'index n'est pas prêt, les personnes et mappings sont parcourus.
+     */
+    private Scope scopeOf(DataChange change) {
+        if (scopeIndex.isReady()) {
+            return scopeIndex.scopeOf(change);
+        }
+        Set<Integer> addresses = new HashSet<>();
+        Set<String> stations = new HashSet<>();
+        for (Object entity : new Object[]{change.getBefore(), change.getAfter()}) {
+            if (entity instanceof Person person) {
+                addresses.add(addressDictionary.idOf(person.getAddress()));
+            } else if (entity instanceof MedicalRecord record) {
+                dataRepository.getData().getPersons().stream()
+                        .filter(p -> p.getFirstName().equals(record.getFirstName())
+                                && p.getLastName().equals(record.getLastName()))
+                        .forEach(p -> addresses.add(addressDictionary.idOf(p.getAddress())));
+            } else if (entity instanceof FireStation fireStation) {
+                addresses.add(addressDictionary.idOf(fireStation.getAddress()));
+                stations.add(fireStation.getStation());
+            }
+        }
+        for (FireStation fireStation : dataRepository.getData().getFireStations()) {
+            if (addresses.contains(addressDictionary.idOf(fireStation.getAddress()))) {
+                stations.add(fireStation.getStation());
+            }
+        }
+        return new Scope(addresses, stations);
+    }
+
+    private static String keyOf(DataChange change) {
+        Object entity = change.getAfter() != null ? change.getAfter() : change.getBefore();
+        if (entity instanceof Person person) {
+            return "person:" + person.getFirstName() + "|" + person.getLastName();
+        }
+        if (entity instanceof MedicalRecord record) {
+            return "medicalRecord:" + record.getFirstName() + "|" + record.getLastName();
+        }
+        return "fireStation:" + ((FireStation) entity).getAddress();
+    }
+
+    /**
+     * Destination des événements d'un abonné.
+     */
+    interface Sink {
+        void send(ChangeEventDTO event) throws IOException;
+
+        void resync() throws IOException;
+
+        void close();
+    }
+
+    private static final class SseSink implements Sink {
+        private final SseEmitter emitter;
+
+        private SseSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(ChangeEventDTO event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.getSequence()))
+                    .name(event.getEntity().name().toLowerCase())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void resync() throws IOException {
+            emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(""));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Abonné : son filtre, son tampon d'événements fusionnés et son état d'envoi.
+     */
+    final class Subscriber {
+        private final Set<String> stations;
+        // Lus et modifiés par le thread d'écriture une fois l'abonné enregistré
+        private final Set<Integer> addresses = new HashSet<>();
+        private final Set<String> pendingAddresses;
+        private final Sink sink;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private LinkedHashMap<String, ChangeEventDTO> buffer = new LinkedHashMap<>();
+        private boolean overflowed;
+
+        private Subscriber(Set<String> stations, Set<String> addresses, Sink sink) {
+            this.stations = stations;
+            this.pendingAddresses = addresses;
+            this.sink = sink;
+        }
+
+        /**
+         * Rattache à leur identifiant canonique les adresses suivies désormais portées par une entité.
+         */
+        private void resolvePendingAddresses() {
+            pendingAddresses.removeIf(address -> {
+                int id = addressDictionary.find(address);
+                if (id == AddressDictionary.NO_ID) {
+                    return false;
+                }
+                addresses.add(id);
+                return true;
+            });
+        }
+
+        private boolean matches(Scope scope) {
+            if (!pendingAddresses.isEmpty()) {
+                resolvePendingAddresses();
+            }
+            return scope.addresses().stream().anyMatch(addresses::contains)
+                    || scope.stations().stream().anyMatch(stations::contains);
+        }
+
+        private void offer(DataChange change) {
+            String key = keyOf(change);
+            lock.lock();
+            try {
+                if (overflowed) {
+                    return;
+                }
+                ChangeEventDTO pending = buffer.get(key);
+                if (pending == null) {
+                    if (buffer.size() >= bufferSize) {
+                        // Abonné trop lent : on abandonne le tampon, le client devra se resynchroniser
+                        buffer = new LinkedHashMap<>();
+                        overflowed = true;
+                        overflows.increment();
+                        log.warn("Tampon d'un abonné saturé ({} entités), resynchronisation demandée", bufferSize);
+                        return;
+                    }
+                    buffer.put(key, toEvent(change));
+                } else if (coalesce(pending, change)) {
+                    buffer.remove(key);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                    log.warn("Envoi des modifications impossible: {}", e.getMessage());
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    List<ChangeEventDTO> events;
+                    boolean resync;
+                    lock.lock();
+                    try {
+                        if (buffer.isEmpty() && !overflowed) {
+                            draining.set(false);
+                            return;
+                        }
+                        events = new ArrayList<>(buffer.values());
+                        resync = overflowed;
+                        buffer = new LinkedHashMap<>();
+                        overflowed = false;
+                    } finally {
+                        lock.unlock();
+                    }
+                    if (resync) {
+                        sink.resync();
+                    }
+                    for (ChangeEventDTO event : events) {
+                        sink.send(event);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Abonné déconnecté: {}", e.getMessage());
+                unregister(this);
+                draining.set(false);
+            }
+        }
+    }
+
+    private ChangeEventDTO toEvent(DataChange change) {
+        ChangeEventDTO event = new ChangeEventDTO();
+        event.setSequence(sequence.incrementAndGet());
+        event.setEntity(change.getEntity());
+        event.setType(change.getType());
+        event.setBefore(change.getBefore());
+        event.setAfter(change.getAfter());
+        event.setCoalesced(1);
+        return event;
+    }
+
+    /**
+     * Fusionne une modification dans un événement en attente pour la même entité.
+     *
+     * @return true si les modifications s'annulent (ajout puis suppression)
+     */
+    private boolean coalesce(ChangeEventDTO pending, DataChange change) {
+        DataChange.Type type;
+        if (pending.getType() == DataChange.Type.ADDED) {
+            if (change.getType() == DataChange.Type.REMOVED) {
+                return true;
+            }
+            type = DataChange.Type.ADDED;
+        } else if (change.getType() == DataChange.Type.REMOVED) {
+            type = DataChange.Type.REMOVED;
+        } else {
+            // Mise à jour après mise à jour, ou suppression puis nouvel ajout
+            type = DataChange.Type.UPDATED;
+        }
+        pending.setType(type);
+        pending.setAfter(change.getAfter());
+        pending.setSequence(sequence.incrementAndGet());
+        pending.setCoalesced(pending.getCoalesced() + 1);
+        return false;
+    }
+}
@@ -1,19 +1,26 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.dto.AddressChildAlertDTO;
 import com.ryan.safetynet.alerts.dto.ChildAlertDTO;
 import com.ryan.safetynet.alerts.dto.ChildDTO;
 import com.ryan.safetynet.alerts.dto.HouseholdMemberDTO;
 import com.ryan.safetynet.alerts.dto.PersonWithMedicalInfoDTO;
+import com.ryan.safetynet.alerts.index.ColumnarStore;
+import com.ryan.safetynet.alerts.index.HouseholdIndex;
+import com.ryan.safetynet.alerts.index.ResidentView;
 import com.ryan.safetynet.alerts.model.Data;
 import com.ryan.safetynet.alerts.model.MedicalRecord;
 import com.ryan.safetynet.alerts.model.Person;
 import com.ryan.safetynet.alerts.repository.DataRepository;
+import com.ryan.safetynet.alerts.utils.AgeCalculator;
 import com.ryan.safetynet.alerts.utils.MedicalRecordUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
@@ -30,6 +37,11 @@ public class ChildAlertService {
 
     private final DataRepository dataRepository;
     private final PersonService personService;
+    private final StripedLockManager lockManager;
+    private final ColumnarStore columnarStore;
+    private final ResidentView residentView;
+    private final HouseholdIndex householdIndex;
+    private final FireStationService fireStationService;
 
     /**
      * Récupère les enfants vivant à une adresse donnée.
@@ -45,78 +57,277 @@ public class ChildAlertService {
         log.info("Recherche des enfants à l'adresse: {}", address);
 
         try {
-            // Récupérer les données une seule fois
-            Data data = dataRepository.getData();
-            List<MedicalRecord> medicalRecords = data.getMedicalRecords();
-            log.debug("Nombre total de dossiers médicaux: {}", medicalRecords.size());
-
-            // Trouver toutes les personnes à cette adresse en utilisant PersonService
-            List<Person> personsAtAddress = personService.getPersonsByAddress(address);
-
-            // Initialisation des listes pour stocker les résultats
-            List<ChildDTO> children = new ArrayList<>();
-            List<HouseholdMemberDTO> householdMembers = new ArrayList<>();
-
-            if (personsAtAddress.isEmpty()) {
-                log.info("Aucune personne trouvée à l'adresse: {}", address);
-                ChildAlertDTO response = new ChildAlertDTO();
-                response.setChildren(children);
-                response.setHouseholdMembers(householdMembers);
-                return response;
+            // Lecture optimiste sur la partition de l'adresse
+            return lockManager.read(List.of(StripedLockManager.addressKey(address)), () -> buildChildAlert(address));
+        } catch (Exception e) {
+            log.error("Erreur lors de la recherche des enfants à l'adresse {}: {}", address, e.getMessage());
+            throw new RuntimeException("Erreur lors de la recherche des enfants: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Récupère les foyers avec enfants parmi les adresses couvertes par une station.
+     * Chaque élément contient l'adresse, ses enfants (≤ 18 ans) et les autres membres du foyer.
+     *
+     * @param stationNumber le numéro de la station
+     * @return les foyers avec au moins un enfant, dans l'ordre des adresses de la station
+     * @throws RuntimeException si une erreur survient lors du traitement des données
+     */
+    public List<AddressChildAlertDTO> getChildrenByStation(int stationNumber) {
+        log.info("Recherche des foyers avec enfants pour la station: {}", stationNumber);
+
+        try {
+            if (householdIndex.isReady()) {
+                List<AddressChildAlertDTO> households = new ArrayList<>();
+                for (HouseholdIndex.Household household : householdIndex.householdsWithChildren(stationNumber)) {
+                    households.add(toAddressChildAlert(household.getAddress(), toChildAlert(household)));
+                }
+                log.info("Nombre de foyers avec enfants pour la station {}: {}", stationNumber, households.size());
+                return households;
             }
 
-            log.info("Nombre de personnes trouvées à l'adresse {}: {}", address, personsAtAddress.size());
-
-            // Traitement de chaque personne trouvée à l'adresse
-            for (Person person : personsAtAddress) {
-                try {
-                    // Récupération du dossier médical pour calculer l'âge
-                    PersonWithMedicalInfoDTO medicalInfo = MedicalRecordUtils.extractMedicalInfo(person, medicalRecords);
-                    int age = medicalInfo.getAge();
-                    log.debug("Âge calculé pour {} {}: {}", person.getFirstName(), person.getLastName(), age);
-
-                    // Classification de la personne selon son âge
-                    if (age <= 18) {
-                        // Création du DTO pour un enfant
-                        ChildDTO childDTO = new ChildDTO();
-                        childDTO.setFirstName(person.getFirstName());
-                        childDTO.setLastName(person.getLastName());
-                        childDTO.setAge(age);
-                        children.add(childDTO);
-                        log.debug("Enfant ajouté: {} {}, âge: {}",
-                                childDTO.getFirstName(),
-                                childDTO.getLastName(),
-                                childDTO.getAge());
-                    } else {
-                        // Création du DTO pour un membre du foyer adulte
-                        HouseholdMemberDTO memberDTO = new HouseholdMemberDTO();
-                        memberDTO.setFirstName(person.getFirstName());
-                        memberDTO.setLastName(person.getLastName());
-                        householdMembers.add(memberDTO);
-                        log.debug("Membre du foyer ajouté: {} {}",
-                                memberDTO.getFirstName(),
-                                memberDTO.getLastName());
+            // Les partitions lues sont celles de la station et des adresses qu'elle couvre
+            List<String> addresses = lockManager.read(List.of(StripedLockManager.stationKey(stationNumber)),
+                    () -> List.copyOf(new LinkedHashSet<>(fireStationService.getAddressesCoveredByStation(stationNumber))));
+            return lockManager.read(StripedLockManager.coverageKeys(List.of(stationNumber), addresses), () -> {
+                List<AddressChildAlertDTO> households = new ArrayList<>();
+                for (String address : addresses) {
+                    ChildAlertDTO childAlert = buildChildAlert(address);
+                    if (!childAlert.getChildren().isEmpty()) {
+                        households.add(toAddressChildAlert(address, childAlert));
                     }
-                } catch (Exception e) {
-                    log.error("Erreur lors du traitement de {} {}: {}",
-                            person.getFirstName(),
-                            person.getLastName(),
-                            e.getMessage());
                 }
-            }
+                log.info("Nombre de foyers avec enfants pour la station {}: {}", stationNumber, households.size());
+                return households;
+            });
+        } catch (Exception e) {
+            log.error("Erreur lors de la recherche des foyers avec enfants pour la station {}: {}",
+                    stationNumber, e.getMessage());
+            throw new RuntimeException("Erreur lors de la recherche des enfants: " + e.getMessage(), e);
+        }
+    }
 
-            // Construction de la réponse finale
+    /**
+     * Construit la réponse /childAlert pour une adresse à partir des données en mémoire.
+     *
+     * @param address L'adresse à vérifier
+     * @return Un ChildAlertDTO contenant les enfants et les autres membres du foyer
+     */
+    private ChildAlertDTO buildChildAlert(String address) {
+        if (householdIndex.isReady()) {
+            // Le foyer est déjà réparti entre enfants et adultes : une seule recherche par adresse
+            HouseholdIndex.Household household = householdIndex.householdAt(address);
+            ChildAlertDTO response = household == null ? emptyChildAlert() : toChildAlert(household);
+            log.info("Résumé pour l'adresse {}: {} enfants, {} autres membres du foyer",
+                    address, response.getChildren().size(), response.getHouseholdMembers().size());
+            return response;
+        }
+        if (residentView.isReady()) {
+            return projectChildAlert(address);
+        }
+
+        // Récupérer les données une seule fois
+        Data data = dataRepository.getData();
+        List<MedicalRecord> medicalRecords = data.getMedicalRecords();
+        log.debug("Nombre total de dossiers médicaux: {}", medicalRecords.size());
+
+        ColumnarStore.Columns columns = columnarStore.columns();
+        if (columns != null) {
+            return buildChildAlert(address, columns);
+        }
+
+        // Trouver toutes les personnes à cette adresse en utilisant PersonService
+        List<Person> personsAtAddress = personService.getPersonsByAddress(address);
+
+        // Initialisation des listes pour stocker les résultats
+        List<ChildDTO> children = new ArrayList<>();
+        List<HouseholdMemberDTO> householdMembers = new ArrayList<>();
+
+        if (personsAtAddress.isEmpty()) {
+            log.info("Aucune personne trouvée à l'adresse: {}", address);
             ChildAlertDTO response = new ChildAlertDTO();
             response.setChildren(children);
             response.setHouseholdMembers(householdMembers);
+            return response;
+        }
 
-            log.info("Résumé pour l'adresse {}: {} enfants, {} autres membres du foyer",
-                    address, children.size(), householdMembers.size());
+        log.info("Nombre de personnes trouvées à l'adresse {}: {}", address, personsAtAddress.size());
 
-            return response;
-        } catch (Exception e) {
-            log.error("Erreur lors de la recherche des enfants à l'adresse {}: {}", address, e.getMessage());
-            throw new RuntimeException("Erreur lors de la recherche des enfants: " + e.getMessage(), e);
+        // Traitement de chaque personne trouvée à l'adresse
+        for (Person person : personsAtAddress) {
+            try {
+                // Récupération du dossier médical pour calculer l'âge
+                PersonWithMedicalInfoDTO medicalInfo = MedicalRecordUtils.extractMedicalInfo(person, medicalRecords);
+                int age = medicalInfo.getAge();
+                log.debug("Âge calculé pour {} {}: {}", person.getFirstName(), person.getLastName(), age);
+
+                // Classification de la personne selon son âge
+                if (age <= 18) {
+                    // Création du DTO pour un enfant
+                    ChildDTO childDTO = new ChildDTO();
+                    childDTO.setFirstName(person.getFirstName());
+                    childDTO.setLastName(person.getLastName());
+                    childDTO.setAge(age);
+                    children.add(childDTO);
+                    log.debug("Enfant ajouté: {} {}, âge: {}",
+                            childDTO.getFirstName(),
+                            childDTO.getLastName(),
+                            childDTO.getAge());
+                } else {
+                    // Création du DTO pour un membre du foyer adulte
+                    HouseholdMemberDTO memberDTO = new HouseholdMemberDTO();
+                    memberDTO.setFirstName(person.getFirstName());
+                    memberDTO.setLastName(person.getLastName());
+                    householdMembers.add(memberDTO);
+                    log.debug("Membre du foyer ajouté: {} {}",
+                            memberDTO.getFirstName(),
+                            memberDTO.getLastName());
+                }
+            } catch (Exception e) {
+                log.error("Erreur lors du traitement de {} {}: {}",
+                        person.getFirstName(),
+                        person.getLastName(),
+                        e.getMessage());
+            }
         }
+
+        // Construction de la réponse finale
+        ChildAlertDTO response = new ChildAlertDTO();
+        response.setChildren(children);
+        response.setHouseholdMembers(householdMembers);
+
+        log.info("Résumé pour l'adresse {}: {} enfants, {} autres membres du foyer",
+                address, children.size(), householdMembers.size());
+
+        return response;
+    }
+
+    /**
+     * Projette la réponse /childAlert depuis la vue des résidents, dont l'âge est déjà joint.
+     *
+     * @param address L'adresse à vérifier
+     * @return Un ChildAlertDTO contenant les enfants et les autres membres du foyer
+     */
+    private ChildAlertDTO projectChildAlert(String address) {
+        List<ChildDTO> children = new ArrayList<>();
+        List<HouseholdMemberDTO> householdMembers = new ArrayList<>();
+
+        for (ResidentView.Resident resident : residentView.residentsAt(address)) {
+            if (!resident.hasMedicalRecord()) {
+                // Même comportement que le parcours des objets : la personne est ignorée
+                log.error("Erreur lors du traitement de {} {}: dossier médical non trouvé",
+                        resident.firstName(), resident.lastName());
+                continue;
+            }
+            int age = resident.age();
+            if (age <= 18) {
+                ChildDTO childDTO = new ChildDTO();
+                childDTO.setFirstName(resident.firstName());
+                childDTO.setLastName(resident.lastName());
+                childDTO.setAge(age);
+                children.add(childDTO);
+            } else {
+                HouseholdMemberDTO memberDTO = new HouseholdMemberDTO();
+                memberDTO.setFirstName(resident.firstName());
+                memberDTO.setLastName(resident.lastName());
+                householdMembers.add(memberDTO);
+            }
+        }
+
+        ChildAlertDTO response = new ChildAlertDTO();
+        response.setChildren(children);
+        response.setHouseholdMembers(householdMembers);
+
+        log.info("Résumé pour l'adresse {}: {} enfants, {} autres membres du foyer",
+                address, children.size(), householdMembers.size());
+
+        return response;
+    }
+
+    /**
+     * Construit la réponse /childAlert en parcourant le stockage en colonnes : la colonne des adresses
+     * donne les résidents, la colonne des dates de naissance leur âge.
+     *
+     * @param address L'adresse à vérifier
+     * @param columns les colonnes publiées
+     * @return Un ChildAlertDTO contenant les enfants et les autres membres du foyer
+     */
+    private ChildAlertDTO buildChildAlert(String address, ColumnarStore.Columns columns) {
+        List<ChildDTO> children = new ArrayList<>();
+        List<HouseholdMemberDTO> householdMembers = new ArrayList<>();
+
+        for (int row : columns.rowsAt(address)) {
+            if (!columns.hasBirthdate(row)) {
+                // Même comportement que le parcours des objets : la personne est ignorée
+                log.error("Erreur lors du traitement de {} {}: dossier médical non trouvé",
+                        columns.firstName(row), columns.lastName(row));
+                continue;
+            }
+            int age = AgeCalculator.calculateAge(columns.birthdate(row));
+            if (age <= 18) {
+                ChildDTO childDTO = new ChildDTO();
+                childDTO.setFirstName(columns.firstName(row));
+                childDTO.setLastName(columns.lastName(row));
+                childDTO.setAge(age);
+                children.add(childDTO);
+            } else {
+                HouseholdMemberDTO memberDTO = new HouseholdMemberDTO();
+                memberDTO.setFirstName(columns.firstName(row));
+                memberDTO.setLastName(columns.lastName(row));
+                householdMembers.add(memberDTO);
+            }
+        }
+
+        ChildAlertDTO response = new ChildAlertDTO();
+        response.setChildren(children);
+        response.setHouseholdMembers(householdMembers);
+
+        log.info("Résumé pour l'adresse {}: {} enfants, {} autres membres du foyer",
+                address, children.size(), householdMembers.size());
+
+        return response;
+    }
+
+    /**
+     * Convertit un foyer pré-réparti de l'index en réponse /childAlert.
+     *
+     * @param household le foyer
+     * @return Un ChildAlertDTO contenant les enfants et les autres membres du foyer
+     */
+    private static ChildAlertDTO toChildAlert(HouseholdIndex.Household household) {
+        List<ChildDTO> children = new ArrayList<>(household.getChildren().size());
+        for (HouseholdIndex.Member member : household.getChildren()) {
+            ChildDTO childDTO = new ChildDTO();
+            childDTO.setFirstName(member.firstName());
+            childDTO.setLastName(member.lastName());
+            childDTO.setAge(member.age());
+            children.add(childDTO);
+        }
+        List<HouseholdMemberDTO> householdMembers = new ArrayList<>(household.getAdults().size());
+        for (HouseholdIndex.Member member : household.getAdults()) {
+            HouseholdMemberDTO memberDTO = new HouseholdMemberDTO();
+            memberDTO.setFirstName(member.firstName());
+            memberDTO.setLastName(member.lastName());
+            householdMembers.add(memberDTO);
+        }
+        ChildAlertDTO response = new ChildAlertDTO();
+        response.setChildren(children);
+        response.setHouseholdMembers(householdMembers);
+        return response;
+    }
+
+    private static ChildAlertDTO emptyChildAlert() {
+        ChildAlertDTO response = new ChildAlertDTO();
+        response.setChildren(new ArrayList<>());
+        response.setHouseholdMembers(new ArrayList<>());
+        return response;
+    }
+
+    private static AddressChildAlertDTO toAddressChildAlert(String address, ChildAlertDTO childAlert) {
+        AddressChildAlertDTO dto = new AddressChildAlertDTO();
+        dto.setAddress(address);
+        dto.setChildren(childAlert.getChildren());
+        dto.setHouseholdMembers(childAlert.getHouseholdMembers());
+        return dto;
     }
 }
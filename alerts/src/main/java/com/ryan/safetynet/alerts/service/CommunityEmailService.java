@@ -1,6 +1,8 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.dto.CommunityEmailDTO;
+import com.ryan.safetynet.alerts.index.CityEmailIndex;
 import com.ryan.safetynet.alerts.model.Data;
 import com.ryan.safetynet.alerts.model.Person;
 import com.ryan.safetynet.alerts.repository.DataRepository;
@@ -16,6 +18,8 @@ import java.util.stream.Collectors;
  * Ce service permet de récupérer la liste des adresses email uniques
  * des habitants d'une ville spécifique. Cette fonctionnalité est utile
  * pour envoyer des communications de masse aux résidents d'une ville.
+ * Les emails sont lus dans l'index par ville ; tant qu'il n'est pas construit,
+ * le service parcourt les personnes.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -23,10 +27,13 @@ import java.util.stream.Collectors;
 public class CommunityEmailService {
 
     private final DataRepository dataRepository;
+    private final StripedLockManager lockManager;
+    private final CityEmailIndex cityEmailIndex;
 
     /**
      * Récupère la liste des adresses email uniques des habitants d'une ville.
-     * Cette méthode :
+     * Cette méthode renvoie la liste précalculée de l'index par ville ou, si l'index
+     * n'est pas encore prêt :
      * 1. Filtre les personnes par ville (insensible à la casse)
      * 2. Extrait leurs adresses email
      * 3. Élimine les doublons
@@ -42,12 +49,19 @@ public class CommunityEmailService {
             Data data = dataRepository.getData();
             log.debug("Nombre total de personnes dans le système : {}", data.getPersons().size());
 
-            // Filtrage des personnes par ville et extraction des emails uniques
-            List<String> emails = data.getPersons().stream()
-                    .filter(p -> p.getCity().equalsIgnoreCase(city))
-                    .map(Person::getEmail)
-                    .distinct()
-                    .collect(Collectors.toList());
+            List<String> emails;
+            if (cityEmailIndex.isReady()) {
+                // Liste dédoublonnée maintenue par l'index
+                emails = cityEmailIndex.getEmails(city);
+            } else {
+                // Filtrage des personnes par ville et extraction des emails uniques (lecture optimiste
+                // sur la structure : la requête porte sur toutes les adresses de la ville)
+                emails = lockManager.read(List.of(), () -> data.getPersons().stream()
+                        .filter(p -> p.getCity().equalsIgnoreCase(city))
+                        .map(Person::getEmail)
+                        .distinct()
+                        .collect(Collectors.toList()));
+            }
 
             log.debug("Nombre d'emails uniques trouvés pour {} : {}", city, emails.size());
 
@@ -0,0 +1,262 @@
+package com.ryan.safetynet.alerts.service;
+
+import com.ryan.safetynet.alerts.concurrency.MutationPipeline;
+import com.ryan.safetynet.alerts.concurrency.MutationTicket;
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataDiff;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rechargement à chaud du fichier de données, sans redémarrage de l'application.
+ *
+ * Lorsque l'option {@code data.reload.enabled} est active, le répertoire du fichier de données
+ * est surveillé par un {@link WatchService}. À chaque modification du fichier, le nouveau contenu est
+ * lu et analysé sur le thread de surveillance, puis une mutation est soumise au pipeline : sur le
+ * thread d'écriture, elle calcule la différence par clé ({@link DataDiff}) avec les données en mémoire
+ * et n'applique que les personnes, dossiers médicaux et mappings modifiés. Les listeners ne sont
+ * notifiés que de ces modifications : les index et caches ne sont mis à jour que pour les entrées
+ * concernées, sans reconstruction. La mutation n'est pas persistée : le fichier de l'opérateur et sa
+ * sauvegarde restent intacts, seule sa date de modification est enregistrée comme déjà prise en compte.
+ *
+ * Les notifications d'une même écriture sont regroupées pendant {@code data.reload.debounce-ms}
+ * millisecondes. Un fichier en cours d'écriture ou invalide est ignoré jusqu'à sa prochaine
+ * modification, et les sauvegardes de l'application elle-même ne déclenchent pas de rechargement.
+ * Chaque entité du fichier est validée comme celles reçues par l'API ; une seule entité invalide
+ * fait rejeter le rechargement entier, sans rien appliquer.
+ */
+@Slf4j
+@Service
+public class DataReloadService {
+
+    private final DataRepository dataRepository;
+    private final MutationPipeline mutationPipeline;
+    private final StripedLockManager lockManager;
+    private final Validator validator;
+    private final boolean enabled;
+    private final long debounceMillis;
+
+    private volatile WatchService watchService;
+    private volatile Thread watcher;
+
+    /**
+     * Construit le service avec la configuration de l'application.
+     *
+     * @param dataRepository le repository des données
+     * @param mutationPipeline le pipeline qui applique la différence
+     * @param lockManager le gestionnaire de verrous
+     * @param validator le validateur des entités du fichier
+     * @param enabled true pour surveiller le fichier de données
+     * @param debounceMillis délai de regroupement des notifications, en millisecondes
+     */
+    public DataReloadService(DataRepository dataRepository, MutationPipeline mutationPipeline,
+                             StripedLockManager lockManager, Validator validator,
+                             @Value("${data.reload.enabled:false}") boolean enabled,
+                             @Value("${data.reload.debounce-ms:500}") long debounceMillis) {
+        this.dataRepository = dataRepository;
+        this.mutationPipeline = mutationPipeline;
+        this.lockManager = lockManager;
+        this.validator = validator;
+        this.enabled = enabled;
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * Démarre la surveillance du fichier de données une fois l'application prête, si l'option est active.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Path file = dataRepository.getDataFile();
+        if (file == null) {
+            log.warn("Rechargement à chaud demandé mais les données proviennent du classpath : option ignorée");
+            return;
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchService = service;
+        } catch (IOException e) {
+            log.error("Impossible de surveiller le répertoire {} : {}", directory, e.getMessage(), e);
+            return;
+        }
+        Thread thread = new Thread(() -> watch(file.getFileName()), "data-file-watcher");
+        thread.setDaemon(true);
+        watcher = thread;
+        thread.start();
+        log.info("Surveillance du fichier de données {} pour le rechargement à chaud", file);
+    }
+
+    /**
+     * Arrête la surveillance du fichier de données.
+     */
+    @PreDestroy
+    public void stop() {
+        WatchService service = watchService;
+        if (service == null) {
+            return;
+        }
+        try {
+            service.close();
+        } catch (IOException e) {
+            log.warn("Erreur lors de l'arrêt de la surveillance du fichier de données : {}", e.getMessage());
+        }
+        Thread current = watcher;
+        if (current != null) {
+            try {
+                current.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Relit le fichier de données et soumet l'application de la différence au pipeline de mutations.
+     *
+     * @return le suivi de la mutation, dont le résultat est la différence appliquée
+     * @throws IOException si le fichier est illisible ou son contenu invalide
+     * @throws ConstraintViolationException si une entité du fichier ne respecte pas les contraintes du modèle
+     */
+    public MutationTicket<DataDiff> reload() throws IOException {
+        FileTime stamp = dataRepository.readDataFileStamp();
+        Data incoming = dataRepository.readDataFile();
+        Set<ConstraintViolation<?>> violations = validate(incoming);
+        if (!violations.isEmpty()) {
+            log.error("Rechargement rejeté : {} violations de contraintes dans le fichier de données : {}",
+                    violations.size(), violations);
+            throw new ConstraintViolationException("Fichier de données invalide, rechargement rejeté", violations);
+        }
+        return mutationPipeline.submit(context -> {
+            // Les données viennent du fichier : le réécrire écraserait la version de l'opérateur et sa sauvegarde
+            context.skipPersistence();
+            Data live = dataRepository.getData();
+            DataDiff diff = DataDiff.between(live, incoming);
+            if (!diff.isEmpty()) {
+                lockManager.write(lockKeys(diff.getChanges()), true, () -> {
+                    diff.applyTo(live);
+                    return diff;
+                });
+                diff.getChanges().forEach(context::changed);
+            }
+            dataRepository.markInSyncWith(stamp);
+            return diff;
+        });
+    }
+
+    /**
+     * Valide toutes les entités lues, sans s'arrêter à la première invalide.
+     */
+    private Set<ConstraintViolation<?>> validate(Data incoming) {
+        Set<ConstraintViolation<?>> violations = new LinkedHashSet<>();
+        for (Person person : incoming.getPersons()) {
+            violations.addAll(validator.validate(person));
+        }
+        for (MedicalRecord record : incoming.getMedicalRecords()) {
+            violations.addAll(validator.validate(record));
+        }
+        for (FireStation fireStation : incoming.getFireStations()) {
+            violations.addAll(validator.validate(fireStation));
+        }
+        return violations;
+    }
+
+    private void watch(Path fileName) {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean touched = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    touched |= fileName.equals(event.context());
+                }
+                key.reset();
+                if (touched) {
+                    // Un éditeur ou une copie écrit souvent le fichier en plusieurs fois
+                    Thread.sleep(debounceMillis);
+                    drain(service);
+                    reloadQuietly();
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Surveillance du fichier de données arrêtée");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void drain(WatchService service) {
+        WatchKey pending;
+        while ((pending = service.poll()) != null) {
+            pending.pollEvents();
+            pending.reset();
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            if (dataRepository.isUnchangedSinceLastSave()) {
+                log.debug("Fichier de données déjà sauvegardé ou rechargé par l'application, rechargement ignoré");
+                return;
+            }
+            long start = System.nanoTime();
+            DataDiff diff = reload().awaitVisible();
+            log.info("Fichier de données rechargé : {} modifications appliquées en {} ms",
+                    diff.getChanges().size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Fichier de données illisible, données en mémoire conservées : {}", e.getMessage());
+        } catch (ConstraintViolationException e) {
+            log.warn("Fichier de données invalide, données en mémoire conservées : {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Erreur lors du rechargement du fichier de données", e);
+        }
+    }
+
+    /**
+     * Construit les clés des partitions des adresses touchées par la différence.
+     */
+    private static List<String> lockKeys(List<DataChange> changes) {
+        List<String> keys = new ArrayList<>();
+        for (DataChange change : changes) {
+            for (Object entity : new Object[]{change.getBefore(), change.getAfter()}) {
+                if (entity instanceof Person person) {
+                    keys.add(StripedLockManager.addressKey(person.getAddress()));
+                } else if (entity instanceof FireStation fireStation) {
+                    keys.add(StripedLockManager.addressKey(fireStation.getAddress()));
+                    keys.add(StripedLockManager.stationKey(fireStation.getStation()));
+                }
+            }
+        }
+        return keys;
+    }
+}
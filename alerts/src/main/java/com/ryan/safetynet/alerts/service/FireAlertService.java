@@ -1,15 +1,22 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.dto.FireAlertDTO;
 import com.ryan.safetynet.alerts.dto.PersonWithMedicalInfoDTO;
 import com.ryan.safetynet.alerts.model.*;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.ColumnarStore;
+import com.ryan.safetynet.alerts.index.FireCardIndex;
+import com.ryan.safetynet.alerts.index.ResidentView;
 import com.ryan.safetynet.alerts.repository.DataRepository;
+import com.ryan.safetynet.alerts.utils.AgeCalculator;
 import com.ryan.safetynet.alerts.utils.MedicalRecordUtils;
 import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -27,6 +34,11 @@ public class FireAlertService {
 
     private final DataRepository dataRepository;
     private final FireStationService fireStationService;
+    private final StripedLockManager lockManager;
+    private final AddressDictionary addressDictionary;
+    private final ColumnarStore columnarStore;
+    private final ResidentView residentView;
+    private final FireCardIndex fireCardIndex;
 
     /**
      * Récupère les informations des habitants d'une adresse en cas d'incendie.
@@ -46,26 +58,76 @@ public class FireAlertService {
         log.info("Recherche des informations pour l'adresse : {}", address);
 
         try {
-            // Récupération des données depuis le repository
-            Data data = dataRepository.getData();
-            List<Person> persons = data.getPersons();
-            List<FireStation> fireStations = data.getFireStations();
-            List<MedicalRecord> medicalRecords = data.getMedicalRecords();
+            // Lecture optimiste sur la partition de l'adresse
+            return lockManager.read(List.of(StripedLockManager.addressKey(address)), () -> buildFireAlert(address));
+        } catch (ResourceNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Erreur lors de la récupération des informations pour l'adresse {} : {}", address, e.getMessage());
+            throw new RuntimeException("Erreur lors de la récupération des informations : " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Récupère la fiche /fire précalculée d'une adresse : la réponse JSON complète, déjà encodée.
+     * Le tableau est partagé entre les requêtes et ne doit pas être modifié.
+     *
+     * @param address l'adresse à vérifier
+     * @return la réponse encodée en UTF-8, ou null si l'index des fiches n'est pas disponible
+     *         ou si l'adresse n'a pas de fiche (la réponse doit alors être construite)
+     */
+    public byte[] getFireCard(String address) {
+        if (!fireCardIndex.isReady()) {
+            return null;
+        }
+        return fireCardIndex.cardAt(address);
+    }
+
+    /**
+     * Construit la réponse /fire pour une adresse à partir des données en mémoire.
+     *
+     * @param address l'adresse à vérifier
+     * @return le DTO des résidents et de la caserne
+     * @throws ResourceNotFoundException si aucune station n'est associée à l'adresse
+     */
+    private FireAlertDTO buildFireAlert(String address) {
+        if (residentView.isReady()) {
+            return projectFireAlert(address);
+        }
 
-            log.debug("Nombre total de personnes : {}, stations : {}, dossiers médicaux : {}", 
-                    persons.size(), fireStations.size(), medicalRecords.size());
+        // Récupération des données depuis le repository
+        Data data = dataRepository.getData();
+        List<Person> persons = data.getPersons();
+        List<FireStation> fireStations = data.getFireStations();
+        List<MedicalRecord> medicalRecords = data.getMedicalRecords();
 
-            // Filtrage et transformation des résidents avec leurs informations médicales
-            List<PersonWithMedicalInfoDTO> residents = persons.stream()
-                    .filter(p -> p.getAddress().equals(address))
-                    .map(p -> MedicalRecordUtils.extractMedicalInfo(p, medicalRecords))
-                    .collect(Collectors.toList());
+        log.debug("Nombre total de personnes : {}, stations : {}, dossiers médicaux : {}", 
+                persons.size(), fireStations.size(), medicalRecords.size());
 
-            log.debug("Nombre de résidents trouvés à l'adresse {} : {}", address, residents.size());
+        // Les adresses sont comparées par identifiant de leur forme canonique
+        int addressId = addressDictionary.find(address);
 
-            // Recherche de la caserne de pompiers responsable de l'adresse
+        // Filtrage et transformation des résidents avec leurs informations médicales,
+        // par parcours des colonnes si le stockage en colonnes est construit
+        ColumnarStore.Columns columns = columnarStore.columns();
+        int[] rows = columns == null ? null : columns.rowsAt(address);
+        List<PersonWithMedicalInfoDTO> residents = rows != null
+                ? residentsFromColumns(columns, rows)
+                : persons.stream()
+                .filter(p -> addressId != AddressDictionary.NO_ID && addressDictionary.idOf(p.getAddress()) == addressId)
+                .map(p -> MedicalRecordUtils.extractMedicalInfo(p, medicalRecords))
+                .collect(Collectors.toList());
+
+        log.debug("Nombre de résidents trouvés à l'adresse {} : {}", address, residents.size());
+
+        // Recherche de la caserne de pompiers responsable de l'adresse : colonne des stations
+        // d'un résident, sinon parcours des mappings
+        String stationNumber;
+        if (rows != null && rows.length > 0 && columns.station(rows[0]) != ColumnarStore.NO_STATION) {
+            stationNumber = String.valueOf(columns.station(rows[0]));
+        } else {
             Optional<FireStation> fireStation = fireStations.stream()
-                    .filter(fs -> fs.getAddress().equals(address))
+                    .filter(fs -> addressId != AddressDictionary.NO_ID && addressDictionary.idOf(fs.getAddress()) == addressId)
                     .findFirst();
 
             // Vérification de l'existence de la station
@@ -75,27 +137,78 @@ public class FireAlertService {
             }
 
             // Extraction du numéro de caserne
-            String stationNumber = fireStation.get().getStation();
-            log.debug("Station trouvée pour l'adresse {} : {}", address, stationNumber);
+            stationNumber = fireStation.get().getStation();
+        }
+        log.debug("Station trouvée pour l'adresse {} : {}", address, stationNumber);
 
-            // Vérification que la station existe dans le système
-            if (!fireStationService.existsByStationNumber(stationNumber)) {
-                log.error("La station de pompiers {} n'existe pas dans le système", stationNumber);
-                throw new ResourceNotFoundException("La station de pompiers " + stationNumber + " n'existe pas dans le système");
-            }
+        // Vérification que la station existe dans le système
+        if (!fireStationService.existsByStationNumber(stationNumber)) {
+            log.error("La station de pompiers {} n'existe pas dans le système", stationNumber);
+            throw new ResourceNotFoundException("La station de pompiers " + stationNumber + " n'existe pas dans le système");
+        }
 
-            // Construction de la réponse
-            FireAlertDTO response = new FireAlertDTO();
-            response.setResidents(residents);
-            response.setFireStationNumber(stationNumber);
+        // Construction de la réponse
+        FireAlertDTO response = new FireAlertDTO();
+        response.setResidents(residents);
+        response.setFireStationNumber(stationNumber);
 
-            log.info("Informations récupérées avec succès pour l'adresse : {}", address);
-            return response;
-        } catch (ResourceNotFoundException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Erreur lors de la récupération des informations pour l'adresse {} : {}", address, e.getMessage());
-            throw new RuntimeException("Erreur lors de la récupération des informations : " + e.getMessage(), e);
+        log.info("Informations récupérées avec succès pour l'adresse : {}", address);
+        return response;
+    }
+
+    /**
+     * Projette la réponse /fire depuis la vue des résidents : les résidents de l'adresse sont déjà
+     * joints à leur dossier médical, la caserne de l'adresse est celle de son premier mapping.
+     *
+     * @param address l'adresse à vérifier
+     * @return le DTO des résidents et de la caserne
+     * @throws ResourceNotFoundException si aucune station n'est associée à l'adresse
+     */
+    private FireAlertDTO projectFireAlert(String address) {
+        List<PersonWithMedicalInfoDTO> residents = residentView.residentsAt(address).stream()
+                .map(MedicalRecordUtils::toMedicalInfo)
+                .collect(Collectors.toList());
+        log.debug("Nombre de résidents trouvés à l'adresse {} : {}", address, residents.size());
+
+        String stationNumber = residentView.stationOf(address);
+        if (stationNumber == null) {
+            log.error("Aucune station de pompiers n'est associée à l'adresse : {}", address);
+            throw new ResourceNotFoundException("Aucune station de pompiers n'est associée à l'adresse : " + address);
+        }
+        if (!fireStationService.existsByStationNumber(stationNumber)) {
+            log.error("La station de pompiers {} n'existe pas dans le système", stationNumber);
+            throw new ResourceNotFoundException("La station de pompiers " + stationNumber + " n'existe pas dans le système");
+        }
+
+        FireAlertDTO response = new FireAlertDTO();
+        response.setResidents(residents);
+        response.setFireStationNumber(stationNumber);
+        log.info("Informations récupérées avec succès pour l'adresse : {}", address);
+        return response;
+    }
+
+    /**
+     * Construit les informations médicales des résidents à partir des colonnes.
+     *
+     * @throws IllegalStateException si un résident n'a pas de dossier médical, comme lors du parcours des objets
+     */
+    private static List<PersonWithMedicalInfoDTO> residentsFromColumns(ColumnarStore.Columns columns, int[] rows) {
+        List<PersonWithMedicalInfoDTO> residents = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            if (!columns.hasBirthdate(row)) {
+                log.error("Dossier médical non trouvé pour {} {}", columns.firstName(row), columns.lastName(row));
+                throw new IllegalStateException("Dossier médical non trouvé pour " +
+                        columns.firstName(row) + " " + columns.lastName(row));
+            }
+            PersonWithMedicalInfoDTO dto = new PersonWithMedicalInfoDTO();
+            dto.setFirstName(columns.firstName(row));
+            dto.setLastName(columns.lastName(row));
+            dto.setPhone(columns.phone(row));
+            dto.setAge(AgeCalculator.calculateAge(columns.birthdate(row)));
+            dto.setMedications(columns.medications(row));
+            dto.setAllergies(columns.allergies(row));
+            residents.add(dto);
         }
+        return residents;
     }
 }
@@ -1,10 +1,13 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.dto.FireStationDTO;
 import com.ryan.safetynet.alerts.dto.PersonDTO;
 import com.ryan.safetynet.alerts.model.Data;
 import com.ryan.safetynet.alerts.model.MedicalRecord;
 import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.CoverageBitmapIndex;
 import com.ryan.safetynet.alerts.repository.DataRepository;
 import com.ryan.safetynet.alerts.utils.AgeCalculator;
 import com.ryan.safetynet.alerts.utils.MedicalRecordUtils;
@@ -13,6 +16,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,6 +29,9 @@ public class FireStationCoverageService {
 
     private final DataRepository dataRepository;
     private final FireStationService fireStationService;
+    private final StripedLockManager lockManager;
+    private final AddressDictionary addressDictionary;
+    private final CoverageBitmapIndex coverageBitmapIndex;
 
     /**
      * Récupère les personnes couvertes par une station de pompiers.
@@ -32,11 +41,25 @@ public class FireStationCoverageService {
      * @throws ResourceNotFoundException si la station n'existe pas
      */
     public FireStationDTO getPersonsCoveredByStation(int stationNumber) {
-        // Vérifier si la station existe
-        if (!fireStationService.existsByStationNumber(String.valueOf(stationNumber))) {
-            throw new ResourceNotFoundException("La station de pompiers " + stationNumber + " n'existe pas");
-        }
+        // Les partitions lues sont celles de la station et des adresses qu'elle couvre
+        List<String> coveredAddresses = lockManager.read(List.of(StripedLockManager.stationKey(stationNumber)), () -> {
+            // Vérifier si la station existe
+            if (!fireStationService.existsByStationNumber(String.valueOf(stationNumber))) {
+                throw new ResourceNotFoundException("La station de pompiers " + stationNumber + " n'existe pas");
+            }
+            return fireStationService.getAddressesCoveredByStation(stationNumber);
+        });
+        return lockManager.read(StripedLockManager.coverageKeys(List.of(stationNumber), coveredAddresses),
+                () -> buildCoverage(stationNumber));
+    }
 
+    /**
+     * Construit la réponse /firestation pour une station à partir des données en mémoire.
+     *
+     * @param stationNumber Le numéro de la station de pompiers.
+     * @return le DTO des personnes couvertes et le décompte des adultes et enfants
+     */
+    private FireStationDTO buildCoverage(int stationNumber) {
         // Récupérer les données une seule fois
         Data data = dataRepository.getData();
         List<Person> persons = data.getPersons();
@@ -46,14 +69,27 @@ public class FireStationCoverageService {
         log.debug("Nombre total de personnes: {}", persons.size());
         log.debug("Nombre total de dossiers médicaux: {}", medicalRecords.size());
 
+        CoverageBitmapIndex.Snapshot bitmaps = coverageBitmapIndex.snapshot();
+        if (bitmaps != null) {
+            return buildCoverage(stationNumber, bitmaps, medicalRecords);
+        }
+
         // Trouver les adresses couvertes par la station en utilisant le service centralisé
         List<String> addresses = fireStationService.getAddressesCoveredByStation(stationNumber);
 
         log.debug("Adresses couvertes par la station {}: {}", stationNumber, addresses);
 
         // Filtrer les personnes vivant à ces adresses
+        // Identifiants canoniques des adresses couvertes : la jointure compare des entiers
+        BitSet coveredIds = new BitSet();
+        for (String address : addresses) {
+            int id = addressDictionary.find(address);
+            if (id != AddressDictionary.NO_ID) {
+                coveredIds.set(id);
+            }
+        }
         List<PersonDTO> coveredPersons = persons.stream()
-                .filter(p -> addresses.contains(p.getAddress()))
+                .filter(p -> coveredIds.get(addressDictionary.idOf(p.getAddress())))
                 .map(p -> {
                     log.debug("Personne trouvée à l'adresse couverte: {} {} à {}",
                             p.getFirstName(), p.getLastName(), p.getAddress());
@@ -94,4 +130,43 @@ public class FireStationCoverageService {
         return response;
     }
 
+    /**
+     * Construit la réponse /firestation à partir des bitmaps de couverture : les personnes couvertes
+     * sont le bitmap de la station et le nombre d'enfants la cardinalité de son intersection
+     * avec le bitmap des enfants.
+     */
+    private FireStationDTO buildCoverage(int stationNumber, CoverageBitmapIndex.Snapshot bitmaps,
+                                         List<MedicalRecord> medicalRecords) {
+        BitSet covered = bitmaps.stations(List.of(stationNumber));
+        List<PersonDTO> coveredPersons = new ArrayList<>(covered.cardinality());
+        for (int ordinal = covered.nextSetBit(0); ordinal >= 0; ordinal = covered.nextSetBit(ordinal + 1)) {
+            Person p = bitmaps.person(ordinal);
+            LocalDate birthdate = bitmaps.birthdate(ordinal);
+            if (birthdate == null) {
+                // Absence de dossier médical : même erreur que lors du parcours des dossiers
+                birthdate = MedicalRecordUtils.getBirthdate(p.getFirstName(), p.getLastName(), medicalRecords);
+            }
+
+            PersonDTO personDTO = new PersonDTO();
+            personDTO.setFirstName(p.getFirstName());
+            personDTO.setLastName(p.getLastName());
+            personDTO.setAddress(p.getAddress());
+            personDTO.setPhone(p.getPhone());
+            personDTO.setAge(AgeCalculator.calculateAge(birthdate));
+            coveredPersons.add(personDTO);
+        }
+
+        BitSet children = bitmaps.children();
+        children.and(covered);
+        long childCount = children.cardinality();
+        long adultCount = coveredPersons.size() - childCount;
+        log.debug("Station {} : {} personnes couvertes, {} adultes, {} enfants",
+                stationNumber, coveredPersons.size(), adultCount, childCount);
+
+        FireStationDTO response = new FireStationDTO();
+        response.setPersons(coveredPersons);
+        response.setAdultCount(adultCount);
+        response.setChildCount(childCount);
+        return response;
+    }
 }
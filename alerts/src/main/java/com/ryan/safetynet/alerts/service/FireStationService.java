@@ -1,5 +1,11 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.MutationPipeline;
+import com.ryan.safetynet.alerts.concurrency.MutationTicket;
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.ExistenceIndex;
 import com.ryan.safetynet.alerts.model.FireStation;
 import com.ryan.safetynet.alerts.repository.DataRepository;
 import jakarta.validation.ConstraintViolationException;
@@ -9,8 +15,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -20,6 +28,10 @@ public class FireStationService {
 
     private final DataRepository dataRepository;
     private final Validator validator;
+    private final StripedLockManager lockManager;
+    private final MutationPipeline mutationPipeline;
+    private final AddressDictionary addressDictionary;
+    private final ExistenceIndex existenceIndex;
 
     /**
      * Récupère les adresses couvertes par une liste de stations de pompiers.
@@ -31,10 +43,13 @@ public class FireStationService {
      */
     public List<String> getAddressesCoveredByStations(List<Integer> stationNumbers) {
         log.debug("Recherche des adresses couvertes par les stations: {}", stationNumbers);
-        List<String> addresses = dataRepository.getData().getFireStations().stream()
+        List<String> stationKeys = stationNumbers.stream()
+                .map(StripedLockManager::stationKey)
+                .collect(Collectors.toList());
+        List<String> addresses = lockManager.read(stationKeys, () -> dataRepository.getData().getFireStations().stream()
                 .filter(fs -> stationNumbers.contains(Integer.valueOf(fs.getStation())))
                 .map(FireStation::getAddress)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
         log.debug("Adresses trouvées: {}", addresses);
         return addresses;
     }
@@ -48,10 +63,11 @@ public class FireStationService {
      */
     public List<String> getAddressesCoveredByStation(Integer stationNumber) {
         log.debug("Recherche des adresses couvertes par la station: {}", stationNumber);
-        List<String> addresses = dataRepository.getData().getFireStations().stream()
-                .filter(fs -> fs.getStation().equals(String.valueOf(stationNumber)))
-                .map(FireStation::getAddress)
-                .collect(Collectors.toList());
+        List<String> addresses = lockManager.read(List.of(StripedLockManager.stationKey(stationNumber)),
+                () -> dataRepository.getData().getFireStations().stream()
+                        .filter(fs -> fs.getStation().equals(String.valueOf(stationNumber)))
+                        .map(FireStation::getAddress)
+                        .collect(Collectors.toList()));
         log.debug("Adresses trouvées: {}", addresses);
         return addresses;
     }
@@ -62,9 +78,11 @@ public class FireStationService {
      */
     public Optional<FireStation> findFireStationByAddress(String address) {
         log.debug("Recherche de la caserne à l'adresse: {}", address);
-        Optional<FireStation> fireStation = dataRepository.getData().getFireStations().stream()
-                .filter(f -> f.getAddress().equals(address))
-                .findFirst();
+        int id = addressDictionary.find(address);
+        Optional<FireStation> fireStation = lockManager.read(List.of(StripedLockManager.addressKey(address)),
+                () -> dataRepository.getData().getFireStations().stream()
+                        .filter(f -> id != AddressDictionary.NO_ID && addressDictionary.idOf(f.getAddress()) == id)
+                        .findFirst());
         log.debug("Caserne trouvée: {}", fireStation.isPresent());
         return fireStation;
     }
@@ -74,23 +92,60 @@ public class FireStationService {
      * @return la caserne ajoutée
      */
     public FireStation addFireStation(FireStation fireStation) throws IOException {
+        FireStation added = addFireStationAsync(fireStation).awaitDurable();
+        log.info("Caserne ajoutée avec succès");
+        return added;
+    }
+
+    /**
+     * Soumet l'ajout d'une caserne au pipeline de mutations.
+     *
+     * @param fireStation La caserne à ajouter
+     * @return le suivi de la mutation
+     */
+    public MutationTicket<FireStation> addFireStationAsync(FireStation fireStation) {
         log.info("Ajout d'une nouvelle caserne: {}", fireStation);
         var violations = validator.validate(fireStation);
         if (!violations.isEmpty()) {
             log.error("Erreur de validation lors de l'ajout de la caserne: {}", violations);
             throw new ConstraintViolationException("Erreur de validation dans FireStationService", violations);
         }
-        List<FireStation> fireStations = dataRepository.getData().getFireStations();
-        fireStations.add(fireStation);
-        dataRepository.saveData();
-        log.info("Caserne ajoutée avec succès");
-        return fireStation;
+        List<String> keys = List.of(
+                StripedLockManager.addressKey(fireStation.getAddress()),
+                StripedLockManager.stationKey(fireStation.getStation()));
+        return mutationPipeline.submit(context -> {
+            List<FireStation> fireStations = dataRepository.getData().getFireStations();
+            // Deux ajouts concurrents peuvent avoir passé la vérification du contrôleur
+            if (indexOf(fireStations, fireStation.getAddress()) >= 0) {
+                throw new IllegalArgumentException(
+                    String.format("Un mapping existe déjà pour l'adresse : %s", fireStation.getAddress()));
+            }
+            lockManager.write(keys, true, () -> fireStations.add(fireStation));
+            context.changed(DataChange.added(fireStation));
+            return fireStation;
+        });
     }
 
     /**
      * @return La caserne mise à jour, ou null si la caserne n'existe pas
      */
     public FireStation updateFireStation(FireStation fireStation) {
+        FireStation updated = awaitDurable(updateFireStationAsync(fireStation),
+                "Erreur lors de la sauvegarde de la mise à jour de la caserne");
+        if (updated != null) {
+            log.info("Caserne mise à jour avec succès");
+        }
+        return updated;
+    }
+
+    /**
+     * Soumet la mise à jour d'une caserne au pipeline de mutations.
+     * Le mapping existant est remplacé par une copie mise à jour.
+     *
+     * @param fireStation La caserne avec son nouveau numéro de station
+     * @return le suivi de la mutation, dont le résultat est null si la caserne n'existe pas
+     */
+    public MutationTicket<FireStation> updateFireStationAsync(FireStation fireStation) {
         log.info("Mise à jour de la caserne: {}", fireStation);
         var violations = validator.validate(fireStation);
         if (!violations.isEmpty()) {
@@ -98,21 +153,26 @@ public class FireStationService {
             throw new ConstraintViolationException("Erreur de validation", violations);
         }
 
-        Optional<FireStation> existing = findFireStationByAddress(fireStation.getAddress());
-        if (existing.isPresent()) {
-            FireStation f = existing.get();
-            f.setStation(fireStation.getStation());
-            try {
-                dataRepository.saveData();
-                log.info("Caserne mise à jour avec succès");
-                return f;
-            } catch (IOException e) {
-                log.error("Erreur lors de la sauvegarde de la mise à jour de la caserne", e);
-                throw new RuntimeException("Erreur lors de la sauvegarde", e);
+        return mutationPipeline.submit(context -> {
+            List<FireStation> fireStations = dataRepository.getData().getFireStations();
+            int index = indexOf(fireStations, fireStation.getAddress());
+            if (index < 0) {
+                log.warn("Tentative de mise à jour d'une caserne inexistante à l'adresse: {}", fireStation.getAddress());
+                return null;
             }
-        }
-        log.warn("Tentative de mise à jour d'une caserne inexistante à l'adresse: {}", fireStation.getAddress());
-        return null;
+            FireStation current = fireStations.get(index);
+            FireStation updated = new FireStation();
+            updated.setAddress(current.getAddress());
+            updated.setStation(fireStation.getStation());
+            // Le mapping quitte l'ancienne station pour la nouvelle : les deux partitions sont concernées
+            List<String> keys = List.of(
+                    StripedLockManager.addressKey(current.getAddress()),
+                    StripedLockManager.stationKey(current.getStation()),
+                    StripedLockManager.stationKey(updated.getStation()));
+            lockManager.write(keys, false, () -> fireStations.set(index, updated));
+            context.changed(DataChange.updated(current, updated));
+            return updated;
+        });
     }
 
     /**
@@ -120,9 +180,8 @@ public class FireStationService {
      * @return true si la caserne a bien été supprimée, sinon false
      */
     public boolean deleteFireStationByAddress(String address) {
-        log.info("Suppression de la caserne à l'adresse: {}", address);
-        List<FireStation> fireStations = dataRepository.getData().getFireStations();
-        boolean removed = fireStations.removeIf(f -> f.getAddress().equals(address));
+        boolean removed = awaitDurable(deleteFireStationByAddressAsync(address),
+                "Erreur lors de la sauvegarde de la suppression de la caserne");
         if (removed) {
             log.info("Caserne supprimée avec succès");
         } else {
@@ -131,20 +190,41 @@ public class FireStationService {
         return removed;
     }
 
+    /**
+     * Soumet la suppression des mappings d'une adresse au pipeline de mutations.
+     *
+     * @param address L'adresse de la caserne à supprimer
+     * @return le suivi de la mutation, dont le résultat indique si un mapping a été supprimé
+     */
+    public MutationTicket<Boolean> deleteFireStationByAddressAsync(String address) {
+        log.info("Suppression de la caserne à l'adresse: {}", address);
+        return mutationPipeline.submit(context ->
+                removeFireStations(context, matchingAddress(address)) > 0);
+    }
+
     /**
      * @param station Le numéro de station à supprimer
      * @return le nombre de casernes supprimées
      */
     public int deleteFireStationsByStation(String station) {
-        log.info("Suppression des casernes avec le numéro: {}", station);
-        List<FireStation> fireStations = dataRepository.getData().getFireStations();
-        int sizeBefore = fireStations.size();
-        fireStations.removeIf(f -> f.getStation().equals(station));
-        int removedCount = sizeBefore - fireStations.size();
+        int removedCount = awaitDurable(deleteFireStationsByStationAsync(station),
+                "Erreur lors de la sauvegarde de la suppression des casernes");
         log.info("Nombre de casernes supprimées: {}", removedCount);
         return removedCount;
     }
 
+    /**
+     * Soumet la suppression des mappings d'une station au pipeline de mutations.
+     *
+     * @param station Le numéro de station à supprimer
+     * @return le suivi de la mutation, dont le résultat est le nombre de mappings supprimés
+     */
+    public MutationTicket<Integer> deleteFireStationsByStationAsync(String station) {
+        log.info("Suppression des casernes avec le numéro: {}", station);
+        return mutationPipeline.submit(context ->
+                removeFireStations(context, f -> f.getStation().equals(station)));
+    }
+
     /**
      * Vérifie si un mapping existe déjà pour une adresse donnée.
      *
@@ -153,8 +233,10 @@ public class FireStationService {
      */
     public boolean existsByAddress(String address) {
         log.debug("Vérification de l'existence d'une caserne à l'adresse: {}", address);
-        boolean exists = dataRepository.getData().getFireStations().stream()
-                .anyMatch(fs -> fs.getAddress().equals(address));
+        boolean exists = existenceIndex.isReady()
+                ? existenceIndex.containsFireStationAddress(address)
+                : lockManager.read(List.of(StripedLockManager.addressKey(address)),
+                        () -> dataRepository.getData().getFireStations().stream().anyMatch(matchingAddress(address)));
         log.debug("Caserne trouvée: {}", exists);
         return exists;
     }
@@ -167,8 +249,9 @@ public class FireStationService {
      */
     public boolean existsByStationNumber(String stationNumber) {
         log.debug("Vérification de l'existence de la station: {}", stationNumber);
-        boolean exists = dataRepository.getData().getFireStations().stream()
-                .anyMatch(fs -> fs.getStation().equals(stationNumber));
+        boolean exists = lockManager.read(List.of(StripedLockManager.stationKey(stationNumber)),
+                () -> dataRepository.getData().getFireStations().stream()
+                        .anyMatch(fs -> fs.getStation().equals(stationNumber)));
         log.debug("Station trouvée: {}", exists);
         return exists;
     }
@@ -176,12 +259,68 @@ public class FireStationService {
     /**
      * Récupère la liste de toutes les casernes de pompiers enregistrées dans le système.
      *
-     * @return Liste de toutes les casernes de pompiers
+     * @return copie de la liste de toutes les casernes de pompiers
      */
     public List<FireStation> getAllFireStations() {
         log.debug("Récupération de toutes les casernes");
-        List<FireStation> fireStations = dataRepository.getData().getFireStations();
+        List<FireStation> fireStations = lockManager.read(List.of(),
+                () -> new ArrayList<>(dataRepository.getData().getFireStations()));
         log.debug("Nombre de casernes trouvées: {}", fireStations.size());
         return fireStations;
     }
+
+    /**
+     * Supprime les mappings correspondant au filtre, sous verrou des partitions de leurs adresses
+     * et stations. Exécutée sur le thread d'écriture du pipeline.
+     */
+    private int removeFireStations(MutationPipeline.Context context, Predicate<FireStation> filter) {
+        List<FireStation> fireStations = dataRepository.getData().getFireStations();
+        List<FireStation> matching = fireStations.stream().filter(filter).collect(Collectors.toList());
+        if (matching.isEmpty()) {
+            return 0;
+        }
+        List<String> keys = new ArrayList<>();
+        matching.forEach(f -> {
+            keys.add(StripedLockManager.addressKey(f.getAddress()));
+            keys.add(StripedLockManager.stationKey(f.getStation()));
+        });
+        lockManager.write(keys, true, () -> fireStations.removeAll(matching));
+        matching.forEach(f -> context.changed(DataChange.removed(f)));
+        return matching.size();
+    }
+
+    private int indexOf(List<FireStation> fireStations, String address) {
+        Predicate<FireStation> matching = matchingAddress(address);
+        for (int i = 0; i < fireStations.size(); i++) {
+            if (matching.test(fireStations.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Filtre des mappings dont l'adresse a la même forme canonique que l'adresse donnée.
+     * L'identifiant de l'adresse demandée est calculé une seule fois.
+     */
+    private Predicate<FireStation> matchingAddress(String address) {
+        int id = addressDictionary.find(address);
+        if (id == AddressDictionary.NO_ID) {
+            return f -> false;
+        }
+        return f -> addressDictionary.idOf(f.getAddress()) == id;
+    }
+
+    /**
+     * Les opérations de mise à jour et de suppression ne déclarent pas d'IOException :
+     * un échec de persistance est relayé sous forme de RuntimeException.
+     */
+    private static <T> T awaitDurable(MutationTicket<T> ticket, String message) {
+        try {
+            return ticket.awaitDurable();
+        } catch (IOException e) {
+            log.error(message, e);
+            throw new RuntimeException("Erreur lors de la sauvegarde", e);
+        }
+    }
 }
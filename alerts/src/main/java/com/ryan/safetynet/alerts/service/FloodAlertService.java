@@ -1,18 +1,27 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.dto.AddressInfoDTO;
 import com.ryan.safetynet.alerts.dto.FloodStationDTO;
 import com.ryan.safetynet.alerts.dto.PersonWithMedicalInfoDTO;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.CoverageBitmapIndex;
+import com.ryan.safetynet.alerts.index.ResidentView;
 import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
 import com.ryan.safetynet.alerts.model.Person;
 import com.ryan.safetynet.alerts.repository.DataRepository;
 import com.ryan.safetynet.alerts.utils.MedicalRecordUtils;
 import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -20,9 +29,22 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FloodAlertService {
 
+    static final int DEFAULT_PARALLEL_THRESHOLD = 64;
+
     private final DataRepository dataRepository;
     private final FireStationService fireStationService;
     private final PersonService personService;
+    private final StripedLockManager lockManager;
+    private final CoverageBitmapIndex coverageBitmapIndex;
+    private final ResidentView residentView;
+    private final AddressDictionary addressDictionary;
+
+    /**
+     * Nombre de résidents au-delà duquel la construction des foyers est répartie
+     * sur le pool fork-join ; en deçà, elle reste séquentielle.
+     */
+    @Value("${flood.parallel.threshold:" + DEFAULT_PARALLEL_THRESHOLD + "}")
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
 
     /**
      * Récupère les foyers par stations de pompiers.
@@ -34,6 +56,25 @@ public class FloodAlertService {
     public FloodStationDTO getHouseholdsByStations(List<Integer> stationNumbers) {
         log.info("Recherche des foyers pour les stations: {}", stationNumbers);
 
+        // Les partitions lues sont celles des stations et des adresses qu'elles couvrent
+        List<String> stationKeys = stationNumbers.stream()
+                .map(StripedLockManager::stationKey)
+                .collect(Collectors.toList());
+        List<String> coveredAddresses = lockManager.read(stationKeys, () -> {
+            checkStationsExist(stationNumbers);
+            return fireStationService.getAddressesCoveredByStations(stationNumbers);
+        });
+        return lockManager.read(StripedLockManager.coverageKeys(stationNumbers, coveredAddresses),
+                () -> buildHouseholds(stationNumbers));
+    }
+
+    /**
+     * Vérifie que toutes les stations demandées existent.
+     *
+     * @param stationNumbers Liste des numéros de stations
+     * @throws ResourceNotFoundException si une ou plusieurs stations n'existent pas
+     */
+    private void checkStationsExist(List<Integer> stationNumbers) {
         // Vérification de l'existence des stations
         List<String> nonExistentStations = stationNumbers.stream()
                 .map(String::valueOf)
@@ -46,35 +87,77 @@ public class FloodAlertService {
             log.error("Stations non trouvées: {}", nonExistentStations);
             throw new ResourceNotFoundException(errorMessage);
         }
+    }
 
+    /**
+     * Construit la réponse /flood/stations à partir des données en mémoire.
+     *
+     * @param stationNumbers Liste des numéros de stations
+     * @return FloodStationDTO contenant les foyers groupés par adresse
+     */
+    private FloodStationDTO buildHouseholds(List<Integer> stationNumbers) {
         // Adresses couvertes par les casernes sélectionnées en utilisant le service centralisé
         List<String> addressesCovered = fireStationService.getAddressesCoveredByStations(stationNumbers);
         log.debug("Adresses couvertes par les stations: {}", addressesCovered);
+        if (residentView.isReady()) {
+            return projectHouseholds(addressesCovered);
+        }
 
-        // Utiliser le PersonService pour récupérer les personnes groupées par adresse
-        Map<String, List<Person>> personsByAddress = personService.getPersonsByAddresses(addressesCovered);
+        // Personnes groupées par adresse, par intersection de bitmaps si l'index est construit
+        CoverageBitmapIndex.Snapshot bitmaps = coverageBitmapIndex.snapshot();
+        Map<String, List<Person>> personsByAddress = bitmaps != null
+                ? residentsByAddress(bitmaps, stationNumbers, addressesCovered)
+                : personService.getPersonsByAddresses(addressesCovered);
         log.debug("Nombre d'adresses avec des résidents: {}", personsByAddress.size());
 
         Data data = dataRepository.getData();
-        List<AddressInfoDTO> addressInfos = new ArrayList<>();
 
-        for (Map.Entry<String, List<Person>> entry : personsByAddress.entrySet()) {
-            String address = entry.getKey();
-            List<Person> residents = entry.getValue();
-            log.debug("Traitement de l'adresse {} avec {} résidents", address, residents.size());
+        // Ordre déterministe : celui des mappings de casernes, sans doublon ni adresse inhabitée
+        List<String> addresses = addressesCovered.stream()
+                .distinct()
+                .filter(personsByAddress::containsKey)
+                .collect(Collectors.toList());
+        List<List<Person>> residents = addresses.stream()
+                .map(personsByAddress::get)
+                .collect(Collectors.toList());
+        List<AddressInfoDTO> addressInfos = buildAddressInfos(addresses, residents,
+                (address, persons) -> buildAddressInfo(address, persons, data.getMedicalRecords()));
 
-            List<PersonWithMedicalInfoDTO> residentInfos = residents.stream()
-                    .map(person -> MedicalRecordUtils.extractMedicalInfo(person, data.getMedicalRecords()))
-                    .collect(Collectors.toList());
+        FloodStationDTO response = new FloodStationDTO();
+        response.setAddresses(addressInfos);
 
-            AddressInfoDTO addressInfo = new AddressInfoDTO();
-            addressInfo.setAddress(address);
-            addressInfo.setResidents(residentInfos);
+        log.info("Recherche terminée. {} adresses trouvées avec des résidents", addressInfos.size());
+        return response;
+    }
 
-            addressInfos.add(addressInfo);
-            log.debug("Informations médicales extraites pour {} résidents à l'adresse {}", 
-                residentInfos.size(), address);
+    /**
+     * Projette la réponse /flood/stations depuis la vue des résidents : chaque adresse couverte
+     * donne directement ses résidents joints à leur dossier médical. Comme pour les bitmaps,
+     * une adresse saisie sous deux formes n'est comptée qu'une fois.
+     *
+     * @param addressesCovered adresses couvertes, dans l'ordre des mappings
+     * @return FloodStationDTO contenant les foyers groupés par adresse
+     */
+    private FloodStationDTO projectHouseholds(List<String> addressesCovered) {
+        Set<Integer> seen = new HashSet<>();
+        List<String> addresses = new ArrayList<>();
+        List<List<ResidentView.Resident>> residents = new ArrayList<>();
+        for (String address : addressesCovered) {
+            List<ResidentView.Resident> atAddress = residentView.residentsAt(address);
+            if (atAddress.isEmpty() || !seen.add(addressDictionary.find(address))) {
+                continue;
+            }
+            addresses.add(address);
+            residents.add(atAddress);
         }
+        List<AddressInfoDTO> addressInfos = buildAddressInfos(addresses, residents, (address, atAddress) -> {
+            AddressInfoDTO addressInfo = new AddressInfoDTO();
+            addressInfo.setAddress(address);
+            addressInfo.setResidents(atAddress.stream()
+                    .map(MedicalRecordUtils::toMedicalInfo)
+                    .collect(Collectors.toList()));
+            return addressInfo;
+        });
 
         FloodStationDTO response = new FloodStationDTO();
         response.setAddresses(addressInfos);
@@ -82,4 +165,117 @@ public class FloodAlertService {
         log.info("Recherche terminée. {} adresses trouvées avec des résidents", addressInfos.size());
         return response;
     }
+
+    /**
+     * Regroupe par adresse les personnes couvertes par les stations : le bitmap de chaque adresse
+     * est intersecté avec l'union des bitmaps des stations. Les résidents retenus sont retirés de
+     * l'union : une adresse saisie sous deux formes n'est comptée qu'une fois, comme une adresse inhabitée.
+     */
+    private static Map<String, List<Person>> residentsByAddress(CoverageBitmapIndex.Snapshot bitmaps,
+                                                                List<Integer> stationNumbers,
+                                                                List<String> addresses) {
+        BitSet covered = bitmaps.stations(stationNumbers);
+        Map<String, List<Person>> personsByAddress = new LinkedHashMap<>();
+        for (String address : addresses) {
+            BitSet residents = bitmaps.address(address);
+            residents.and(covered);
+            if (residents.isEmpty()) {
+                continue;
+            }
+            covered.andNot(residents);
+            List<Person> persons = new ArrayList<>(residents.cardinality());
+            for (int ordinal = residents.nextSetBit(0); ordinal >= 0; ordinal = residents.nextSetBit(ordinal + 1)) {
+                persons.add(bitmaps.person(ordinal));
+            }
+            personsByAddress.put(address, persons);
+        }
+        return personsByAddress;
+    }
+
+    /**
+     * Construit le foyer de chaque adresse, sur le pool fork-join si les adresses comptent plus
+     * de résidents que le seuil, sinon séquentiellement sur le thread appelant.
+     *
+     * @param addresses adresses retenues, dans l'ordre de la réponse
+     * @param residents résidents de chaque adresse, au même index que l'adresse
+     * @param builder construction du foyer d'une adresse à partir de ses résidents
+     * @return les foyers, dans l'ordre des adresses
+     */
+    private <R> List<AddressInfoDTO> buildAddressInfos(List<String> addresses, List<List<R>> residents,
+                                                       BiFunction<String, List<R>, AddressInfoDTO> builder) {
+        AddressInfoDTO[] results = new AddressInfoDTO[addresses.size()];
+        HouseholdTask<R> task = new HouseholdTask<>(addresses, residents, builder,
+                results, 0, addresses.size(), parallelThreshold);
+        if (residentCount(residents, 0, addresses.size()) <= parallelThreshold) {
+            task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+        return Arrays.asList(results);
+    }
+
+    private static int residentCount(List<? extends List<?>> residents, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += residents.get(i).size();
+        }
+        return count;
+    }
+
+    private static AddressInfoDTO buildAddressInfo(String address, List<Person> residents,
+                                                   List<MedicalRecord> medicalRecords) {
+        log.debug("Traitement de l'adresse {} avec {} résidents", address, residents.size());
+        List<PersonWithMedicalInfoDTO> residentInfos = residents.stream()
+                .map(person -> MedicalRecordUtils.extractMedicalInfo(person, medicalRecords))
+                .collect(Collectors.toList());
+
+        AddressInfoDTO addressInfo = new AddressInfoDTO();
+        addressInfo.setAddress(address);
+        addressInfo.setResidents(residentInfos);
+        log.debug("Informations médicales extraites pour {} résidents à l'adresse {}", 
+            residentInfos.size(), address);
+        return addressInfo;
+    }
+
+    /**
+     * Construction parallèle des foyers : la plage d'adresses est divisée en deux tant que
+     * le nombre de résidents qu'elle contient dépasse le seuil, puis chaque sous-plage est
+     * traitée séquentiellement. Chaque résultat est écrit à l'index de son adresse, ce qui
+     * conserve l'ordre des adresses quel que soit l'ordre d'exécution des tâches.
+     */
+    private static final class HouseholdTask<R> extends RecursiveAction {
+        private final List<String> addresses;
+        private final List<List<R>> residents;
+        private final BiFunction<String, List<R>, AddressInfoDTO> builder;
+        private final AddressInfoDTO[] results;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        private HouseholdTask(List<String> addresses, List<List<R>> residents,
+                              BiFunction<String, List<R>, AddressInfoDTO> builder, AddressInfoDTO[] results,
+                              int from, int to, int threshold) {
+            this.addresses = addresses;
+            this.residents = residents;
+            this.builder = builder;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && residentCount(residents, from, to) > threshold) {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                        new HouseholdTask<>(addresses, residents, builder, results, from, middle, threshold),
+                        new HouseholdTask<>(addresses, residents, builder, results, middle, to, threshold));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                results[i] = builder.apply(addresses.get(i), residents.get(i));
+            }
+        }
+    }
 }
@@ -0,0 +1,141 @@
+package com.ryan.safetynet.alerts.service;
+
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.dto.AddressInfoDTO;
+import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
+import com.ryan.safetynet.alerts.index.MedicalTermIndex;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import com.ryan.safetynet.alerts.utils.MedicalRecordUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service de recherche des résidents par médicament ou allergie, dans la zone couverte
+ * par des stations ou à une adresse (incidents chimiques, afflux de victimes).
+ * Les résidents concernés sont lus dans l'index inversé des termes médicaux puis croisés
+ * avec les résidents de la zone ; tant que l'index n'est pas construit, les dossiers
+ * médicaux sont parcourus.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class MedicalQueryService {
+
+    private final DataRepository dataRepository;
+    private final FireStationService fireStationService;
+    private final PersonService personService;
+    private final StripedLockManager lockManager;
+    private final MedicalTermIndex medicalTermIndex;
+
+    /**
+     * Recherche les résidents traités par un médicament et/ou présentant une allergie,
+     * dans la zone couverte par les stations données ou à l'adresse donnée.
+     *
+     * @param medication médicament recherché (sans tenir compte de la posologie), ou null
+     * @param allergy allergie recherchée, ou null
+     * @param stationNumbers stations dont la zone est interrogée, ou null
+     * @param address adresse interrogée, ou null
+     * @return les résidents concernés, regroupés par adresse dans l'ordre des mappings
+     * @throws ResourceNotFoundException si une station demandée n'existe pas
+     */
+    public List<AddressInfoDTO> findResidents(String medication, String allergy,
+                                              List<Integer> stationNumbers, String address) {
+        log.info("Recherche des résidents (médicament {}, allergie {}) pour les stations {} ou l'adresse {}",
+                medication, allergy, stationNumbers, address);
+        return lockManager.read(List.of(), () -> {
+            List<String> addresses = scope(stationNumbers, address);
+            Set<String> residentKeys = residentKeys(medication, allergy);
+            if (residentKeys.isEmpty() || addresses.isEmpty()) {
+                return new ArrayList<>();
+            }
+            Map<String, List<Person>> personsByAddress = personService.getPersonsByAddresses(addresses);
+            List<MedicalRecord> medicalRecords = dataRepository.getData().getMedicalRecords();
+
+            List<AddressInfoDTO> results = new ArrayList<>();
+            for (String covered : new LinkedHashSet<>(addresses)) {
+                List<Person> matching = personsByAddress.getOrDefault(covered, List.of()).stream()
+                        .filter(p -> residentKeys.contains(MedicalTermIndex.residentKey(p.getFirstName(), p.getLastName())))
+                        .collect(Collectors.toList());
+                if (!matching.isEmpty()) {
+                    AddressInfoDTO addressInfo = new AddressInfoDTO();
+                    addressInfo.setAddress(covered);
+                    addressInfo.setResidents(matching.stream()
+                            .map(p -> MedicalRecordUtils.extractMedicalInfo(p, medicalRecords))
+                            .collect(Collectors.toList()));
+                    results.add(addressInfo);
+                }
+            }
+            log.info("{} adresses avec des résidents concernés", results.size());
+            return results;
+        });
+    }
+
+    /**
+     * Adresses interrogées : celles couvertes par les stations, ou l'adresse donnée.
+     */
+    private List<String> scope(List<Integer> stationNumbers, String address) {
+        if (stationNumbers == null || stationNumbers.isEmpty()) {
+            return List.of(address);
+        }
+        List<String> missing = stationNumbers.stream()
+                .map(String::valueOf)
+                .filter(station -> !fireStationService.existsByStationNumber(station))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            log.error("Stations non trouvées: {}", missing);
+            throw new ResourceNotFoundException(
+                    String.format("Les stations suivantes n'existent pas : %s", String.join(", ", missing)));
+        }
+        return fireStationService.getAddressesCoveredByStations(stationNumbers);
+    }
+
+    /**
+     * Clés des résidents correspondant aux critères médicaux (intersection si les deux sont donnés).
+     */
+    private Set<String> residentKeys(String medication, String allergy) {
+        Set<String> byMedication = medication == null ? null : withTerm(medication, true);
+        Set<String> byAllergy = allergy == null ? null : withTerm(allergy, false);
+        if (byMedication == null) {
+            return byAllergy;
+        }
+        if (byAllergy == null) {
+            return byMedication;
+        }
+        // On parcourt le plus petit des deux ensembles
+        Set<String> smaller = byMedication.size() <= byAllergy.size() ? byMedication : byAllergy;
+        Set<String> larger = smaller == byMedication ? byAllergy : byMedication;
+        Set<String> both = new HashSet<>();
+        for (String key : smaller) {
+            if (larger.contains(key)) {
+                both.add(key);
+            }
+        }
+        return both;
+    }
+
+    private Set<String> withTerm(String value, boolean medication) {
+        if (medicalTermIndex.isReady()) {
+            return medication ? medicalTermIndex.withMedication(value) : medicalTermIndex.withAllergy(value);
+        }
+        String term = MedicalTermIndex.normalizeTerm(value);
+        Data data = dataRepository.getData();
+        return data.getMedicalRecords().stream()
+                .filter(record -> (medication ? record.getMedications() : record.getAllergies()).stream()
+                        .map(MedicalTermIndex::normalizeTerm)
+                        .anyMatch(term::equals))
+                .map(record -> MedicalTermIndex.residentKey(record.getFirstName(), record.getLastName()))
+                .collect(Collectors.toSet());
+    }
+}
@@ -1,7 +1,13 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.MutationPipeline;
+import com.ryan.safetynet.alerts.concurrency.MutationTicket;
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.event.DataChange;
 import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
+import com.ryan.safetynet.alerts.index.ExistenceIndex;
 import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
 import com.ryan.safetynet.alerts.repository.DataRepository;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
@@ -10,8 +16,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -20,6 +28,9 @@ public class MedicalRecordService {
     private final DataRepository dataRepository;
     private final Validator validator;
     private final PersonService personService;
+    private final StripedLockManager lockManager;
+    private final MutationPipeline mutationPipeline;
+    private final ExistenceIndex existenceIndex;
 
     /**
      * @param firstName Prénom
@@ -28,9 +39,11 @@ public class MedicalRecordService {
      */
     public Optional<MedicalRecord> findMedicalRecordByName(String firstName, String lastName) {
         log.debug("Recherche du dossier médical pour {} {}", firstName, lastName);
-        Optional<MedicalRecord> medicalRecord = dataRepository.getData().getMedicalRecords().stream()
+        // Le dossier est rattaché à l'adresse de son titulaire, inconnue ici : lecture sur toutes les partitions
+        Optional<MedicalRecord> medicalRecord = lockManager.read(List.of(), () -> dataRepository.getData()
+                .getMedicalRecords().stream()
                 .filter(m -> m.getFirstName().equals(firstName) && m.getLastName().equals(lastName))
-                .findFirst();
+                .findFirst());
         log.debug("Dossier médical trouvé: {}", medicalRecord.isPresent());
         return medicalRecord;
     }
@@ -44,11 +57,28 @@ public class MedicalRecordService {
      * @throws IllegalArgumentException si un dossier médical existe déjà pour cette personne
      */
     public MedicalRecord addMedicalRecord(MedicalRecord medicalRecord) throws IOException {
+        MedicalRecord added = addMedicalRecordAsync(medicalRecord).awaitDurable();
+        log.info("Dossier médical ajouté avec succès");
+        return added;
+    }
+
+    /**
+     * Soumet l'ajout d'un dossier médical au pipeline de mutations.
+     * Les vérifications sont effectuées immédiatement ; l'absence de dossier existant
+     * est de nouveau contrôlée sur le thread d'écriture.
+     *
+     * @param medicalRecord Le dossier médical à ajouter
+     * @return le suivi de la mutation
+     * @throws ResourceNotFoundException si la personne n'existe pas dans la base de données
+     * @throws IllegalArgumentException si un dossier médical existe déjà pour cette personne
+     */
+    public MutationTicket<MedicalRecord> addMedicalRecordAsync(MedicalRecord medicalRecord) {
         log.info("Ajout d'un nouveau dossier médical pour {} {}", 
             medicalRecord.getFirstName(), medicalRecord.getLastName());
         
         // Vérifier d'abord si la personne existe
-        if (personService.findPersonByName(medicalRecord.getFirstName(), medicalRecord.getLastName()).isEmpty()) {
+        Optional<Person> person = personService.findPersonByName(medicalRecord.getFirstName(), medicalRecord.getLastName());
+        if (person.isEmpty()) {
             log.error("Impossible d'ajouter un dossier médical pour une personne inexistante: {} {}", 
                 medicalRecord.getFirstName(), medicalRecord.getLastName());
             throw new ResourceNotFoundException(
@@ -57,9 +87,10 @@ public class MedicalRecordService {
         }
         
         // Vérifier si un dossier médical existe déjà pour cette personne
-        Optional<MedicalRecord> existingRecord = findMedicalRecordByName(
-            medicalRecord.getFirstName(), medicalRecord.getLastName());
-        if (existingRecord.isPresent()) {
+        boolean exists = existenceIndex.isReady()
+            ? existenceIndex.containsMedicalRecord(medicalRecord.getFirstName(), medicalRecord.getLastName())
+            : findMedicalRecordByName(medicalRecord.getFirstName(), medicalRecord.getLastName()).isPresent();
+        if (exists) {
             log.error("Un dossier médical existe déjà pour {} {}", 
                 medicalRecord.getFirstName(), medicalRecord.getLastName());
             throw new IllegalArgumentException(
@@ -73,11 +104,17 @@ public class MedicalRecordService {
             throw new ConstraintViolationException("Erreur de validation dans MedicalRecordService", violations);
         }
 
-        List<MedicalRecord> medicalRecords = dataRepository.getData().getMedicalRecords();
-        medicalRecords.add(medicalRecord);
-        dataRepository.saveData();
-        log.info("Dossier médical ajouté avec succès");
-        return medicalRecord;
+        return mutationPipeline.submit(context -> {
+            List<MedicalRecord> medicalRecords = dataRepository.getData().getMedicalRecords();
+            if (hasMedicalRecord(medicalRecords, medicalRecord.getFirstName(), medicalRecord.getLastName())) {
+                throw new IllegalArgumentException(
+                    String.format("Un dossier médical existe déjà pour %s %s. Utilisez la méthode PUT pour le mettre à jour.", 
+                        medicalRecord.getFirstName(), medicalRecord.getLastName()));
+            }
+            lockManager.write(residentKeys(person), true, () -> medicalRecords.add(medicalRecord));
+            context.changed(DataChange.added(medicalRecord));
+            return medicalRecord;
+        });
     }
 
     /**
@@ -87,10 +124,29 @@ public class MedicalRecordService {
      * @return Le dossier médical mis à jour, ou null si le dossier n'existe pas
      */
     public MedicalRecord updateMedicalRecord(String firstName, String lastName, MedicalRecord medicalRecord) throws IOException  {
+        MedicalRecord updated = updateMedicalRecordAsync(firstName, lastName, medicalRecord).awaitDurable();
+        if (updated != null) {
+            log.info("Dossier médical mis à jour avec succès");
+        }
+        return updated;
+    }
+
+    /**
+     * Soumet la mise à jour d'un dossier médical au pipeline de mutations.
+     * Le dossier existant est remplacé par une copie mise à jour.
+     *
+     * @param firstName Prénom
+     * @param lastName Nom
+     * @param medicalRecord Les nouvelles informations du dossier médical
+     * @return le suivi de la mutation, dont le résultat est null si le dossier n'existe pas
+     */
+    public MutationTicket<MedicalRecord> updateMedicalRecordAsync(String firstName, String lastName,
+                                                                  MedicalRecord medicalRecord) {
         log.info("Mise à jour du dossier médical pour {} {}", firstName, lastName);
         
         // Vérifier d'abord si la personne existe
-        if (personService.findPersonByName(firstName, lastName).isEmpty()) {
+        Optional<Person> person = personService.findPersonByName(firstName, lastName);
+        if (person.isEmpty()) {
             log.error("Impossible de mettre à jour un dossier médical pour une personne inexistante: {} {}", 
                 firstName, lastName);
             throw new ResourceNotFoundException(
@@ -104,18 +160,24 @@ public class MedicalRecordService {
             throw new ConstraintViolationException("Erreur de validation lors de la mise à jour", violations);
         }
 
-        Optional<MedicalRecord> existingMedicalRecord = findMedicalRecordByName(firstName, lastName);
-        if (existingMedicalRecord.isPresent()) {
-            MedicalRecord m = existingMedicalRecord.get();
-            m.setBirthdate(medicalRecord.getBirthdate());
-            m.setMedications(medicalRecord.getMedications());
-            m.setAllergies(medicalRecord.getAllergies());
-            dataRepository.saveData();
-            log.info("Dossier médical mis à jour avec succès");
-            return m;
-        }
-        log.warn("Tentative de mise à jour d'un dossier médical inexistant pour {} {}", firstName, lastName);
-        return null;
+        return mutationPipeline.submit(context -> {
+            List<MedicalRecord> medicalRecords = dataRepository.getData().getMedicalRecords();
+            int index = indexOf(medicalRecords, firstName, lastName);
+            if (index < 0) {
+                log.warn("Tentative de mise à jour d'un dossier médical inexistant pour {} {}", firstName, lastName);
+                return null;
+            }
+            MedicalRecord current = medicalRecords.get(index);
+            MedicalRecord updated = new MedicalRecord();
+            updated.setFirstName(current.getFirstName());
+            updated.setLastName(current.getLastName());
+            updated.setBirthdate(medicalRecord.getBirthdate());
+            updated.setMedications(medicalRecord.getMedications());
+            updated.setAllergies(medicalRecord.getAllergies());
+            lockManager.write(residentKeys(person), false, () -> medicalRecords.set(index, updated));
+            context.changed(DataChange.updated(current, updated));
+            return updated;
+        });
     }
 
     /**
@@ -124,11 +186,8 @@ public class MedicalRecordService {
      * @return true si le dossier médical a bien été supprimé, sinon false
      */
     public boolean deleteMedicalRecord(String firstName, String lastName) throws IOException {
-        log.info("Suppression du dossier médical pour {} {}", firstName, lastName);
-        List<MedicalRecord> medicalRecords = dataRepository.getData().getMedicalRecords();
-        boolean removed = medicalRecords.removeIf(m -> m.getFirstName().equals(firstName) && m.getLastName().equals(lastName));
+        boolean removed = deleteMedicalRecordAsync(firstName, lastName).awaitDurable();
         if (removed) {
-            dataRepository.saveData();
             log.info("Dossier médical supprimé avec succès");
         } else {
             log.warn("Tentative de suppression d'un dossier médical inexistant pour {} {}", firstName, lastName);
@@ -136,15 +195,69 @@ public class MedicalRecordService {
         return removed;
     }
 
+    /**
+     * Soumet la suppression d'un dossier médical au pipeline de mutations.
+     *
+     * @param firstName prénom
+     * @param lastName nom
+     * @return le suivi de la mutation, dont le résultat indique si un dossier a été supprimé
+     */
+    public MutationTicket<Boolean> deleteMedicalRecordAsync(String firstName, String lastName) {
+        log.info("Suppression du dossier médical pour {} {}", firstName, lastName);
+        List<String> keys = residentKeys(personService.findPersonByName(firstName, lastName));
+        return mutationPipeline.submit(context -> {
+            List<MedicalRecord> medicalRecords = dataRepository.getData().getMedicalRecords();
+            List<MedicalRecord> matching = medicalRecords.stream()
+                    .filter(m -> m.getFirstName().equals(firstName) && m.getLastName().equals(lastName))
+                    .collect(Collectors.toList());
+            if (matching.isEmpty()) {
+                return false;
+            }
+            lockManager.write(keys, true, () -> medicalRecords.removeAll(matching));
+            matching.forEach(m -> context.changed(DataChange.removed(m)));
+            return true;
+        });
+    }
+
     /**
      * Récupère la liste de tous les dossiers médicaux enregistrés dans le système.
      *
-     * @return Liste de tous les dossiers médicaux
+     * @return copie de la liste de tous les dossiers médicaux
      */
     public List<MedicalRecord> getAllMedicalRecords() {
         log.debug("Récupération de tous les dossiers médicaux");
-        List<MedicalRecord> medicalRecords = dataRepository.getData().getMedicalRecords();
+        List<MedicalRecord> medicalRecords = lockManager.read(List.of(),
+                () -> new ArrayList<>(dataRepository.getData().getMedicalRecords()));
         log.debug("Nombre de dossiers médicaux trouvés: {}", medicalRecords.size());
         return medicalRecords;
     }
+
+    /**
+     * Un dossier médical est rattaché à la partition de l'adresse de son titulaire :
+     * les requêtes /fire ou /childAlert sur cette adresse le lisent.
+     */
+    private List<String> residentKeys(Optional<Person> person) {
+        return person.map(p -> List.of(StripedLockManager.addressKey(p.getAddress())))
+                .orElse(List.of());
+    }
+
+    /**
+     * Vérifie l'existence d'un dossier par l'index d'existence lorsqu'il est prêt, par un parcours sinon.
+     */
+    private boolean hasMedicalRecord(List<MedicalRecord> medicalRecords, String firstName, String lastName) {
+        if (existenceIndex.isReady()) {
+            return existenceIndex.containsMedicalRecord(firstName, lastName);
+        }
+        return indexOf(medicalRecords, firstName, lastName) >= 0;
+    }
+
+    private static int indexOf(List<MedicalRecord> medicalRecords, String firstName, String lastName) {
+        for (int i = 0; i < medicalRecords.size(); i++) {
+            MedicalRecord m = medicalRecords.get(i);
+            if (m.getFirstName().equals(firstName) && m.getLastName().equals(lastName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
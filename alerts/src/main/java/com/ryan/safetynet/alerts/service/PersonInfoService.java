@@ -1,25 +1,52 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.dto.PersonInfoDTO;
+import com.ryan.safetynet.alerts.dto.PersonSearchResultDTO;
 import com.ryan.safetynet.alerts.dto.PersonWithMedicalInfoDTO;
+import com.ryan.safetynet.alerts.index.FuzzyNameIndex;
+import com.ryan.safetynet.alerts.index.PersonNameIndex;
+import com.ryan.safetynet.alerts.index.ResidentView;
 import com.ryan.safetynet.alerts.model.Data;
 import com.ryan.safetynet.alerts.model.Person;
 import com.ryan.safetynet.alerts.repository.DataRepository;
 import com.ryan.safetynet.alerts.utils.MedicalRecordUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Service des informations détaillées des résidents (/personInfo).
+ * Les recherches par nom passent par l'index des noms ; tant qu'il n'est pas construit,
+ * le service parcourt les personnes et les dossiers médicaux.
+ * La recherche approchée, tolérante aux fautes d'orthographe, passe par l'index phonétique
+ * et l'arbre BK de {@link FuzzyNameIndex}.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PersonInfoService {
 
     private final DataRepository dataRepository;
+    private final StripedLockManager lockManager;
+    private final PersonNameIndex personNameIndex;
+    private final FuzzyNameIndex fuzzyNameIndex;
+    private final ResidentView residentView;
+
+    static final int DEFAULT_MAX_DISTANCE = 2;
+    static final long DEFAULT_SEARCH_BUDGET_MILLIS = 50;
+
+    @Value("${search.fuzzy.max-distance:" + DEFAULT_MAX_DISTANCE + "}")
+    private int maxDistance = DEFAULT_MAX_DISTANCE;
+
+    @Value("${search.fuzzy.budget-ms:" + DEFAULT_SEARCH_BUDGET_MILLIS + "}")
+    private long searchBudgetMillis = DEFAULT_SEARCH_BUDGET_MILLIS;
 
     /**
      * Récupère les informations d'une personne spécifique par son prénom et son nom de famille.
@@ -30,6 +57,34 @@ public class PersonInfoService {
      */
     public PersonInfoDTO getPersonInfo(String firstName, String lastName) {
         log.debug("Recherche des informations pour {} {}", firstName, lastName);
+        if (residentView.isReady()) {
+            Optional<ResidentView.Resident> resident = residentView.findFirst(firstName, lastName);
+            if (resident.isEmpty()) {
+                log.warn("Aucune personne trouvée pour {} {}", firstName, lastName);
+                return null;
+            }
+            return toPersonInfo(resident.get());
+        }
+        if (personNameIndex.isReady()) {
+            Optional<PersonNameIndex.Resident> resident = personNameIndex.findFirst(firstName, lastName);
+            if (resident.isEmpty()) {
+                log.warn("Aucune personne trouvée pour {} {}", firstName, lastName);
+                return null;
+            }
+            return toPersonInfo(resident.get());
+        }
+        // La recherche par nom ne cible pas d'adresse : lecture optimiste sur la structure seule
+        return lockManager.read(List.of(), () -> findPersonInfo(firstName, lastName));
+    }
+
+    /**
+     * Construit les informations d'une personne à partir des données en mémoire.
+     *
+     * @param firstName prénom de la personne
+     * @param lastName nom de famille de la personne
+     * @return les informations de la personne ou null si non trouvée
+     */
+    private PersonInfoDTO findPersonInfo(String firstName, String lastName) {
         Data data = dataRepository.getData();
 
         Optional<Person> personOpt = data.getPersons().stream()
@@ -45,15 +100,7 @@ public class PersonInfoService {
         Person person = personOpt.get();
         log.debug("Personne trouvée, extraction des informations médicales");
         PersonWithMedicalInfoDTO medicalInfo = MedicalRecordUtils.extractMedicalInfo(person, data.getMedicalRecords());
-
-        PersonInfoDTO dto = new PersonInfoDTO();
-        dto.setFirstName(person.getFirstName());
-        dto.setLastName(person.getLastName());
-        dto.setAddress(person.getAddress());
-        dto.setEmail(person.getEmail());
-        dto.setAge(medicalInfo.getAge());
-        dto.setMedications(medicalInfo.getMedications());
-        dto.setAllergies(medicalInfo.getAllergies());
+        PersonInfoDTO dto = toPersonInfo(person, medicalInfo);
 
         log.debug("Informations complètes extraites pour {} {}", firstName, lastName);
         return dto;
@@ -67,6 +114,26 @@ public class PersonInfoService {
      */
     public List<PersonInfoDTO> getPersonsByLastName(String lastName) {
         log.debug("Recherche des personnes avec le nom de famille: {}", lastName);
+        if (residentView.isReady()) {
+            return residentView.findByLastName(lastName).stream()
+                    .map(PersonInfoService::toPersonInfo)
+                    .collect(Collectors.toList());
+        }
+        if (personNameIndex.isReady()) {
+            return personNameIndex.findByLastName(lastName).stream()
+                    .map(this::toPersonInfo)
+                    .collect(Collectors.toList());
+        }
+        return lockManager.read(List.of(), () -> findPersonsByLastName(lastName));
+    }
+
+    /**
+     * Construit les informations des personnes portant un nom de famille à partir des données en mémoire.
+     *
+     * @param lastName nom de famille des personnes à rechercher
+     * @return liste des informations des personnes trouvées
+     */
+    private List<PersonInfoDTO> findPersonsByLastName(String lastName) {
         Data data = dataRepository.getData();
 
         List<PersonInfoDTO> persons = data.getPersons().stream()
@@ -74,19 +141,91 @@ public class PersonInfoService {
                 .map(person -> {
                     log.debug("Traitement des informations pour {} {}", person.getFirstName(), person.getLastName());
                     PersonWithMedicalInfoDTO medicalInfo = MedicalRecordUtils.extractMedicalInfo(person, data.getMedicalRecords());
-                    PersonInfoDTO dto = new PersonInfoDTO();
-                    dto.setFirstName(person.getFirstName());
-                    dto.setLastName(person.getLastName());
-                    dto.setAddress(person.getAddress());
-                    dto.setEmail(person.getEmail());
-                    dto.setAge(medicalInfo.getAge());
-                    dto.setMedications(medicalInfo.getMedications());
-                    dto.setAllergies(medicalInfo.getAllergies());
-                    return dto;
+                    return toPersonInfo(person, medicalInfo);
                 })
                 .collect(Collectors.toList());
 
         log.debug("Nombre de personnes trouvées pour le nom {}: {}", lastName, persons.size());
         return persons;
     }
+
+    /**
+     * Recherche les résidents dont le nom ressemble à celui demandé : même prononciation
+     * (codes Soundex) ou distance d'édition faible. Les candidats sont classés du plus
+     * proche au plus éloigné ; la recherche est bornée dans le temps.
+     *
+     * @param firstName prénom approximatif
+     * @param lastName nom de famille approximatif
+     * @param limit nombre maximal de candidats
+     * @return les candidats classés
+     */
+    public List<PersonSearchResultDTO> searchPersons(String firstName, String lastName, int limit) {
+        log.debug("Recherche approchée de {} {} (au plus {} résultats)", firstName, lastName, limit);
+        List<FuzzyNameIndex.Match> matches;
+        if (fuzzyNameIndex.isReady()) {
+            matches = fuzzyNameIndex.search(firstName, lastName, maxDistance, limit,
+                    TimeUnit.MILLISECONDS.toNanos(searchBudgetMillis));
+        } else {
+            matches = lockManager.read(List.of(), () -> FuzzyNameIndex.scan(
+                    dataRepository.getData().getPersons(), firstName, lastName, maxDistance, limit));
+        }
+        log.debug("Nombre de candidats pour {} {}: {}", firstName, lastName, matches.size());
+        return matches.stream()
+                .map(PersonInfoService::toSearchResult)
+                .collect(Collectors.toList());
+    }
+
+    private static PersonSearchResultDTO toSearchResult(FuzzyNameIndex.Match match) {
+        Person person = match.person();
+        PersonSearchResultDTO dto = new PersonSearchResultDTO();
+        dto.setFirstName(person.getFirstName());
+        dto.setLastName(person.getLastName());
+        dto.setAddress(person.getAddress());
+        dto.setCity(person.getCity());
+        dto.setDistance(match.distance());
+        dto.setPhoneticMatch(match.phonetic());
+        return dto;
+    }
+
+    /**
+     * Construit les informations d'un résident trouvé dans l'index des noms.
+     *
+     * @param resident la personne et son dossier médical
+     * @return les informations de la personne
+     */
+    private PersonInfoDTO toPersonInfo(PersonNameIndex.Resident resident) {
+        Person person = resident.person();
+        return toPersonInfo(person, MedicalRecordUtils.toMedicalInfo(person, resident.medicalRecord()));
+    }
+
+    /**
+     * Projette les informations d'un résident de la vue matérialisée.
+     *
+     * @param resident le résident pré-joint
+     * @return les informations de la personne
+     */
+    private static PersonInfoDTO toPersonInfo(ResidentView.Resident resident) {
+        PersonWithMedicalInfoDTO medicalInfo = MedicalRecordUtils.toMedicalInfo(resident);
+        PersonInfoDTO dto = new PersonInfoDTO();
+        dto.setFirstName(resident.firstName());
+        dto.setLastName(resident.lastName());
+        dto.setAddress(resident.address());
+        dto.setEmail(resident.email());
+        dto.setAge(medicalInfo.getAge());
+        dto.setMedications(medicalInfo.getMedications());
+        dto.setAllergies(medicalInfo.getAllergies());
+        return dto;
+    }
+
+    private static PersonInfoDTO toPersonInfo(Person person, PersonWithMedicalInfoDTO medicalInfo) {
+        PersonInfoDTO dto = new PersonInfoDTO();
+        dto.setFirstName(person.getFirstName());
+        dto.setLastName(person.getLastName());
+        dto.setAddress(person.getAddress());
+        dto.setEmail(person.getEmail());
+        dto.setAge(medicalInfo.getAge());
+        dto.setMedications(medicalInfo.getMedications());
+        dto.setAllergies(medicalInfo.getAllergies());
+        return dto;
+    }
 }
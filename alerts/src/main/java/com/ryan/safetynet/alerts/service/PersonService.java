@@ -1,6 +1,12 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.MutationPipeline;
+import com.ryan.safetynet.alerts.concurrency.MutationTicket;
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.event.DataChange;
 import com.ryan.safetynet.alerts.exception.DuplicatePersonException;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.ExistenceIndex;
 import com.ryan.safetynet.alerts.model.Person;
 import com.ryan.safetynet.alerts.repository.DataRepository;
 import jakarta.validation.ConstraintViolationException;
@@ -10,6 +16,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -21,10 +30,15 @@ import java.util.stream.Collectors;
 public class PersonService {
     private final DataRepository dataRepository;
     private final Validator validator;
+    private final StripedLockManager lockManager;
+    private final MutationPipeline mutationPipeline;
+    private final AddressDictionary addressDictionary;
+    private final ExistenceIndex existenceIndex;
 
     /**
      * Récupère toutes les personnes groupées par adresse.
-     * Cette méthode filtre les personnes par une liste d'adresses
+     * Cette méthode filtre les personnes par une liste d'adresses, comparées
+     * sous leur forme canonique par identifiant entier,
      * et retourne une Map avec l'adresse comme clé et la liste
      * des personnes qui y habitent comme valeur.
      *
@@ -33,24 +47,48 @@ public class PersonService {
      */
     public Map<String, List<Person>> getPersonsByAddresses(List<String> addresses) {
         log.debug("Recherche des personnes pour les adresses: {}", addresses);
-        Map<String, List<Person>> result = dataRepository.getData().getPersons().stream()
-                .filter(p -> addresses.contains(p.getAddress()))
-                .collect(Collectors.groupingBy(Person::getAddress));
+        // Identifiant canonique -> adresse demandée : les personnes sont regroupées sous l'adresse
+        // telle qu'elle a été demandée, même si leur adresse est saisie différemment
+        Map<Integer, String> requested = new HashMap<>();
+        for (String address : addresses) {
+            int id = addressDictionary.find(address);
+            if (id != AddressDictionary.NO_ID) {
+                requested.putIfAbsent(id, address);
+            }
+        }
+        Map<String, List<Person>> result = requested.isEmpty() ? new HashMap<>()
+                : lockManager.read(addressKeys(requested.values()), () -> {
+                    Map<String, List<Person>> grouped = new HashMap<>();
+                    for (Person p : dataRepository.getData().getPersons()) {
+                        String address = requested.get(addressDictionary.idOf(p.getAddress()));
+                        if (address != null) {
+                            grouped.computeIfAbsent(address, a -> new ArrayList<>()).add(p);
+                        }
+                    }
+                    return grouped;
+                });
         log.debug("Nombre d'adresses trouvées: {}", result.size());
         return result;
     }
 
     /**
      * Récupère toutes les personnes habitant à une adresse spécifique.
+     * Les adresses sont comparées sous leur forme canonique.
      *
      * @param address L'adresse à filtrer
      * @return Liste des personnes habitant à cette adresse
      */
     public List<Person> getPersonsByAddress(String address) {
         log.debug("Recherche des personnes pour l'adresse: {}", address);
-        List<Person> persons = dataRepository.getData().getPersons().stream()
-                .filter(p -> p.getAddress().equals(address))
-                .collect(Collectors.toList());
+        int id = addressDictionary.find(address);
+        if (id == AddressDictionary.NO_ID) {
+            log.debug("Adresse inconnue: {}", address);
+            return new ArrayList<>();
+        }
+        List<Person> persons = lockManager.read(List.of(StripedLockManager.addressKey(address)),
+                () -> dataRepository.getData().getPersons().stream()
+                        .filter(p -> addressDictionary.idOf(p.getAddress()) == id)
+                        .collect(Collectors.toList()));
         log.debug("Nombre de personnes trouvées: {}", persons.size());
         return persons;
     }
@@ -62,9 +100,10 @@ public class PersonService {
      */
     public Optional<Person> findPersonByName(String firstName, String lastName) {
         log.debug("Recherche de la personne: {} {}", firstName, lastName);
-        Optional<Person> person = dataRepository.getData().getPersons().stream()
+        // La recherche par nom ne cible pas d'adresse : lecture sur toutes les partitions
+        Optional<Person> person = lockManager.read(List.of(), () -> dataRepository.getData().getPersons().stream()
                 .filter(p -> p.getFirstName().equals(firstName) && p.getLastName().equals(lastName))
-                .findFirst();
+                .findFirst());
         if (person.isEmpty()) {
             log.warn("Personne non trouvée: {} {}", firstName, lastName);
         }
@@ -76,6 +115,19 @@ public class PersonService {
      * @return la personne ajoutée
      */
     public Person addPerson(Person person) throws IOException {
+        Person added = addPersonAsync(person).awaitDurable();
+        log.info("Personne ajoutée avec succès: {} {}", person.getFirstName(), person.getLastName());
+        return added;
+    }
+
+    /**
+     * Soumet l'ajout d'une personne au pipeline de mutations.
+     * La validation est effectuée immédiatement ; la détection des doublons a lieu sur le thread d'écriture.
+     *
+     * @param person La personne à ajouter
+     * @return le suivi de la mutation
+     */
+    public MutationTicket<Person> addPersonAsync(Person person) {
         log.debug("Tentative d'ajout d'une nouvelle personne: {} {}", person.getFirstName(), person.getLastName());
         var violations = validator.validate(person);
         if (!violations.isEmpty()) {
@@ -83,19 +135,26 @@ public class PersonService {
                 person.getFirstName(), person.getLastName(), violations);
             throw new ConstraintViolationException("Erreur de validation dans PersonService", violations);
         }
-        // Vérification du doublon (prénom, nom, adresse)
-        boolean exists = dataRepository.getData().getPersons().stream()
-            .anyMatch(p -> p.getFirstName().equals(person.getFirstName())
-                && p.getLastName().equals(person.getLastName())
-                && p.getAddress().equals(person.getAddress()));
-        if (exists) {
-            log.warn("Doublon détecté pour {} {} à l'adresse {}", person.getFirstName(), person.getLastName(), person.getAddress());
-            throw new DuplicatePersonException(person.getFirstName(), person.getLastName(), person.getAddress());
-        }
-        dataRepository.getData().getPersons().add(person);
-        dataRepository.saveData();
-        log.info("Personne ajoutée avec succès: {} {}", person.getFirstName(), person.getLastName());
-        return person;
+        return mutationPipeline.submit(context -> {
+            // Vérification du doublon (prénom, nom, adresse) et ajout sous verrou de la partition de l'adresse
+            return lockManager.write(List.of(StripedLockManager.addressKey(person.getAddress())), true, () -> {
+                // Adresses comparées sous leur forme canonique, que l'index soit prêt ou non
+                int addressId = addressDictionary.idOf(person.getAddress());
+                boolean exists = existenceIndex.isReady()
+                    ? existenceIndex.containsPerson(person.getFirstName(), person.getLastName(), person.getAddress())
+                    : dataRepository.getData().getPersons().stream()
+                        .anyMatch(p -> p.getFirstName().equals(person.getFirstName())
+                            && p.getLastName().equals(person.getLastName())
+                            && addressDictionary.idOf(p.getAddress()) == addressId);
+                if (exists) {
+                    log.warn("Doublon détecté pour {} {} à l'adresse {}", person.getFirstName(), person.getLastName(), person.getAddress());
+                    throw new DuplicatePersonException(person.getFirstName(), person.getLastName(), person.getAddress());
+                }
+                dataRepository.getData().getPersons().add(person);
+                context.changed(DataChange.added(person));
+                return person;
+            });
+        });
     }
 
     /**
@@ -105,21 +164,43 @@ public class PersonService {
      * @return La personne mise à jour, ou null si la personne n'existe pas
      */
     public Person updatePerson(String firstName, String lastName, Person person) throws IOException {
-        log.debug("Tentative de mise à jour de la personne: {} {}", firstName, lastName);
-        Optional<Person> existingPerson = findPersonByName(firstName, lastName);
-        if (existingPerson.isPresent()) {
-            Person p = existingPerson.get();
-            p.setAddress(person.getAddress());
-            p.setCity(person.getCity());
-            p.setZip(person.getZip());
-            p.setPhone(person.getPhone());
-            p.setEmail(person.getEmail());
-            dataRepository.saveData();
+        Person updated = updatePersonAsync(firstName, lastName, person).awaitDurable();
+        if (updated != null) {
             log.info("Personne mise à jour avec succès: {} {}", firstName, lastName);
-            return p;
         }
-        log.warn("Tentative de mise à jour d'une personne inexistante: {} {}", firstName, lastName);
-        return null;
+        return updated;
+    }
+
+    /**
+     * Soumet la mise à jour d'une personne au pipeline de mutations.
+     * La personne existante est remplacée par une copie mise à jour : les instantanés
+     * et les événements déjà publiés conservent ainsi l'ancienne version.
+     *
+     * @param firstName Prénom
+     * @param lastName Nom
+     * @param person Les nouvelles informations de la personne
+     * @return le suivi de la mutation, dont le résultat est null si la personne n'existe pas
+     */
+    public MutationTicket<Person> updatePersonAsync(String firstName, String lastName, Person person) {
+        log.debug("Tentative de mise à jour de la personne: {} {}", firstName, lastName);
+        return mutationPipeline.submit(context -> {
+            List<Person> persons = dataRepository.getData().getPersons();
+            int index = indexOf(persons, firstName, lastName);
+            if (index < 0) {
+                log.warn("Tentative de mise à jour d'une personne inexistante: {} {}", firstName, lastName);
+                return null;
+            }
+            Person current = persons.get(index);
+            Person updated = new Person(current.getFirstName(), current.getLastName(), person.getAddress(),
+                    person.getCity(), person.getZip(), person.getPhone(), person.getEmail());
+            // Un déménagement touche à la fois la partition de l'ancienne et de la nouvelle adresse
+            List<String> keys = List.of(
+                    StripedLockManager.addressKey(current.getAddress()),
+                    StripedLockManager.addressKey(updated.getAddress()));
+            lockManager.write(keys, false, () -> persons.set(index, updated));
+            context.changed(DataChange.updated(current, updated));
+            return updated;
+        });
     }
 
     /**
@@ -129,11 +210,8 @@ public class PersonService {
      * @return true si la personne a bien été supprimé, sinon false
      */
     public boolean deletePerson(String firstName, String lastName) throws IOException {
-        log.debug("Tentative de suppression de la personne: {} {}", firstName, lastName);
-        boolean removed = dataRepository.getData().getPersons()
-                .removeIf(p -> p.getFirstName().equals(firstName) && p.getLastName().equals(lastName));
+        boolean removed = deletePersonAsync(firstName, lastName).awaitDurable();
         if (removed) {
-            dataRepository.saveData();
             log.info("Personne supprimée avec succès: {} {}", firstName, lastName);
         } else {
             log.warn("Tentative de suppression d'une personne inexistante: {} {}", firstName, lastName);
@@ -141,15 +219,55 @@ public class PersonService {
         return removed;
     }
 
+    /**
+     * Soumet la suppression d'une personne au pipeline de mutations.
+     *
+     * @param firstName prénom
+     * @param lastName nom
+     * @return le suivi de la mutation, dont le résultat indique si une personne a été supprimée
+     */
+    public MutationTicket<Boolean> deletePersonAsync(String firstName, String lastName) {
+        log.debug("Tentative de suppression de la personne: {} {}", firstName, lastName);
+        return mutationPipeline.submit(context -> {
+            List<Person> persons = dataRepository.getData().getPersons();
+            List<Person> matching = persons.stream()
+                    .filter(p -> p.getFirstName().equals(firstName) && p.getLastName().equals(lastName))
+                    .collect(Collectors.toList());
+            if (matching.isEmpty()) {
+                return false;
+            }
+            List<String> keys = matching.stream()
+                    .map(p -> StripedLockManager.addressKey(p.getAddress()))
+                    .collect(Collectors.toList());
+            lockManager.write(keys, true, () -> persons.removeAll(matching));
+            matching.forEach(p -> context.changed(DataChange.removed(p)));
+            return true;
+        });
+    }
+
     /**
      * Récupère la liste de toutes les personnes enregistrées dans le système.
      *
-     * @return Liste de toutes les personnes
+     * @return copie de la liste de toutes les personnes
      */
     public List<Person> getAllPersons() {
         log.debug("Récupération de toutes les personnes");
-        List<Person> persons = dataRepository.getData().getPersons();
+        List<Person> persons = lockManager.read(List.of(), () -> new ArrayList<>(dataRepository.getData().getPersons()));
         log.debug("Nombre total de personnes: {}", persons.size());
         return persons;
     }
+
+    private static List<String> addressKeys(Collection<String> addresses) {
+        return addresses.stream().map(StripedLockManager::addressKey).collect(Collectors.toList());
+    }
+
+    private static int indexOf(List<Person> persons, String firstName, String lastName) {
+        for (int i = 0; i < persons.size(); i++) {
+            Person p = persons.get(i);
+            if (p.getFirstName().equals(firstName) && p.getLastName().equals(lastName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
@@ -1,12 +1,22 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.index.CoverageBitmapIndex;
+import com.ryan.safetynet.alerts.index.StationPhoneIndex;
 import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.utils.PhoneNumbers;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -21,6 +31,9 @@ public class PhoneAlertService {
 
     private final FireStationService fireStationService;
     private final PersonService personService;
+    private final StripedLockManager lockManager;
+    private final CoverageBitmapIndex coverageBitmapIndex;
+    private final StationPhoneIndex stationPhoneIndex;
 
     /**
      * Récupère la liste des numéros de téléphone des habitants couverts par une caserne.
@@ -29,12 +42,69 @@ public class PhoneAlertService {
      * 2. Filtre les personnes vivant à ces adresses
      * 3. Extrait leurs numéros de téléphone uniques
      *
+     * Les numéros sont rangés dans l'ordre numérique, celui de l'index, que la réponse provienne
+     * de l'index ou d'un parcours ; les numéros hors format, que seul le parcours restitue, viennent
+     * en dernier dans l'ordre des données.
+     *
      * @param stationNumber le numéro de la caserne de pompiers
      * @return la liste des numéros de téléphone uniques des habitants couverts par la caserne
      */
     public List<String> getPhoneNumbersByStation(int stationNumber) {
         log.debug("Recherche des numéros de téléphone pour la caserne {}", stationNumber);
-        
+
+        long[] codes = getPhoneCodesByStation(stationNumber);
+        if (codes != null) {
+            List<String> phoneNumbers = new ArrayList<>(codes.length);
+            for (long code : codes) {
+                phoneNumbers.add(PhoneNumbers.format(code));
+            }
+            log.info("Nombre de numéros de téléphone uniques trouvés pour la caserne {}: {}",
+                stationNumber, phoneNumbers.size());
+            return phoneNumbers;
+        }
+
+        // Les partitions lues sont celles de la station et des adresses qu'elle couvre
+        List<String> coveredAddresses = lockManager.read(List.of(StripedLockManager.stationKey(stationNumber)),
+                () -> fireStationService.getAddressesCoveredByStation(stationNumber));
+        return lockManager.read(StripedLockManager.coverageKeys(List.of(stationNumber), coveredAddresses),
+                () -> collectPhoneNumbers(stationNumber));
+    }
+
+    /**
+     * Récupère les numéros de téléphone codés ({@link PhoneNumbers}) des habitants couverts par une caserne.
+     * Le tableau provient directement de l'index : il est publié par le thread d'écriture et lu sans verrou
+     * ni allocation. Il est partagé et ne doit pas être modifié.
+     *
+     * @param stationNumber le numéro de la caserne de pompiers
+     * @return les codes triés des numéros uniques, ou null si l'index n'est pas disponible
+     */
+    public long[] getPhoneCodesByStation(int stationNumber) {
+        if (!stationPhoneIndex.isReady()) {
+            return null;
+        }
+        return stationPhoneIndex.phonesOf(stationNumber);
+    }
+
+    /**
+     * Extrait les numéros de téléphone uniques des habitants couverts par une caserne.
+     *
+     * @param stationNumber le numéro de la caserne de pompiers
+     * @return la liste des numéros de téléphone uniques
+     */
+    private List<String> collectPhoneNumbers(int stationNumber) {
+        CoverageBitmapIndex.Snapshot bitmaps = coverageBitmapIndex.snapshot();
+        if (bitmaps != null) {
+            // Les habitants couverts sont le bitmap de la station, sans passer par les adresses
+            BitSet covered = bitmaps.stations(List.of(stationNumber));
+            Set<String> phoneNumbers = new LinkedHashSet<>();
+            for (int ordinal = covered.nextSetBit(0); ordinal >= 0; ordinal = covered.nextSetBit(ordinal + 1)) {
+                phoneNumbers.add(bitmaps.person(ordinal).getPhone());
+            }
+            log.info("Nombre de numéros de téléphone uniques trouvés pour la caserne {}: {}",
+                stationNumber, phoneNumbers.size());
+            return inIndexOrder(phoneNumbers);
+        }
+
         // Extraction des adresses couvertes par la caserne spécifiée
         List<String> addresses = fireStationService.getAddressesCoveredByStation(stationNumber);
         log.debug("Nombre d'adresses couvertes par la caserne {}: {}", stationNumber, addresses.size());
@@ -52,7 +122,20 @@ public class PhoneAlertService {
         
         log.info("Nombre de numéros de téléphone uniques trouvés pour la caserne {}: {}", 
             stationNumber, phoneNumbers.size());
-        return phoneNumbers;
+        return inIndexOrder(phoneNumbers);
+    }
+
+    /**
+     * Range des numéros comme l'index : par code croissant, les numéros hors format en dernier.
+     * Le tri est stable : ces derniers gardent l'ordre des données.
+     */
+    private static List<String> inIndexOrder(Collection<String> phoneNumbers) {
+        List<String> sorted = new ArrayList<>(phoneNumbers);
+        sorted.sort(Comparator.comparingLong(phone -> {
+            long code = PhoneNumbers.encode(phone);
+            return code == PhoneNumbers.INVALID ? Long.MAX_VALUE : code;
+        }));
+        return sorted;
     }
 }
 
@@ -0,0 +1,253 @@
+package com.ryan.safetynet.alerts.service;
+
+import com.ryan.safetynet.alerts.dto.AddressInfoDTO;
+import com.ryan.safetynet.alerts.dto.ChildDTO;
+import com.ryan.safetynet.alerts.dto.CommunityEmailDTO;
+import com.ryan.safetynet.alerts.dto.PersonInfoDTO;
+import com.ryan.safetynet.alerts.dto.PersonWithMedicalInfoDTO;
+import com.ryan.safetynet.alerts.dto.PhoneAlertDTO;
+import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import com.ryan.safetynet.alerts.repository.DataSnapshot;
+import com.ryan.safetynet.alerts.utils.MedicalRecordUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Variante réactive des endpoints d'alerte en lecture seule.
+ * Chaque requête s'appuie sur l'instantané publié par le pipeline de mutations,
+ * capturé une seule fois : la réponse est cohérente sans prendre de verrou, même si
+ * le client la consomme lentement. Les éléments sont construits à la demande du
+ * consommateur ({@link Flux} avec contre-pression) au lieu d'assembler tout le graphe
+ * de DTO avant l'envoi.
+ *
+ * Les vérifications d'existence (station, adresse) sont faites immédiatement afin que
+ * les erreurs soient renvoyées avec le bon statut HTTP avant le début du flux.
+ * Les adresses sont comparées par l'identifiant de leur forme canonique ({@link AddressDictionary}).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveAlertService {
+
+    /**
+     * Taille des paquets des flux de chaînes (téléphones, emails) : un élément JSON
+     * par valeur serait trop coûteux, un seul élément annulerait l'intérêt du flux.
+     */
+    static final int CHUNK_SIZE = 50;
+
+    private final DataRepository dataRepository;
+    private final AddressDictionary addressDictionary;
+
+    /**
+     * Réponse /fire : numéro de la caserne et flux des résidents, issus du même instantané.
+     *
+     * @param station le numéro de la caserne couvrant l'adresse
+     * @param residents le flux des résidents avec leurs informations médicales
+     */
+    public record FireResidents(String station, Flux<PersonWithMedicalInfoDTO> residents) {
+    }
+
+    /**
+     * Caserne et résidents d'une adresse avec leurs informations médicales (/fire).
+     * L'en-tête et le corps de la réponse proviennent d'un seul instantané.
+     *
+     * @param address l'adresse
+     * @return le numéro de la caserne et le flux des résidents
+     * @throws ResourceNotFoundException si aucune station n'est associée à l'adresse
+     */
+    public FireResidents getFireResidents(String address) {
+        DataSnapshot snapshot = dataRepository.getSnapshot();
+        int id = addressDictionary.find(address);
+        String station = stationOf(snapshot, address, id);
+        log.debug("Flux /fire pour l'adresse {} (instantané {})", address, snapshot.getVersion());
+        return new FireResidents(station, Flux.fromIterable(snapshot.getPersons())
+                .filter(p -> addressDictionary.idOf(p.getAddress()) == id)
+                .map(p -> MedicalRecordUtils.extractMedicalInfo(p, snapshot.getMedicalRecords())));
+    }
+
+    /**
+     * Foyers couverts par des casernes, une adresse par élément (/flood/stations).
+     * Les adresses sont émises dans l'ordre des mappings de casernes, telles que saisies
+     * pour le premier mapping d'une même adresse canonique.
+     *
+     * @param stationNumbers les numéros de stations
+     * @return le flux des foyers
+     * @throws ResourceNotFoundException si une ou plusieurs stations n'existent pas
+     */
+    public Flux<AddressInfoDTO> getHouseholdsByStations(List<Integer> stationNumbers) {
+        DataSnapshot snapshot = dataRepository.getSnapshot();
+        Set<String> stations = stationNumbers.stream().map(String::valueOf).collect(Collectors.toSet());
+        List<String> missing = stations.stream()
+                .filter(station -> snapshot.getFireStations().stream().noneMatch(fs -> fs.getStation().equals(station)))
+                .sorted()
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException(String.format("Les stations suivantes n'existent pas : %s",
+                    String.join(", ", missing)));
+        }
+        log.debug("Flux /flood/stations pour les stations {} (instantané {})", stationNumbers, snapshot.getVersion());
+        return Flux.defer(() -> {
+            Map<Integer, List<Person>> personsByAddress = snapshot.getPersons().stream()
+                    .collect(Collectors.groupingBy(p -> addressDictionary.idOf(p.getAddress())));
+            Map<Integer, String> covered = new LinkedHashMap<>();
+            for (FireStation fs : snapshot.getFireStations()) {
+                if (stations.contains(fs.getStation())) {
+                    covered.putIfAbsent(addressDictionary.idOf(fs.getAddress()), fs.getAddress());
+                }
+            }
+            return Flux.fromIterable(covered.entrySet())
+                    .filter(entry -> personsByAddress.containsKey(entry.getKey()))
+                    .map(entry -> toAddressInfo(entry.getValue(), personsByAddress.get(entry.getKey()),
+                            snapshot.getMedicalRecords()));
+        });
+    }
+
+    /**
+     * Enfants (18 ans ou moins) vivant à une adresse (/childAlert).
+     * Les autres membres du foyer sont disponibles via {@link #getFireResidents(String)}.
+     *
+     * @param address l'adresse
+     * @return le flux des enfants
+     */
+    public Flux<ChildDTO> getChildrenAtAddress(String address) {
+        DataSnapshot snapshot = dataRepository.getSnapshot();
+        int id = addressDictionary.find(address);
+        if (id == AddressDictionary.NO_ID) {
+            return Flux.empty();
+        }
+        return Flux.fromIterable(snapshot.getPersons())
+                .filter(p -> addressDictionary.idOf(p.getAddress()) == id)
+                .map(p -> MedicalRecordUtils.extractMedicalInfo(p, snapshot.getMedicalRecords()))
+                .filter(info -> info.getAge() <= 18)
+                .map(info -> {
+                    ChildDTO child = new ChildDTO();
+                    child.setFirstName(info.getFirstName());
+                    child.setLastName(info.getLastName());
+                    child.setAge(info.getAge());
+                    return child;
+                });
+    }
+
+    /**
+     * Numéros de téléphone uniques des habitants couverts par une caserne (/phoneAlert),
+     * émis par paquets d'au plus {@value #CHUNK_SIZE} numéros.
+     *
+     * @param stationNumber le numéro de la caserne
+     * @return le flux des paquets de numéros de téléphone
+     */
+    public Flux<PhoneAlertDTO> getPhoneNumbersByStation(int stationNumber) {
+        DataSnapshot snapshot = dataRepository.getSnapshot();
+        String station = String.valueOf(stationNumber);
+        return Flux.defer(() -> {
+            Set<Integer> addresses = snapshot.getFireStations().stream()
+                    .filter(fs -> fs.getStation().equals(station))
+                    .map(fs -> addressDictionary.idOf(fs.getAddress()))
+                    .collect(Collectors.toSet());
+            return Flux.fromIterable(snapshot.getPersons())
+                    .filter(p -> addresses.contains(addressDictionary.idOf(p.getAddress())))
+                    .map(Person::getPhone)
+                    .distinct()
+                    .buffer(CHUNK_SIZE)
+                    .map(phoneNumbers -> {
+                        PhoneAlertDTO dto = new PhoneAlertDTO();
+                        dto.setPhoneNumbers(phoneNumbers);
+                        return dto;
+                    });
+        });
+    }
+
+    /**
+     * Adresses email uniques des habitants d'une ville, insensible à la casse (/communityEmail),
+     * émises par paquets d'au plus {@value #CHUNK_SIZE} adresses.
+     *
+     * @param city la ville
+     * @return le flux des paquets d'adresses email
+     */
+    public Flux<CommunityEmailDTO> getEmailsByCity(String city) {
+        DataSnapshot snapshot = dataRepository.getSnapshot();
+        return Flux.fromIterable(snapshot.getPersons())
+                .filter(p -> p.getCity().equalsIgnoreCase(city))
+                .map(Person::getEmail)
+                .distinct()
+                .buffer(CHUNK_SIZE)
+                .map(emails -> {
+                    CommunityEmailDTO dto = new CommunityEmailDTO();
+                    dto.setEmails(emails);
+                    return dto;
+                });
+    }
+
+    /**
+     * Informations d'une personne, insensible à la casse (/personInfo).
+     *
+     * @param firstName prénom
+     * @param lastName nom de famille
+     * @return un flux contenant au plus une personne
+     */
+    public Flux<PersonInfoDTO> getPersonInfo(String firstName, String lastName) {
+        DataSnapshot snapshot = dataRepository.getSnapshot();
+        return Flux.fromIterable(snapshot.getPersons())
+                .filter(p -> p.getFirstName().equalsIgnoreCase(firstName) && p.getLastName().equalsIgnoreCase(lastName))
+                .take(1)
+                .map(p -> toPersonInfo(p, snapshot.getMedicalRecords()));
+    }
+
+    /**
+     * Informations des personnes portant un nom de famille, insensible à la casse (/personInfo/byLastName).
+     *
+     * @param lastName nom de famille
+     * @return le flux des personnes
+     */
+    public Flux<PersonInfoDTO> getPersonsByLastName(String lastName) {
+        DataSnapshot snapshot = dataRepository.getSnapshot();
+        return Flux.fromIterable(snapshot.getPersons())
+                .filter(p -> p.getLastName().equalsIgnoreCase(lastName))
+                .map(p -> toPersonInfo(p, snapshot.getMedicalRecords()));
+    }
+
+    private String stationOf(DataSnapshot snapshot, String address, int id) {
+        return snapshot.getFireStations().stream()
+                .filter(fs -> id != AddressDictionary.NO_ID && addressDictionary.idOf(fs.getAddress()) == id)
+                .map(FireStation::getStation)
+                .findFirst()
+                .orElseThrow(() -> {
+                    log.error("Aucune station de pompiers n'est associée à l'adresse : {}", address);
+                    return new ResourceNotFoundException("Aucune station de pompiers n'est associée à l'adresse : " + address);
+                });
+    }
+
+    private static AddressInfoDTO toAddressInfo(String address, List<Person> residents, List<MedicalRecord> medicalRecords) {
+        AddressInfoDTO addressInfo = new AddressInfoDTO();
+        addressInfo.setAddress(address);
+        addressInfo.setResidents(residents.stream()
+                .map(p -> MedicalRecordUtils.extractMedicalInfo(p, medicalRecords))
+                .collect(Collectors.toList()));
+        return addressInfo;
+    }
+
+    private static PersonInfoDTO toPersonInfo(Person person, List<MedicalRecord> medicalRecords) {
+        PersonWithMedicalInfoDTO medicalInfo = MedicalRecordUtils.extractMedicalInfo(person, medicalRecords);
+        PersonInfoDTO dto = new PersonInfoDTO();
+        dto.setFirstName(person.getFirstName());
+        dto.setLastName(person.getLastName());
+        dto.setAddress(person.getAddress());
+        dto.setEmail(person.getEmail());
+        dto.setAge(medicalInfo.getAge());
+        dto.setMedications(medicalInfo.getMedications());
+        dto.setAllergies(medicalInfo.getAllergies());
+        return dto;
+    }
+}
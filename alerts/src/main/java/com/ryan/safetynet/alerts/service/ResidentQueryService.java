@@ -0,0 +1,434 @@
+package com.ryan.safetynet.alerts.service;
+
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.dto.QueryResidentDTO;
+import com.ryan.safetynet.alerts.dto.QueryStepDTO;
+import com.ryan.safetynet.alerts.dto.ResidentQueryResultDTO;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.CoverageBitmapIndex;
+import com.ryan.safetynet.alerts.index.MedicalTermIndex;
+import com.ryan.safetynet.alerts.index.ResidentView;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import com.ryan.safetynet.alerts.utils.AgeCalculator;
+import com.ryan.safetynet.alerts.utils.CaseFolding;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Service de requêtes filtrées sur les résidents : station, adresse, ville, code postal,
+ * tranche d'âge, médicament et allergie, combinés par un ET logique.
+ *
+ * Un petit planificateur choisit l'ordre d'évaluation des prédicats. Chaque prédicat indexé
+ * fournit une liste de résidents (bitmap de {@link CoverageBitmapIndex}, ensemble de
+ * {@link MedicalTermIndex}) dont la taille sert d'estimation ; la plus sélective est lue en premier,
+ * puis les suivantes sont soit intersectées, soit vérifiées une à une sur les candidats restants,
+ * selon l'option la moins coûteuse. Les prédicats sans index (l'âge exact) sont des filtres sur les
+ * candidats, et la requête ne parcourt l'ensemble des résidents qu'en l'absence de prédicat indexé.
+ * Tant que les index ne sont pas construits, les données sont parcourues.
+ *
+ * Le coût estimé est exprimé en opérations élémentaires : mot de bitmap lu, clé recherchée
+ * ou résident examiné. Il est retourné avec le plan.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ResidentQueryService {
+
+    static final String INDEX = "index";
+    static final String INTERSECT = "intersect";
+    static final String FILTER = "filter";
+    static final String SCAN = "scan";
+
+    private final DataRepository dataRepository;
+    private final StripedLockManager lockManager;
+    private final AddressDictionary addressDictionary;
+    private final CoverageBitmapIndex coverageBitmapIndex;
+    private final MedicalTermIndex medicalTermIndex;
+    private final ResidentView residentView;
+
+    /**
+     * Critères d'une requête ; un critère null est ignoré.
+     *
+     * @param stations stations dont la zone est interrogée (union)
+     * @param address adresse, comparée sous sa forme canonique
+     * @param city ville, insensible à la casse
+     * @param zip code postal
+     * @param minAge âge minimal inclus
+     * @param maxAge âge maximal inclus
+     * @param medication médicament, sans tenir compte de la posologie
+     * @param allergy allergie
+     */
+    public record Criteria(List<Integer> stations, String address, String city, String zip,
+                           Integer minAge, Integer maxAge, String medication, String allergy) {
+
+        /**
+         * @return true si aucun critère n'est donné
+         */
+        public boolean isEmpty() {
+            return (stations == null || stations.isEmpty()) && address == null && city == null && zip == null
+                    && minAge == null && maxAge == null && medication == null && allergy == null;
+        }
+
+        private boolean hasAge() {
+            return minAge != null || maxAge != null;
+        }
+
+        private boolean acceptsAge(int age) {
+            return (minAge == null || age >= minAge) && (maxAge == null || age <= maxAge);
+        }
+
+        private String ageLabel() {
+            return "age in [" + (minAge == null ? "" : minAge) + ", " + (maxAge == null ? "" : maxAge) + "]";
+        }
+    }
+
+    /**
+     * Prédicat évaluable sur les ordinaux des résidents : sous forme de liste (bitmap) ou
+     * de vérification unitaire. Un prédicat sans liste est un filtre. La liste n'est construite
+     * que si le plan la lit ou l'intersecte ; sa taille et la vérification unitaire sont obtenues
+     * sans la construire.
+     */
+    private record Predicate(String label, long rows, long cost, Supplier<BitSet> postings, IntPredicate test) {
+
+        private boolean indexed() {
+            return postings != null;
+        }
+    }
+
+    /**
+     * Étape du plan : un prédicat et le mode d'accès retenu.
+     */
+    private record Step(Predicate predicate, String access, long rows, long cost) {
+    }
+
+    /**
+     * Exécute une requête filtrée et retourne les résidents retenus avec le plan suivi.
+     *
+     * @param criteria les critères, combinés par un ET logique
+     * @return le plan, son coût estimé, le nombre de résidents examinés et les résidents retenus
+     * @throws IllegalArgumentException si aucun critère n'est donné ou si la tranche d'âge est vide
+     */
+    public ResidentQueryResultDTO query(Criteria criteria) {
+        if (criteria.isEmpty()) {
+            throw new IllegalArgumentException("Au moins un critère de recherche doit être indiqué");
+        }
+        if (criteria.minAge() != null && criteria.maxAge() != null && criteria.minAge() > criteria.maxAge()) {
+            throw new IllegalArgumentException("L'âge minimal ne peut pas dépasser l'âge maximal");
+        }
+        log.info("Requête filtrée sur les résidents : {}", criteria);
+
+        CoverageBitmapIndex.Snapshot snapshot = coverageBitmapIndex.snapshot();
+        ResidentQueryResultDTO result = snapshot == null || !residentView.isReady()
+                ? lockManager.read(List.of(), () -> scan(criteria, dataRepository.getData()))
+                : execute(plan(criteria, snapshot), snapshot);
+
+        log.info("Requête filtrée : {} résidents retenus sur {} examinés, coût estimé {}",
+                result.getResidents().size(), result.getExamined(), result.getEstimatedCost());
+        return result;
+    }
+
+    /**
+     * Construit le plan : le prédicat indexé le plus sélectif est lu en premier ; chaque prédicat indexé
+     * suivant est intersecté si sa liste coûte moins à lire que la vérification des candidats estimés,
+     * sinon il est vérifié candidat par candidat. Les candidats sont estimés en supposant les prédicats
+     * indépendants.
+     */
+    private List<Step> plan(Criteria criteria, CoverageBitmapIndex.Snapshot snapshot) {
+        int size = snapshot.count();
+        long words = words(snapshot.size());
+        List<Predicate> predicates = predicates(criteria, snapshot);
+        List<Predicate> indexed = new ArrayList<>();
+        List<Predicate> filters = new ArrayList<>();
+        for (Predicate predicate : predicates) {
+            (predicate.indexed() ? indexed : filters).add(predicate);
+        }
+        indexed.sort(Comparator.comparingLong(Predicate::rows));
+
+        List<Step> steps = new ArrayList<>();
+        long candidates;
+        if (indexed.isEmpty()) {
+            candidates = size;
+            steps.add(new Step(null, SCAN, size, size));
+        } else {
+            Predicate driving = indexed.get(0);
+            candidates = driving.rows();
+            steps.add(new Step(driving, INDEX, candidates, driving.cost()));
+            for (Predicate predicate : indexed.subList(1, indexed.size())) {
+                long remaining = size == 0 ? 0 : candidates * predicate.rows() / size;
+                if (predicate.cost() + words <= candidates) {
+                    steps.add(new Step(predicate, INTERSECT, remaining, predicate.cost() + words));
+                } else {
+                    steps.add(new Step(predicate, FILTER, remaining, candidates));
+                }
+                candidates = remaining;
+            }
+        }
+        for (Predicate filter : filters) {
+            // Sélectivité inconnue : le nombre de candidats est conservé comme borne haute
+            steps.add(new Step(filter, FILTER, candidates, candidates));
+        }
+        return steps;
+    }
+
+    /**
+     * Prédicats de la requête, avec la taille et le coût de lecture de leur liste lorsqu'ils sont indexés.
+     */
+    private List<Predicate> predicates(Criteria criteria, CoverageBitmapIndex.Snapshot snapshot) {
+        long words = words(snapshot.size());
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.stations() != null && !criteria.stations().isEmpty()) {
+            predicates.add(bitmap("station in " + criteria.stations(), snapshot.stationPostings(criteria.stations()), words));
+        }
+        if (criteria.address() != null) {
+            predicates.add(bitmap("address = " + criteria.address(), snapshot.addressPostings(criteria.address()), words));
+        }
+        if (criteria.city() != null) {
+            predicates.add(bitmap("city = " + criteria.city(), snapshot.cityPostings(criteria.city()), words));
+        }
+        if (criteria.zip() != null) {
+            predicates.add(bitmap("zip = " + criteria.zip(), snapshot.zipPostings(criteria.zip()), words));
+        }
+        if (criteria.maxAge() != null && criteria.maxAge() <= CoverageBitmapIndex.CHILD_MAX_AGE) {
+            // Le bitmap des enfants borne la tranche d'âge ; l'âge exact reste vérifié par le filtre
+            predicates.add(bitmap("age <= " + CoverageBitmapIndex.CHILD_MAX_AGE, snapshot.childPostings(), words));
+        }
+        if (criteria.hasAge()) {
+            LocalDate today = LocalDate.now();
+            predicates.add(new Predicate(criteria.ageLabel(), snapshot.count(), 0, null, ordinal -> {
+                LocalDate birthdate = snapshot.birthdate(ordinal);
+                return birthdate != null && criteria.acceptsAge(AgeCalculator.calculateAge(birthdate, today));
+            }));
+        }
+        if (criteria.medication() != null) {
+            predicates.add(term("medication = " + criteria.medication(), criteria.medication(), true, snapshot));
+        }
+        if (criteria.allergy() != null) {
+            predicates.add(term("allergy = " + criteria.allergy(), criteria.allergy(), false, snapshot));
+        }
+        return predicates;
+    }
+
+    private static Predicate bitmap(String label, CoverageBitmapIndex.Postings postings, long words) {
+        return new Predicate(label, postings.cardinality(), words, postings::toBitSet, postings::contains);
+    }
+
+    /**
+     * Prédicat médical : la liste est l'ensemble des résidents de l'index des termes, dont chaque clé
+     * est recherchée pour obtenir les ordinaux ; sans index, il est vérifié sur le dossier de chaque
+     * candidat.
+     */
+    private Predicate term(String label, String value, boolean medication, CoverageBitmapIndex.Snapshot snapshot) {
+        if (medicalTermIndex.isReady()) {
+            Set<String> keys = medication
+                    ? medicalTermIndex.withMedication(value)
+                    : medicalTermIndex.withAllergy(value);
+            return new Predicate(label, keys.size(), keys.size(), () -> snapshot.residents(keys), ordinal -> {
+                Person person = snapshot.person(ordinal);
+                return keys.contains(MedicalTermIndex.residentKey(person.getFirstName(), person.getLastName()));
+            });
+        }
+        String term = MedicalTermIndex.normalizeTerm(value);
+        return new Predicate(label, snapshot.count(), 0, null, ordinal -> {
+            ResidentView.Resident resident = resident(snapshot.person(ordinal));
+            return resident != null && resident.hasMedicalRecord()
+                    && mentions(medication ? resident.medications() : resident.allergies(), term);
+        });
+    }
+
+    private ResidentQueryResultDTO execute(List<Step> steps, CoverageBitmapIndex.Snapshot snapshot) {
+        BitSet candidates = null;
+        List<IntPredicate> filters = new ArrayList<>();
+        for (Step step : steps) {
+            switch (step.access()) {
+                case SCAN -> candidates = snapshot.all();
+                case INDEX -> candidates = step.predicate().postings().get();
+                case INTERSECT -> candidates.and(step.predicate().postings().get());
+                default -> filters.add(step.predicate().test());
+            }
+        }
+
+        int examined = 0;
+        List<QueryResidentDTO> residents = new ArrayList<>();
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            examined++;
+            if (accepts(filters, ordinal)) {
+                Person person = snapshot.person(ordinal);
+                residents.add(toQueryResident(person, resident(person)));
+            }
+        }
+        return result(steps, examined, residents);
+    }
+
+    private static boolean accepts(List<IntPredicate> filters, int ordinal) {
+        for (IntPredicate filter : filters) {
+            if (!filter.test(ordinal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parcours des données, tant que les index ne sont pas construits : chaque prédicat est vérifié
+     * sur chaque personne.
+     */
+    private ResidentQueryResultDTO scan(Criteria criteria, Data data) {
+        List<Person> persons = data.getPersons();
+        Map<String, MedicalRecord> records = new HashMap<>();
+        for (MedicalRecord record : data.getMedicalRecords()) {
+            records.putIfAbsent(MedicalTermIndex.residentKey(record.getFirstName(), record.getLastName()), record);
+        }
+        Map<Integer, List<String>> stationsByAddress = new HashMap<>();
+        for (FireStation fireStation : data.getFireStations()) {
+            int id = addressDictionary.idOf(fireStation.getAddress());
+            stationsByAddress.computeIfAbsent(id, key -> new ArrayList<>()).add(fireStation.getStation());
+        }
+
+        LocalDate today = LocalDate.now();
+        List<QueryResidentDTO> residents = new ArrayList<>();
+        for (Person person : persons) {
+            int id = addressDictionary.idOf(person.getAddress());
+            List<String> stations = stationsByAddress.getOrDefault(id, List.of());
+            MedicalRecord record = records.get(
+                    MedicalTermIndex.residentKey(person.getFirstName(), person.getLastName()));
+            if (matches(criteria, person, stations, record, today)) {
+                residents.add(toQueryResident(person, record, stations.isEmpty() ? null : stations.get(0)));
+            }
+        }
+
+        List<Step> steps = new ArrayList<>();
+        steps.add(new Step(null, SCAN, persons.size(), persons.size()));
+        return result(steps, persons.size(), residents);
+    }
+
+    private boolean matches(Criteria criteria, Person person, List<String> stations, MedicalRecord record,
+                            LocalDate today) {
+        if (criteria.stations() != null && !criteria.stations().isEmpty()
+                && criteria.stations().stream().noneMatch(station -> stations.contains(String.valueOf(station)))) {
+            return false;
+        }
+        if (criteria.address() != null) {
+            int id = addressDictionary.find(criteria.address());
+            if (id == AddressDictionary.NO_ID || addressDictionary.idOf(person.getAddress()) != id) {
+                return false;
+            }
+        }
+        if (criteria.city() != null && !CaseFolding.fold(criteria.city()).equals(CaseFolding.fold(person.getCity()))) {
+            return false;
+        }
+        if (criteria.zip() != null && !criteria.zip().equals(person.getZip())) {
+            return false;
+        }
+        if (criteria.hasAge() && (record == null || record.getBirthdate() == null
+                || !criteria.acceptsAge(AgeCalculator.calculateAge(record.getBirthdate(), today)))) {
+            return false;
+        }
+        if (criteria.medication() != null && (record == null
+                || !mentions(record.getMedications(), MedicalTermIndex.normalizeTerm(criteria.medication())))) {
+            return false;
+        }
+        return criteria.allergy() == null || (record != null
+                && mentions(record.getAllergies(), MedicalTermIndex.normalizeTerm(criteria.allergy())));
+    }
+
+    private static ResidentQueryResultDTO result(List<Step> steps, int examined, List<QueryResidentDTO> residents) {
+        List<QueryStepDTO> plan = new ArrayList<>(steps.size());
+        long estimatedCost = 0;
+        for (Step step : steps) {
+            QueryStepDTO dto = new QueryStepDTO();
+            dto.setPredicate(step.predicate() == null ? "*" : step.predicate().label());
+            dto.setAccess(step.access());
+            dto.setEstimatedRows(step.rows());
+            dto.setEstimatedCost(step.cost());
+            plan.add(dto);
+            estimatedCost += step.cost();
+        }
+        ResidentQueryResultDTO result = new ResidentQueryResultDTO();
+        result.setPlan(plan);
+        result.setEstimatedCost(estimatedCost);
+        result.setExamined(examined);
+        result.setResidents(residents);
+        return result;
+    }
+
+    /**
+     * Retrouve le résident joint d'une personne parmi les résidents de son adresse.
+     */
+    private ResidentView.Resident resident(Person person) {
+        for (ResidentView.Resident resident : residentView.residentsAt(person.getAddress())) {
+            if (resident.firstName().equals(person.getFirstName())
+                    && resident.lastName().equals(person.getLastName())) {
+                return resident;
+            }
+        }
+        return null;
+    }
+
+    private static boolean mentions(List<String> values, String term) {
+        if (values == null) {
+            return false;
+        }
+        for (String value : values) {
+            if (term.equals(MedicalTermIndex.normalizeTerm(value))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long words(int size) {
+        return (size + 63L) / 64;
+    }
+
+    private static QueryResidentDTO toQueryResident(Person person, ResidentView.Resident resident) {
+        QueryResidentDTO dto = identity(person);
+        if (resident != null) {
+            dto.setStation(resident.station());
+            if (resident.hasMedicalRecord()) {
+                dto.setAge(resident.age());
+                dto.setMedications(resident.medications());
+                dto.setAllergies(resident.allergies());
+            }
+        }
+        return dto;
+    }
+
+    private static QueryResidentDTO toQueryResident(Person person, MedicalRecord record, String station) {
+        QueryResidentDTO dto = identity(person);
+        dto.setStation(station);
+        if (record != null && record.getBirthdate() != null) {
+            dto.setAge(AgeCalculator.calculateAge(record.getBirthdate()));
+            dto.setMedications(record.getMedications());
+            dto.setAllergies(record.getAllergies());
+        }
+        return dto;
+    }
+
+    private static QueryResidentDTO identity(Person person) {
+        QueryResidentDTO dto = new QueryResidentDTO();
+        dto.setFirstName(person.getFirstName());
+        dto.setLastName(person.getLastName());
+        dto.setAddress(person.getAddress());
+        dto.setCity(person.getCity());
+        dto.setZip(person.getZip());
+        dto.setPhone(person.getPhone());
+        dto.setEmail(person.getEmail());
+        return dto;
+    }
+}
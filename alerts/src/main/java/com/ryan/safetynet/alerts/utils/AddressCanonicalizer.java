@@ -0,0 +1,77 @@
+package com.ryan.safetynet.alerts.utils;
+
+import java.util.Map;
+
+public class AddressCanonicalizer {
+
+    /**
+     * Abréviations usuelles des types de voie, appliquées au dernier mot de l'adresse.
+     */
+    private static final Map<String, String> STREET_SUFFIXES = Map.ofEntries(
+            Map.entry("street", "st"),
+            Map.entry("str", "st"),
+            Map.entry("avenue", "ave"),
+            Map.entry("av", "ave"),
+            Map.entry("road", "rd"),
+            Map.entry("drive", "dr"),
+            Map.entry("boulevard", "blvd"),
+            Map.entry("lane", "ln"),
+            Map.entry("court", "ct"),
+            Map.entry("place", "pl"),
+            Map.entry("circle", "cir"),
+            Map.entry("parkway", "pkwy"),
+            Map.entry("highway", "hwy"),
+            Map.entry("terrace", "ter"),
+            Map.entry("square", "sq")
+    );
+
+    /**
+     * Constructeur privé pour empêcher l'instanciation de cette classe utilitaire.
+     */
+    private AddressCanonicalizer() {
+    }
+
+    /**
+     * Calcule la forme canonique d'une adresse, utilisée pour comparer des adresses saisies
+     * différemment : casse repliée, ponctuation (points et virgules) retirée, espaces
+     * normalisés et type de voie abrégé (« 1509 Culver Street. » devient « 1509 culver st »).
+     * L'adresse d'origine n'est pas modifiée : elle reste celle affichée dans les réponses.
+     *
+     * @param address l'adresse (peut être null)
+     * @return la forme canonique, ou null si l'adresse est null
+     */
+    public static String canonicalize(String address) {
+        if (address == null) {
+            return null;
+        }
+        String folded = CaseFolding.fold(address);
+        StringBuilder canonical = new StringBuilder(folded.length());
+        int lastWord = 0;
+        int i = 0;
+        while (i < folded.length()) {
+            while (i < folded.length() && isSeparator(folded.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < folded.length() && !isSeparator(folded.charAt(i))) {
+                i++;
+            }
+            if (start < i) {
+                if (canonical.length() > 0) {
+                    canonical.append(' ');
+                }
+                lastWord = canonical.length();
+                canonical.append(folded, start, i);
+            }
+        }
+        String suffix = STREET_SUFFIXES.get(canonical.substring(lastWord));
+        if (suffix != null && lastWord > 0) {
+            canonical.replace(lastWord, canonical.length(), suffix);
+        }
+        return canonical.toString();
+    }
+
+    private static boolean isSeparator(char c) {
+        return Character.isWhitespace(c) || c == ',' || c == '.';
+    }
+}
@@ -19,6 +19,35 @@ public class AgeCalculator {
      * @return l'âge de la personne en années
      */
     public static int calculateAge(LocalDate birthdate) {
-        return Period.between(birthdate, LocalDate.now()).getYears();
+        return calculateAge(birthdate, LocalDate.now());
+    }
+
+    /**
+     * Calcule l'âge d'une personne en années à une date donnée.
+     *
+     * @param birthdate la date de naissance de la personne
+     * @param date la date à laquelle l'âge est calculé
+     * @return l'âge de la personne en années à cette date
+     */
+    public static int calculateAge(LocalDate birthdate, LocalDate date) {
+        return Period.between(birthdate, date).getYears();
+    }
+
+    /**
+     * Calcule le premier jour postérieur à une date où l'âge d'une personne change,
+     * c'est-à-dire son prochain anniversaire (le 1er mars pour une personne née un 29 février
+     * les années non bissextiles).
+     *
+     * @param birthdate la date de naissance de la personne
+     * @param date la date de référence
+     * @return la date du prochain changement d'âge
+     */
+    public static LocalDate nextAgeChange(LocalDate birthdate, LocalDate date) {
+        int age = calculateAge(birthdate, date);
+        LocalDate next = birthdate.plusYears(age + 1L);
+        while (!next.isAfter(date) || calculateAge(birthdate, next) <= age) {
+            next = next.plusDays(1);
+        }
+        return next;
     }
 }
@@ -0,0 +1,27 @@
+package com.ryan.safetynet.alerts.utils;
+
+import java.util.Locale;
+
+public class CaseFolding {
+
+    /**
+     * Constructeur privé pour empêcher l'instanciation de cette classe utilitaire.
+     */
+    private CaseFolding() {
+    }
+
+    /**
+     * Normalise une chaîne pour les comparaisons insensibles à la casse.
+     * Le passage en majuscules puis en minuscules, indépendant de la locale, replie
+     * les formes qu'un simple {@code toLowerCase} ne rapproche pas (« ß » et « SS », par exemple).
+     *
+     * @param value la chaîne à normaliser (peut être null)
+     * @return la clé normalisée, ou null si la chaîne est null
+     */
+    public static String fold(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+}
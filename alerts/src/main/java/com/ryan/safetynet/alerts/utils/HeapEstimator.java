@@ -0,0 +1,132 @@
+package com.ryan.safetynet.alerts.utils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Estimation de l'empreinte mémoire d'objets sur le tas, pour une JVM 64 bits avec références
+ * compressées (cas par défaut en deçà de 32 Go de tas) : en-tête d'objet de 12 octets,
+ * référence de 4 octets, tableaux avec en-tête de 16 octets, alignement sur 8 octets.
+ * Les chaînes sont supposées compactes (Latin-1, un octet par caractère).
+ *
+ * Les chaînes sont comptées une seule fois par instance : un {@link Counter} garde la trace
+ * des instances déjà vues, de sorte que deux champs partageant la même chaîne ne la comptent pas deux fois.
+ */
+public final class HeapEstimator {
+
+    public static final int OBJECT_HEADER = 12;
+    public static final int ARRAY_HEADER = 16;
+    public static final int REFERENCE = 4;
+
+    /**
+     * Constructeur privé pour empêcher l'instanciation de cette classe utilitaire.
+     */
+    private HeapEstimator() {
+    }
+
+    /**
+     * @param fieldBytes taille cumulée des champs de l'objet (références et primitifs)
+     * @return la taille de l'objet, en-tête et alignement compris
+     */
+    public static long objectBytes(long fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    /**
+     * @param length nombre d'éléments
+     * @param elementBytes taille d'un élément (4 pour un int ou une référence)
+     * @return la taille du tableau
+     */
+    public static long arrayBytes(long length, int elementBytes) {
+        return align(ARRAY_HEADER + length * elementBytes);
+    }
+
+    /**
+     * @param value une chaîne
+     * @return la taille de la chaîne et de son tableau d'octets, 0 pour null
+     */
+    public static long stringBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        // String : référence vers le tableau, hash (int), coder et hashIsZero (byte)
+        return objectBytes(REFERENCE + 4 + 1 + 1) + arrayBytes(value.length(), 1);
+    }
+
+    /**
+     * @param size nombre d'éléments
+     * @return la taille d'une {@link java.util.ArrayList} et de son tableau, hors éléments
+     */
+    public static long arrayListBytes(int size) {
+        // ArrayList : size, modCount (int) et référence vers le tableau
+        return objectBytes(4 + 4 + REFERENCE) + arrayBytes(size, REFERENCE);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Compteur cumulant des tailles et ne comptant chaque instance de chaîne qu'une fois.
+     */
+    public static final class Counter {
+        private final Set<String> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final boolean shareInstances;
+        private long bytes;
+
+        /**
+         * Construit un compteur tenant compte des chaînes partagées.
+         */
+        public Counter() {
+            this(true);
+        }
+
+        /**
+         * @param shareInstances false pour compter chaque occurrence comme une instance distincte,
+         *                       ce qui estime l'empreinte des données sans dédoublonnage
+         */
+        public Counter(boolean shareInstances) {
+            this.shareInstances = shareInstances;
+        }
+
+        /**
+         * @param value une chaîne, comptée si cette instance n'a pas encore été vue
+         * @return ce compteur
+         */
+        public Counter string(String value) {
+            if (value != null && (!shareInstances || seen.add(value))) {
+                bytes += stringBytes(value);
+            }
+            return this;
+        }
+
+        /**
+         * @param values des chaînes, chacune comptée si son instance n'a pas encore été vue
+         * @return ce compteur
+         */
+        public Counter strings(Collection<String> values) {
+            if (values != null) {
+                values.forEach(this::string);
+            }
+            return this;
+        }
+
+        /**
+         * @param size une taille déjà calculée
+         * @return ce compteur
+         */
+        public Counter add(long size) {
+            bytes += size;
+            return this;
+        }
+
+        /**
+         * @return la taille cumulée en octets
+         */
+        public long bytes() {
+            return bytes;
+        }
+    }
+}
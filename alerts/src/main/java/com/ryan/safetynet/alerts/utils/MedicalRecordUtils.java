@@ -1,6 +1,7 @@
 package com.ryan.safetynet.alerts.utils;
 
 import com.ryan.safetynet.alerts.dto.PersonWithMedicalInfoDTO;
+import com.ryan.safetynet.alerts.index.ResidentView;
 import com.ryan.safetynet.alerts.model.MedicalRecord;
 import com.ryan.safetynet.alerts.model.Person;
 import lombok.extern.slf4j.Slf4j;
@@ -66,13 +67,25 @@ public class MedicalRecordUtils {
                         mr.getLastName().equals(person.getLastName()))
                 .findFirst();
 
-        if (medicalRecordOpt.isEmpty()) {
+        return toMedicalInfo(person, medicalRecordOpt.orElse(null));
+    }
+
+    /**
+     * Crée un DTO avec les informations médicales d'une personne à partir de son dossier,
+     * lorsque celui-ci a déjà été trouvé (par un index, par exemple).
+     *
+     * @param person la personne dont on veut extraire les informations
+     * @param medicalRecord le dossier médical de la personne, ou null s'il n'existe pas
+     * @return un DTO contenant les informations de la personne avec ses données médicales
+     * @throws IllegalStateException si le dossier médical est null
+     */
+    public static PersonWithMedicalInfoDTO toMedicalInfo(Person person, MedicalRecord medicalRecord) {
+        if (medicalRecord == null) {
             log.error("Dossier médical non trouvé pour {} {}", person.getFirstName(), person.getLastName());
             throw new IllegalStateException("Dossier médical non trouvé pour " +
                     person.getFirstName() + " " + person.getLastName());
         }
 
-        MedicalRecord medicalRecord = medicalRecordOpt.get();
         int age = AgeCalculator.calculateAge(medicalRecord.getBirthdate());
         log.debug("Âge calculé pour {} {}: {} ans", person.getFirstName(), person.getLastName(), age);
 
@@ -91,4 +104,27 @@ public class MedicalRecordUtils {
 
         return dto;
     }
+
+    /**
+     * Crée un DTO avec les informations médicales d'un résident de la vue matérialisée.
+     *
+     * @param resident le résident pré-joint
+     * @return un DTO contenant les informations de la personne avec ses données médicales
+     * @throws IllegalStateException si le résident n'a pas de dossier médical
+     */
+    public static PersonWithMedicalInfoDTO toMedicalInfo(ResidentView.Resident resident) {
+        if (!resident.hasMedicalRecord()) {
+            log.error("Dossier médical non trouvé pour {} {}", resident.firstName(), resident.lastName());
+            throw new IllegalStateException("Dossier médical non trouvé pour " +
+                    resident.firstName() + " " + resident.lastName());
+        }
+        PersonWithMedicalInfoDTO dto = new PersonWithMedicalInfoDTO();
+        dto.setFirstName(resident.firstName());
+        dto.setLastName(resident.lastName());
+        dto.setPhone(resident.phone());
+        dto.setAge(resident.age());
+        dto.setMedications(resident.medications());
+        dto.setAllergies(resident.allergies());
+        return dto;
+    }
 }
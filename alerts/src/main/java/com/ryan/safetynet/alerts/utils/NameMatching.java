@@ -0,0 +1,90 @@
+package com.ryan.safetynet.alerts.utils;
+
+import java.text.Normalizer;
+
+public class NameMatching {
+
+    /**
+     * Codes Soundex des lettres A à Z (0 pour les voyelles et lettres ignorées).
+     */
+    private static final String SOUNDEX_CODES = "01230120022455012623010202";
+
+    /**
+     * Constructeur privé pour empêcher l'instanciation de cette classe utilitaire.
+     */
+    private NameMatching() {
+    }
+
+    /**
+     * Calcule le code Soundex d'un nom : sa première lettre suivie de trois chiffres
+     * représentant les consonnes suivantes, de sorte que des noms qui se prononcent
+     * de la même manière (« Boyd » et « Boid ») partagent le même code.
+     * Les accents sont retirés et les caractères autres que des lettres sont ignorés.
+     *
+     * @param name le nom à coder (peut être null)
+     * @return le code Soundex, ou une chaîne vide si le nom ne contient aucune lettre
+     */
+    public static String soundex(String name) {
+        if (name == null) {
+            return "";
+        }
+        String letters = Normalizer.normalize(name, Normalizer.Form.NFD).toUpperCase();
+        StringBuilder code = new StringBuilder(4);
+        char previous = 0;
+        for (int i = 0; i < letters.length() && code.length() < 4; i++) {
+            char c = letters.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                continue;
+            }
+            char digit = SOUNDEX_CODES.charAt(c - 'A');
+            if (code.length() == 0) {
+                code.append(c);
+                previous = digit;
+            } else if (digit != '0' && digit != previous) {
+                code.append(digit);
+                previous = digit;
+            } else if (c != 'H' && c != 'W') {
+                // Une voyelle sépare deux consonnes de même code, contrairement à H et W
+                previous = digit;
+            }
+        }
+        if (code.length() == 0) {
+            return "";
+        }
+        while (code.length() < 4) {
+            code.append('0');
+        }
+        return code.toString();
+    }
+
+    /**
+     * Calcule la distance d'édition (Levenshtein) entre deux chaînes : le nombre minimal
+     * d'insertions, suppressions ou substitutions de caractères pour passer de l'une à l'autre.
+     *
+     * @param a la première chaîne
+     * @param b la seconde chaîne
+     * @return la distance d'édition
+     */
+    public static int levenshtein(String a, String b) {
+        if (a.equals(b)) {
+            return 0;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,82 @@
+package com.ryan.safetynet.alerts.utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codage des numéros de téléphone au format XXX-XXX-XXXX (celui imposé par {@link com.ryan.safetynet.alerts.model.Person})
+ * en entiers longs : les dix chiffres forment la valeur, les tirets sont restitués au formatage.
+ * Un numéro codé tient dans un long au lieu d'une chaîne et de son tableau d'octets.
+ */
+public final class PhoneNumbers {
+
+    /**
+     * Code d'un numéro qui ne respecte pas le format XXX-XXX-XXXX.
+     */
+    public static final long INVALID = -1L;
+
+    /**
+     * Longueur d'un numéro formaté.
+     */
+    public static final int FORMATTED_LENGTH = 12;
+
+    /**
+     * Constructeur privé pour empêcher l'instanciation de cette classe utilitaire.
+     */
+    private PhoneNumbers() {
+    }
+
+    /**
+     * @param phone un numéro au format XXX-XXX-XXXX
+     * @return son code, ou {@link #INVALID} si le format n'est pas respecté
+     */
+    public static long encode(String phone) {
+        if (phone == null || phone.length() != FORMATTED_LENGTH) {
+            return INVALID;
+        }
+        long code = 0;
+        for (int i = 0; i < FORMATTED_LENGTH; i++) {
+            char c = phone.charAt(i);
+            if (i == 3 || i == 7) {
+                if (c != '-') {
+                    return INVALID;
+                }
+            } else if (c >= '0' && c <= '9') {
+                code = code * 10 + (c - '0');
+            } else {
+                return INVALID;
+            }
+        }
+        return code;
+    }
+
+    /**
+     * Écrit le numéro formaté en ASCII, sans allocation.
+     *
+     * @param code le code d'un numéro
+     * @param out le tableau de destination
+     * @param offset la position d'écriture
+     * @return la position suivant le numéro écrit
+     */
+    public static int format(long code, byte[] out, int offset) {
+        long remaining = code;
+        for (int i = FORMATTED_LENGTH - 1; i >= 0; i--) {
+            if (i == 3 || i == 7) {
+                out[offset + i] = '-';
+            } else {
+                out[offset + i] = (byte) ('0' + remaining % 10);
+                remaining /= 10;
+            }
+        }
+        return offset + FORMATTED_LENGTH;
+    }
+
+    /**
+     * @param code le code d'un numéro
+     * @return le numéro formaté XXX-XXX-XXXX
+     */
+    public static String format(long code) {
+        byte[] bytes = new byte[FORMATTED_LENGTH];
+        format(code, bytes, 0);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
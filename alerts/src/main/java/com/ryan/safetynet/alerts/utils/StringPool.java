@@ -0,0 +1,121 @@
+package com.ryan.safetynet.alerts.utils;
+
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionnaire des valeurs répétées d'un chargement du fichier de données. Chaque valeur est
+ * remplacée par une instance canonique partagée : les milliers de personnes d'une même ville
+ * référencent une seule chaîne au lieu d'une copie par objet désérialisé.
+ *
+ * Un dictionnaire est créé pour une lecture du fichier puis abandonné : il ne retient rien au-delà
+ * du chargement. Il est borné : une fois sa capacité atteinte, les nouvelles valeurs sont conservées
+ * telles quelles. Seuls les attributs de faible cardinalité lui sont confiés (villes, codes postaux,
+ * numéros de station, médicaments, allergies) ; les noms et adresses, presque tous distincts ou
+ * partagés par quelques personnes, coûteraient plus en entrées qu'ils n'économisent.
+ * Non synchronisé : réservé au thread qui charge les données.
+ */
+public final class StringPool {
+
+    /**
+     * Nombre maximal de valeurs distinctes retenues par défaut.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final Map<String, String> values = new HashMap<>();
+    private final int capacity;
+    private long hits;
+
+    public StringPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity nombre maximal de valeurs distinctes retenues
+     */
+    public StringPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Remplace les attributs de faible cardinalité des données par leurs instances canoniques.
+     *
+     * @param data les données qui viennent d'être désérialisées
+     * @return ce dictionnaire
+     */
+    public StringPool deduplicate(Data data) {
+        if (data.getPersons() != null) {
+            for (Person person : data.getPersons()) {
+                person.setCity(canonical(person.getCity()));
+                person.setZip(canonical(person.getZip()));
+            }
+        }
+        if (data.getFireStations() != null) {
+            for (FireStation fireStation : data.getFireStations()) {
+                fireStation.setStation(canonical(fireStation.getStation()));
+            }
+        }
+        if (data.getMedicalRecords() != null) {
+            for (MedicalRecord record : data.getMedicalRecords()) {
+                record.setMedications(canonical(record.getMedications()));
+                record.setAllergies(canonical(record.getAllergies()));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @param value une valeur
+     * @return l'instance canonique égale à la valeur, la valeur elle-même si elle est nouvelle, ou null
+     */
+    public String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = values.get(value);
+        if (canonical != null) {
+            hits++;
+            return canonical;
+        }
+        if (values.size() < capacity) {
+            values.put(value, value);
+        }
+        return value;
+    }
+
+    /**
+     * @param values une liste de valeurs
+     * @return une nouvelle liste, à la taille exacte, des instances canoniques, ou null
+     */
+    public List<String> canonical(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        List<String> canonical = new ArrayList<>(values.size());
+        for (String value : values) {
+            canonical.add(canonical(value));
+        }
+        return canonical;
+    }
+
+    /**
+     * @return le nombre de valeurs distinctes retenues
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * @return le nombre de valeurs remplacées par une instance déjà présente
+     */
+    public long hits() {
+        return hits;
+    }
+}
@@ -48,4 +48,43 @@ class AlertsApplicationTests {
 		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
 	}
 
+	@Test
+	void testReactiveEndpointsStreamNdjson() {
+		// Les endpoints /reactive émettent un objet JSON par ligne
+		ResponseEntity<String> response = restTemplate.getForEntity("/reactive/communityEmail?city=Culver", String.class);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertNotNull(response.getBody());
+		assertTrue(response.getBody().startsWith("{\"emails\":["));
+
+		ResponseEntity<String> fire = restTemplate.getForEntity("/reactive/fire?address=1509 Culver St", String.class);
+		assertEquals(HttpStatus.OK, fire.getStatusCode());
+		assertNotNull(fire.getBody());
+		assertEquals(5, fire.getBody().lines().count());
+		assertEquals("3", fire.getHeaders().getFirst("X-Fire-Station-Number"));
+	}
+
+	@Test
+	void testReactiveEndpointsErrorHandling() {
+		ResponseEntity<String> response = restTemplate.getForEntity("/reactive/fire?address=unknown", String.class);
+		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+
+		ResponseEntity<String> flood = restTemplate.getForEntity("/reactive/flood/stations?stations=abc", String.class);
+		assertEquals(HttpStatus.BAD_REQUEST, flood.getStatusCode());
+	}
+
+	@Test
+	void testProbesReportIndexState() {
+		// La sonde readiness répond pendant la construction des index, avec leur état
+		ResponseEntity<String> readiness = restTemplate.getForEntity("/actuator/health/readiness", String.class);
+		assertEquals(HttpStatus.OK, readiness.getStatusCode());
+		assertNotNull(readiness.getBody());
+		assertTrue(readiness.getBody().matches("(?s).*\"state\":\"(indexing|ready)\".*"), readiness.getBody());
+
+		// La sonde liveness ne dépend pas des index
+		ResponseEntity<String> liveness = restTemplate.getForEntity("/actuator/health/liveness", String.class);
+		assertEquals(HttpStatus.OK, liveness.getStatusCode());
+		assertNotNull(liveness.getBody());
+		assertFalse(liveness.getBody().contains("\"index\""), liveness.getBody());
+	}
+
 }
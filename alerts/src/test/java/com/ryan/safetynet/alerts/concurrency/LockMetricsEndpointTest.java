@@ -0,0 +1,46 @@
+package com.ryan.safetynet.alerts.concurrency;
+
+import com.ryan.safetynet.alerts.dto.LockStripeStatsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'endpoint LockMetricsEndpoint")
+class LockMetricsEndpointTest {
+
+    private StripedLockManager lockManager;
+    private LockMetricsEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        lockManager = new StripedLockManager(4);
+        endpoint = new LockMetricsEndpoint(lockManager);
+    }
+
+    @Test
+    @DisplayName("Test de récupération des métriques de toutes les partitions")
+    void testStripes() {
+        // Arrange
+        lockManager.write(List.of("station:1"), false, () -> null);
+
+        // Act
+        List<LockStripeStatsDTO> stats = endpoint.stripes();
+
+        // Assert
+        assertEquals(5, stats.size());
+        assertEquals(1, stats.stream().mapToLong(LockStripeStatsDTO::getWriteLocks).sum());
+    }
+
+    @Test
+    @DisplayName("Test de récupération des métriques d'une partition")
+    void testStripe() {
+        // Act & Assert
+        assertEquals(-1, endpoint.stripe(-1).getStripe());
+        assertEquals(3, endpoint.stripe(3).getStripe());
+        assertNull(endpoint.stripe(4));
+    }
+}
@@ -0,0 +1,314 @@
+package com.ryan.safetynet.alerts.concurrency;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.event.DataChangeListener;
+import com.ryan.safetynet.alerts.exception.MutationRejectedException;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du pipeline de mutations MutationPipeline")
+class MutationPipelineTest {
+
+    @Mock
+    private DataRepository dataRepository;
+
+    @Mock
+    private DataChangeListener listener;
+
+    private MutationPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test d'une mutation appliquée, publiée puis persistée")
+    void testSubmit_AppliesNotifiesPublishesAndPersists() throws IOException {
+        // Arrange
+        pipeline = new MutationPipeline(dataRepository, List.of(listener));
+        Person person = new Person("John", "Doe", "1509 Culver St", "Culver", "97451", "841-874-6512", "john@email.com");
+
+        // Act
+        MutationTicket<Person> ticket = pipeline.submit(context -> {
+            context.changed(DataChange.added(person));
+            return person;
+        });
+
+        // Assert
+        assertSame(person, ticket.awaitDurable());
+        assertTrue(ticket.visible().isDone());
+        InOrder inOrder = inOrder(listener, dataRepository);
+        inOrder.verify(listener).onDataChanged(anyList());
+        inOrder.verify(dataRepository).publishSnapshot();
+        inOrder.verify(dataRepository).saveData();
+        assertEquals(1, pipeline.getAppliedCount());
+    }
+
+    @Test
+    @DisplayName("Test de la notification de chaque mutation avant celle de son lot")
+    void testSubmit_NotifiesEachMutationBeforeBatch() throws IOException {
+        // Arrange
+        List<Integer> seenByMutations = new CopyOnWriteArrayList<>();
+        List<DataChange> applied = new CopyOnWriteArrayList<>();
+        DataChangeListener recorder = new DataChangeListener() {
+            @Override
+            public void onDataChanged(List<DataChange> changes) {
+            }
+
+            @Override
+            public void onMutationApplied(List<DataChange> changes) {
+                applied.addAll(changes);
+            }
+        };
+        pipeline = new MutationPipeline(dataRepository, List.of(recorder, listener), 16, 8);
+        Person person = new Person("John", "Doe", "1509 Culver St", "Culver", "97451", "841-874-6512", "john@email.com");
+
+        // Act : chaque mutation relève ce que les mutations précédentes ont déjà notifié
+        List<MutationTicket<Person>> tickets = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tickets.add(pipeline.submit(context -> {
+                seenByMutations.add(applied.size());
+                context.changed(DataChange.added(person));
+                return person;
+            }));
+        }
+        for (MutationTicket<Person> ticket : tickets) {
+            ticket.awaitDurable();
+        }
+
+        // Assert
+        assertEquals(List.of(0, 1, 2), seenByMutations);
+        assertEquals(3, applied.size());
+        verify(listener, times(3)).onMutationApplied(anyList());
+        verify(listener, atLeastOnce()).onDataChanged(anyList());
+    }
+
+    @Test
+    @DisplayName("Test d'une mutation sans modification : ni publication ni persistance")
+    void testSubmit_NoChange() throws IOException {
+        // Arrange
+        pipeline = new MutationPipeline(dataRepository, List.of(listener));
+
+        // Act
+        Boolean result = pipeline.submit(context -> false).awaitDurable();
+
+        // Assert
+        assertFalse(result);
+        verify(listener, never()).onDataChanged(anyList());
+        verify(dataRepository, never()).publishSnapshot();
+        verify(dataRepository, never()).saveData();
+    }
+
+    @Test
+    @DisplayName("Test d'une mutation non persistée : publiée mais sans sauvegarde du fichier")
+    void testSubmit_SkipPersistence() throws IOException {
+        // Arrange
+        pipeline = new MutationPipeline(dataRepository, List.of(listener));
+        Person person = new Person("John", "Doe", "1509 Culver St", "Culver", "97451", "841-874-6512", "john@email.com");
+
+        // Act
+        MutationTicket<Person> ticket = pipeline.submit(context -> {
+            context.skipPersistence();
+            context.changed(DataChange.added(person));
+            return person;
+        });
+
+        // Assert
+        assertSame(person, ticket.awaitDurable());
+        verify(listener).onDataChanged(anyList());
+        verify(dataRepository).publishSnapshot();
+        verify(dataRepository, never()).saveData();
+    }
+
+    @Test
+    @DisplayName("Test d'une mutation en échec : l'exception d'origine est relancée")
+    void testSubmit_MutationFailure() throws IOException {
+        // Arrange
+        pipeline = new MutationPipeline(dataRepository, List.of());
+
+        // Act
+        MutationTicket<Object> ticket = pipeline.submit(context -> {
+            throw new IllegalArgumentException("Doublon");
+        });
+
+        // Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, ticket::awaitDurable);
+        assertEquals("Doublon", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, ticket::awaitVisible);
+        verify(dataRepository, never()).saveData();
+        assertEquals(1, pipeline.getFailedCount());
+    }
+
+    @Test
+    @DisplayName("Test d'un échec de persistance : la mutation est visible mais pas durable")
+    void testSubmit_PersistenceFailure() throws IOException {
+        // Arrange
+        pipeline = new MutationPipeline(dataRepository, List.of());
+        doThrow(new IOException("Disque plein")).when(dataRepository).saveData();
+        Person person = new Person();
+
+        // Act
+        MutationTicket<Person> ticket = pipeline.submit(context -> {
+            context.changed(DataChange.added(person));
+            return person;
+        });
+
+        // Assert
+        assertThrows(IOException.class, ticket::awaitDurable);
+        assertSame(person, ticket.awaitVisible());
+    }
+
+    @Test
+    @DisplayName("Test du regroupement des mutations en attente dans un même lot")
+    void testSubmit_BatchesPendingMutations() throws Exception {
+        // Arrange
+        pipeline = new MutationPipeline(dataRepository, List.of(listener), 16, 8);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        MutationTicket<Object> first = pipeline.submit(context -> {
+            blocked.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        // Act : les mutations soumises pendant le blocage du thread d'écriture forment un seul lot
+        List<MutationTicket<Integer>> tickets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int index = i;
+            tickets.add(pipeline.submit(context -> {
+                order.add("m" + index);
+                context.changed(DataChange.added(new Person()));
+                return index;
+            }));
+        }
+        release.countDown();
+        first.awaitDurable();
+        for (MutationTicket<Integer> ticket : tickets) {
+            ticket.awaitDurable();
+        }
+
+        // Assert
+        assertEquals(List.of("m0", "m1", "m2", "m3", "m4"), order);
+        assertEquals(2, pipeline.getBatchCount());
+        verify(listener, times(1)).onDataChanged(argThat(changes -> changes.size() == 5));
+        verify(dataRepository, times(1)).saveData();
+    }
+
+    @Test
+    @DisplayName("Test d'une mutation exclusive exécutée seule dans son lot")
+    void testSubmitExclusive_RunsAloneAfterPreviousBatch() throws Exception {
+        // Arrange
+        pipeline = new MutationPipeline(dataRepository, List.of(listener), 16, 8);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MutationTicket<Object> first = pipeline.submit(context -> {
+            blocked.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        // Act
+        MutationTicket<Object> before = pipeline.submit(context -> {
+            context.changed(DataChange.added(new Person()));
+            return null;
+        });
+        MutationTicket<Integer> exclusive = pipeline.submitExclusive(context ->
+                mockingDetails(listener).getInvocations().size());
+        MutationTicket<Object> after = pipeline.submit(context -> {
+            context.changed(DataChange.added(new Person()));
+            return null;
+        });
+        release.countDown();
+        first.awaitDurable();
+        before.awaitDurable();
+        int notifiedBefore = exclusive.awaitDurable();
+        after.awaitDurable();
+
+        // Assert : la mutation précédente a déjà été notifiée, la suivante forme un autre lot
+        assertEquals(2, notifiedBefore);
+        assertEquals(4, pipeline.getBatchCount());
+        verify(listener, times(2)).onDataChanged(argThat(changes -> changes.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Test du rejet d'une mutation lorsque la file est pleine")
+    void testSubmit_QueueFull() throws Exception {
+        // Arrange
+        pipeline = new MutationPipeline(dataRepository, List.of(), 2, 1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline.submit(context -> {
+            blocked.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        pipeline.submit(context -> null);
+        pipeline.submit(context -> null);
+
+        // Act & Assert
+        assertThrows(MutationRejectedException.class, () -> pipeline.submit(context -> null));
+        assertEquals(1, pipeline.getRejectedCount());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Test d'une erreur de listener sans impact sur la mutation")
+    void testSubmit_ListenerFailure() throws IOException {
+        // Arrange
+        pipeline = new MutationPipeline(dataRepository, List.of(listener));
+        doThrow(new IllegalStateException("Index corrompu")).when(listener).onDataChanged(anyList());
+
+        // Act
+        String result = pipeline.submit(context -> {
+            context.changed(DataChange.removed(new Person()));
+            return "ok";
+        }).awaitDurable();
+
+        // Assert
+        assertEquals("ok", result);
+        verify(dataRepository).saveData();
+    }
+
+    @Test
+    @DisplayName("Test du refus des soumissions après l'arrêt du pipeline")
+    void testSubmit_AfterShutdown() {
+        // Arrange
+        pipeline = new MutationPipeline(dataRepository, List.of());
+        pipeline.shutdown();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> pipeline.submit(context -> null));
+    }
+
+    @Test
+    @DisplayName("Test de construction avec une capacité invalide")
+    void testConstructor_InvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new MutationPipeline(dataRepository, List.of(), 0, 1));
+    }
+}
@@ -0,0 +1,255 @@
+package com.ryan.safetynet.alerts.concurrency;
+
+import com.ryan.safetynet.alerts.dto.LockStripeStatsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du gestionnaire de verrous StripedLockManager")
+class StripedLockManagerTest {
+
+    private StripedLockManager lockManager;
+
+    @BeforeEach
+    void setUp() {
+        lockManager = new StripedLockManager(8);
+    }
+
+    @Test
+    @DisplayName("Test de construction avec un nombre de partitions invalide")
+    void testConstructor_InvalidStripeCount() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedLockManager(0));
+    }
+
+    @Test
+    @DisplayName("Test d'une lecture optimiste sans écriture concurrente")
+    void testRead_OptimisticSuccess() {
+        // Act
+        String result = lockManager.read(List.of(StripedLockManager.addressKey("1509 Culver St")), () -> "ok");
+
+        // Assert
+        assertEquals("ok", result);
+        long optimisticReads = lockManager.getStripeStats().stream()
+                .mapToLong(LockStripeStatsDTO::getOptimisticReads)
+                .sum();
+        // Une lecture réussie sur la structure et une sur la partition de l'adresse
+        assertEquals(2, optimisticReads);
+    }
+
+    @Test
+    @DisplayName("Test d'une lecture invalidée par une écriture sur la même partition")
+    void testRead_FallsBackToReadLockWhenInvalidated() {
+        // Arrange
+        String key = StripedLockManager.addressKey("1509 Culver St");
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act : la première tentative subit une écriture concurrente sur sa partition
+        String result = lockManager.read(List.of(key), () -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread writer = new Thread(() -> lockManager.write(List.of(key), false, () -> null));
+                writer.start();
+                try {
+                    writer.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "value";
+        });
+
+        // Assert
+        assertEquals("value", result);
+        assertEquals(2, attempts.get());
+        LockStripeStatsDTO structureStats = lockManager.getStripeStats().get(0);
+        assertEquals(-1, structureStats.getStripe());
+        assertEquals(1, structureStats.getOptimisticFailures());
+        assertEquals(1, structureStats.getReadLocks());
+    }
+
+    @Test
+    @DisplayName("Test qu'une écriture sur une autre partition n'invalide pas la lecture")
+    void testRead_NotInvalidatedByWriteOnOtherStripe() {
+        // Arrange : deux clés sur des partitions distinctes
+        StripedLockManager manager = new StripedLockManager(1024);
+        String readKey = StripedLockManager.stationKey(1);
+        String writeKey = StripedLockManager.stationKey(4);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        manager.read(List.of(readKey), () -> {
+            attempts.incrementAndGet();
+            Thread writer = new Thread(() -> manager.write(List.of(writeKey), false, () -> null));
+            writer.start();
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+
+        // Assert
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Test qu'une écriture structurelle invalide toutes les lectures")
+    void testRead_InvalidatedByStructuralWrite() {
+        // Arrange
+        StripedLockManager manager = new StripedLockManager(1024);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        manager.read(List.of(StripedLockManager.stationKey(1)), () -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread writer = new Thread(() -> manager.write(
+                        List.of(StripedLockManager.stationKey(4)), true, () -> null));
+                writer.start();
+                try {
+                    writer.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return null;
+        });
+
+        // Assert
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Test qu'une mise à jour sur place invalide un parcours complet")
+    void testRead_FullScanInvalidatedByNonStructuralWrite() {
+        // Arrange
+        StripedLockManager manager = new StripedLockManager(1024);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act : une lecture sans clé subit une écriture non structurelle sur une partition quelconque
+        manager.read(List.of(), () -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread writer = new Thread(() -> manager.write(
+                        List.of(StripedLockManager.addressKey("1509 Culver St")), false, () -> null));
+                writer.start();
+                try {
+                    writer.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return null;
+        });
+
+        // Assert
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Test d'une lecture imbriquée pendant qu'une écriture attend la partition")
+    void testReadLocked_NestedReadWithQueuedWriter() {
+        // Arrange
+        String key = StripedLockManager.addressKey("1509 Culver St");
+        Thread writer = new Thread(() -> lockManager.write(List.of(key), false, () -> null));
+
+        // Act : l'écriture attend la partition tenue par la lecture englobante
+        String result = assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                lockManager.readLocked(List.of(key), () -> {
+                    writer.start();
+                    while (writer.getState() != Thread.State.WAITING) {
+                        Thread.onSpinWait();
+                    }
+                    return lockManager.readLocked(List.of(key), () -> lockManager.read(List.of(key), () -> "nested"));
+                }));
+
+        // Assert : les lectures imbriquées ne reprennent pas le verrou et ne sont pas comptées
+        assertEquals("nested", result);
+        assertEquals(1, lockManager.getStripeStats().get(0).getReadLocks());
+        assertEquals(0, lockManager.getStripeStats().get(0).getOptimisticReads());
+    }
+
+    @Test
+    @DisplayName("Test de propagation d'une exception levée par une lecture valide")
+    void testRead_PropagatesExceptionFromValidRead() {
+        assertThrows(IllegalStateException.class, () -> lockManager.read(List.of(), () -> {
+            throw new IllegalStateException("erreur");
+        }));
+    }
+
+    @Test
+    @DisplayName("Test de propagation d'une exception vérifiée levée par une écriture")
+    void testWrite_PropagatesCheckedException() {
+        assertThrows(IOException.class, () -> lockManager.write(List.of("address:x"), true, () -> {
+            throw new IOException("erreur");
+        }));
+        // Le verrou doit avoir été libéré
+        assertEquals("ok", lockManager.write(List.of("address:x"), true, () -> "ok"));
+    }
+
+    @Test
+    @DisplayName("Test de l'exclusion mutuelle des écritures sur une même partition")
+    void testWrite_MutualExclusion() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        int[] counter = {0};
+        int iterations = 1000;
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        Future<?>[] futures = new Future<?>[4];
+        for (int t = 0; t < futures.length; t++) {
+            futures[t] = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    lockManager.write(List.of("station:1"), false, () -> counter[0]++);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(4 * iterations, counter[0]);
+        long writeLocks = lockManager.getStripeStats().stream()
+                .mapToLong(LockStripeStatsDTO::getWriteLocks)
+                .sum();
+        assertEquals(4L * iterations, writeLocks);
+    }
+
+    @Test
+    @DisplayName("Test des clés de couverture")
+    void testCoverageKeys() {
+        // Act
+        List<String> keys = StripedLockManager.coverageKeys(List.of(1, 2), List.of("1509 Culver St"));
+
+        // Assert
+        assertEquals(List.of("station:1", "station:2", "address:1509 culver st"), keys);
+    }
+
+    @Test
+    @DisplayName("Test des métriques : une entrée par partition plus le verrou de structure")
+    void testGetStripeStats() {
+        // Act
+        List<LockStripeStatsDTO> stats = lockManager.getStripeStats();
+
+        // Assert
+        assertEquals(lockManager.getStripeCount() + 1, stats.size());
+        assertEquals(-1, stats.get(0).getStripe());
+        assertEquals(7, stats.get(stats.size() - 1).getStripe());
+    }
+}
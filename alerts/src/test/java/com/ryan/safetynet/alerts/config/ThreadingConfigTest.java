@@ -0,0 +1,86 @@
+package com.ryan.safetynet.alerts.config;
+
+import com.ryan.safetynet.alerts.concurrency.MutationPipeline;
+import com.ryan.safetynet.alerts.concurrency.MutationTicket;
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la configuration ThreadingConfig")
+class ThreadingConfigTest {
+
+    @Test
+    @DisplayName("Test du nombre de connexions relevé en mode virtuel")
+    void testVirtualThreadConnections() {
+        // Arrange
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory();
+        Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+
+        // Act
+        new ThreadingConfig().virtualThreadConnections(10_000).customize(factory);
+        factory.getTomcatConnectorCustomizers().forEach(customizer -> customizer.customize(connector));
+
+        // Assert
+        assertEquals(10_000, ((AbstractProtocol<?>) connector.getProtocolHandler()).getMaxConnections());
+    }
+
+    @Test
+    @DisplayName("Test de l'absence de synchronized sur le chemin des données (pas d'épinglage des threads virtuels)")
+    void testNoSynchronizedOnDataPath() throws IOException {
+        // Arrange
+        List<Class<?>> classes = new ArrayList<>();
+        for (Class<?> type : List.of(DataRepository.class, StripedLockManager.class, MutationPipeline.class,
+                MutationTicket.class)) {
+            classes.add(type);
+            classes.addAll(List.of(type.getDeclaredClasses()));
+        }
+
+        // Act & Assert : ni méthode synchronized, ni bloc synchronized (instruction monitorenter)
+        for (Class<?> type : classes) {
+            List<String> offenders = synchronizedMethods(type);
+            assertTrue(offenders.isEmpty(), type.getName() + " utilise synchronized dans " + offenders);
+        }
+    }
+
+    private static List<String> synchronizedMethods(Class<?> type) throws IOException {
+        List<String> offenders = new ArrayList<>();
+        String resource = type.getName().replace('.', '/') + ".class";
+        try (InputStream in = type.getClassLoader().getResourceAsStream(resource)) {
+            assertNotNull(in, resource);
+            new ClassReader(in).accept(new ClassVisitor(Opcodes.ASM9) {
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+                                                 String[] exceptions) {
+                    if (Modifier.isSynchronized(access)) {
+                        offenders.add(name);
+                    }
+                    return new MethodVisitor(Opcodes.ASM9) {
+                        @Override
+                        public void visitInsn(int opcode) {
+                            if (opcode == Opcodes.MONITORENTER) {
+                                offenders.add(name);
+                            }
+                        }
+                    };
+                }
+            }, ClassReader.SKIP_DEBUG);
+        }
+        return offenders;
+    }
+}
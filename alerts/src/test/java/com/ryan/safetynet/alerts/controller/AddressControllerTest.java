@@ -0,0 +1,60 @@
+package com.ryan.safetynet.alerts.controller;
+
+import com.ryan.safetynet.alerts.dto.AddressSuggestionDTO;
+import com.ryan.safetynet.alerts.service.AddressService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du controller AddressController")
+class AddressControllerTest {
+
+    @Mock
+    private AddressService addressService;
+
+    @InjectMocks
+    private AddressController addressController;
+
+    @Test
+    @DisplayName("Test de l'autocomplétion avec suggestions")
+    void testAutocomplete() {
+        // Arrange
+        AddressSuggestionDTO suggestion = new AddressSuggestionDTO();
+        suggestion.setAddress("1509 Culver St");
+        when(addressService.autocomplete("15", 10)).thenReturn(List.of(suggestion));
+
+        // Act
+        ResponseEntity<List<AddressSuggestionDTO>> response = addressController.autocomplete("15", 10);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(suggestion), response.getBody());
+    }
+
+    @Test
+    @DisplayName("Test du rejet d'un préfixe vide")
+    void testAutocomplete_BlankPrefix() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> addressController.autocomplete("  ", 10));
+        verifyNoInteractions(addressService);
+    }
+
+    @Test
+    @DisplayName("Test du rejet d'une limite invalide")
+    void testAutocomplete_InvalidLimit() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> addressController.autocomplete("15", 51));
+        verifyNoInteractions(addressService);
+    }
+}
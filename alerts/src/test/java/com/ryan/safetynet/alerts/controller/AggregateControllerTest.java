@@ -0,0 +1,78 @@
+package com.ryan.safetynet.alerts.controller;
+
+import com.ryan.safetynet.alerts.dto.AggregateStatsDTO;
+import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
+import com.ryan.safetynet.alerts.service.AggregateService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du controller AggregateController")
+class AggregateControllerTest {
+
+    @Mock
+    private AggregateService aggregateService;
+
+    @InjectMocks
+    private AggregateController aggregateController;
+
+    @Test
+    @DisplayName("Test des agrégats d'une station")
+    void testGetStationStats() {
+        // Arrange
+        AggregateStatsDTO stats = new AggregateStatsDTO();
+        when(aggregateService.getStationStats(3)).thenReturn(stats);
+
+        // Act
+        ResponseEntity<AggregateStatsDTO> response = aggregateController.getStationStats(3);
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(stats, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Test des agrégats d'une station sans résident")
+    void testGetStationStats_NotFound() {
+        // Arrange
+        when(aggregateService.getStationStats(9)).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> aggregateController.getStationStats(9));
+    }
+
+    @Test
+    @DisplayName("Test des agrégats d'une ville")
+    void testGetCityStats() {
+        // Arrange
+        AggregateStatsDTO stats = new AggregateStatsDTO();
+        when(aggregateService.getCityStats("Culver")).thenReturn(stats);
+
+        // Act
+        ResponseEntity<AggregateStatsDTO> response = aggregateController.getCityStats("Culver");
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(stats, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Test des agrégats d'une ville vide ou inconnue")
+    void testGetCityStats_Invalid() {
+        // Arrange
+        when(aggregateService.getCityStats("Paris")).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> aggregateController.getCityStats(" "));
+        assertThrows(ResourceNotFoundException.class, () -> aggregateController.getCityStats("Paris"));
+        verify(aggregateService, never()).getCityStats(" ");
+    }
+}
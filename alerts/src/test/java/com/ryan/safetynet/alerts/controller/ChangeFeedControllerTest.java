@@ -0,0 +1,49 @@
+package com.ryan.safetynet.alerts.controller;
+
+import com.ryan.safetynet.alerts.service.ChangeFeedService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du controller ChangeFeedController")
+class ChangeFeedControllerTest {
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @InjectMocks
+    private ChangeFeedController changeFeedController;
+
+    @Test
+    @DisplayName("Test de l'abonnement par station")
+    void testSubscribeByStation() {
+        // Arrange
+        SseEmitter emitter = new SseEmitter();
+        when(changeFeedService.subscribe(List.of("3"), List.of())).thenReturn(emitter);
+
+        // Act
+        SseEmitter result = changeFeedController.subscribe(List.of("3"), null);
+
+        // Assert
+        assertSame(emitter, result);
+    }
+
+    @Test
+    @DisplayName("Test du rejet d'un abonnement sans station ni adresse")
+    void testSubscribeWithoutFilter() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+            changeFeedController.subscribe(null, List.of()));
+        verifyNoInteractions(changeFeedService);
+    }
+}
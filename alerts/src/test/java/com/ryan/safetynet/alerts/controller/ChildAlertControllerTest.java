@@ -1,5 +1,6 @@
 package com.ryan.safetynet.alerts.controller;
 
+import com.ryan.safetynet.alerts.dto.AddressChildAlertDTO;
 import com.ryan.safetynet.alerts.dto.ChildAlertDTO;
 import com.ryan.safetynet.alerts.dto.ChildDTO;
 import com.ryan.safetynet.alerts.dto.HouseholdMemberDTO;
@@ -103,4 +104,38 @@ class ChildAlertControllerTest {
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.message").exists());
     }
+
+    @Test
+    @DisplayName("GET /childAlert/station - Foyers avec enfants d'une station")
+    void getChildrenByStation_shouldReturn200() throws Exception {
+        // Given
+        ChildDTO child = new ChildDTO();
+        child.setFirstName("Tenley");
+        child.setLastName("Boyd");
+        child.setAge(12);
+        AddressChildAlertDTO household = new AddressChildAlertDTO();
+        household.setAddress("1509 Culver St");
+        household.setChildren(List.of(child));
+        household.setHouseholdMembers(List.of());
+        when(childAlertService.getChildrenByStation(3)).thenReturn(List.of(household));
+
+        // When/Then
+        mockMvc.perform(get("/childAlert/station").param("stationNumber", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].address").value("1509 Culver St"))
+                .andExpect(jsonPath("$[0].children[0].age").value(12));
+    }
+
+    @Test
+    @DisplayName("GET /childAlert/station - Aucun foyer avec enfants")
+    void getChildrenByStation_noChildren_shouldReturnEmptyList() throws Exception {
+        // Given
+        when(childAlertService.getChildrenByStation(9)).thenReturn(List.of());
+
+        // When/Then
+        mockMvc.perform(get("/childAlert/station").param("stationNumber", "9"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
 }
@@ -12,6 +12,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
@@ -134,6 +135,24 @@ class FireAlertControllerTest {
         assertEquals("La station de pompiers n'existe pas", errorResponse.getMessage());
     }
 
+    @Test
+    @DisplayName("Test de l'envoi de la fiche précalculée d'une adresse")
+    void testGetResidentsByAddress_WithFireCard() {
+        // Arrange
+        String address = "123 Main St";
+        byte[] card = "{\"residents\":[],\"fireStationNumber\":\"1\"}".getBytes();
+        when(fireAlertService.getFireCard(address)).thenReturn(card);
+
+        // Act
+        ResponseEntity<?> response = fireAlertController.getResidentsByAddress(address);
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertSame(card, response.getBody());
+        verify(fireAlertService, never()).getPersonsAndFireStationByAddress(any());
+    }
+
     private PersonWithMedicalInfoDTO createSamplePersonWithMedicalInfo(String firstName, String lastName, String phone, int age, List<String> medications, List<String> allergies) {
         PersonWithMedicalInfoDTO person = new PersonWithMedicalInfoDTO();
         person.setFirstName(firstName);
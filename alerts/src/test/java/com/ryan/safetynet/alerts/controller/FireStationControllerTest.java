@@ -175,6 +175,27 @@ class FireStationControllerTest {
         assertEquals("Un mapping existe déjà pour l'adresse : 123 Main St", errorResponse.getMessage());
     }
 
+    @Test
+    @DisplayName("Test d'ajout d'une caserne créée entre-temps par une requête concurrente")
+    void testAddFireStation_ConcurrentDuplicate() throws IOException {
+        // Arrange
+        FireStationInputDTO inputDTO = new FireStationInputDTO();
+        inputDTO.setStation(1);
+        inputDTO.setAddress("123 Main St");
+        when(fireStationService.existsByAddress("123 Main St")).thenReturn(false);
+        when(fireStationService.addFireStation(any(FireStation.class)))
+                .thenThrow(new IllegalArgumentException("Un mapping existe déjà pour l'adresse : 123 Main St"));
+
+        // Act
+        ResponseEntity<?> response = fireStationController.addFireStation(inputDTO);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        ErrorResponse errorResponse = (ErrorResponse) response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals("Un mapping existe déjà pour l'adresse : 123 Main St", errorResponse.getMessage());
+    }
+
     @Test
     @DisplayName("Test de mise à jour d'une caserne existante")
     void testUpdateFireStation() {
@@ -0,0 +1,57 @@
+package com.ryan.safetynet.alerts.controller;
+
+import com.ryan.safetynet.alerts.dto.AddressInfoDTO;
+import com.ryan.safetynet.alerts.service.MedicalQueryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du controller MedicalQueryController")
+class MedicalQueryControllerTest {
+
+    @Mock
+    private MedicalQueryService medicalQueryService;
+
+    @InjectMocks
+    private MedicalQueryController medicalQueryController;
+
+    @Test
+    @DisplayName("Test de la recherche par médicament dans la zone de stations")
+    void testFindResidents_WithStations() {
+        // Arrange
+        AddressInfoDTO addressInfo = new AddressInfoDTO();
+        addressInfo.setAddress("1509 Culver St");
+        when(medicalQueryService.findResidents("aznol", null, List.of(1, 2), null)).thenReturn(List.of(addressInfo));
+
+        // Act
+        ResponseEntity<List<AddressInfoDTO>> response =
+                medicalQueryController.findResidents("aznol", " ", List.of(1, 2), null);
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(1, response.getBody().size());
+        assertEquals("1509 Culver St", response.getBody().get(0).getAddress());
+    }
+
+    @Test
+    @DisplayName("Test de la recherche sans critère médical ou sans zone")
+    void testFindResidents_InvalidParameters() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> medicalQueryController.findResidents(null, "", List.of(1), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> medicalQueryController.findResidents("aznol", null, List.of(), " "));
+        verify(medicalQueryService, never()).findResidents(any(), any(), any(), any());
+    }
+}
@@ -1,6 +1,7 @@
 package com.ryan.safetynet.alerts.controller;
 
 import com.ryan.safetynet.alerts.dto.PersonInfoDTO;
+import com.ryan.safetynet.alerts.dto.PersonSearchResultDTO;
 import com.ryan.safetynet.alerts.service.PersonInfoService;
 import com.ryan.safetynet.alerts.exception.GlobalExceptionHandler;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,9 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -105,4 +109,47 @@ class PersonInfoControllerTest {
                 .andExpect(jsonPath("$.status").value(404))
                 .andExpect(jsonPath("$.message").value("La personne " + firstName + " " + lastName + " n'existe pas dans le système"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testSearchPersons_WithCandidates() throws Exception {
+        // Arrange
+        PersonSearchResultDTO candidate = new PersonSearchResultDTO();
+        candidate.setFirstName("John");
+        candidate.setLastName("Boyd");
+        candidate.setDistance(1);
+        when(personInfoService.searchPersons("Jon", "Boyd", 5)).thenReturn(List.of(candidate));
+
+        // Act & Assert
+        mockMvc.perform(get("/personInfo/search")
+                .param("firstName", "Jon")
+                .param("lastName", "Boyd")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].firstName").value("John"))
+                .andExpect(jsonPath("$[0].distance").value(1));
+    }
+
+    @Test
+    void testSearchPersons_WithoutCandidates() throws Exception {
+        // Arrange
+        when(personInfoService.searchPersons("Xyz", "Qwerty", 10)).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/personInfo/search")
+                .param("firstName", "Xyz")
+                .param("lastName", "Qwerty"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+    @Test
+    void testSearchPersons_WithInvalidLimit() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/personInfo/search")
+                .param("firstName", "Jon")
+                .param("lastName", "Boyd")
+                .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(personInfoService);
+    }
+}
@@ -1,16 +1,22 @@
 package com.ryan.safetynet.alerts.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ryan.safetynet.alerts.dto.PhoneAlertDTO;
 import com.ryan.safetynet.alerts.service.PhoneAlertService;
+import com.ryan.safetynet.alerts.utils.PhoneNumbers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -25,6 +31,9 @@ class PhoneAlertControllerTest {
     @Mock
     private PhoneAlertService phoneAlertService;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private PhoneAlertController phoneAlertController;
 
@@ -137,4 +146,76 @@ class PhoneAlertControllerTest {
         assertEquals(200, response.getStatusCode().value());
         verify(phoneAlertService).getPhoneNumbersByStation(stationNumber);
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test de l'écriture directe des numéros codés")
+    void testStreamPhoneNumbersByStation_WithCodes() throws IOException {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(phoneAlertService.getPhoneCodesByStation(1)).thenReturn(new long[]{1234567890L, 8418746512L});
+
+        // Act
+        phoneAlertController.streamPhoneNumbersByStation(1, response);
+
+        // Assert
+        String body = response.getContentAsString();
+        assertEquals("{\"phoneNumbers\":[\"123-456-7890\",\"841-874-6512\"]}", body);
+        assertEquals(body.length(), response.getContentLength());
+        assertEquals("application/json", response.getContentType());
+        assertEquals(List.of("123-456-7890", "841-874-6512"),
+            objectMapper.readValue(body, PhoneAlertDTO.class).getPhoneNumbers());
+        verify(phoneAlertService, never()).getPhoneNumbersByStation(anyInt());
+    }
+
+    @Test
+    @DisplayName("Test de l'écriture directe de plus de numéros que n'en contient le tampon")
+    void testStreamPhoneNumbersByStation_SpansSeveralBuffers() throws IOException {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        long[] codes = new long[150];
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = 8418740000L + i;
+            expected.add(PhoneNumbers.format(codes[i]));
+        }
+        when(phoneAlertService.getPhoneCodesByStation(1)).thenReturn(codes);
+
+        // Act
+        phoneAlertController.streamPhoneNumbersByStation(1, response);
+
+        // Assert : le corps est continu d'un tampon à l'autre et sa longueur annoncée exacte
+        String body = response.getContentAsString();
+        assertEquals(body.length(), response.getContentLength());
+        assertEquals(expected, objectMapper.readValue(body, PhoneAlertDTO.class).getPhoneNumbers());
+    }
+
+    @Test
+    @DisplayName("Test de l'écriture directe sans numéros trouvés")
+    void testStreamPhoneNumbersByStation_WithNoCodes() throws IOException {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(phoneAlertService.getPhoneCodesByStation(1)).thenReturn(new long[0]);
+
+        // Act
+        phoneAlertController.streamPhoneNumbersByStation(1, response);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Test de l'écriture directe quand l'index n'est pas disponible")
+    void testStreamPhoneNumbersByStation_WithoutIndex() throws IOException {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(phoneAlertService.getPhoneCodesByStation(1)).thenReturn(null);
+        when(phoneAlertService.getPhoneNumbersByStation(1)).thenReturn(List.of("555-1234"));
+
+        // Act
+        phoneAlertController.streamPhoneNumbersByStation(1, response);
+
+        // Assert
+        assertEquals("{\"phoneNumbers\":[\"555-1234\"]}", response.getContentAsString());
+    }
+}
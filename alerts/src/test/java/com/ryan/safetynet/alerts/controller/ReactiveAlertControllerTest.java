@@ -0,0 +1,90 @@
+package com.ryan.safetynet.alerts.controller;
+
+import com.ryan.safetynet.alerts.dto.AddressInfoDTO;
+import com.ryan.safetynet.alerts.dto.PersonWithMedicalInfoDTO;
+import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
+import com.ryan.safetynet.alerts.service.ReactiveAlertService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du controller ReactiveAlertController")
+class ReactiveAlertControllerTest {
+
+    @Mock
+    private ReactiveAlertService reactiveAlertService;
+
+    @InjectMocks
+    private ReactiveAlertController reactiveAlertController;
+
+    @Test
+    @DisplayName("Test du flux /reactive/fire avec le numéro de caserne en en-tête")
+    void testGetResidentsByAddress() {
+        // Arrange
+        PersonWithMedicalInfoDTO resident = new PersonWithMedicalInfoDTO();
+        resident.setFirstName("John");
+        when(reactiveAlertService.getFireResidents("1509 Culver St"))
+            .thenReturn(new ReactiveAlertService.FireResidents("3", Flux.just(resident)));
+
+        // Act
+        ResponseEntity<Flux<PersonWithMedicalInfoDTO>> response =
+            reactiveAlertController.getResidentsByAddress("1509 Culver St");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("3", response.getHeaders().getFirst(ReactiveAlertController.FIRE_STATION_HEADER));
+        assertEquals(List.of(resident), response.getBody().collectList().block());
+    }
+
+    @Test
+    @DisplayName("Test du flux /reactive/fire pour une adresse sans caserne")
+    void testGetResidentsByAddress_NotFound() {
+        // Arrange
+        when(reactiveAlertService.getFireResidents("unknown"))
+            .thenThrow(new ResourceNotFoundException("Aucune station de pompiers n'est associée à l'adresse : unknown"));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> reactiveAlertController.getResidentsByAddress("unknown"));
+    }
+
+    @Test
+    @DisplayName("Test du flux /reactive/flood/stations avec plusieurs stations")
+    void testGetHouseholdsByStations() {
+        // Arrange
+        AddressInfoDTO household = new AddressInfoDTO();
+        household.setAddress("1509 Culver St");
+        when(reactiveAlertService.getHouseholdsByStations(List.of(1, 2))).thenReturn(Flux.just(household));
+
+        // Act
+        Flux<AddressInfoDTO> result = reactiveAlertController.getHouseholdsByStations("1, 2");
+
+        // Assert
+        assertEquals(List.of(household), result.collectList().block());
+    }
+
+    @Test
+    @DisplayName("Test du flux /reactive/flood/stations avec un format invalide")
+    void testGetHouseholdsByStations_InvalidFormat() {
+        assertThrows(IllegalArgumentException.class, () -> reactiveAlertController.getHouseholdsByStations("1,abc"));
+        verifyNoInteractions(reactiveAlertService);
+    }
+
+    @Test
+    @DisplayName("Test du flux /reactive/childAlert avec une adresse vide")
+    void testGetChildrenAtAddress_EmptyAddress() {
+        assertThrows(IllegalArgumentException.class, () -> reactiveAlertController.getChildrenAtAddress(" "));
+        verifyNoInteractions(reactiveAlertService);
+    }
+}
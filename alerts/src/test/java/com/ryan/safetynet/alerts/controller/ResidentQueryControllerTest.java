@@ -0,0 +1,57 @@
+package com.ryan.safetynet.alerts.controller;
+
+import com.ryan.safetynet.alerts.dto.ResidentQueryResultDTO;
+import com.ryan.safetynet.alerts.service.ResidentQueryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du controller ResidentQueryController")
+class ResidentQueryControllerTest {
+
+    @Mock
+    private ResidentQueryService residentQueryService;
+
+    @InjectMocks
+    private ResidentQueryController residentQueryController;
+
+    @Test
+    @DisplayName("Test d'une requête filtrée, les critères vides étant ignorés")
+    void testQueryResidents() {
+        // Arrange
+        ResidentQueryResultDTO result = new ResidentQueryResultDTO();
+        result.setResidents(List.of());
+        ResidentQueryService.Criteria criteria = new ResidentQueryService.Criteria(
+                List.of(3), null, "Culver", null, null, 5, null, null);
+        when(residentQueryService.query(criteria)).thenReturn(result);
+
+        // Act
+        ResponseEntity<ResidentQueryResultDTO> response = residentQueryController.queryResidents(
+                List.of(3), " ", "Culver", "", null, 5, null, " ");
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(result, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Test d'une requête filtrée invalide")
+    void testQueryResidents_Invalid() {
+        // Arrange
+        when(residentQueryService.query(any())).thenThrow(new IllegalArgumentException("critère manquant"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> residentQueryController.queryResidents(null, null, null, null, null, null, null, null));
+    }
+}
@@ -0,0 +1,47 @@
+package com.ryan.safetynet.alerts.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du DTO AddressChildAlertDTO")
+class AddressChildAlertDTOTest {
+
+    @Test
+    @DisplayName("Test des getters et setters")
+    void testGettersAndSetters() {
+        // Arrange
+        AddressChildAlertDTO dto = new AddressChildAlertDTO();
+        ChildDTO child = new ChildDTO();
+        child.setFirstName("Tenley");
+        child.setLastName("Boyd");
+        child.setAge(12);
+        HouseholdMemberDTO member = new HouseholdMemberDTO();
+        member.setFirstName("John");
+        member.setLastName("Boyd");
+
+        // Act
+        dto.setAddress("1509 Culver St");
+        dto.setChildren(List.of(child));
+        dto.setHouseholdMembers(List.of(member));
+
+        // Assert
+        assertEquals("1509 Culver St", dto.getAddress());
+        assertEquals(List.of(child), dto.getChildren());
+        assertEquals(List.of(member), dto.getHouseholdMembers());
+    }
+
+    @Test
+    @DisplayName("Test de la méthode toString")
+    void testToString() {
+        // Arrange
+        AddressChildAlertDTO dto = new AddressChildAlertDTO();
+        dto.setAddress("1509 Culver St");
+
+        // Act & Assert
+        assertTrue(dto.toString().contains("AddressChildAlertDTO(address=1509 Culver St"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.ryan.safetynet.alerts.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du DTO AddressSuggestionDTO")
+class AddressSuggestionDTOTest {
+
+    @Test
+    @DisplayName("Test des getters et setters")
+    void testGettersAndSetters() {
+        // Arrange
+        AddressSuggestionDTO dto = new AddressSuggestionDTO();
+
+        // Act
+        dto.setAddress("1509 Culver St");
+        dto.setResidentCount(5);
+        dto.setStations(List.of("3"));
+
+        // Assert
+        assertEquals("1509 Culver St", dto.getAddress());
+        assertEquals(5, dto.getResidentCount());
+        assertEquals(List.of("3"), dto.getStations());
+    }
+
+    @Test
+    @DisplayName("Test de la méthode toString")
+    void testToString() {
+        // Arrange
+        AddressSuggestionDTO dto = new AddressSuggestionDTO();
+        dto.setAddress("1509 Culver St");
+
+        // Act & Assert
+        assertTrue(dto.toString().contains("AddressSuggestionDTO(address=1509 Culver St"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.ryan.safetynet.alerts.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du DTO AggregateStatsDTO")
+class AggregateStatsDTOTest {
+
+    @Test
+    @DisplayName("Test des getters et setters")
+    void testGettersAndSetters() {
+        // Arrange
+        AggregateStatsDTO dto = new AggregateStatsDTO();
+        TermCountDTO term = new TermCountDTO();
+
+        // Act
+        dto.setScope("station");
+        dto.setName("3");
+        dto.setResidents(11);
+        dto.setWithoutMedicalRecord(1);
+        dto.setAgeBuckets(Map.of("0-4", 2));
+        dto.setTopMedications(List.of(term));
+        dto.setTopAllergies(List.of());
+        dto.setHouseholds(4);
+        dto.setHouseholdSizes(Map.of(3, 2));
+
+        // Assert
+        assertEquals("station", dto.getScope());
+        assertEquals("3", dto.getName());
+        assertEquals(11, dto.getResidents());
+        assertEquals(1, dto.getWithoutMedicalRecord());
+        assertEquals(Map.of("0-4", 2), dto.getAgeBuckets());
+        assertEquals(List.of(term), dto.getTopMedications());
+        assertTrue(dto.getTopAllergies().isEmpty());
+        assertEquals(4, dto.getHouseholds());
+        assertEquals(Map.of(3, 2), dto.getHouseholdSizes());
+    }
+
+    @Test
+    @DisplayName("Test de la méthode toString")
+    void testToString() {
+        // Arrange
+        AggregateStatsDTO dto = new AggregateStatsDTO();
+        dto.setScope("city");
+
+        // Act & Assert
+        assertTrue(dto.toString().contains("AggregateStatsDTO(scope=city"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.ryan.safetynet.alerts.dto;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du DTO ChangeEventDTO")
+class ChangeEventDTOTest {
+
+    @Test
+    @DisplayName("Test des getters et setters")
+    void testGettersAndSetters() {
+        // Arrange
+        ChangeEventDTO dto = new ChangeEventDTO();
+        Object before = "avant";
+        Object after = "après";
+
+        // Act
+        dto.setSequence(7);
+        dto.setEntity(DataChange.Entity.PERSON);
+        dto.setType(DataChange.Type.UPDATED);
+        dto.setBefore(before);
+        dto.setAfter(after);
+        dto.setCoalesced(2);
+
+        // Assert
+        assertEquals(7, dto.getSequence());
+        assertEquals(DataChange.Entity.PERSON, dto.getEntity());
+        assertEquals(DataChange.Type.UPDATED, dto.getType());
+        assertSame(before, dto.getBefore());
+        assertSame(after, dto.getAfter());
+        assertEquals(2, dto.getCoalesced());
+    }
+
+    @Test
+    @DisplayName("Test de la méthode toString")
+    void testToString() {
+        // Arrange
+        ChangeEventDTO dto = new ChangeEventDTO();
+        dto.setSequence(1);
+
+        // Act & Assert
+        assertTrue(dto.toString().contains("ChangeEventDTO(sequence=1"));
+    }
+}
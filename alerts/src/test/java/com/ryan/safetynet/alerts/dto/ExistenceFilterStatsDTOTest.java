@@ -0,0 +1,52 @@
+package com.ryan.safetynet.alerts.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du DTO ExistenceFilterStatsDTO")
+class ExistenceFilterStatsDTOTest {
+
+    @Test
+    @DisplayName("Test des getters et setters")
+    void testGettersAndSetters() {
+        // Arrange
+        ExistenceFilterStatsDTO dto = new ExistenceFilterStatsDTO();
+
+        // Act
+        dto.setEntity("person");
+        dto.setKeys(23);
+        dto.setCapacity(64);
+        dto.setBits(640);
+        dto.setHashFunctions(7);
+        dto.setLookups(100);
+        dto.setFilteredLookups(95);
+        dto.setFalsePositives(1);
+        dto.setFalsePositiveRate(0.0104);
+        dto.setExpectedFalsePositiveRate(0.0001);
+
+        // Assert
+        assertEquals("person", dto.getEntity());
+        assertEquals(23, dto.getKeys());
+        assertEquals(64, dto.getCapacity());
+        assertEquals(640, dto.getBits());
+        assertEquals(7, dto.getHashFunctions());
+        assertEquals(100, dto.getLookups());
+        assertEquals(95, dto.getFilteredLookups());
+        assertEquals(1, dto.getFalsePositives());
+        assertEquals(0.0104, dto.getFalsePositiveRate());
+        assertEquals(0.0001, dto.getExpectedFalsePositiveRate());
+    }
+
+    @Test
+    @DisplayName("Test de la méthode toString")
+    void testToString() {
+        // Arrange
+        ExistenceFilterStatsDTO dto = new ExistenceFilterStatsDTO();
+        dto.setEntity("person");
+
+        // Act & Assert
+        assertTrue(dto.toString().contains("ExistenceFilterStatsDTO(entity=person"));
+    }
+}
@@ -0,0 +1,38 @@
+package com.ryan.safetynet.alerts.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du DTO IndexBuildStatsDTO")
+class IndexBuildStatsDTOTest {
+
+    @Test
+    @DisplayName("Test des getters et setters")
+    void testGettersAndSetters() {
+        // Arrange
+        IndexBuildStatsDTO dto = new IndexBuildStatsDTO();
+
+        // Act
+        dto.setName("household");
+        dto.setReady(true);
+        dto.setBuildMillis(12L);
+
+        // Assert
+        assertEquals("household", dto.getName());
+        assertTrue(dto.isReady());
+        assertEquals(12L, dto.getBuildMillis());
+    }
+
+    @Test
+    @DisplayName("Test de la méthode toString")
+    void testToString() {
+        // Arrange
+        IndexBuildStatsDTO dto = new IndexBuildStatsDTO();
+        dto.setName("aggregate");
+
+        // Act & Assert
+        assertTrue(dto.toString().contains("IndexBuildStatsDTO(name=aggregate"));
+    }
+}
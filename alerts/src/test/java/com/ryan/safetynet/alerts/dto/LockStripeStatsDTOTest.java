@@ -0,0 +1,46 @@
+package com.ryan.safetynet.alerts.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du DTO LockStripeStatsDTO")
+class LockStripeStatsDTOTest {
+
+    @Test
+    @DisplayName("Test des getters et setters")
+    void testGettersAndSetters() {
+        // Arrange
+        LockStripeStatsDTO dto = new LockStripeStatsDTO();
+
+        // Act
+        dto.setStripe(3);
+        dto.setOptimisticReads(10);
+        dto.setOptimisticFailures(2);
+        dto.setReadLocks(2);
+        dto.setWriteLocks(5);
+        dto.setContendedWrites(1);
+        dto.setWriteWaitNanos(1500);
+
+        // Assert
+        assertEquals(3, dto.getStripe());
+        assertEquals(10, dto.getOptimisticReads());
+        assertEquals(2, dto.getOptimisticFailures());
+        assertEquals(2, dto.getReadLocks());
+        assertEquals(5, dto.getWriteLocks());
+        assertEquals(1, dto.getContendedWrites());
+        assertEquals(1500, dto.getWriteWaitNanos());
+    }
+
+    @Test
+    @DisplayName("Test de la méthode toString")
+    void testToString() {
+        // Arrange
+        LockStripeStatsDTO dto = new LockStripeStatsDTO();
+        dto.setStripe(-1);
+
+        // Act & Assert
+        assertTrue(dto.toString().contains("LockStripeStatsDTO(stripe=-1"));
+    }
+}
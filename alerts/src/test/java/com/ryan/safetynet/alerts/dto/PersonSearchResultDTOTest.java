@@ -0,0 +1,44 @@
+package com.ryan.safetynet.alerts.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du DTO PersonSearchResultDTO")
+class PersonSearchResultDTOTest {
+
+    @Test
+    @DisplayName("Test des getters et setters")
+    void testGettersAndSetters() {
+        // Arrange
+        PersonSearchResultDTO dto = new PersonSearchResultDTO();
+
+        // Act
+        dto.setFirstName("John");
+        dto.setLastName("Boyd");
+        dto.setAddress("1509 Culver St");
+        dto.setCity("Culver");
+        dto.setDistance(1);
+        dto.setPhoneticMatch(true);
+
+        // Assert
+        assertEquals("John", dto.getFirstName());
+        assertEquals("Boyd", dto.getLastName());
+        assertEquals("1509 Culver St", dto.getAddress());
+        assertEquals("Culver", dto.getCity());
+        assertEquals(1, dto.getDistance());
+        assertTrue(dto.isPhoneticMatch());
+    }
+
+    @Test
+    @DisplayName("Test de la méthode toString")
+    void testToString() {
+        // Arrange
+        PersonSearchResultDTO dto = new PersonSearchResultDTO();
+        dto.setFirstName("John");
+
+        // Act & Assert
+        assertTrue(dto.toString().contains("PersonSearchResultDTO(firstName=John"));
+    }
+}
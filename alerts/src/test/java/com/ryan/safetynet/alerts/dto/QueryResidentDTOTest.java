@@ -0,0 +1,56 @@
+package com.ryan.safetynet.alerts.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du DTO QueryResidentDTO")
+class QueryResidentDTOTest {
+
+    @Test
+    @DisplayName("Test des getters et setters")
+    void testGettersAndSetters() {
+        // Arrange
+        QueryResidentDTO dto = new QueryResidentDTO();
+
+        // Act
+        dto.setFirstName("Tenley");
+        dto.setLastName("Boyd");
+        dto.setAddress("1509 Culver St");
+        dto.setCity("Culver");
+        dto.setZip("97451");
+        dto.setPhone("841-874-6512");
+        dto.setEmail("tenz@email.com");
+        dto.setStation("3");
+        dto.setAge(12);
+        dto.setMedications(List.of());
+        dto.setAllergies(List.of("peanut"));
+
+        // Assert
+        assertEquals("Tenley", dto.getFirstName());
+        assertEquals("Boyd", dto.getLastName());
+        assertEquals("1509 Culver St", dto.getAddress());
+        assertEquals("Culver", dto.getCity());
+        assertEquals("97451", dto.getZip());
+        assertEquals("841-874-6512", dto.getPhone());
+        assertEquals("tenz@email.com", dto.getEmail());
+        assertEquals("3", dto.getStation());
+        assertEquals(12, dto.getAge());
+        assertEquals(List.of(), dto.getMedications());
+        assertEquals(List.of("peanut"), dto.getAllergies());
+    }
+
+    @Test
+    @DisplayName("Test de la méthode toString")
+    void testToString() {
+        // Arrange
+        QueryResidentDTO dto = new QueryResidentDTO();
+        dto.setFirstName("Tenley");
+
+        // Act & Assert
+        assertTrue(dto.toString().contains("QueryResidentDTO(firstName=Tenley"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.ryan.safetynet.alerts.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du DTO QueryStepDTO")
+class QueryStepDTOTest {
+
+    @Test
+    @DisplayName("Test des getters et setters")
+    void testGettersAndSetters() {
+        // Arrange
+        QueryStepDTO dto = new QueryStepDTO();
+
+        // Act
+        dto.setPredicate("station in [3]");
+        dto.setAccess("index");
+        dto.setEstimatedRows(11);
+        dto.setEstimatedCost(1);
+
+        // Assert
+        assertEquals("station in [3]", dto.getPredicate());
+        assertEquals("index", dto.getAccess());
+        assertEquals(11, dto.getEstimatedRows());
+        assertEquals(1, dto.getEstimatedCost());
+    }
+
+    @Test
+    @DisplayName("Test de la méthode toString")
+    void testToString() {
+        // Arrange
+        QueryStepDTO dto = new QueryStepDTO();
+        dto.setPredicate("city = culver");
+
+        // Act & Assert
+        assertTrue(dto.toString().contains("QueryStepDTO(predicate=city = culver"));
+    }
+}
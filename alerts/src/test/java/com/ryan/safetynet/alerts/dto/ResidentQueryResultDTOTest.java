@@ -0,0 +1,44 @@
+package com.ryan.safetynet.alerts.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du DTO ResidentQueryResultDTO")
+class ResidentQueryResultDTOTest {
+
+    @Test
+    @DisplayName("Test des getters et setters")
+    void testGettersAndSetters() {
+        // Arrange
+        ResidentQueryResultDTO dto = new ResidentQueryResultDTO();
+        QueryStepDTO step = new QueryStepDTO();
+        QueryResidentDTO resident = new QueryResidentDTO();
+
+        // Act
+        dto.setPlan(List.of(step));
+        dto.setEstimatedCost(12);
+        dto.setExamined(3);
+        dto.setResidents(List.of(resident));
+
+        // Assert
+        assertEquals(List.of(step), dto.getPlan());
+        assertEquals(12, dto.getEstimatedCost());
+        assertEquals(3, dto.getExamined());
+        assertEquals(List.of(resident), dto.getResidents());
+    }
+
+    @Test
+    @DisplayName("Test de la méthode toString")
+    void testToString() {
+        // Arrange
+        ResidentQueryResultDTO dto = new ResidentQueryResultDTO();
+        dto.setEstimatedCost(12);
+
+        // Act & Assert
+        assertTrue(dto.toString().contains("estimatedCost=12"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.ryan.safetynet.alerts.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du DTO StorageFootprintDTO")
+class StorageFootprintDTOTest {
+
+    @Test
+    @DisplayName("Test des getters et setters")
+    void testGettersAndSetters() {
+        // Arrange
+        StorageFootprintDTO dto = new StorageFootprintDTO();
+
+        // Act
+        dto.setPersons(23);
+        dto.setMedicalRecords(23);
+        dto.setObjectModelBytes(20000);
+        dto.setUnpooledObjectModelBytes(30000);
+        dto.setPooledStrings(120);
+        dto.setColumnarBytes(8000);
+        dto.setOffHeapBytes(4000);
+        dto.setColumnarRatio(0.4);
+
+        // Assert
+        assertEquals(23, dto.getPersons());
+        assertEquals(23, dto.getMedicalRecords());
+        assertEquals(20000, dto.getObjectModelBytes());
+        assertEquals(30000, dto.getUnpooledObjectModelBytes());
+        assertEquals(120, dto.getPooledStrings());
+        assertEquals(8000, dto.getColumnarBytes());
+        assertEquals(4000, dto.getOffHeapBytes());
+        assertEquals(0.4, dto.getColumnarRatio());
+    }
+
+    @Test
+    @DisplayName("Test de la méthode toString")
+    void testToString() {
+        // Arrange
+        StorageFootprintDTO dto = new StorageFootprintDTO();
+        dto.setPersons(23);
+
+        // Act & Assert
+        assertTrue(dto.toString().contains("StorageFootprintDTO(persons=23"));
+    }
+}
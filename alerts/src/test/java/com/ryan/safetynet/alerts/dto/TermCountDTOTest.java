@@ -0,0 +1,36 @@
+package com.ryan.safetynet.alerts.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du DTO TermCountDTO")
+class TermCountDTOTest {
+
+    @Test
+    @DisplayName("Test des getters et setters")
+    void testGettersAndSetters() {
+        // Arrange
+        TermCountDTO dto = new TermCountDTO();
+
+        // Act
+        dto.setTerm("aznol");
+        dto.setCount(3);
+
+        // Assert
+        assertEquals("aznol", dto.getTerm());
+        assertEquals(3, dto.getCount());
+    }
+
+    @Test
+    @DisplayName("Test de la méthode toString")
+    void testToString() {
+        // Arrange
+        TermCountDTO dto = new TermCountDTO();
+        dto.setTerm("peanut");
+
+        // Act & Assert
+        assertTrue(dto.toString().contains("TermCountDTO(term=peanut"));
+    }
+}
@@ -224,4 +224,21 @@ class GlobalExceptionHandlerTest {
             // Méthode de test
         }
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test de gestion d'une mutation rejetée (file pleine)")
+    void handleMutationRejectedException() {
+        // Given
+        MutationRejectedException ex = new MutationRejectedException(1024);
+
+        // When
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleMutationRejectedException(ex);
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        ErrorResponse body = response.getBody();
+        assertNotNull(body);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), body.getStatus());
+        assertTrue(body.getMessage().contains("1024"));
+    }
+}
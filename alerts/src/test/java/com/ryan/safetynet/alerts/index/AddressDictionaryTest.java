@@ -0,0 +1,78 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du dictionnaire AddressDictionary")
+class AddressDictionaryTest {
+
+    private AddressDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress("1509 Culver Street");
+        fireStation.setStation("3");
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+            new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"))));
+        data.setFireStations(new ArrayList<>(List.of(fireStation)));
+        dictionary = new AddressDictionary();
+        dictionary.rebuild(data);
+    }
+
+    @Test
+    @DisplayName("Test du même identifiant pour deux saisies d'une même adresse")
+    void testSameIdForVariants() {
+        // Act & Assert
+        assertTrue(dictionary.isReady());
+        assertEquals(1, dictionary.size());
+        assertEquals(dictionary.idOf("1509 Culver St"), dictionary.find("1509 CULVER street."));
+    }
+
+    @Test
+    @DisplayName("Test de la recherche d'une adresse inconnue, sans enregistrement")
+    void testUnknownAddress() {
+        // Act & Assert
+        assertEquals(AddressDictionary.NO_ID, dictionary.find("29 15th St"));
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    @DisplayName("Test de l'enregistrement des adresses ajoutées")
+    void testOnDataChanged() {
+        // Arrange
+        Person person = new Person("Peter", "Duncan", "29 15th St", "Culver", "97451", "841-874-6514", "pd@email.com");
+
+        // Act
+        dictionary.onDataChanged(List.of(DataChange.added(person)));
+
+        // Assert
+        assertNotEquals(AddressDictionary.NO_ID, dictionary.find("29 15th street"));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    @DisplayName("Test de l'enregistrement des adresses recherchées avant le chargement")
+    void testFindBeforeRebuild() {
+        // Arrange
+        AddressDictionary empty = new AddressDictionary();
+
+        // Act
+        int id = empty.find("29 15th St");
+
+        // Assert
+        assertFalse(empty.isReady());
+        assertEquals(id, empty.idOf("29 15th Street"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'index AddressIndex")
+class AddressIndexTest {
+
+    private AddressIndex index;
+    private Person eric;
+
+    @BeforeEach
+    void setUp() {
+        eric = person("Eric", "951 LoneTree Rd");
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+            person("John", "1509 Culver St"),
+            person("Jacob", "1509 Culver St"),
+            person("Tony", "1509 Culver St"),
+            person("Peter", "29 15th St"),
+            eric)));
+        data.setFireStations(new ArrayList<>(List.of(
+            fireStation("1509 Culver St", "3"),
+            fireStation("29 15th St", "2"),
+            fireStation("951 LoneTree Rd", "2"),
+            fireStation("1 Empty Rd", "4"))));
+        index = new AddressIndex(new AddressDictionary());
+        index.rebuild(data);
+    }
+
+    @Test
+    @DisplayName("Test des suggestions par préfixe classées par nombre de résidents")
+    void testSuggestByPrefix() {
+        // Act
+        List<AddressIndex.Address> suggestions = index.suggest("1", 10);
+
+        // Assert
+        assertEquals(List.of("1509 Culver St", "29 15th St", "1 Empty Rd"), addresses(suggestions));
+        assertEquals(3, suggestions.get(0).getResidents());
+        assertEquals(List.of("3"), suggestions.get(0).getStations());
+    }
+
+    @Test
+    @DisplayName("Test des suggestions sur le nom de rue, insensibles à la casse")
+    void testSuggestByStreet() {
+        // Act & Assert
+        assertEquals(List.of("1509 Culver St"), addresses(index.suggest("CULV", 10)));
+        assertEquals(List.of("951 LoneTree Rd"), addresses(index.suggest("lonetree  r", 10)));
+        assertTrue(index.suggest("Unknown", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test de la limite du nombre de suggestions")
+    void testLimit() {
+        // Act
+        List<AddressIndex.Address> suggestions = index.suggest("", 2);
+
+        // Assert
+        assertEquals(List.of("1509 Culver St", "29 15th St"), addresses(suggestions));
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour après un déménagement et un changement de mapping")
+    void testIncrementalUpdate() {
+        // Arrange
+        Person moved = person("Eric", "7 Nouvelle Rue");
+
+        // Act
+        index.onDataChanged(List.of(
+            DataChange.updated(eric, moved),
+            DataChange.removed(fireStation("951 LoneTree Rd", "2")),
+            DataChange.updated(fireStation("1 Empty Rd", "4"), fireStation("1 Empty Rd", "1"))));
+
+        // Assert
+        assertTrue(index.suggest("951", 10).isEmpty());
+        List<AddressIndex.Address> suggestions = index.suggest("7 nouv", 10);
+        assertEquals(1, suggestions.get(0).getResidents());
+        assertTrue(suggestions.get(0).getStations().isEmpty());
+        assertEquals(List.of("1"), index.suggest("1 Empty", 10).get(0).getStations());
+    }
+
+    @Test
+    @DisplayName("Test du regroupement des saisies d'une même adresse canonique")
+    void testCanonicalAddress() {
+        // Arrange
+        Person jacob = person("Jacob", "1509 culver street");
+
+        // Act
+        index.onDataChanged(List.of(
+            DataChange.added(jacob),
+            DataChange.added(fireStation("1509 CULVER ST.", "4"))));
+
+        // Assert
+        List<AddressIndex.Address> suggestions = index.suggest("1509", 10);
+        assertEquals(List.of("1509 Culver St"), addresses(suggestions));
+        assertEquals(4, suggestions.get(0).getResidents());
+        assertEquals(List.of("3", "4"), suggestions.get(0).getStations());
+
+        // Act : le dernier mapping de la saisie initiale disparaît, l'adresse reste connue
+        index.onDataChanged(List.of(
+            DataChange.removed(fireStation("1509 Culver St", "3")),
+            DataChange.removed(jacob)));
+
+        // Assert
+        assertEquals(List.of("4"), index.suggest("1509", 10).get(0).getStations());
+        assertEquals(3, index.suggest("1509", 10).get(0).getResidents());
+    }
+
+    @Test
+    @DisplayName("Test de l'index non construit")
+    void testNotReady() {
+        // Act & Assert
+        assertFalse(new AddressIndex(new AddressDictionary()).isReady());
+        assertTrue(new AddressIndex(new AddressDictionary()).suggest("1", 10).isEmpty());
+    }
+
+    private static List<String> addresses(List<AddressIndex.Address> suggestions) {
+        return suggestions.stream().map(AddressIndex.Address::getAddress).toList();
+    }
+
+    private static Person person(String firstName, String address) {
+        return new Person(firstName, "Boyd", address, "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+    }
+
+    private static FireStation fireStation(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+}
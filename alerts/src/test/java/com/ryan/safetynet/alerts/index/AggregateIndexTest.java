@@ -0,0 +1,222 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'index AggregateIndex")
+class AggregateIndexTest {
+
+    private static final LocalDate TENLEY_BIRTHDATE = LocalDate.of(2012, 2, 3);
+
+    private AggregateIndex index;
+    private Data data;
+    private Person tenley;
+    private Person eric;
+    private MedicalRecord johnRecord;
+    private FireStation culverMapping;
+
+    @BeforeEach
+    void setUp() {
+        tenley = new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "tenz@email.com");
+        eric = new Person("Eric", "Cadigan", "951 LoneTree Rd", "Culver", "97451", "841-874-7458", "gramps@email.com");
+        johnRecord = record("John", "Boyd", LocalDate.of(1984, 3, 6),
+                List.of("aznol:350mg", "hydrapermazol:100mg"), List.of("nillacilan"));
+        culverMapping = mapping("1509 Culver St", "3");
+        data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+                new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+                tenley,
+                new Person("Roger", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+                eric)));
+        data.setMedicalRecords(new ArrayList<>(List.of(
+                johnRecord,
+                record("Tenley", "Boyd", TENLEY_BIRTHDATE, List.of(), List.of("peanut")),
+                record("Eric", "Cadigan", LocalDate.of(1945, 8, 6), List.of("tradoxidine:400mg"), List.of()))));
+        data.setFireStations(new ArrayList<>(List.of(culverMapping, mapping("951 LoneTree Rd", "2"),
+                mapping("1509 Culver St", "3"))));
+        index = new AggregateIndex(new AddressDictionary());
+        index.rebuild(data);
+    }
+
+    @Test
+    @DisplayName("Test des agrégats à la construction")
+    void testRebuild() {
+        // Act
+        AggregateIndex.Stats station = index.station(3);
+        AggregateIndex.Stats city = index.city("CULVER");
+
+        // Assert : Roger n'a pas de dossier médical, l'adresse en double n'est comptée qu'une fois
+        assertTrue(index.isReady());
+        assertEquals("3", station.getName());
+        assertEquals(3, station.getResidents());
+        assertEquals(1, station.getWithoutMedicalRecord());
+        assertEquals(1, station.getHouseholds());
+        assertEquals(Map.of(3, 1), station.getHouseholdSizes());
+        assertEquals(List.of(new AggregateIndex.TermCount("aznol", 1),
+                new AggregateIndex.TermCount("hydrapermazol", 1)), station.getTopMedications());
+        assertEquals("Culver", city.getName());
+        assertEquals(4, city.getResidents());
+        assertEquals(Map.of(1, 1, 3, 1), city.getHouseholdSizes());
+        assertNull(index.station(9));
+        assertNull(index.city("Paris"));
+    }
+
+    @Test
+    @DisplayName("Test des tranches d'âge au changement de jour")
+    void testAgeBuckets() {
+        // Arrange
+        LocalDate eve = TENLEY_BIRTHDATE.plusYears(13).minusDays(1);
+        AggregateIndex.Stats city = index.city("Culver");
+
+        // Act
+        Map<String, Integer> before = city.ageBucketsOn(eve);
+        Map<String, Integer> sameDay = city.ageBucketsOn(eve);
+        Map<String, Integer> after = city.ageBucketsOn(eve.plusDays(1));
+
+        // Assert : Tenley change de tranche le jour de ses 13 ans
+        assertEquals(List.of("0-4", "5-12", "13-18", "19-64", "65+"), List.copyOf(before.keySet()));
+        assertEquals(List.of(0, 1, 0, 1, 1), List.copyOf(before.values()));
+        assertSame(before, sameDay);
+        assertEquals(List.of(0, 0, 1, 1, 1), List.copyOf(after.values()));
+    }
+
+    @Test
+    @DisplayName("Test du déménagement et de la suppression d'un résident")
+    void testPersonChange() {
+        // Arrange
+        Person moved = new Person("Tenley", "Boyd", "951 LoneTree Rd", "Culver", "97451", "841-874-6512",
+                "tenz@email.com");
+
+        // Act
+        apply(DataChange.updated(tenley, moved));
+
+        // Assert
+        assertEquals(2, index.station(3).getResidents());
+        assertEquals(Map.of(2, 1), index.station(3).getHouseholdSizes());
+        assertEquals(List.of("nillacilan"), allergies(index.station(3)));
+        assertEquals(List.of("peanut"), allergies(index.station(2)));
+        assertEquals(Map.of(2, 2), index.city("Culver").getHouseholdSizes());
+
+        // Act
+        apply(DataChange.removed(moved));
+        apply(DataChange.removed(eric));
+
+        // Assert : la station 2 ne couvre plus aucun résident
+        assertNull(index.station(2));
+        assertEquals(2, index.city("Culver").getResidents());
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour des agrégats à la modification d'un dossier médical")
+    void testRecordChange() {
+        // Act : ajout du dossier de Roger
+        apply(DataChange.added(record("Roger", "Boyd", LocalDate.of(2019, 5, 1), List.of("aznol:200mg"), List.of())));
+
+        // Assert
+        AggregateIndex.Stats station = index.station(3);
+        assertEquals(0, station.getWithoutMedicalRecord());
+        assertEquals(new AggregateIndex.TermCount("aznol", 2), station.getTopMedications().get(0));
+
+        // Act
+        apply(DataChange.updated(johnRecord, record("John", "Boyd", LocalDate.of(1984, 3, 6), List.of(), List.of())));
+
+        // Assert
+        assertEquals(List.of(new AggregateIndex.TermCount("aznol", 1)), index.station(3).getTopMedications());
+        assertTrue(index.station(3).getTopAllergies().stream().noneMatch(t -> t.term().equals("nillacilan")));
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour des agrégats à la modification d'un mapping")
+    void testMappingChange() {
+        // Act : l'adresse reste couverte tant qu'un mapping subsiste
+        apply(DataChange.removed(culverMapping));
+
+        // Assert
+        assertEquals(3, index.station(3).getResidents());
+
+        // Act
+        apply(DataChange.removed(mapping("1509 Culver St", "3")));
+        apply(DataChange.added(mapping("1509 culver street", "2")));
+
+        // Assert
+        assertNull(index.station(3));
+        assertEquals(4, index.station(2).getResidents());
+        assertEquals(Map.of(1, 1, 3, 1), index.station(2).getHouseholdSizes());
+    }
+
+    @Test
+    @DisplayName("Test du calcul par parcours des données, identique à l'index")
+    void testScan() {
+        // Act
+        AggregateIndex.Stats station = index.scanStation(data, 3);
+        AggregateIndex.Stats city = index.scanCity(data, "culver");
+
+        // Assert
+        assertEquals(index.station(3).getResidents(), station.getResidents());
+        assertEquals(index.station(3).getHouseholdSizes(), station.getHouseholdSizes());
+        assertEquals(index.station(3).getTopAllergies(), station.getTopAllergies());
+        assertEquals("Culver", city.getName());
+        assertEquals(index.city("Culver").getTopMedications(), city.getTopMedications());
+        assertEquals(index.city("Culver").ageBucketsOn(TENLEY_BIRTHDATE.plusYears(20)),
+                city.ageBucketsOn(TENLEY_BIRTHDATE.plusYears(20)));
+        assertNull(index.scanStation(data, 9));
+    }
+
+    @Test
+    @DisplayName("Test de la limite des médicaments les plus fréquents")
+    void testTopMedications() {
+        // Arrange
+        List<String> medications = new ArrayList<>(List.of("aznol:200mg"));
+        for (int i = 0; i < AggregateIndex.TOP_N + 2; i++) {
+            medications.add("drug" + (char) ('a' + i) + ":10mg");
+        }
+
+        // Act
+        apply(DataChange.added(record("Roger", "Boyd", LocalDate.of(2019, 5, 1), medications, List.of())));
+
+        // Assert : aznol, pris par deux résidents, est en tête, puis les termes à égalité par ordre alphabétique
+        List<AggregateIndex.TermCount> top = index.station(3).getTopMedications();
+        assertEquals(AggregateIndex.TOP_N, top.size());
+        assertEquals("aznol", top.get(0).term());
+        assertEquals("druga", top.get(1).term());
+    }
+
+    private void apply(DataChange change) {
+        index.onDataChanged(List.of(change));
+    }
+
+    private static List<String> allergies(AggregateIndex.Stats stats) {
+        return stats.getTopAllergies().stream().map(AggregateIndex.TermCount::term).toList();
+    }
+
+    private static MedicalRecord record(String firstName, String lastName, LocalDate birthdate,
+                                        List<String> medications, List<String> allergies) {
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName(firstName);
+        record.setLastName(lastName);
+        record.setBirthdate(birthdate);
+        record.setMedications(medications);
+        record.setAllergies(allergies);
+        return record;
+    }
+
+    private static FireStation mapping(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+}
@@ -0,0 +1,61 @@
+package com.ryan.safetynet.alerts.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du filtre de Bloom BloomFilter")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Test de l'absence de faux négatifs")
+    void testNoFalseNegatives() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("Person" + i);
+            filter.put(i);
+        }
+
+        // Assert
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain("Person" + i));
+            assertTrue(filter.mightContain(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Test du taux de faux positifs proche du taux visé")
+    void testFalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("present-" + i);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertEquals(7, filter.hashFunctions());
+        assertTrue(filter.bitCount() >= 9_585);
+        assertTrue(falsePositives < 300, "Faux positifs : " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(1_000), 0.002);
+    }
+
+    @Test
+    @DisplayName("Test du rejet d'un dimensionnement invalide")
+    void testInvalidSizing() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1));
+    }
+}
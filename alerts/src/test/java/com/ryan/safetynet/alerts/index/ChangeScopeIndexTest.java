@@ -0,0 +1,94 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.index.ChangeScopeIndex.Scope;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'index ChangeScopeIndex")
+class ChangeScopeIndexTest {
+
+    private AddressDictionary addressDictionary;
+    private ChangeScopeIndex index;
+    private Person john;
+
+    @BeforeEach
+    void setUp() {
+        john = new Person("John", "Boyd", "1509 Culver Street", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(john,
+                new Person("Eric", "Cadigan", "951 LoneTree Rd", "Culver", "97451", "841-874-7458", "gramps@email.com"))));
+        data.setMedicalRecords(new ArrayList<>());
+        data.setFireStations(new ArrayList<>(List.of(mapping("1509 Culver St", "3"), mapping("1509 culver st.", "4"),
+                mapping("951 LoneTree Rd", "2"))));
+        addressDictionary = new AddressDictionary();
+        index = new ChangeScopeIndex(addressDictionary);
+        index.rebuild(data);
+    }
+
+    @Test
+    @DisplayName("Test de la portée d'une modification de résident : adresse canonique et stations qui la couvrent")
+    void testPersonScope() {
+        // Act
+        Scope scope = index.scopeOf(DataChange.updated(john, john));
+
+        // Assert
+        assertTrue(index.isReady());
+        assertEquals(Set.of(addressDictionary.find("1509 Culver Street")), scope.addresses());
+        assertEquals(Set.of("3", "4"), scope.stations());
+    }
+
+    @Test
+    @DisplayName("Test de la portée d'un dossier médical : adresses des homonymes exacts")
+    void testMedicalRecordScope() {
+        // Arrange
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName("Eric");
+        record.setLastName("Cadigan");
+
+        // Act
+        Scope scope = index.scopeOf(DataChange.added(record));
+
+        // Assert
+        assertEquals(Set.of(addressDictionary.find("951 LoneTree Rd")), scope.addresses());
+        assertEquals(Set.of("2"), scope.stations());
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour mutation par mutation")
+    void testMutationApplied() {
+        // Arrange
+        Person moved = new Person("Eric", "Cadigan", "1509 Culver St", "Culver", "97451", "841-874-7458", "gramps@email.com");
+        Person eric = new Person("Eric", "Cadigan", "951 LoneTree Rd", "Culver", "97451", "841-874-7458", "gramps@email.com");
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName("Eric");
+        record.setLastName("Cadigan");
+
+        // Act
+        index.onMutationApplied(List.of(DataChange.updated(eric, moved)));
+        index.onMutationApplied(List.of(DataChange.removed(mapping("1509 culver st.", "4"))));
+
+        // Assert
+        Scope scope = index.scopeOf(DataChange.updated(record, record));
+        assertEquals(Set.of(addressDictionary.find("1509 Culver St")), scope.addresses());
+        assertEquals(Set.of("3"), scope.stations());
+    }
+
+    private static FireStation mapping(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+}
@@ -0,0 +1,105 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'index CityEmailIndex")
+class CityEmailIndexTest {
+
+    private CityEmailIndex index;
+    private Person john;
+    private Person jane;
+
+    @BeforeEach
+    void setUp() {
+        john = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        jane = new Person("Jane", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6513", "jaboyd@email.com");
+        index = new CityEmailIndex();
+    }
+
+    @Test
+    @DisplayName("Test de l'index non construit")
+    void testNotReady() {
+        // Act & Assert
+        assertFalse(index.isReady());
+        assertTrue(index.getEmails("Culver").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test de la construction : emails dédoublonnés et ville insensible à la casse")
+    void testRebuild() {
+        // Arrange
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(john, jane)));
+
+        // Act
+        index.rebuild(data);
+
+        // Assert
+        assertTrue(index.isReady());
+        assertEquals(List.of("jaboyd@email.com"), index.getEmails("cULVER"));
+        assertTrue(index.getEmails("Paris").isEmpty());
+        assertTrue(index.getEmails(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test de la suppression d'un email partagé par plusieurs résidents")
+    void testSharedEmailRemoval() {
+        // Arrange
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(john, jane)));
+        index.rebuild(data);
+
+        // Act
+        index.onDataChanged(List.of(DataChange.removed(john)));
+
+        // Assert
+        assertEquals(List.of("jaboyd@email.com"), index.getEmails("Culver"));
+
+        // Act
+        index.onDataChanged(List.of(DataChange.removed(jane)));
+
+        // Assert
+        assertTrue(index.getEmails("Culver").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour : changement de ville et d'email")
+    void testUpdate() {
+        // Arrange
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(john)));
+        index.rebuild(data);
+        Person moved = new Person("John", "Boyd", "1 Rue de Rivoli", "Paris", "75001", "841-874-6512", "john@email.com");
+
+        // Act
+        index.onDataChanged(List.of(DataChange.updated(john, moved)));
+
+        // Assert
+        assertTrue(index.getEmails("Culver").isEmpty());
+        assertEquals(List.of("john@email.com"), index.getEmails("PARIS"));
+    }
+
+    @Test
+    @DisplayName("Test de l'ajout et du repli de casse Unicode")
+    void testAddWithUnicodeFolding() {
+        // Arrange
+        index.rebuild(new Data());
+        Person person = new Person("Hans", "Müller", "1 Hauptstraße", "Gießen", "35390", "000", "hans@email.com");
+
+        // Act
+        index.onDataChanged(List.of(DataChange.added(person)));
+
+        // Assert
+        assertEquals(List.of("hans@email.com"), index.getEmails("GIESSEN"));
+    }
+}
@@ -0,0 +1,284 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du stockage ColumnarStore")
+class ColumnarStoreTest {
+
+    @Mock
+    private DataRepository dataRepository;
+
+    private ColumnarStore store;
+    private Data data;
+
+    @BeforeEach
+    void setUp() {
+        data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+                new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+                new Person("Peter", "Duncan", "644 Gershwin Cir", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+                new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "tenz@email.com"))));
+        FireStation mapping = new FireStation();
+        mapping.setAddress("1509 Culver St");
+        mapping.setStation("3");
+        data.setFireStations(new ArrayList<>(List.of(mapping)));
+        data.setMedicalRecords(new ArrayList<>(List.of(
+                record("John", "Boyd", LocalDate.of(1984, 3, 6), List.of("aznol:350mg", "hydrapermazol:100mg"), List.of("nillacilan")),
+                record("Tenley", "Boyd", LocalDate.of(2012, 2, 18), List.of(), List.of("peanut")))));
+        store = new ColumnarStore(dataRepository, new AddressDictionary());
+        store.rebuild(data);
+    }
+
+    @Test
+    @DisplayName("Test du parcours de la colonne des adresses et du décodage des colonnes")
+    void testRowsAtAndColumns() {
+        // Act
+        ColumnarStore.Columns columns = store.columns();
+        int[] rows = columns.rowsAt("1509 culver street");
+
+        // Assert
+        assertArrayEquals(new int[]{0, 2}, rows);
+        assertEquals("John", columns.firstName(0));
+        assertEquals("Boyd", columns.lastName(2));
+        assertEquals("1509 Culver St", columns.address(0));
+        assertEquals("Culver", columns.city(1));
+        assertEquals("97451", columns.zip(1));
+        assertEquals("841-874-6512", columns.phone(2));
+        assertEquals("tenz@email.com", columns.email(2));
+        assertEquals(LocalDate.of(1984, 3, 6), columns.birthdate(0));
+        assertEquals(3, columns.station(0));
+        assertEquals(List.of("aznol:350mg", "hydrapermazol:100mg"), columns.medications(0));
+        assertEquals(List.of("peanut"), columns.allergies(2));
+        assertEquals(0, columns.rowsAt("unknown").length);
+    }
+
+    @Test
+    @DisplayName("Test des valeurs absentes : sans dossier médical ni station")
+    void testMissingValues() {
+        // Act
+        ColumnarStore.Columns columns = store.columns();
+
+        // Assert
+        assertFalse(columns.hasBirthdate(1));
+        assertNull(columns.birthdate(1));
+        assertEquals(ColumnarStore.NO_STATION, columns.station(1));
+        assertTrue(columns.medications(1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test de l'application des modifications de personnes : rangs stables et rang libéré")
+    void testOnDataChanged_Persons() {
+        // Arrange
+        Person john = data.getPersons().get(0);
+        Person peter = data.getPersons().get(1);
+        Person moved = new Person("John", "Boyd", "951 LoneTree Rd", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        Person eric = new Person("Eric", "Cadigan", "951 LoneTree Rd", "Culver", "97451", "841-874-7458", "gramps@email.com");
+        ColumnarStore.Columns before = store.columns();
+
+        // Act
+        store.onDataChanged(List.of(DataChange.added(eric), DataChange.updated(john, moved), DataChange.removed(peter)));
+
+        // Assert
+        ColumnarStore.Columns columns = store.columns();
+        assertEquals(4, columns.size());
+        assertEquals(3, columns.count());
+        assertArrayEquals(new int[]{0, 3}, columns.rowsAt("951 LoneTree Rd"));
+        assertArrayEquals(new int[]{2}, columns.rowsAt("1509 Culver St"));
+        assertEquals(0, columns.rowsAt("644 Gershwin Cir").length);
+        assertEquals(LocalDate.of(1984, 3, 6), columns.birthdate(0));
+        assertEquals(ColumnarStore.NO_STATION, columns.station(0));
+        assertEquals("gramps@email.com", columns.email(3));
+        // La version précédente reste inchangée
+        assertArrayEquals(new int[]{0, 2}, before.rowsAt("1509 Culver St"));
+        assertEquals("1509 Culver St", before.address(0));
+    }
+
+    @Test
+    @DisplayName("Test de l'application des modifications de dossiers et de mappings aux homonymes et adresses")
+    void testOnDataChanged_RecordsAndMappings() {
+        // Arrange
+        MedicalRecord john = data.getMedicalRecords().get(0);
+        MedicalRecord updated = record("John", "Boyd", LocalDate.of(1985, 1, 1), List.of("tetracyclaz:650mg"), List.of());
+        MedicalRecord peter = record("Peter", "Duncan", LocalDate.of(2000, 9, 6), List.of(), List.of("shellfish"));
+        FireStation mapping = new FireStation();
+        mapping.setAddress("644 Gershwin Cir");
+        mapping.setStation("1");
+
+        // Act
+        store.onDataChanged(List.of(DataChange.updated(john, updated), DataChange.added(peter),
+                DataChange.removed(data.getFireStations().get(0)), DataChange.added(mapping)));
+
+        // Assert
+        ColumnarStore.Columns columns = store.columns();
+        assertEquals(LocalDate.of(1985, 1, 1), columns.birthdate(0));
+        assertEquals(List.of("tetracyclaz:650mg"), columns.medications(0));
+        assertTrue(columns.allergies(0).isEmpty());
+        assertEquals(LocalDate.of(2000, 9, 6), columns.birthdate(1));
+        assertEquals(List.of("shellfish"), columns.allergies(1));
+        assertEquals(1, columns.station(1));
+        assertEquals(ColumnarStore.NO_STATION, columns.station(0));
+    }
+
+    @Test
+    @DisplayName("Test du premier dossier d'un nom : un second dossier homonyme ne prend le relais qu'à la suppression du premier")
+    void testOnDataChanged_FirstRecordWins() {
+        // Arrange
+        MedicalRecord first = data.getMedicalRecords().get(0);
+        MedicalRecord second = record("John", "Boyd", LocalDate.of(1990, 5, 5), List.of(), List.of());
+
+        // Act
+        store.onDataChanged(List.of(DataChange.added(second)));
+        LocalDate withBoth = store.columns().birthdate(0);
+        store.onDataChanged(List.of(DataChange.removed(first)));
+
+        // Assert
+        assertEquals(LocalDate.of(1984, 3, 6), withBoth);
+        assertEquals(LocalDate.of(1990, 5, 5), store.columns().birthdate(0));
+    }
+
+    @Test
+    @DisplayName("Test du compactage lorsque les rangs libres dépassent les personnes stockées")
+    void testOnDataChanged_Compaction() {
+        // Arrange
+        List<Person> added = new ArrayList<>();
+        for (int i = 0; i < 2 * ColumnarStore.PAGE_SIZE; i++) {
+            added.add(new Person("First" + i, "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"));
+        }
+        store.onDataChanged(added.stream().map(DataChange::added).toList());
+        when(dataRepository.getData()).thenReturn(data);
+
+        // Act
+        store.onDataChanged(added.stream().map(DataChange::removed).toList());
+
+        // Assert : les dossiers et leurs entrées hors tas sont repris tels quels
+        ColumnarStore.Columns columns = store.columns();
+        assertEquals(3, columns.size());
+        assertArrayEquals(new int[]{0, 2}, columns.rowsAt("1509 Culver St"));
+        assertEquals(List.of("aznol:350mg", "hydrapermazol:100mg"), columns.medications(0));
+        assertEquals(3, columns.station(2));
+    }
+
+    @Test
+    @DisplayName("Test du compactage des entrées hors tas lorsque les entrées remplacées dépassent les entrées vivantes")
+    void testOnDataChanged_PayloadCompaction() {
+        // Arrange : chaque version du dossier occupe plus de la moitié d'un bloc
+        MedicalRecord current = data.getMedicalRecords().get(0);
+        List<String> large = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            large.add("x".repeat(60_000));
+        }
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            MedicalRecord updated = record("John", "Boyd", LocalDate.of(1984, 3, 6), large, List.of("nillacilan" + i));
+            store.onDataChanged(List.of(DataChange.updated(current, updated)));
+            current = updated;
+        }
+
+        // Assert : un seul bloc après le compactage
+        ColumnarStore.Columns columns = store.columns();
+        assertEquals(1 << MedicalPayloads.CHUNK_BITS, columns.offHeapBytes());
+        assertEquals(large, columns.medications(0));
+        assertEquals(List.of("nillacilan2"), columns.allergies(0));
+        assertEquals(List.of("peanut"), columns.allergies(2));
+    }
+
+    @Test
+    @DisplayName("Test de cohérence avec une reconstruction après une suite aléatoire de modifications")
+    void testOnDataChanged_MatchesRebuild() {
+        // Arrange
+        Random random = new Random(7);
+        String[] addresses = {"1509 Culver St", "644 Gershwin Cir", "951 LoneTree Rd", "29 15th St"};
+        String[] firstNames = {"John", "Tenley", "Peter", "Eric"};
+
+        // Act
+        for (int i = 0; i < 300; i++) {
+            List<DataChange> changes = new ArrayList<>();
+            int kind = random.nextInt(3);
+            if (kind == 0) {
+                Person person = new Person(firstNames[random.nextInt(4)], "Boyd", addresses[random.nextInt(4)],
+                        "Culver", "97451", "841-874-" + random.nextInt(10), "jaboyd@email.com");
+                int position = data.getPersons().isEmpty() ? -1 : random.nextInt(data.getPersons().size());
+                if (position < 0 || random.nextInt(3) == 0) {
+                    data.getPersons().add(person);
+                    changes.add(DataChange.added(person));
+                } else if (random.nextBoolean()) {
+                    changes.add(DataChange.updated(data.getPersons().set(position, person), person));
+                } else {
+                    changes.add(DataChange.removed(data.getPersons().remove(position)));
+                }
+            } else if (kind == 1) {
+                MedicalRecord record = record(firstNames[random.nextInt(4)], "Boyd",
+                        LocalDate.of(1950 + random.nextInt(70), 1, 1), List.of("aznol:" + i + "mg"), List.of());
+                int position = data.getMedicalRecords().isEmpty() ? -1 : random.nextInt(data.getMedicalRecords().size());
+                if (position < 0 || random.nextInt(3) == 0) {
+                    data.getMedicalRecords().add(record);
+                    changes.add(DataChange.added(record));
+                } else if (random.nextBoolean()) {
+                    changes.add(DataChange.updated(data.getMedicalRecords().set(position, record), record));
+                } else {
+                    changes.add(DataChange.removed(data.getMedicalRecords().remove(position)));
+                }
+            } else {
+                FireStation mapping = new FireStation();
+                mapping.setAddress(addresses[random.nextInt(4)]);
+                mapping.setStation(String.valueOf(random.nextInt(4)));
+                if (data.getFireStations().isEmpty() || random.nextBoolean()) {
+                    data.getFireStations().add(mapping);
+                    changes.add(DataChange.added(mapping));
+                } else {
+                    changes.add(DataChange.removed(data.getFireStations().remove(random.nextInt(data.getFireStations().size()))));
+                }
+            }
+            store.onDataChanged(changes);
+        }
+
+        // Assert
+        ColumnarStore rebuilt = new ColumnarStore(dataRepository, new AddressDictionary());
+        rebuilt.rebuild(data);
+        assertEquals(rebuilt.columns().count(), store.columns().count());
+        for (String address : addresses) {
+            assertEquals(describe(rebuilt.columns(), address), describe(store.columns(), address), address);
+        }
+    }
+
+    private static List<String> describe(ColumnarStore.Columns columns, String address) {
+        List<String> rows = new ArrayList<>();
+        for (int row : columns.rowsAt(address)) {
+            rows.add(columns.firstName(row) + " " + columns.phone(row) + " " + columns.birthdate(row) + " "
+                    + columns.medications(row) + " " + columns.station(row));
+        }
+        return rows;
+    }
+
+    private static MedicalRecord record(String firstName, String lastName, LocalDate birthdate,
+                                        List<String> medications, List<String> allergies) {
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName(firstName);
+        record.setLastName(lastName);
+        record.setBirthdate(birthdate);
+        record.setMedications(medications);
+        record.setAllergies(allergies);
+        return record;
+    }
+}
@@ -0,0 +1,254 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de l'index CoverageBitmapIndex")
+class CoverageBitmapIndexTest {
+
+    @Mock
+    private DataRepository dataRepository;
+
+    private CoverageBitmapIndex index;
+    private Data data;
+
+    @BeforeEach
+    void setUp() {
+        data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+                new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+                new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "tenz@email.com"),
+                new Person("Peter", "Duncan", "644 Gershwin Cir", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+                new Person("Eric", "Cadigan", "951 LoneTree Rd", "Springfield", "97451", "841-874-7458", "gramps@email.com"))));
+        data.setFireStations(new ArrayList<>(List.of(
+                mapping("1509 Culver St", "3"),
+                mapping("644 Gershwin Cir", "1"),
+                mapping("951 LoneTree Rd", "2"))));
+        data.setMedicalRecords(new ArrayList<>(List.of(
+                record("John", "Boyd", LocalDate.of(1984, 3, 6)),
+                record("Tenley", "Boyd", LocalDate.now().minusYears(12)),
+                record("Peter", "Duncan", LocalDate.of(2000, 9, 6)))));
+        index = new CoverageBitmapIndex(dataRepository, new AddressDictionary());
+        index.rebuild(data);
+    }
+
+    @Test
+    @DisplayName("Test des bitmaps par station, adresse et ville")
+    void testStationAddressCityBitmaps() {
+        // Act
+        CoverageBitmapIndex.Snapshot bitmaps = index.snapshot();
+
+        // Assert
+        assertTrue(index.isReady());
+        assertEquals(bits(0, 1), bitmaps.stations(List.of(3)));
+        assertEquals(bits(0, 1, 2), bitmaps.stations(List.of(1, 3, 9)));
+        assertEquals(bits(0, 1), bitmaps.address("1509 culver street"));
+        assertEquals(bits(3), bitmaps.city("SPRINGFIELD"));
+        assertTrue(bitmaps.address("unknown").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test des bitmaps par code postal et par nom exact")
+    void testZipAndResidentBitmaps() {
+        // Act
+        CoverageBitmapIndex.Snapshot bitmaps = index.snapshot();
+
+        // Assert
+        assertEquals(bits(0, 1, 2, 3), bitmaps.zip("97451"));
+        assertEquals(bits(), bitmaps.zip("00000"));
+        assertEquals(bits(1, 3), bitmaps.residents(List.of(
+                MedicalTermIndex.residentKey("Tenley", "Boyd"),
+                MedicalTermIndex.residentKey("Eric", "Cadigan"),
+                MedicalTermIndex.residentKey("tenley", "boyd"))));
+    }
+
+    @Test
+    @DisplayName("Test des listes lues sans copie des bitmaps")
+    void testPostings() {
+        // Arrange : 1509 Culver St est couverte par les stations 3 et 1
+        data.getFireStations().add(mapping("1509 Culver St", "1"));
+        index.rebuild(data);
+
+        // Act
+        CoverageBitmapIndex.Snapshot bitmaps = index.snapshot();
+        CoverageBitmapIndex.Postings stations = bitmaps.stationPostings(List.of(1, 3, 9));
+        CoverageBitmapIndex.Postings address = bitmaps.addressPostings("1509 culver street");
+
+        // Assert : les résidents couverts par deux stations ne sont comptés qu'une fois
+        assertEquals(3, stations.cardinality());
+        assertTrue(stations.contains(2));
+        assertFalse(stations.contains(3));
+        assertEquals(bits(0, 1, 2), stations.toBitSet());
+        assertEquals(2, address.cardinality());
+        assertTrue(address.contains(1));
+        assertFalse(address.contains(2));
+        assertEquals(bits(0, 1), address.toBitSet());
+        assertEquals(1, bitmaps.childPostings().cardinality());
+        assertEquals(0, bitmaps.cityPostings("Unknown").cardinality());
+        assertEquals(4, bitmaps.zipPostings("97451").cardinality());
+    }
+
+    @Test
+    @DisplayName("Test des classes d'âge, sans dossier médical ni enfant ni adulte")
+    void testAgeClasses() {
+        // Act
+        CoverageBitmapIndex.Snapshot bitmaps = index.snapshot();
+        BitSet childrenAtStation = bitmaps.children();
+        childrenAtStation.and(bitmaps.stations(List.of(3)));
+
+        // Assert
+        assertEquals(bits(1), bitmaps.children());
+        assertEquals(bits(0, 2), bitmaps.adults());
+        assertEquals(1, childrenAtStation.cardinality());
+        assertNull(bitmaps.birthdate(3));
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour d'un mapping sans reconstruction")
+    void testOnDataChanged_Mapping() {
+        // Arrange
+        FireStation mapping = mapping("951 LoneTree Rd", "3");
+        CoverageBitmapIndex.Snapshot before = index.snapshot();
+
+        // Act
+        index.onDataChanged(List.of(DataChange.added(mapping)));
+        index.onDataChanged(List.of(DataChange.removed(data.getFireStations().get(0))));
+
+        // Assert : la version déjà publiée n'est pas modifiée
+        assertEquals(bits(3), index.snapshot().stations(List.of(3)));
+        assertEquals(bits(0, 1), before.stations(List.of(3)));
+        verifyNoInteractions(dataRepository);
+    }
+
+    @Test
+    @DisplayName("Test des ordinaux stables : ajout en fin, mise à jour sur place, suppression laissant un emplacement libre")
+    void testOnDataChanged_StableOrdinals() {
+        // Arrange
+        Person john = data.getPersons().get(0);
+        Person moved = new Person("John", "Boyd", "951 LoneTree Rd", "Springfield", "97451", "841-874-6512", "jaboyd@email.com");
+        Person roger = new Person("Roger", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        MedicalRecord rogerRecord = record("Roger", "Boyd", LocalDate.now().minusYears(3));
+        BitSet childrenBefore = index.snapshot().children();
+
+        // Act
+        index.onDataChanged(List.of(
+                DataChange.updated(john, moved),
+                DataChange.removed(data.getPersons().get(2)),
+                DataChange.added(roger),
+                DataChange.added(rogerRecord)));
+
+        // Assert
+        CoverageBitmapIndex.Snapshot bitmaps = index.snapshot();
+        assertEquals(5, bitmaps.size());
+        assertEquals(4, bitmaps.count());
+        assertEquals(bits(0, 1, 3, 4), bitmaps.all());
+        assertSame(moved, bitmaps.person(0));
+        assertNull(bitmaps.person(2));
+        assertEquals(bits(1, 4), bitmaps.stations(List.of(3)));
+        assertEquals(bits(0, 3), bitmaps.stations(List.of(2)));
+        assertEquals(bits(), bitmaps.stations(List.of(1)));
+        assertEquals(bits(0, 3), bitmaps.city("springfield"));
+        assertEquals(bits(1), childrenBefore);
+        assertEquals(bits(1, 4), bitmaps.children());
+        assertEquals(bits(0), bitmaps.adults());
+        verifyNoInteractions(dataRepository);
+    }
+
+    @Test
+    @DisplayName("Test de la date de naissance suivant le premier dossier du nom")
+    void testOnDataChanged_MedicalRecord() {
+        // Arrange
+        MedicalRecord tenley = data.getMedicalRecords().get(1);
+        MedicalRecord updated = record("Tenley", "Boyd", LocalDate.of(1990, 1, 1));
+
+        // Act
+        index.onDataChanged(List.of(DataChange.updated(tenley, updated)));
+
+        // Assert
+        assertEquals(LocalDate.of(1990, 1, 1), index.snapshot().birthdate(1));
+        assertTrue(index.snapshot().children().isEmpty());
+
+        // Act
+        index.onDataChanged(List.of(DataChange.removed(updated)));
+
+        // Assert
+        assertNull(index.snapshot().birthdate(1));
+        assertEquals(bits(0, 2), index.snapshot().adults());
+    }
+
+    @Test
+    @DisplayName("Test du compactage par reconstruction lorsque les emplacements libres dominent")
+    void testOnDataChanged_Compaction() {
+        // Arrange
+        List<Person> added = new ArrayList<>();
+        for (int i = 0; i < CoverageBitmapIndex.PAGE_SIZE + 2; i++) {
+            added.add(new Person("P" + i, "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "p@email.com"));
+        }
+        index.onDataChanged(added.stream().map(DataChange::added).toList());
+        when(dataRepository.getData()).thenReturn(data);
+
+        // Act
+        index.onDataChanged(added.stream().map(DataChange::removed).toList());
+
+        // Assert
+        assertEquals(4, index.snapshot().size());
+        assertEquals(bits(0, 1), index.snapshot().stations(List.of(3)));
+        verify(dataRepository).getData();
+    }
+
+    @Test
+    @DisplayName("Test de l'index non construit")
+    void testNotReady() {
+        // Arrange
+        CoverageBitmapIndex empty = new CoverageBitmapIndex(dataRepository, new AddressDictionary());
+
+        // Act
+        empty.onDataChanged(List.of(DataChange.added(mapping("1509 Culver St", "1"))));
+
+        // Assert
+        assertFalse(empty.isReady());
+        assertNull(empty.snapshot());
+    }
+
+    private static BitSet bits(int... ordinals) {
+        BitSet bitmap = new BitSet();
+        for (int ordinal : ordinals) {
+            bitmap.set(ordinal);
+        }
+        return bitmap;
+    }
+
+    private static FireStation mapping(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+
+    private static MedicalRecord record(String firstName, String lastName, LocalDate birthdate) {
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName(firstName);
+        record.setLastName(lastName);
+        record.setBirthdate(birthdate);
+        return record;
+    }
+}
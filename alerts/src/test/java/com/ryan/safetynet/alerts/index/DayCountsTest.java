@@ -0,0 +1,68 @@
+package com.ryan.safetynet.alerts.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests des compteurs DayCounts")
+class DayCountsTest {
+
+    @Test
+    @DisplayName("Test du nombre de dates antérieures ou égales à un jour")
+    void testCountOnOrBefore() {
+        // Arrange
+        DayCounts counts = new DayCounts();
+        LocalDate day = LocalDate.of(1984, 3, 6);
+
+        // Act
+        counts.add(day, 2);
+        counts.add(LocalDate.of(2012, 1, 1), 1);
+        counts.add(LocalDate.of(1945, 8, 6), 1);
+        counts.add(day, -1);
+
+        // Assert
+        assertEquals(0, counts.countOnOrBefore(LocalDate.of(1945, 8, 5)));
+        assertEquals(1, counts.countOnOrBefore(LocalDate.of(1945, 8, 6)));
+        assertEquals(1, counts.countOnOrBefore(day.minusDays(1)));
+        assertEquals(2, counts.countOnOrBefore(day));
+        assertEquals(3, counts.countOnOrBefore(LocalDate.now()));
+    }
+
+    @Test
+    @DisplayName("Test d'une version figée pendant les modifications suivantes")
+    void testSnapshot() {
+        // Arrange
+        DayCounts counts = new DayCounts();
+        LocalDate day = LocalDate.of(2000, 1, 1);
+        counts.add(day, 1);
+
+        // Act
+        DayCounts snapshot = counts.snapshot();
+        counts.add(day, 1);
+        counts.add(LocalDate.of(1950, 6, 1), 1);
+
+        // Assert
+        assertEquals(1, snapshot.countOnOrBefore(LocalDate.now()));
+        assertEquals(0, snapshot.countOnOrBefore(LocalDate.of(1999, 12, 31)));
+        assertEquals(3, counts.countOnOrBefore(LocalDate.now()));
+    }
+
+    @Test
+    @DisplayName("Test des dates hors de la plage couverte, ramenées à ses bornes")
+    void testOutOfRange() {
+        // Arrange
+        DayCounts counts = new DayCounts();
+
+        // Act
+        counts.add(LocalDate.of(1850, 1, 1), 1);
+        counts.add(LocalDate.of(2500, 1, 1), 1);
+
+        // Assert
+        assertEquals(1, counts.countOnOrBefore(LocalDate.of(1900, 1, 1)));
+        assertEquals(1, counts.countOnOrBefore(LocalDate.of(2050, 1, 1)));
+        assertEquals(2, counts.countOnOrBefore(LocalDate.of(2500, 1, 1)));
+    }
+}
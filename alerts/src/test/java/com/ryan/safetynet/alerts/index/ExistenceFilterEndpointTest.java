@@ -0,0 +1,54 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.dto.ExistenceFilterStatsDTO;
+import com.ryan.safetynet.alerts.model.Data;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'endpoint ExistenceFilterEndpoint")
+class ExistenceFilterEndpointTest {
+
+    private ExistenceIndex existenceIndex;
+    private ExistenceFilterEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        Data data = new Data();
+        data.setPersons(new ArrayList<>());
+        data.setMedicalRecords(new ArrayList<>());
+        data.setFireStations(new ArrayList<>());
+        existenceIndex = new ExistenceIndex(new AddressDictionary());
+        existenceIndex.rebuild(data);
+        endpoint = new ExistenceFilterEndpoint(existenceIndex);
+    }
+
+    @Test
+    @DisplayName("Test de récupération des métriques de tous les filtres")
+    void testFilters() {
+        // Arrange
+        existenceIndex.containsPerson("John", "Doe", "123 Main St");
+
+        // Act
+        List<ExistenceFilterStatsDTO> stats = endpoint.filters();
+
+        // Assert
+        assertEquals(List.of("person", "medicalRecord", "fireStation"),
+                stats.stream().map(ExistenceFilterStatsDTO::getEntity).toList());
+        assertEquals(1, stats.get(0).getLookups());
+        assertEquals(1, stats.get(0).getFilteredLookups());
+    }
+
+    @Test
+    @DisplayName("Test de récupération des métriques d'un filtre")
+    void testFilter() {
+        // Act & Assert
+        assertEquals("fireStation", endpoint.filter("fireStation").getEntity());
+        assertNull(endpoint.filter("unknown"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.dto.ExistenceFilterStatsDTO;
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'index ExistenceIndex")
+class ExistenceIndexTest {
+
+    private ExistenceIndex index;
+    private Person john;
+
+    @BeforeEach
+    void setUp() {
+        john = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName("John");
+        record.setLastName("Boyd");
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(john,
+                new Person("Eric", "Cadigan", "951 LoneTree Rd", "Culver", "97451", "841-874-7458", "gramps@email.com"))));
+        data.setMedicalRecords(new ArrayList<>(List.of(record)));
+        data.setFireStations(new ArrayList<>(List.of(mapping("1509 Culver St", "3"))));
+        index = new ExistenceIndex(new AddressDictionary());
+        index.rebuild(data);
+    }
+
+    @Test
+    @DisplayName("Test des recherches exactes derrière les filtres")
+    void testContains() {
+        // Assert
+        assertTrue(index.isReady());
+        assertTrue(index.containsPerson("John", "Boyd", "1509 Culver St"));
+        assertFalse(index.containsPerson("John", "Boyd", "951 LoneTree Rd"));
+        assertTrue(index.containsMedicalRecord("John", "Boyd"));
+        assertFalse(index.containsMedicalRecord("Eric", "Cadigan"));
+        assertTrue(index.containsFireStationAddress("1509 culver street"));
+        assertFalse(index.containsFireStationAddress("951 LoneTree Rd"));
+        assertFalse(index.containsFireStationAddress("unknown"));
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour mutation par mutation")
+    void testMutationApplied() {
+        // Arrange
+        Person moved = new Person("John", "Boyd", "951 LoneTree Rd", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+
+        // Act
+        index.onMutationApplied(List.of(
+                DataChange.updated(john, moved),
+                DataChange.added(mapping("951 LoneTree Rd", "2")),
+                DataChange.removed(mapping("1509 Culver St", "3"))));
+
+        // Assert
+        assertFalse(index.containsPerson("John", "Boyd", "1509 Culver St"));
+        assertTrue(index.containsPerson("John", "Boyd", "951 LoneTree Rd"));
+        assertTrue(index.containsFireStationAddress("951 LoneTree Rd"));
+        assertFalse(index.containsFireStationAddress("1509 Culver St"));
+    }
+
+    @Test
+    @DisplayName("Test de la reconstruction des filtres au-delà de leur capacité")
+    void testGrowth() {
+        // Act
+        List<DataChange> changes = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            changes.add(DataChange.added(new Person("P" + i, "R" + i, "1 Main St", "Culver", "97451",
+                    "841-874-0000", "p@email.com")));
+        }
+        index.onMutationApplied(changes);
+
+        // Assert
+        for (int i = 0; i < 500; i++) {
+            assertTrue(index.containsPerson("P" + i, "R" + i, "1 Main St"));
+        }
+        ExistenceFilterStatsDTO persons = index.getStats().get(0);
+        assertEquals(502, persons.getKeys());
+        assertTrue(persons.getCapacity() >= 502);
+    }
+
+    @Test
+    @DisplayName("Test des métriques de faux positifs")
+    void testStats() {
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            index.containsMedicalRecord("Absent" + i, "Nobody");
+        }
+        index.containsMedicalRecord("John", "Boyd");
+
+        // Assert
+        ExistenceFilterStatsDTO records = index.getStats().get(1);
+        assertEquals("medicalRecord", records.getEntity());
+        assertEquals(1, records.getKeys());
+        assertEquals(1_001, records.getLookups());
+        assertEquals(1_000, records.getFilteredLookups() + records.getFalsePositives());
+        assertEquals((double) records.getFalsePositives() / 1_000, records.getFalsePositiveRate());
+        assertTrue(records.getFalsePositiveRate() < 0.05);
+        assertTrue(records.getExpectedFalsePositiveRate() < ExistenceIndex.FALSE_POSITIVE_RATE);
+    }
+
+    private static FireStation mapping(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+}
@@ -0,0 +1,154 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'index FireCardIndex")
+class FireCardIndexTest {
+
+    private static final LocalDate JOHN_BIRTHDATE = LocalDate.of(1984, 3, 6);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ResidentView residentView;
+    private FireCardIndex index;
+    private Person john;
+    private MedicalRecord johnRecord;
+    private FireStation culverMapping;
+
+    @BeforeEach
+    void setUp() {
+        john = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        johnRecord = record("John", "Boyd", JOHN_BIRTHDATE, List.of("aznol:350mg"));
+        culverMapping = mapping("1509 Culver St", "3");
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+                john,
+                new Person("Eric", "Cadigan", "951 LoneTree Rd", "Culver", "97451", "841-874-7458", "gramps@email.com"),
+                new Person("Zach", "Zemicks", "892 Downing Ct", "Culver", "97451", "841-874-7512", "zarc@email.com"))));
+        data.setMedicalRecords(new ArrayList<>(List.of(
+                johnRecord,
+                record("Zach", "Zemicks", LocalDate.of(2017, 3, 6), List.of()))));
+        data.setFireStations(new ArrayList<>(List.of(culverMapping, mapping("951 LoneTree Rd", "2"))));
+        AddressDictionary addressDictionary = new AddressDictionary();
+        residentView = new ResidentView(addressDictionary);
+        index = new FireCardIndex(addressDictionary, residentView, objectMapper);
+        residentView.rebuild(data);
+        index.rebuild(data);
+    }
+
+    @Test
+    @DisplayName("Test de l'encodage des fiches à la construction")
+    void testRebuild() throws IOException {
+        // Act
+        JsonNode card = read(index.cardAt("1509 culver street"));
+
+        // Assert
+        assertTrue(index.isReady());
+        assertEquals("3", card.get("fireStationNumber").asText());
+        assertEquals(1, card.get("residents").size());
+        JsonNode resident = card.get("residents").get(0);
+        assertEquals("John", resident.get("firstName").asText());
+        assertEquals("841-874-6512", resident.get("phone").asText());
+        assertEquals(residentView.findFirst("John", "Boyd").orElseThrow().age(), resident.get("age").asInt());
+        assertEquals("aznol:350mg", resident.get("medications").get(0).asText());
+        // Sans dossier médical, sans caserne ou sans résident : la réponse reste construite par le service
+        assertNull(index.cardAt("951 LoneTree Rd"));
+        assertNull(index.cardAt("892 Downing Ct"));
+        assertNull(index.cardAt("unknown"));
+    }
+
+    @Test
+    @DisplayName("Test du réencodage à la modification d'un dossier médical")
+    void testRecordChange() throws IOException {
+        // Arrange
+        byte[] before = index.cardAt("1509 Culver St");
+
+        // Act
+        apply(DataChange.updated(johnRecord, record("John", "Boyd", JOHN_BIRTHDATE, List.of("hydrapermazol:100mg"))));
+
+        // Assert
+        byte[] after = index.cardAt("1509 Culver St");
+        assertNotSame(before, after);
+        assertEquals("hydrapermazol:100mg", read(after).get("residents").get(0).get("medications").get(0).asText());
+    }
+
+    @Test
+    @DisplayName("Test du réencodage au déménagement d'un résident et à la modification d'un mapping")
+    void testPersonAndMappingChange() throws IOException {
+        // Act
+        apply(DataChange.updated(john, new Person("John", "Boyd", "892 Downing Ct", "Culver", "97451",
+                "841-874-6512", "jaboyd@email.com")), DataChange.added(mapping("892 Downing Ct", "2")));
+
+        // Assert
+        assertNull(index.cardAt("1509 Culver St"));
+        JsonNode card = read(index.cardAt("892 Downing Ct"));
+        assertEquals("2", card.get("fireStationNumber").asText());
+        assertEquals(2, card.get("residents").size());
+
+        // Act
+        apply(DataChange.removed(culverMapping), DataChange.updated(mapping("892 Downing Ct", "2"),
+                mapping("892 Downing Ct", "4")));
+
+        // Assert : le mapping retiré n'était pas enregistré, seul l'ajout de la station 4 compte
+        assertEquals("2", read(index.cardAt("892 Downing Ct")).get("fireStationNumber").asText());
+    }
+
+    @Test
+    @DisplayName("Test du réencodage au changement d'âge d'un résident")
+    void testDayRollover() throws IOException {
+        // Arrange
+        LocalDate eve = JOHN_BIRTHDATE.plusYears(50).minusDays(1);
+
+        // Act
+        byte[] before = index.cardAt("1509 Culver St", eve);
+        byte[] sameDay = index.cardAt("1509 Culver St", eve);
+        byte[] after = index.cardAt("1509 Culver St", eve.plusDays(1));
+
+        // Assert
+        assertSame(before, sameDay);
+        assertEquals(49, read(before).get("residents").get(0).get("age").asInt());
+        assertEquals(50, read(after).get("residents").get(0).get("age").asInt());
+    }
+
+    private void apply(DataChange... changes) {
+        // La vue des résidents est notifiée avant les fiches
+        residentView.onDataChanged(List.of(changes));
+        index.onDataChanged(List.of(changes));
+    }
+
+    private JsonNode read(byte[] card) throws IOException {
+        return objectMapper.readTree(card);
+    }
+
+    private static MedicalRecord record(String firstName, String lastName, LocalDate birthdate, List<String> medications) {
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName(firstName);
+        record.setLastName(lastName);
+        record.setBirthdate(birthdate);
+        record.setMedications(medications);
+        record.setAllergies(List.of());
+        return record;
+    }
+
+    private static FireStation mapping(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'index FuzzyNameIndex")
+class FuzzyNameIndexTest {
+
+    private static final long BUDGET = TimeUnit.SECONDS.toNanos(1);
+
+    private FuzzyNameIndex index;
+    private Person john;
+    private Person jacob;
+    private Person eric;
+
+    @BeforeEach
+    void setUp() {
+        john = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        jacob = new Person("Jacob", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6513", "drk@email.com");
+        eric = new Person("Eric", "Cadigan", "951 LoneTree Rd", "Culver", "97451", "841-874-7458", "gramps@email.com");
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(john, jacob, eric)));
+        index = new FuzzyNameIndex();
+        index.rebuild(data);
+    }
+
+    @Test
+    @DisplayName("Test de la recherche d'un nom mal orthographié, classé par distance")
+    void testSearchMisspelledName() {
+        // Act
+        List<FuzzyNameIndex.Match> matches = index.search("Jhon", "Boyd", 2, 10, BUDGET);
+
+        // Assert
+        assertFalse(matches.isEmpty());
+        assertSame(john, matches.get(0).person());
+        assertEquals(2, matches.get(0).distance());
+        assertTrue(matches.stream().noneMatch(match -> match.person() == eric));
+    }
+
+    @Test
+    @DisplayName("Test de la recherche phonétique au-delà de la distance maximale")
+    void testPhoneticMatch() {
+        // Act
+        List<FuzzyNameIndex.Match> matches = index.search("Erik", "Kadigan", 0, 10, BUDGET);
+
+        // Assert
+        assertEquals(0, matches.size());
+
+        // Act
+        matches = index.search("Eryc", "Cadigun", 0, 10, BUDGET);
+
+        // Assert
+        assertEquals(1, matches.size());
+        assertSame(eric, matches.get(0).person());
+        assertTrue(matches.get(0).phonetic());
+    }
+
+    @Test
+    @DisplayName("Test de la limite du nombre de résultats")
+    void testLimit() {
+        // Act
+        List<FuzzyNameIndex.Match> matches = index.search("Jo", "Boyd", 5, 1, BUDGET);
+
+        // Assert
+        assertEquals(1, matches.size());
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour de l'index après ajout et suppression")
+    void testIncrementalUpdate() {
+        // Arrange
+        Person jon = new Person("Jon", "Boyd", "29 15th St", "Culver", "97451", "000", "jon@email.com");
+
+        // Act
+        index.onDataChanged(List.of(DataChange.removed(john), DataChange.added(jon)));
+        List<FuzzyNameIndex.Match> matches = index.search("John", "Boyd", 1, 10, BUDGET);
+
+        // Assert
+        assertEquals(1, matches.size());
+        assertSame(jon, matches.get(0).person());
+    }
+
+    @Test
+    @DisplayName("Test de la recherche par parcours avec le même classement")
+    void testScan() {
+        // Act
+        List<FuzzyNameIndex.Match> matches = FuzzyNameIndex.scan(List.of(eric, jacob, john), "Jhon", "Boyd", 2, 10);
+
+        // Assert
+        assertSame(john, matches.get(0).person());
+        assertEquals(index.search("Jhon", "Boyd", 2, 10, BUDGET).size(), matches.size());
+    }
+
+    @Test
+    @DisplayName("Test de l'index non construit")
+    void testNotReady() {
+        // Act & Assert
+        assertFalse(new FuzzyNameIndex().isReady());
+        assertTrue(new FuzzyNameIndex().search("John", "Boyd", 2, 10, BUDGET).isEmpty());
+    }
+}
@@ -0,0 +1,201 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'index HouseholdIndex")
+class HouseholdIndexTest {
+
+    private static final LocalDate TENLEY_BIRTHDATE = LocalDate.of(2012, 2, 3);
+
+    private ResidentView residentView;
+    private HouseholdIndex index;
+    private Person tenley;
+    private MedicalRecord tenleyRecord;
+    private FireStation culverMapping;
+
+    @BeforeEach
+    void setUp() {
+        tenley = new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "tenz@email.com");
+        tenleyRecord = record("Tenley", "Boyd", TENLEY_BIRTHDATE);
+        culverMapping = mapping("1509 Culver St", "3");
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+                new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+                tenley,
+                new Person("Roger", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+                new Person("Eric", "Cadigan", "951 LoneTree Rd", "Culver", "97451", "841-874-7458", "gramps@email.com"))));
+        data.setMedicalRecords(new ArrayList<>(List.of(
+                record("John", "Boyd", LocalDate.of(1984, 3, 6)),
+                tenleyRecord,
+                record("Eric", "Cadigan", LocalDate.of(1945, 8, 6)))));
+        data.setFireStations(new ArrayList<>(List.of(culverMapping, mapping("951 LoneTree Rd", "2"),
+                mapping("1509 Culver St", "3"))));
+        AddressDictionary addressDictionary = new AddressDictionary();
+        residentView = new ResidentView(addressDictionary);
+        residentView.rebuild(data);
+        index = new HouseholdIndex(addressDictionary, residentView);
+        index.rebuild(data);
+    }
+
+    @Test
+    @DisplayName("Test de la répartition des foyers à la construction")
+    void testRebuild() {
+        // Act
+        HouseholdIndex.Household household = index.householdAt("1509 culver street");
+
+        // Assert : Roger, sans dossier médical, n'est pas retenu
+        assertTrue(index.isReady());
+        assertEquals("1509 Culver St", household.getAddress());
+        assertEquals(List.of("Tenley"), household.getChildren().stream().map(HouseholdIndex.Member::firstName).toList());
+        assertEquals(List.of("John"), household.getAdults().stream().map(HouseholdIndex.Member::firstName).toList());
+        assertTrue(index.householdAt("951 LoneTree Rd").getChildren().isEmpty());
+        assertNull(index.householdAt("unknown"));
+    }
+
+    @Test
+    @DisplayName("Test de la construction sans vue des résidents")
+    void testRebuild_ResidentViewNotReady() {
+        // Arrange
+        AddressDictionary addressDictionary = new AddressDictionary();
+        HouseholdIndex withoutView = new HouseholdIndex(addressDictionary, new ResidentView(addressDictionary));
+
+        // Act
+        withoutView.rebuild(new Data());
+
+        // Assert
+        assertFalse(withoutView.isReady());
+        assertNull(withoutView.householdAt("1509 Culver St"));
+    }
+
+    @Test
+    @DisplayName("Test de la nouvelle répartition au changement de jour")
+    void testDayRollover() {
+        // Arrange
+        LocalDate eve = TENLEY_BIRTHDATE.plusYears(19).minusDays(1);
+
+        // Act
+        HouseholdIndex.Household before = index.householdAt("1509 Culver St", eve);
+        HouseholdIndex.Household sameDay = index.householdAt("1509 Culver St", eve);
+        HouseholdIndex.Household after = index.householdAt("1509 Culver St", eve.plusDays(1));
+
+        // Assert : Tenley devient adulte le jour de ses 19 ans
+        assertEquals(18, before.getChildren().get(0).age());
+        assertSame(before, sameDay);
+        assertTrue(after.getChildren().isEmpty());
+        assertEquals(List.of("John", "Tenley"), after.getAdults().stream().map(HouseholdIndex.Member::firstName).toList());
+        assertTrue(index.householdsWithChildren(3, eve.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test de l'âge mis à jour à l'anniversaire d'un enfant")
+    void testBirthday() {
+        // Act
+        HouseholdIndex.Household household = index.householdAt("1509 Culver St", TENLEY_BIRTHDATE.plusYears(10));
+
+        // Assert
+        assertEquals(10, household.getChildren().get(0).age());
+        assertEquals(9, index.householdAt("1509 Culver St", TENLEY_BIRTHDATE.plusYears(10).minusDays(1))
+                .getChildren().get(0).age());
+    }
+
+    @Test
+    @DisplayName("Test de la nouvelle répartition à la modification d'une date de naissance")
+    void testBirthdateChange() {
+        // Act
+        apply(DataChange.updated(tenleyRecord, record("Tenley", "Boyd", LocalDate.of(1990, 1, 1))));
+
+        // Assert
+        HouseholdIndex.Household household = index.householdAt("1509 Culver St");
+        assertTrue(household.getChildren().isEmpty());
+        assertEquals(2, household.getAdults().size());
+
+        // Act : ajout du dossier de Roger, né récemment
+        apply(DataChange.added(record("Roger", "Boyd", LocalDate.now().minusYears(1))));
+
+        // Assert
+        assertEquals("Roger", index.householdAt("1509 Culver St").getChildren().get(0).firstName());
+    }
+
+    @Test
+    @DisplayName("Test du déménagement et de la suppression d'un résident")
+    void testPersonChange() {
+        // Arrange
+        Person moved = new Person("Tenley", "Boyd", "951 LoneTree Rd", "Culver", "97451", "841-874-6512", "tenz@email.com");
+
+        // Act
+        apply(DataChange.updated(tenley, moved));
+
+        // Assert
+        assertTrue(index.householdAt("1509 Culver St").getChildren().isEmpty());
+        assertEquals("Tenley", index.householdAt("951 LoneTree Rd").getChildren().get(0).firstName());
+        assertEquals(List.of("951 LoneTree Rd"), addressesWithChildren(2));
+        assertTrue(addressesWithChildren(3).isEmpty());
+
+        // Act
+        apply(DataChange.removed(moved));
+
+        // Assert
+        assertTrue(addressesWithChildren(2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test des foyers avec enfants d'une station")
+    void testHouseholdsWithChildren() {
+        // Assert : l'adresse en double n'apparaît qu'une fois
+        assertEquals(List.of("1509 Culver St"), addressesWithChildren(3));
+        assertTrue(addressesWithChildren(2).isEmpty());
+        assertTrue(addressesWithChildren(9).isEmpty());
+
+        // Act : l'adresse reste couverte tant qu'un mapping subsiste
+        apply(DataChange.removed(culverMapping));
+
+        // Assert
+        assertEquals(List.of("1509 Culver St"), addressesWithChildren(3));
+
+        // Act
+        apply(DataChange.removed(mapping("1509 Culver St", "3")));
+
+        // Assert
+        assertTrue(addressesWithChildren(3).isEmpty());
+    }
+
+    private void apply(DataChange change) {
+        // La vue est notifiée avant l'index, comme par le pipeline d'écriture
+        residentView.onDataChanged(List.of(change));
+        index.onDataChanged(List.of(change));
+    }
+
+    private List<String> addressesWithChildren(int station) {
+        return index.householdsWithChildren(station).stream().map(HouseholdIndex.Household::getAddress).toList();
+    }
+
+    private static MedicalRecord record(String firstName, String lastName, LocalDate birthdate) {
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName(firstName);
+        record.setLastName(lastName);
+        record.setBirthdate(birthdate);
+        record.setMedications(List.of());
+        record.setAllergies(List.of());
+        return record;
+    }
+
+    private static FireStation mapping(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.dto.IndexBuildStatsDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de l'indicateur de santé IndexHealthIndicator")
+class IndexHealthIndicatorTest {
+
+    @Mock
+    private IndexManager indexManager;
+
+    @InjectMocks
+    private IndexHealthIndicator indexHealthIndicator;
+
+    @Test
+    @DisplayName("Test de l'état UP pendant la construction des index")
+    void testHealth_Indexing() {
+        // Arrange
+        List<IndexBuildStatsDTO> stats = List.of(new IndexBuildStatsDTO());
+        when(indexManager.getState()).thenReturn(IndexManager.State.INDEXING);
+        when(indexManager.getStats()).thenReturn(stats);
+
+        // Act
+        Health health = indexHealthIndicator.health();
+
+        // Assert
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("indexing", health.getDetails().get("state"));
+        assertSame(stats, health.getDetails().get("indexes"));
+    }
+
+    @Test
+    @DisplayName("Test de l'état une fois les index construits")
+    void testHealth_Ready() {
+        // Arrange
+        when(indexManager.getState()).thenReturn(IndexManager.State.READY);
+        when(indexManager.getStats()).thenReturn(List.of());
+
+        // Act
+        Health health = indexHealthIndicator.health();
+
+        // Assert
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("ready", health.getDetails().get("state"));
+    }
+
+    @Test
+    @DisplayName("Test de l'état OUT_OF_SERVICE lorsqu'un index a échoué")
+    void testHealth_Degraded() {
+        // Arrange
+        when(indexManager.getState()).thenReturn(IndexManager.State.DEGRADED);
+        when(indexManager.getStats()).thenReturn(List.of());
+
+        // Act
+        Health health = indexHealthIndicator.health();
+
+        // Assert
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals("degraded", health.getDetails().get("state"));
+    }
+}
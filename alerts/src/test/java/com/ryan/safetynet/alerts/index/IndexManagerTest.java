@@ -0,0 +1,106 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.concurrency.MutationPipeline;
+import com.ryan.safetynet.alerts.dto.IndexBuildStatsDTO;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du gestionnaire IndexManager")
+class IndexManagerTest {
+
+    @Mock
+    private DataRepository dataRepository;
+
+    @Mock
+    private DataIndex index;
+
+    @Test
+    @DisplayName("Test de la reconstruction des index à partir des données chargées")
+    void testRebuildAll() {
+        // Arrange
+        Data data = new Data();
+        when(dataRepository.getData()).thenReturn(data);
+        when(index.getName()).thenReturn("test");
+        IndexManager indexManager = new IndexManager(dataRepository, List.of(index));
+
+        // Act
+        indexManager.rebuildAll();
+
+        // Assert
+        verify(index).rebuild(data);
+        assertEquals(IndexManager.State.READY, indexManager.getState());
+    }
+
+    @Test
+    @DisplayName("Test de l'absence de reconstruction sans données")
+    void testRebuildAllWithoutData() {
+        // Arrange
+        IndexManager indexManager = new IndexManager(dataRepository, List.of(index));
+
+        // Act
+        indexManager.rebuildAll();
+
+        // Assert
+        verifyNoInteractions(index);
+    }
+
+    @Test
+    @DisplayName("Test de l'état dégradé lorsqu'un index ne peut pas être construit")
+    void testRebuildAll_IndexFailure() {
+        // Arrange
+        Data data = new Data();
+        when(dataRepository.getData()).thenReturn(data);
+        when(index.getName()).thenReturn("test");
+        doThrow(new IllegalStateException("index corrompu")).when(index).rebuild(data);
+        IndexManager indexManager = new IndexManager(dataRepository, List.of(index));
+
+        // Act
+        indexManager.rebuildAll();
+
+        // Assert
+        assertEquals(IndexManager.State.DEGRADED, indexManager.getState());
+        assertNull(indexManager.getStats().get(0).getBuildMillis());
+    }
+
+    @Test
+    @DisplayName("Test de la construction des index en arrière-plan sur le pipeline de mutations")
+    void testStart_BuildsInBackground() throws InterruptedException {
+        // Arrange
+        Data data = new Data();
+        when(dataRepository.getData()).thenReturn(data);
+        when(index.getName()).thenReturn("test");
+        when(index.isReady()).thenReturn(true);
+        MutationPipeline pipeline = new MutationPipeline(dataRepository, List.of());
+        IndexManager indexManager = new IndexManager(dataRepository, List.of(index), pipeline, true);
+
+        try {
+            // Act
+            indexManager.start();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (indexManager.getState() == IndexManager.State.INDEXING && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // Assert
+            assertEquals(IndexManager.State.READY, indexManager.getState());
+            verify(index).rebuild(data);
+            IndexBuildStatsDTO stats = indexManager.getStats().get(0);
+            assertEquals("test", stats.getName());
+            assertTrue(stats.isReady());
+            assertNotNull(stats.getBuildMillis());
+        } finally {
+            pipeline.shutdown();
+        }
+    }
+}
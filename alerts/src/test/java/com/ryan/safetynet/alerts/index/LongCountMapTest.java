@@ -0,0 +1,58 @@
+package com.ryan.safetynet.alerts.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la table LongCountMap")
+class LongCountMapTest {
+
+    @Test
+    @DisplayName("Test de l'apparition et de la disparition des clés selon leur compteur")
+    void testAddAndRemove() {
+        // Arrange
+        LongCountMap map = new LongCountMap();
+
+        // Act & Assert
+        assertTrue(map.add(8418746512L, 1));
+        assertFalse(map.add(8418746512L, 1));
+        assertTrue(map.add(8418747458L, 1));
+        assertFalse(map.add(8418746512L, -1));
+        assertTrue(map.add(8418746512L, -1));
+        assertFalse(map.add(1L, -1));
+
+        assertEquals(1, map.size());
+        assertArrayEquals(new long[]{8418747458L}, map.sortedKeys());
+    }
+
+    @Test
+    @DisplayName("Test de cohérence avec une HashMap après agrandissements et suppressions")
+    void testMatchesHashMap() {
+        // Arrange
+        LongCountMap map = new LongCountMap(2);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // Act
+        for (int i = 0; i < 5_000; i++) {
+            long key = random.nextInt(300);
+            int delta = random.nextBoolean() || !expected.containsKey(key) ? 1 : -1;
+            map.add(key, delta);
+            expected.merge(key, delta, Integer::sum);
+            expected.remove(key, 0);
+        }
+
+        // Assert
+        Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.keySet().stream().sorted().toList(),
+                java.util.Arrays.stream(map.sortedKeys()).boxed().toList());
+    }
+}
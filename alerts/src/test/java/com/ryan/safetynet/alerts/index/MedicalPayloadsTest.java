@@ -0,0 +1,96 @@
+package com.ryan.safetynet.alerts.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du stockage hors tas MedicalPayloads")
+class MedicalPayloadsTest {
+
+    @Test
+    @DisplayName("Test de l'écriture et du décodage des médicaments et allergies")
+    void testRoundTrip() {
+        // Arrange
+        MedicalPayloads payloads = new MedicalPayloads();
+
+        // Act
+        int first = payloads.append(List.of("aznol:350mg", "hydrapermazol:100mg"), List.of("nillacilan"));
+        int empty = payloads.append(null, List.of());
+        int third = payloads.append(List.of(), List.of("peanut", "shellfish", "arachide éèà"));
+
+        // Assert
+        assertEquals(List.of("aznol:350mg", "hydrapermazol:100mg"), MedicalPayloads.medications(payloads.chunks(), first));
+        assertEquals(List.of("nillacilan"), MedicalPayloads.allergies(payloads.chunks(), first));
+        assertEquals(MedicalPayloads.NO_PAYLOAD, empty);
+        assertTrue(MedicalPayloads.medications(payloads.chunks(), empty).isEmpty());
+        assertTrue(MedicalPayloads.allergies(payloads.chunks(), empty).isEmpty());
+        assertTrue(MedicalPayloads.medications(payloads.chunks(), third).isEmpty());
+        assertEquals(List.of("peanut", "shellfish", "arachide éèà"), MedicalPayloads.allergies(payloads.chunks(), third));
+        assertTrue(payloads.capacity() > 0);
+    }
+
+    @Test
+    @DisplayName("Test des entrées lues avec les blocs d'une version précédente, et d'une entrée plus grande qu'un bloc")
+    void testChunks() {
+        // Arrange
+        MedicalPayloads payloads = new MedicalPayloads();
+        int first = payloads.append(List.of("aznol:350mg"), null);
+        ByteBuffer[] published = payloads.chunks();
+        List<String> large = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            large.add("x".repeat(60_000));
+        }
+
+        // Act
+        int second = payloads.append(large, null);
+        int third = payloads.append(List.of("tetracyclaz:650mg"), null);
+
+        // Assert
+        assertEquals(List.of("aznol:350mg"), MedicalPayloads.medications(published, first));
+        assertEquals(large, MedicalPayloads.medications(payloads.chunks(), second));
+        assertEquals(List.of("tetracyclaz:650mg"), MedicalPayloads.medications(payloads.chunks(), third));
+        assertNotEquals(second >>> MedicalPayloads.CHUNK_BITS, third >>> MedicalPayloads.CHUNK_BITS);
+    }
+
+    @Test
+    @DisplayName("Test du décompte des entrées libérées et de la recopie des entrées vivantes")
+    void testReleaseAndCopy() {
+        // Arrange
+        MedicalPayloads payloads = new MedicalPayloads();
+        List<String> large = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            large.add("x".repeat(60_000));
+        }
+        int kept = payloads.append(List.of("aznol:350mg"), List.of("peanut"));
+        long keptBytes = payloads.liveBytes();
+        int first = payloads.append(large, null);
+        int second = payloads.append(large, null);
+
+        // Act
+        payloads.release(first);
+        boolean afterOne = payloads.needsCompaction();
+        payloads.release(second);
+        payloads.release(MedicalPayloads.NO_PAYLOAD);
+        ByteBuffer[] previous = payloads.chunks();
+        boolean afterTwo = payloads.needsCompaction();
+        payloads.clear();
+        int copied = payloads.copy(previous, kept);
+
+        // Assert
+        assertFalse(afterOne);
+        assertTrue(afterTwo);
+        assertEquals(0, copied);
+        assertEquals(keptBytes, payloads.liveBytes());
+        assertEquals(0, payloads.releasedBytes());
+        assertEquals(List.of("aznol:350mg"), MedicalPayloads.medications(payloads.chunks(), copied));
+        assertEquals(List.of("peanut"), MedicalPayloads.allergies(payloads.chunk(copied), copied));
+        assertEquals(MedicalPayloads.NO_PAYLOAD, payloads.copy(previous, MedicalPayloads.NO_PAYLOAD));
+        assertTrue(payloads.chunks()[0].isReadOnly());
+        assertEquals(large, MedicalPayloads.medications(previous, second));
+    }
+}
@@ -0,0 +1,94 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'index MedicalTermIndex")
+class MedicalTermIndexTest {
+
+    private MedicalTermIndex index;
+    private MedicalRecord johnRecord;
+
+    @BeforeEach
+    void setUp() {
+        johnRecord = record("John", "Boyd", List.of("aznol:350mg", "hydrapermazol:100mg"), List.of("nillacilan"));
+        MedicalRecord jacobRecord = record("Jacob", "Boyd", List.of("Aznol:200mg"), List.of());
+        Data data = new Data();
+        data.setMedicalRecords(new ArrayList<>(List.of(johnRecord, jacobRecord)));
+        index = new MedicalTermIndex();
+        index.rebuild(data);
+    }
+
+    @Test
+    @DisplayName("Test de la normalisation des termes sans posologie ni casse")
+    void testNormalizeTerm() {
+        // Assert
+        assertEquals("aznol", MedicalTermIndex.normalizeTerm(" AZNOL:350mg"));
+        assertEquals("peanut", MedicalTermIndex.normalizeTerm("Peanut"));
+        assertEquals("", MedicalTermIndex.normalizeTerm(null));
+    }
+
+    @Test
+    @DisplayName("Test de la recherche des résidents par médicament et par allergie")
+    void testWithMedicationAndAllergy() {
+        // Act & Assert
+        assertTrue(index.isReady());
+        assertEquals(Set.of(MedicalTermIndex.residentKey("John", "Boyd"), MedicalTermIndex.residentKey("Jacob", "Boyd")),
+                index.withMedication("aznol"));
+        assertEquals(Set.of(MedicalTermIndex.residentKey("John", "Boyd")), index.withAllergy("NILLACILAN"));
+        assertTrue(index.withMedication("unknown").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour incrémentale lors de la modification et de la suppression d'un dossier")
+    void testOnDataChanged() {
+        // Arrange
+        MedicalRecord updated = record("John", "Boyd", List.of("aznol:350mg", "pharmacol:5000mg"), List.of());
+
+        // Act
+        index.onDataChanged(List.of(DataChange.updated(johnRecord, updated)));
+
+        // Assert
+        assertEquals(Set.of(MedicalTermIndex.residentKey("John", "Boyd")), index.withMedication("pharmacol"));
+        assertTrue(index.withMedication("hydrapermazol").isEmpty());
+        assertTrue(index.withAllergy("nillacilan").isEmpty());
+        assertTrue(index.withMedication("aznol").contains(MedicalTermIndex.residentKey("John", "Boyd")));
+
+        // Act
+        index.onDataChanged(List.of(DataChange.removed(updated)));
+
+        // Assert
+        assertEquals(Set.of(MedicalTermIndex.residentKey("Jacob", "Boyd")), index.withMedication("aznol"));
+        assertTrue(index.withMedication("pharmacol").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test de l'index non construit")
+    void testNotReady() {
+        // Arrange
+        MedicalTermIndex empty = new MedicalTermIndex();
+
+        // Act & Assert
+        assertFalse(empty.isReady());
+        assertTrue(empty.withMedication("aznol").isEmpty());
+    }
+
+    private static MedicalRecord record(String firstName, String lastName, List<String> medications, List<String> allergies) {
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName(firstName);
+        record.setLastName(lastName);
+        record.setMedications(medications);
+        record.setAllergies(allergies);
+        return record;
+    }
+}
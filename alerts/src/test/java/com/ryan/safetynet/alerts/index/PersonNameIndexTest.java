@@ -0,0 +1,107 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'index PersonNameIndex")
+class PersonNameIndexTest {
+
+    private PersonNameIndex index;
+    private Person john;
+    private Person jacob;
+    private MedicalRecord johnRecord;
+
+    @BeforeEach
+    void setUp() {
+        john = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        jacob = new Person("Jacob", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6513", "drk@email.com");
+        johnRecord = new MedicalRecord();
+        johnRecord.setFirstName("John");
+        johnRecord.setLastName("Boyd");
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(john, jacob)));
+        data.setMedicalRecords(new ArrayList<>(List.of(johnRecord)));
+        index = new PersonNameIndex();
+        index.rebuild(data);
+    }
+
+    @Test
+    @DisplayName("Test de la recherche par nom complet insensible à la casse avec jointure du dossier")
+    void testFindFirst() {
+        // Act
+        PersonNameIndex.Resident resident = index.findFirst("JOHN", "boyd").orElseThrow();
+
+        // Assert
+        assertSame(john, resident.person());
+        assertSame(johnRecord, resident.medicalRecord());
+        assertTrue(index.findFirst("John", "Unknown").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test de la recherche par nom de famille dans l'ordre des données")
+    void testFindByLastName() {
+        // Act
+        List<PersonNameIndex.Resident> residents = index.findByLastName("BOYD");
+
+        // Assert
+        assertEquals(2, residents.size());
+        assertSame(john, residents.get(0).person());
+        assertSame(jacob, residents.get(1).person());
+        assertNull(residents.get(1).medicalRecord());
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour d'une personne : position conservée")
+    void testUpdateKeepsPosition() {
+        // Arrange
+        Person updated = new Person("John", "Boyd", "29 15th St", "Culver", "97451", "000", "new@email.com");
+
+        // Act
+        index.onDataChanged(List.of(DataChange.updated(john, updated)));
+
+        // Assert
+        List<PersonNameIndex.Resident> residents = index.findByLastName("Boyd");
+        assertSame(updated, residents.get(0).person());
+        assertSame(updated, index.findFirst("john", "boyd").orElseThrow().person());
+    }
+
+    @Test
+    @DisplayName("Test de la suppression d'une personne et de l'ajout d'un dossier médical")
+    void testRemoveAndRecordAdded() {
+        // Arrange
+        MedicalRecord jacobRecord = new MedicalRecord();
+        jacobRecord.setFirstName("Jacob");
+        jacobRecord.setLastName("Boyd");
+
+        // Act
+        index.onDataChanged(List.of(DataChange.removed(john), DataChange.added(jacobRecord)));
+
+        // Assert
+        assertTrue(index.findFirst("John", "Boyd").isEmpty());
+        List<PersonNameIndex.Resident> residents = index.findByLastName("Boyd");
+        assertEquals(1, residents.size());
+        assertSame(jacobRecord, residents.get(0).medicalRecord());
+    }
+
+    @Test
+    @DisplayName("Test de l'index non construit")
+    void testNotReady() {
+        // Arrange
+        PersonNameIndex empty = new PersonNameIndex();
+
+        // Act & Assert
+        assertFalse(empty.isReady());
+        assertTrue(empty.findFirst("John", "Boyd").isEmpty());
+        assertTrue(empty.findByLastName("Boyd").isEmpty());
+    }
+}
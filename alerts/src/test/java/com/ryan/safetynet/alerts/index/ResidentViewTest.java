@@ -0,0 +1,180 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la vue ResidentView")
+class ResidentViewTest {
+
+    private ResidentView view;
+    private Person john;
+    private MedicalRecord johnRecord;
+    private FireStation culverMapping;
+
+    @BeforeEach
+    void setUp() {
+        john = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        johnRecord = record("John", "Boyd", LocalDate.of(1984, 3, 6), List.of("aznol:350mg"));
+        culverMapping = mapping("1509 Culver St", "3");
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+                john,
+                new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "tenz@email.com"),
+                new Person("Eric", "Cadigan", "951 LoneTree Rd", "Culver", "97451", "841-874-7458", "gramps@email.com"))));
+        data.setMedicalRecords(new ArrayList<>(List.of(
+                johnRecord,
+                record("Tenley", "Boyd", LocalDate.now().minusYears(12), List.of()))));
+        data.setFireStations(new ArrayList<>(List.of(culverMapping, mapping("1509 Culver St", "4"))));
+        view = new ResidentView(new AddressDictionary());
+        view.rebuild(data);
+    }
+
+    @Test
+    @DisplayName("Test de la jointure des personnes, dossiers et casernes")
+    void testRebuild() {
+        // Act
+        List<ResidentView.Resident> residents = view.residentsAt("1509 culver street");
+        ResidentView.Resident eric = view.findFirst("ERIC", "cadigan").orElseThrow();
+
+        // Assert
+        assertTrue(view.isReady());
+        assertEquals(List.of("John", "Tenley"), residents.stream().map(ResidentView.Resident::firstName).toList());
+        assertEquals(List.of("aznol:350mg"), residents.get(0).medications());
+        assertEquals("3", residents.get(0).station());
+        assertEquals(12, residents.get(1).age());
+        assertEquals("3", view.stationOf("1509 Culver St"));
+        assertFalse(eric.hasMedicalRecord());
+        assertNull(eric.station());
+        assertNull(view.stationOf("951 LoneTree Rd"));
+        assertEquals(2, view.findByLastName("boyd").size());
+        assertTrue(view.residentsAt("unknown").isEmpty());
+        // Chaque lecture décode une nouvelle liste : la modifier ne change pas la vue
+        residents.get(0).medications().add("x");
+        assertEquals(List.of("aznol:350mg"), residents.get(0).medications());
+    }
+
+    @Test
+    @DisplayName("Test de la propagation d'une modification de personne")
+    void testPersonChange() {
+        // Arrange
+        Person moved = new Person("John", "Boyd", "951 LoneTree Rd", "Culver", "97451", "841-874-0000", "jaboyd@email.com");
+
+        // Act
+        view.onDataChanged(List.of(DataChange.updated(john, moved)));
+
+        // Assert
+        assertEquals(List.of("Tenley"), view.residentsAt("1509 Culver St").stream()
+                .map(ResidentView.Resident::firstName).toList());
+        List<ResidentView.Resident> loneTree = view.residentsAt("951 LoneTree Rd");
+        assertEquals(List.of("Eric", "John"), loneTree.stream().map(ResidentView.Resident::firstName).toList());
+        assertEquals("841-874-0000", loneTree.get(1).phone());
+        assertEquals(LocalDate.of(1984, 3, 6), loneTree.get(1).birthdate());
+        assertNull(loneTree.get(1).station());
+        assertEquals("951 LoneTree Rd", view.findFirst("John", "Boyd").orElseThrow().address());
+    }
+
+    @Test
+    @DisplayName("Test de la propagation d'une modification de dossier médical")
+    void testRecordChange() {
+        // Arrange
+        MedicalRecord updated = record("John", "Boyd", LocalDate.of(1984, 3, 6), List.of("hydrapermazol:100mg"));
+        MedicalRecord ericRecord = record("Eric", "Cadigan", LocalDate.of(1945, 8, 6), List.of());
+
+        // Act
+        view.onDataChanged(List.of(DataChange.updated(johnRecord, updated), DataChange.added(ericRecord)));
+
+        // Assert
+        assertEquals(List.of("hydrapermazol:100mg"), view.findFirst("John", "Boyd").orElseThrow().medications());
+        assertEquals(List.of("hydrapermazol:100mg"), view.findByLastName("Boyd").get(0).medications());
+        assertTrue(view.residentsAt("951 LoneTree Rd").get(0).hasMedicalRecord());
+
+        // Act : suppression du dossier
+        view.onDataChanged(List.of(DataChange.removed(updated)));
+
+        // Assert
+        assertFalse(view.residentsAt("1509 Culver St").get(0).hasMedicalRecord());
+    }
+
+    @Test
+    @DisplayName("Test du compactage des médicaments et allergies hors tas")
+    void testRecordChange_PayloadCompaction() {
+        // Arrange : chaque version du dossier occupe plus de la moitié d'un bloc
+        MedicalRecord current = johnRecord;
+        List<String> large = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            large.add("x".repeat(60_000));
+        }
+        ResidentView.Resident before = view.findFirst("John", "Boyd").orElseThrow();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            MedicalRecord updated = record("John", "Boyd", LocalDate.of(1984, 3, 6), large);
+            view.onDataChanged(List.of(DataChange.updated(current, updated)));
+            current = updated;
+        }
+
+        // Assert : seule l'entrée vivante est recopiée, en tête d'une nouvelle arène
+        ResidentView.Resident john = view.findFirst("John", "Boyd").orElseThrow();
+        assertEquals(0, john.medicalPayload());
+        assertNotSame(before.medicalChunk(), john.medicalChunk());
+        assertEquals(large, john.medications());
+        assertEquals(large, view.residentsAt("1509 Culver St").get(0).medications());
+        assertEquals(List.of("aznol:350mg"), before.medications());
+        assertTrue(view.findFirst("Tenley", "Boyd").orElseThrow().medications().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test de la propagation d'une modification de mapping")
+    void testMappingChange() {
+        // Act
+        view.onDataChanged(List.of(
+                DataChange.removed(culverMapping),
+                DataChange.added(mapping("951 LoneTree Rd", "2"))));
+
+        // Assert
+        assertEquals("4", view.stationOf("1509 Culver St"));
+        assertEquals("4", view.residentsAt("1509 Culver St").get(1).station());
+        assertEquals("2", view.findFirst("Eric", "Cadigan").orElseThrow().station());
+    }
+
+    @Test
+    @DisplayName("Test de la suppression d'une personne")
+    void testPersonRemoved() {
+        // Act
+        view.onDataChanged(List.of(DataChange.removed(john)));
+
+        // Assert
+        assertTrue(view.findFirst("John", "Boyd").isEmpty());
+        assertEquals(1, view.residentsAt("1509 Culver St").size());
+        assertEquals(1, view.findByLastName("Boyd").size());
+    }
+
+    private static MedicalRecord record(String firstName, String lastName, LocalDate birthdate, List<String> medications) {
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName(firstName);
+        record.setLastName(lastName);
+        record.setBirthdate(birthdate);
+        record.setMedications(medications);
+        record.setAllergies(List.of());
+        return record;
+    }
+
+    private static FireStation mapping(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+}
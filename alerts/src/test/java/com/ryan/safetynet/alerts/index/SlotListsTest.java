@@ -0,0 +1,65 @@
+package com.ryan.safetynet.alerts.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests des listes SlotLists")
+class SlotListsTest {
+
+    @Test
+    @DisplayName("Test de l'ordre d'ajout, du retrait et de la réattribution des emplacements")
+    void testAddRemoveAndReuse() {
+        // Arrange
+        SlotLists<String> lists = new SlotLists<>();
+        lists.ensureBuckets(2);
+        int a = lists.add(1, "a");
+        int b = lists.add(1, "b");
+        int c = lists.add(1, "c");
+
+        // Act
+        lists.remove(1, b);
+        int d = lists.add(0, "d");
+
+        // Assert
+        assertEquals(List.of("a", "c"), values(lists, 1));
+        assertEquals(List.of("d"), values(lists, 0));
+        assertEquals(b, d);
+        assertEquals(c, lists.find(1, "c"));
+        assertEquals(SlotLists.NONE, lists.find(0, "a"));
+        assertEquals(3, lists.size());
+        lists.remove(1, a);
+        lists.remove(1, c);
+        assertEquals(SlotLists.NONE, lists.first(1));
+    }
+
+    @Test
+    @DisplayName("Test de la redistribution dans une table plus grande, ordre relatif conservé")
+    void testRehash() {
+        // Arrange
+        SlotLists<String> lists = new SlotLists<>();
+        for (int i = 0; i < 10; i++) {
+            lists.add(0, "v" + i);
+        }
+
+        // Act
+        lists.rehash(4, value -> Integer.parseInt(value.substring(1)) % 4);
+
+        // Assert
+        assertEquals(4, lists.buckets());
+        assertEquals(List.of("v1", "v5", "v9"), values(lists, 1));
+        assertEquals(List.of("v2", "v6"), values(lists, 2));
+    }
+
+    private static List<String> values(SlotLists<String> lists, int bucket) {
+        List<String> values = new ArrayList<>();
+        for (int slot = lists.first(bucket); slot != SlotLists.NONE; slot = lists.next(bucket, slot)) {
+            values.add(lists.get(slot));
+        }
+        return values;
+    }
+}
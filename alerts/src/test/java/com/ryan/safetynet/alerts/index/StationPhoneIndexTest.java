@@ -0,0 +1,149 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.utils.PhoneNumbers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'index StationPhoneIndex")
+class StationPhoneIndexTest {
+
+    private StationPhoneIndex index;
+    private Person john;
+
+    @BeforeEach
+    void setUp() {
+        john = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+                john,
+                new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "tenz@email.com"),
+                new Person("Peter", "Duncan", "644 Gershwin Cir", "Culver", "97451", "841-874-6544", "jaboyd@email.com"),
+                new Person("Eric", "Cadigan", "951 LoneTree Rd", "Culver", "97451", "841-874-7458", "gramps@email.com"))));
+        data.setFireStations(new ArrayList<>(List.of(
+                mapping("1509 Culver St", "3"),
+                mapping("644 Gershwin Cir", "1"),
+                mapping("951 LoneTree Rd", "3"),
+                mapping("951 LoneTree Rd", "2"))));
+        index = new StationPhoneIndex(new AddressDictionary());
+        index.rebuild(data);
+    }
+
+    @Test
+    @DisplayName("Test des numéros distincts et triés par station")
+    void testPhonesOf() {
+        // Assert
+        assertTrue(index.isReady());
+        assertEquals(List.of("841-874-6512", "841-874-7458"), formatted(index.phonesOf(3)));
+        assertEquals(List.of("841-874-6544"), formatted(index.phonesOf(1)));
+        assertEquals(List.of("841-874-7458"), formatted(index.phonesOf(2)));
+        assertEquals(0, index.phonesOf(9).length);
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour incrémentale lors des changements de personnes")
+    void testPersonChanges() {
+        // Arrange
+        Person moved = new Person("John", "Boyd", "644 Gershwin Cir", "Culver", "97451", "841-874-0000", "jaboyd@email.com");
+        Person added = new Person("Zach", "Zemicks", "1509 Culver St", "Culver", "97451", "841-874-7512", "zarc@email.com");
+
+        // Act
+        index.onDataChanged(List.of(DataChange.updated(john, moved), DataChange.added(added)));
+
+        // Assert : le numéro partagé reste à la station 3 tant qu'un résident le porte
+        assertEquals(List.of("841-874-6512", "841-874-7458", "841-874-7512"), formatted(index.phonesOf(3)));
+        assertEquals(List.of("841-874-0000", "841-874-6544"), formatted(index.phonesOf(1)));
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour incrémentale lors des changements de mapping")
+    void testMappingChanges() {
+        // Act
+        index.onDataChanged(List.of(
+                DataChange.removed(mapping("951 LoneTree Rd", "3")),
+                DataChange.updated(mapping("644 Gershwin Cir", "1"), mapping("644 Gershwin Cir", "4"))));
+
+        // Assert
+        assertEquals(List.of("841-874-6512"), formatted(index.phonesOf(3)));
+        assertEquals(0, index.phonesOf(1).length);
+        assertEquals(List.of("841-874-6544"), formatted(index.phonesOf(4)));
+        assertEquals(List.of("841-874-7458"), formatted(index.phonesOf(2)));
+    }
+
+    @Test
+    @DisplayName("Test de l'indisponibilité de l'index en présence d'un numéro hors format")
+    void testInvalidPhone() {
+        // Arrange
+        Person invalid = new Person("Jane", "Doe", "1509 Culver St", "Culver", "97451", "555-1234", "jane@email.com");
+
+        // Act
+        index.onDataChanged(List.of(DataChange.added(invalid)));
+
+        // Assert
+        assertFalse(index.isReady());
+        assertEquals(0, index.phonesOf(3).length);
+    }
+
+    @Test
+    @DisplayName("Test du retour de l'index une fois le numéro hors format corrigé, modifications intermédiaires comprises")
+    void testInvalidPhone_Corrected() {
+        // Arrange
+        Person invalid = new Person("Jane", "Doe", "1509 Culver St", "Culver", "97451", "555-1234", "jane@email.com");
+        Person corrected = new Person("Jane", "Doe", "1509 Culver St", "Culver", "97451", "841-874-1234", "jane@email.com");
+        index.onDataChanged(List.of(DataChange.added(invalid)));
+        index.onDataChanged(List.of(DataChange.removed(john), DataChange.added(mapping("644 Gershwin Cir", "3"))));
+
+        // Act
+        index.onDataChanged(List.of(DataChange.updated(invalid, corrected)));
+
+        // Assert
+        assertTrue(index.isReady());
+        assertEquals(List.of("841-874-1234", "841-874-6512", "841-874-6544", "841-874-7458"), formatted(index.phonesOf(3)));
+        assertEquals(List.of("841-874-6544"), formatted(index.phonesOf(1)));
+    }
+
+    @Test
+    @DisplayName("Test d'une reconstruction en présence d'un numéro hors format, puis de sa suppression")
+    void testRebuild_InvalidPhone() {
+        // Arrange
+        Person invalid = new Person("Jane", "Doe", "644 Gershwin Cir", "Culver", "97451", "841 874 1234", "jane@email.com");
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(john, invalid)));
+        data.setFireStations(new ArrayList<>(List.of(mapping("1509 Culver St", "3"), mapping("644 Gershwin Cir", "1"))));
+        index.rebuild(data);
+        boolean readyWithInvalid = index.isReady();
+
+        // Act
+        index.onDataChanged(List.of(DataChange.removed(invalid)));
+
+        // Assert
+        assertFalse(readyWithInvalid);
+        assertTrue(index.isReady());
+        assertEquals(List.of("841-874-6512"), formatted(index.phonesOf(3)));
+        assertEquals(0, index.phonesOf(1).length);
+    }
+
+    private static List<String> formatted(long[] codes) {
+        List<String> phones = new ArrayList<>();
+        for (long code : codes) {
+            phones.add(PhoneNumbers.format(code));
+        }
+        return phones;
+    }
+
+    private static FireStation mapping(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+}
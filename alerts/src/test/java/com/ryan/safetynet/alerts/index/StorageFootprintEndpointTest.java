@@ -0,0 +1,92 @@
+package com.ryan.safetynet.alerts.index;
+
+import com.ryan.safetynet.alerts.dto.StorageFootprintDTO;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import com.ryan.safetynet.alerts.repository.DataSnapshot;
+import com.ryan.safetynet.alerts.utils.StringPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de l'endpoint StorageFootprintEndpoint")
+class StorageFootprintEndpointTest {
+
+    @Mock
+    private DataRepository dataRepository;
+
+    private ColumnarStore columnarStore;
+    private StorageFootprintEndpoint endpoint;
+    private Data data;
+
+    @BeforeEach
+    void setUp() {
+        // Valeurs répétées mais instances distinctes, comme après la désérialisation JSON
+        data = new Data();
+        data.setPersons(new ArrayList<>());
+        data.setMedicalRecords(new ArrayList<>());
+        data.setFireStations(new ArrayList<>());
+        for (int i = 0; i < 200; i++) {
+            data.getPersons().add(new Person("First" + i, new String("Boyd"), (i % 20) + " Culver St",
+                    new String("Culver"), new String("97451"), "841-874-" + i, "user" + i + "@email.com"));
+            MedicalRecord record = new MedicalRecord();
+            record.setFirstName("First" + i);
+            record.setLastName(new String("Boyd"));
+            record.setBirthdate(LocalDate.of(1980, 1, 1).plusDays(i));
+            record.setMedications(new ArrayList<>(List.of(new String("aznol:350mg"), new String("hydrapermazol:100mg"))));
+            record.setAllergies(new ArrayList<>(List.of(new String("nillacilan"))));
+            data.getMedicalRecords().add(record);
+        }
+        columnarStore = new ColumnarStore(dataRepository, new AddressDictionary());
+        endpoint = new StorageFootprintEndpoint(dataRepository, columnarStore);
+        when(dataRepository.getSnapshot()).thenReturn(DataSnapshot.of(1, data));
+    }
+
+    @Test
+    @DisplayName("Test de la comparaison des empreintes du modèle objet et des colonnes")
+    void testFootprint() {
+        // Arrange : dédoublonnage fait par le repository au chargement
+        StringPool pool = new StringPool().deduplicate(data);
+        when(dataRepository.getPooledStrings()).thenReturn(pool.size());
+        columnarStore.rebuild(data);
+
+        // Act
+        StorageFootprintDTO footprint = endpoint.footprint();
+
+        // Assert
+        assertEquals(200, footprint.getPersons());
+        assertEquals(200, footprint.getMedicalRecords());
+        assertTrue(footprint.getColumnarBytes() > 0);
+        assertTrue(footprint.getOffHeapBytes() > 0);
+        assertTrue(footprint.getColumnarBytes() < footprint.getObjectModelBytes());
+        assertTrue(footprint.getObjectModelBytes() < footprint.getUnpooledObjectModelBytes());
+        assertEquals(5, footprint.getPooledStrings());
+        assertEquals((double) footprint.getColumnarBytes() / footprint.getObjectModelBytes(),
+                footprint.getColumnarRatio());
+    }
+
+    @Test
+    @DisplayName("Test de l'empreinte avant la construction des colonnes")
+    void testFootprint_NotReady() {
+        // Act
+        StorageFootprintDTO footprint = endpoint.footprint();
+
+        // Assert
+        assertTrue(footprint.getObjectModelBytes() > 0);
+        assertEquals(0, footprint.getColumnarBytes());
+        assertEquals(0, footprint.getOffHeapBytes());
+    }
+}
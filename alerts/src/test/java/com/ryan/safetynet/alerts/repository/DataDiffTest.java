@@ -0,0 +1,142 @@
+package com.ryan.safetynet.alerts.repository;
+
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la différence DataDiff")
+class DataDiffTest {
+
+    private Data live;
+    private Person john;
+    private Person tenley;
+    private MedicalRecord johnRecord;
+    private FireStation culverMapping;
+
+    @BeforeEach
+    void setUp() {
+        john = person("John", "1509 Culver St", "841-874-6512");
+        tenley = person("Tenley", "1509 Culver St", "841-874-6512");
+        johnRecord = record("John", List.of("aznol:350mg"));
+        culverMapping = mapping("1509 Culver St", "3");
+        live = data(List.of(john, tenley), List.of(johnRecord), List.of(culverMapping));
+    }
+
+    @Test
+    @DisplayName("Test de la différence entre deux versions identiques")
+    void testBetween_Unchanged() {
+        // Arrange : mêmes valeurs, instances différentes
+        Data incoming = data(List.of(person("John", "1509 Culver St", "841-874-6512"),
+                        person("Tenley", "1509 Culver St", "841-874-6512")),
+                List.of(record("John", List.of("aznol:350mg"))), List.of(mapping("1509 Culver St", "3")));
+
+        // Act
+        DataDiff diff = DataDiff.between(live, incoming);
+
+        // Assert
+        assertTrue(diff.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test de la différence sur les personnes et les dossiers médicaux")
+    void testBetween_PersonsAndRecords() {
+        // Arrange
+        Person moved = person("Tenley", "951 LoneTree Rd", "841-874-7458");
+        Person added = person("Roger", "1509 Culver St", "841-874-6512");
+        MedicalRecord updatedRecord = record("John", List.of("aznol:200mg"));
+        Data incoming = data(List.of(person("John", "1509 Culver St", "841-874-6512"), added, moved),
+                List.of(updatedRecord), List.of(mapping("1509 Culver St", "3")));
+
+        // Act
+        List<DataChange> changes = DataDiff.between(live, incoming).getChanges();
+
+        // Assert : l'état « avant » est l'entité en mémoire
+        assertEquals(3, changes.size());
+        assertEquals(DataChange.Type.UPDATED, changes.get(0).getType());
+        assertSame(tenley, changes.get(0).getBefore());
+        assertSame(moved, changes.get(0).getAfter());
+        assertEquals(DataChange.Type.ADDED, changes.get(1).getType());
+        assertSame(added, changes.get(1).getAfter());
+        assertSame(johnRecord, changes.get(2).getBefore());
+        assertSame(updatedRecord, changes.get(2).getAfter());
+    }
+
+    @Test
+    @DisplayName("Test de la différence sur les mappings et les homonymes")
+    void testBetween_MappingsAndHomonyms() {
+        // Arrange : un second John à une autre adresse, l'adresse change de station
+        Person homonym = person("John", "29 15th St", "841-874-6513");
+        Data incoming = data(List.of(person("John", "1509 Culver St", "841-874-6512"), homonym),
+                List.of(record("John", List.of("aznol:350mg"))), List.of(mapping("1509 culver street", "2")));
+
+        // Act
+        List<DataChange> changes = DataDiff.between(live, incoming).getChanges();
+
+        // Assert : Tenley est supprimée, le mapping est remplacé
+        assertEquals(List.of(DataChange.Type.ADDED, DataChange.Type.REMOVED, DataChange.Type.REMOVED,
+                DataChange.Type.ADDED), changes.stream().map(DataChange::getType).toList());
+        assertSame(homonym, changes.get(0).getAfter());
+        assertSame(tenley, changes.get(1).getBefore());
+        assertSame(culverMapping, changes.get(2).getBefore());
+        assertEquals("2", ((FireStation) changes.get(3).getAfter()).getStation());
+    }
+
+    @Test
+    @DisplayName("Test de l'application de la différence aux listes en mémoire")
+    void testApplyTo() {
+        // Arrange
+        Person moved = person("Tenley", "951 LoneTree Rd", "841-874-7458");
+        Person added = person("Roger", "1509 Culver St", "841-874-6512");
+        Data incoming = data(List.of(added, moved), List.of(), List.of(mapping("1509 Culver St", "3")));
+        DataDiff diff = DataDiff.between(live, incoming);
+
+        // Act
+        diff.applyTo(live);
+
+        // Assert : Tenley est remplacée à sa position, John supprimé, Roger ajouté en fin de liste
+        assertEquals(List.of(moved, added), live.getPersons());
+        assertTrue(live.getMedicalRecords().isEmpty());
+        assertSame(culverMapping, live.getFireStations().get(0));
+        assertTrue(DataDiff.between(live, incoming).isEmpty());
+    }
+
+    private static Data data(List<Person> persons, List<MedicalRecord> records, List<FireStation> mappings) {
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(persons));
+        data.setMedicalRecords(new ArrayList<>(records));
+        data.setFireStations(new ArrayList<>(mappings));
+        return data;
+    }
+
+    private static Person person(String firstName, String address, String phone) {
+        return new Person(firstName, "Boyd", address, "Culver", "97451", phone, "jaboyd@email.com");
+    }
+
+    private static MedicalRecord record(String firstName, List<String> medications) {
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName(firstName);
+        record.setLastName("Boyd");
+        record.setBirthdate(LocalDate.of(1984, 3, 6));
+        record.setMedications(medications);
+        record.setAllergies(List.of());
+        return record;
+    }
+
+    private static FireStation mapping(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+}
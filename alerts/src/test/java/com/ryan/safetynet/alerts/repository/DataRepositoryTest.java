@@ -1,21 +1,28 @@
 package com.ryan.safetynet.alerts.repository;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.Person;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,6 +34,9 @@ class DataRepositoryTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager();
+
     @InjectMocks
     private DataRepository dataRepository;
 
@@ -106,6 +116,86 @@ class DataRepositoryTest {
             "Le fichier de backup devrait être créé");
     }
 
+    @Test
+    @DisplayName("Test de la détection des sauvegardes de l'application")
+    void testIsUnchangedSinceLastSave() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(dataRepository, "data", new Data());
+
+        // Act & Assert
+        assertFalse(dataRepository.isUnchangedSinceLastSave());
+        dataRepository.saveData();
+        assertTrue(dataRepository.isUnchangedSinceLastSave());
+    }
+
+    @Test
+    @DisplayName("Test du partage des valeurs répétées de faible cardinalité au chargement")
+    void testLoadData_SharesRepeatedValues() throws IOException {
+        // Arrange : valeurs égales mais instances distinctes, comme après la désérialisation JSON
+        Data read = new Data();
+        read.setPersons(List.of(
+                new Person("John", new String("Boyd"), new String("1509 Culver St"), new String("Culver"),
+                        new String("97451"), "841-874-6512", "jaboyd@email.com"),
+                new Person("Jacob", new String("Boyd"), new String("1509 Culver St"), new String("Culver"),
+                        new String("97451"), "841-874-6513", "drk@email.com")));
+        when(objectMapper.readValue(any(File.class), eq(Data.class))).thenReturn(read);
+
+        // Act
+        dataRepository.loadData();
+
+        // Assert : villes et codes postaux partagés, noms et adresses laissés tels quels
+        List<Person> persons = dataRepository.getData().getPersons();
+        assertSame(persons.get(0).getCity(), persons.get(1).getCity());
+        assertSame(persons.get(0).getZip(), persons.get(1).getZip());
+        assertNotSame(persons.get(0).getLastName(), persons.get(1).getLastName());
+        assertNotSame(persons.get(0).getAddress(), persons.get(1).getAddress());
+        assertEquals(2, dataRepository.getPooledStrings());
+    }
+
+    @Test
+    @DisplayName("Test de la relecture du fichier de données")
+    void testReadDataFile() throws IOException {
+        // Arrange
+        Data expectedData = new Data();
+        when(objectMapper.readValue(any(File.class), eq(Data.class))).thenReturn(expectedData);
+
+        // Act & Assert : les données en mémoire ne sont pas remplacées
+        assertSame(expectedData, dataRepository.readDataFile());
+        assertNull(dataRepository.getData());
+        ReflectionTestUtils.setField(dataRepository, "dataFilePath", CLASS_PATH_DATA);
+        assertNull(dataRepository.getDataFile());
+        assertThrows(IllegalStateException.class, () -> dataRepository.readDataFile());
+    }
+
+    @Test
+    @DisplayName("Test de l'instantané copié à la demande, une fois par version publiée")
+    void testGetSnapshot_CopiedOncePerPublishedVersion() {
+        // Arrange
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(new Person())));
+        ReflectionTestUtils.setField(dataRepository, "data", data);
+
+        // Act : deux publications sans lecteur ne copient rien
+        dataRepository.publishSnapshot();
+        dataRepository.publishSnapshot();
+        verifyNoInteractions(lockManager);
+        DataSnapshot first = dataRepository.getSnapshot();
+        DataSnapshot same = dataRepository.getSnapshot();
+        data.getPersons().add(new Person());
+        DataSnapshot unpublished = dataRepository.getSnapshot();
+        long version = dataRepository.publishSnapshot();
+        DataSnapshot next = dataRepository.getSnapshot();
+
+        // Assert
+        assertEquals(2, first.getVersion());
+        assertSame(first, same);
+        assertSame(first, unpublished);
+        assertEquals(1, first.getPersons().size());
+        assertEquals(version, next.getVersion());
+        assertEquals(2, next.getPersons().size());
+        verify(lockManager, times(2)).readLocked(eq(List.of()), any());
+    }
+
     @Test
     @DisplayName("Test de sauvegarde des données avec une erreur d'IO")
     void testSaveData_WithIOException() throws IOException {
@@ -128,4 +218,14 @@ class DataRepositoryTest {
         // Act & Assert
         assertThrows(DataRepository.DataLoadException.class, () -> dataRepository.loadData());
     }
+
+    @Test
+    @DisplayName("Test de l'absence de méthode synchronized (pas d'épinglage des threads virtuels)")
+    void testNoSynchronizedMethods() {
+        // Un bloc synchronized épinglerait le thread porteur d'un thread virtuel pendant l'attente
+        for (Method method : DataRepository.class.getDeclaredMethods()) {
+            assertFalse(Modifier.isSynchronized(method.getModifiers()),
+                "La méthode " + method.getName() + " ne doit pas être synchronized");
+        }
+    }
 }
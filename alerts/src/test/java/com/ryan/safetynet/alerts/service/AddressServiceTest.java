@@ -0,0 +1,106 @@
+package com.ryan.safetynet.alerts.service;
+
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.dto.AddressSuggestionDTO;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.AddressIndex;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service AddressService")
+class AddressServiceTest {
+
+    @Mock
+    private DataRepository dataRepository;
+
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager();
+
+    @Mock
+    private AddressIndex addressIndex;
+
+    @InjectMocks
+    private AddressService addressService;
+
+    private Data data;
+
+    @BeforeEach
+    void setUp() {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress("1509 Culver St");
+        fireStation.setStation("3");
+        data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+            new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+            new Person("Jacob", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6513", "drk@email.com"),
+            new Person("Peter", "Duncan", "15 Culver Ave", "Culver", "97451", "841-874-6514", "pd@email.com"))));
+        data.setFireStations(new ArrayList<>(List.of(fireStation)));
+    }
+
+    @Test
+    @DisplayName("Test de l'autocomplétion par parcours lorsque l'index n'est pas prêt")
+    void testAutocomplete_Scan() {
+        // Arrange
+        when(dataRepository.getData()).thenReturn(data);
+
+        // Act
+        List<AddressSuggestionDTO> suggestions = addressService.autocomplete("15", 10);
+
+        // Assert
+        assertEquals(2, suggestions.size());
+        assertEquals("1509 Culver St", suggestions.get(0).getAddress());
+        assertEquals(2, suggestions.get(0).getResidentCount());
+        assertEquals(List.of("3"), suggestions.get(0).getStations());
+        assertEquals("15 Culver Ave", suggestions.get(1).getAddress());
+    }
+
+    @Test
+    @DisplayName("Test de l'autocomplétion par nom de rue avec limite")
+    void testAutocomplete_ScanStreetWithLimit() {
+        // Arrange
+        when(dataRepository.getData()).thenReturn(data);
+
+        // Act
+        List<AddressSuggestionDTO> suggestions = addressService.autocomplete("culver", 1);
+
+        // Assert
+        assertEquals(1, suggestions.size());
+        assertEquals("1509 Culver St", suggestions.get(0).getAddress());
+    }
+
+    @Test
+    @DisplayName("Test de l'autocomplétion via l'index")
+    void testAutocomplete_FromIndex() {
+        // Arrange
+        AddressIndex index = new AddressIndex(new AddressDictionary());
+        index.rebuild(data);
+        when(addressIndex.isReady()).thenReturn(true);
+        when(addressIndex.suggest("15", 10)).thenReturn(index.suggest("15", 10));
+
+        // Act
+        List<AddressSuggestionDTO> suggestions = addressService.autocomplete("15", 10);
+
+        // Assert
+        assertEquals(2, suggestions.size());
+        assertEquals("1509 Culver St", suggestions.get(0).getAddress());
+        assertEquals(List.of("3"), suggestions.get(0).getStations());
+        verifyNoInteractions(dataRepository, lockManager);
+    }
+}
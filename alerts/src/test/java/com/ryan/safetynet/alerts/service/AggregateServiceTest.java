@@ -0,0 +1,118 @@
+package com.ryan.safetynet.alerts.service;
+
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.dto.AggregateStatsDTO;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.AggregateIndex;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service AggregateService")
+class AggregateServiceTest {
+
+    @Mock
+    private DataRepository dataRepository;
+
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager();
+
+    @Spy
+    private AggregateIndex aggregateIndex = new AggregateIndex(new AddressDictionary());
+
+    @InjectMocks
+    private AggregateService aggregateService;
+
+    private Data data;
+
+    @BeforeEach
+    void setUp() {
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName("John");
+        record.setLastName("Boyd");
+        record.setBirthdate(LocalDate.of(1984, 3, 6));
+        record.setMedications(List.of("aznol:350mg"));
+        record.setAllergies(List.of("nillacilan"));
+        FireStation mapping = new FireStation();
+        mapping.setAddress("1509 Culver St");
+        mapping.setStation("3");
+        data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+                new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+                new Person("Roger", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"))));
+        data.setMedicalRecords(new ArrayList<>(List.of(record)));
+        data.setFireStations(new ArrayList<>(List.of(mapping)));
+    }
+
+    @Test
+    @DisplayName("Test des agrégats d'une station lus dans l'index")
+    void testGetStationStats() {
+        // Arrange
+        aggregateIndex.rebuild(data);
+
+        // Act
+        AggregateStatsDTO result = aggregateService.getStationStats(3);
+
+        // Assert
+        assertEquals("station", result.getScope());
+        assertEquals("3", result.getName());
+        assertEquals(2, result.getResidents());
+        assertEquals(1, result.getWithoutMedicalRecord());
+        assertEquals(1, result.getAgeBuckets().get("19-64"));
+        assertEquals("aznol", result.getTopMedications().get(0).getTerm());
+        assertEquals(1, result.getTopAllergies().get(0).getCount());
+        assertEquals(Map.of(2, 1), result.getHouseholdSizes());
+        assertNull(aggregateService.getStationStats(9));
+        verify(dataRepository, never()).getData();
+    }
+
+    @Test
+    @DisplayName("Test des agrégats d'une ville calculés sur les données tant que l'index n'est pas construit")
+    void testGetCityStats_Fallback() {
+        // Arrange
+        when(dataRepository.getData()).thenReturn(data);
+
+        // Act
+        AggregateStatsDTO result = aggregateService.getCityStats("culver");
+
+        // Assert
+        assertEquals("city", result.getScope());
+        assertEquals("Culver", result.getName());
+        assertEquals(2, result.getResidents());
+        assertEquals(1, result.getHouseholds());
+        assertNull(aggregateService.getCityStats("Paris"));
+    }
+
+    @Test
+    @DisplayName("Test des agrégats d'une station calculés sur les données tant que l'index n'est pas construit")
+    void testGetStationStats_Fallback() {
+        // Arrange
+        when(dataRepository.getData()).thenReturn(data);
+
+        // Act
+        AggregateStatsDTO result = aggregateService.getStationStats(3);
+
+        // Assert
+        assertEquals(2, result.getResidents());
+        verify(aggregateIndex).scanStation(data, 3);
+    }
+}
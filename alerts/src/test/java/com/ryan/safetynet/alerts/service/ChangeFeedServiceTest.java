@@ -0,0 +1,345 @@
+package com.ryan.safetynet.alerts.service;
+
+import com.ryan.safetynet.alerts.dto.ChangeEventDTO;
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.ChangeScopeIndex;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service ChangeFeedService")
+class ChangeFeedServiceTest {
+
+    @Mock
+    private DataRepository dataRepository;
+
+    private ExecutorService executor;
+    private AddressDictionary addressDictionary;
+    private ChangeScopeIndex scopeIndex;
+    private ChangeFeedService changeFeedService;
+    private Data data;
+
+    @BeforeEach
+    void setUp() {
+        data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+            new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+            new Person("Eric", "Cadigan", "951 LoneTree Rd", "Culver", "97451", "841-874-7458", "gramps@email.com"))));
+        data.setFireStations(new ArrayList<>(List.of(
+            fireStation("1509 Culver St", "3"),
+            fireStation("951 LoneTree Rd", "2"))));
+        data.setMedicalRecords(new ArrayList<>());
+        addressDictionary = new AddressDictionary();
+        addressDictionary.rebuild(data);
+        scopeIndex = new ChangeScopeIndex(addressDictionary);
+        scopeIndex.rebuild(data);
+        executor = Executors.newSingleThreadExecutor();
+        changeFeedService = new ChangeFeedService(dataRepository, scopeIndex, addressDictionary, executor, 4, 0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeedService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test de la diffusion d'une modification de résident aux abonnés de sa station")
+    void testPersonChangeDeliveredByStation() throws Exception {
+        // Arrange
+        RecordingSink station3 = new RecordingSink();
+        RecordingSink station2 = new RecordingSink();
+        changeFeedService.register(Set.of("3"), Set.of(), station3);
+        changeFeedService.register(Set.of("2"), Set.of(), station2);
+        Person person = data.getPersons().get(0);
+
+        // Act
+        changeFeedService.onDataChanged(List.of(DataChange.updated(person, person)));
+        awaitDrained();
+
+        // Assert
+        assertEquals(1, station3.events.size());
+        assertEquals(DataChange.Entity.PERSON, station3.events.get(0).getEntity());
+        assertTrue(station2.events.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test de la diffusion d'une modification de dossier médical par adresse du résident")
+    void testMedicalRecordChangeDeliveredByAddress() throws Exception {
+        // Arrange
+        RecordingSink sink = new RecordingSink();
+        changeFeedService.register(Set.of(), Set.of("951 LoneTree Rd"), sink);
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName("Eric");
+        record.setLastName("Cadigan");
+
+        // Act
+        changeFeedService.onDataChanged(List.of(DataChange.added(record)));
+        awaitDrained();
+
+        // Assert
+        assertEquals(1, sink.events.size());
+        assertEquals(DataChange.Type.ADDED, sink.events.get(0).getType());
+    }
+
+    @Test
+    @DisplayName("Test de la diffusion d'un changement de mapping aux anciennes et nouvelles stations")
+    void testMappingChangeDeliveredToBothStations() throws Exception {
+        // Arrange
+        RecordingSink oldStation = new RecordingSink();
+        RecordingSink newStation = new RecordingSink();
+        changeFeedService.register(Set.of("2"), Set.of(), oldStation);
+        changeFeedService.register(Set.of("4"), Set.of(), newStation);
+
+        // Act
+        changeFeedService.onDataChanged(List.of(DataChange.updated(
+            fireStation("951 LoneTree Rd", "2"), fireStation("951 LoneTree Rd", "4"))));
+        awaitDrained();
+
+        // Assert
+        assertEquals(1, oldStation.events.size());
+        assertEquals(1, newStation.events.size());
+    }
+
+    @Test
+    @DisplayName("Test d'un abonnement par adresse insensible à la saisie de l'adresse")
+    void testAddressSubscriptionCanonicalized() throws Exception {
+        // Arrange
+        RecordingSink sink = new RecordingSink();
+        changeFeedService.register(Set.of(), Set.of("1509 CULVER Street."), sink);
+        Person person = data.getPersons().get(0);
+
+        // Act
+        changeFeedService.onDataChanged(List.of(DataChange.updated(person, person)));
+        awaitDrained();
+
+        // Assert
+        assertEquals(1, sink.events.size());
+    }
+
+    @Test
+    @DisplayName("Test d'un abonnement à une adresse encore inconnue, résolue au premier emménagement")
+    void testAddressSubscriptionResolvedWhenKnown() throws Exception {
+        // Arrange
+        RecordingSink sink = new RecordingSink();
+        changeFeedService.register(Set.of(), Set.of("7 nouvelle rue"), sink);
+        int known = addressDictionary.size();
+        Person person = data.getPersons().get(1);
+        Person moved = new Person("Eric", "Cadigan", "7 Nouvelle Rue", "Culver", "97451", "841-874-7458", "gramps@email.com");
+
+        // Act
+        changeFeedService.onDataChanged(List.of(DataChange.updated(person, person)));
+        awaitDrained();
+        int beforeMove = sink.events.size();
+        changeFeedService.onDataChanged(List.of(DataChange.updated(person, moved)));
+        awaitDrained();
+
+        // Assert : l'abonnement n'ajoute pas l'adresse au dictionnaire
+        assertEquals(known + 1, addressDictionary.size());
+        assertEquals(0, beforeMove);
+        assertEquals(1, sink.events.size());
+    }
+
+    @Test
+    @DisplayName("Test de la résolution par parcours des données tant que l'index n'est pas prêt")
+    void testScopeFallbackWhileIndexing() throws Exception {
+        // Arrange
+        when(dataRepository.getData()).thenReturn(data);
+        ChangeFeedService service = new ChangeFeedService(dataRepository, new ChangeScopeIndex(addressDictionary),
+            addressDictionary, executor, 4, 0L);
+        RecordingSink sink = new RecordingSink();
+        service.register(Set.of("2"), Set.of(), sink);
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName("Eric");
+        record.setLastName("Cadigan");
+
+        // Act
+        service.onDataChanged(List.of(DataChange.added(record)));
+        awaitDrained();
+
+        // Assert
+        assertEquals(1, sink.events.size());
+    }
+
+    @Test
+    @DisplayName("Test qu'un abonné dont l'envoi bloque ne retarde pas les autres abonnés")
+    void testSlowSubscriberDoesNotStallOthers() throws Exception {
+        // Arrange
+        ExecutorService pool = Executors.newCachedThreadPool();
+        ChangeFeedService service = new ChangeFeedService(dataRepository, scopeIndex, addressDictionary, pool, 4, 0L);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink() {
+            @Override
+            public void send(ChangeEventDTO event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        RecordingSink fast = new RecordingSink() {
+            @Override
+            public void send(ChangeEventDTO event) throws java.io.IOException {
+                super.send(event);
+                delivered.countDown();
+            }
+        };
+        service.register(Set.of("3"), Set.of(), slow);
+        service.register(Set.of("3"), Set.of(), fast);
+        Person person = data.getPersons().get(0);
+
+        // Act
+        service.onDataChanged(List.of(DataChange.updated(person, person)));
+
+        // Assert
+        try {
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test de la fusion des modifications successives d'une même entité")
+    void testCoalescing() throws Exception {
+        // Arrange
+        RecordingSink sink = new RecordingSink();
+        changeFeedService.register(Set.of("3"), Set.of(), sink);
+        Person original = data.getPersons().get(0);
+        Person first = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "000", "a@email.com");
+        Person second = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "111", "b@email.com");
+        Person added = new Person("Jane", "Doe", "1509 Culver St", "Culver", "97451", "222", "c@email.com");
+
+        // Act
+        changeFeedService.onDataChanged(List.of(
+            DataChange.updated(original, first),
+            DataChange.updated(first, second),
+            DataChange.added(added),
+            DataChange.removed(added)));
+        awaitDrained();
+
+        // Assert
+        assertEquals(1, sink.events.size());
+        ChangeEventDTO event = sink.events.get(0);
+        assertEquals(DataChange.Type.UPDATED, event.getType());
+        assertSame(original, event.getBefore());
+        assertSame(second, event.getAfter());
+        assertEquals(2, event.getCoalesced());
+    }
+
+    @Test
+    @DisplayName("Test du débordement du tampon d'un abonné : resynchronisation demandée")
+    void testOverflowRequestsResync() throws Exception {
+        // Arrange
+        RecordingSink sink = new RecordingSink();
+        changeFeedService.register(Set.of("3"), Set.of(), sink);
+        List<DataChange> changes = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            changes.add(DataChange.added(
+                new Person("P" + i, "Boyd", "1509 Culver St", "Culver", "97451", "000", "p@email.com")));
+        }
+
+        // Act
+        changeFeedService.onDataChanged(changes);
+        awaitDrained();
+
+        // Assert
+        assertEquals(1, sink.resyncs);
+        assertTrue(sink.events.isEmpty());
+        assertEquals(1, changeFeedService.getOverflowCount());
+    }
+
+    @Test
+    @DisplayName("Test du retrait d'un abonné dont l'envoi échoue")
+    void testFailingSubscriberRemoved() throws Exception {
+        // Arrange
+        RecordingSink sink = new RecordingSink();
+        sink.fail = true;
+        changeFeedService.register(Set.of("3"), Set.of(), sink);
+        Person person = data.getPersons().get(0);
+
+        // Act
+        changeFeedService.onDataChanged(List.of(DataChange.updated(person, person)));
+        awaitDrained();
+
+        // Assert
+        assertEquals(0, changeFeedService.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Test de l'absence de traitement sans abonné")
+    void testNoSubscribers() {
+        // Act
+        changeFeedService.onDataChanged(List.of(DataChange.added(data.getPersons().get(0))));
+
+        // Assert
+        verifyNoInteractions(dataRepository);
+    }
+
+    @Test
+    @DisplayName("Test du rejet d'une taille de tampon invalide")
+    void testInvalidBufferSize() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+            new ChangeFeedService(dataRepository, scopeIndex, addressDictionary, executor, 0, 0L));
+    }
+
+    private void awaitDrained() throws Exception {
+        // L'exécuteur est mono-thread : une tâche soumise après le drain attend sa fin
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private static FireStation fireStation(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+
+    private static class RecordingSink implements ChangeFeedService.Sink {
+        private final List<ChangeEventDTO> events = new ArrayList<>();
+        private int resyncs;
+        private boolean fail;
+
+        @Override
+        public void send(ChangeEventDTO event) throws java.io.IOException {
+            if (fail) {
+                throw new java.io.IOException("client déconnecté");
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void resync() {
+            resyncs++;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
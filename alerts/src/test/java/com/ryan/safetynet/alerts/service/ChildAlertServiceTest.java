@@ -1,10 +1,17 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.dto.AddressChildAlertDTO;
 import com.ryan.safetynet.alerts.dto.ChildAlertDTO;
 import com.ryan.safetynet.alerts.dto.ChildDTO;
 import com.ryan.safetynet.alerts.dto.HouseholdMemberDTO;
 import com.ryan.safetynet.alerts.dto.PersonWithMedicalInfoDTO;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.ColumnarStore;
+import com.ryan.safetynet.alerts.index.HouseholdIndex;
+import com.ryan.safetynet.alerts.index.ResidentView;
 import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
 import com.ryan.safetynet.alerts.model.MedicalRecord;
 import com.ryan.safetynet.alerts.model.Person;
 import com.ryan.safetynet.alerts.repository.DataRepository;
@@ -15,6 +22,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -38,6 +46,21 @@ class ChildAlertServiceTest {
     @Mock
     private PersonService personService;
 
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager();
+
+    @Mock
+    private ColumnarStore columnarStore;
+
+    @Mock
+    private ResidentView residentView;
+
+    @Mock
+    private HouseholdIndex householdIndex;
+
+    @Mock
+    private FireStationService fireStationService;
+
     @InjectMocks
     private ChildAlertService childAlertService;
 
@@ -52,8 +75,8 @@ class ChildAlertServiceTest {
         mockMedicalRecords = new ArrayList<>();
         mockPersons = new ArrayList<>();
 
-        // Configuration du mock DataRepository
-        when(dataRepository.getData()).thenReturn(mockData);
+        // Configuration du mock DataRepository (non utilisé par les tests passant par la vue des résidents)
+        lenient().when(dataRepository.getData()).thenReturn(mockData);
         mockData.setMedicalRecords(mockMedicalRecords);
     }
 
@@ -198,4 +221,213 @@ class ChildAlertServiceTest {
         // Act & Assert
         assertThrows(RuntimeException.class, () -> childAlertService.getChildrenAtAddress(address));
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test de recherche d'enfants par parcours du stockage en colonnes")
+    void testGetChildrenAtAddress_WithColumns() {
+        // Arrange
+        String address = "123 Main St";
+        mockPersons.add(new Person("John", "Doe", address, "City", "12345", "123-456-7890", "john@email.com"));
+        mockPersons.add(new Person("Jane", "Doe", "123 main street", "City", "12345", "987-654-3210", "jane@email.com"));
+        mockPersons.add(new Person("Bob", "Doe", address, "City", "12345", "555-123-4567", "bob@email.com"));
+        mockPersons.add(new Person("Eve", "Smith", "456 Oak St", "City", "12345", "555-987-6543", "eve@email.com"));
+        MedicalRecord childRecord = new MedicalRecord();
+        childRecord.setFirstName("John");
+        childRecord.setLastName("Doe");
+        childRecord.setBirthdate(LocalDate.now().minusYears(10));
+        MedicalRecord adultRecord = new MedicalRecord();
+        adultRecord.setFirstName("Jane");
+        adultRecord.setLastName("Doe");
+        adultRecord.setBirthdate(LocalDate.now().minusYears(40));
+        mockMedicalRecords.addAll(List.of(childRecord, adultRecord));
+        mockData.setPersons(mockPersons);
+        mockData.setFireStations(new ArrayList<>());
+        when(columnarStore.columns()).thenReturn(columnsOf(mockData));
+
+        // Act
+        ChildAlertDTO result = childAlertService.getChildrenAtAddress(address);
+
+        // Assert
+        assertEquals(1, result.getChildren().size());
+        assertEquals("John", result.getChildren().get(0).getFirstName());
+        assertEquals(10, result.getChildren().get(0).getAge());
+        assertEquals(1, result.getHouseholdMembers().size());
+        assertEquals("Jane", result.getHouseholdMembers().get(0).getFirstName());
+        verify(personService, never()).getPersonsByAddress(any());
+    }
+
+    private ColumnarStore.Columns columnsOf(Data data) {
+        ColumnarStore store = new ColumnarStore(dataRepository, new AddressDictionary());
+        store.rebuild(data);
+        return store.columns();
+    }
+
+    @Test
+    @DisplayName("Test de recherche des enfants par la vue des résidents")
+    void testGetChildrenAtAddress_WithResidentView() {
+        // Arrange
+        String address = "123 Main St";
+        mockPersons.add(new Person("John", "Doe", address, "City", "12345", "123-456-7890", "john@email.com"));
+        mockPersons.add(new Person("Jane", "Doe", address, "City", "12345", "987-654-3210", "jane@email.com"));
+        mockPersons.add(new Person("Bob", "Doe", address, "City", "12345", "555-123-4567", "bob@email.com"));
+        MedicalRecord childRecord = new MedicalRecord();
+        childRecord.setFirstName("John");
+        childRecord.setLastName("Doe");
+        childRecord.setBirthdate(LocalDate.now().minusYears(10));
+        MedicalRecord adultRecord = new MedicalRecord();
+        adultRecord.setFirstName("Jane");
+        adultRecord.setLastName("Doe");
+        adultRecord.setBirthdate(LocalDate.now().minusYears(40));
+        mockMedicalRecords.addAll(List.of(childRecord, adultRecord));
+        mockData.setPersons(mockPersons);
+        mockData.setFireStations(new ArrayList<>());
+        when(residentView.isReady()).thenReturn(true);
+        when(residentView.residentsAt(address)).thenReturn(viewOf(mockData).residentsAt(address));
+
+        // Act
+        ChildAlertDTO result = childAlertService.getChildrenAtAddress(address);
+
+        // Assert : Bob, sans dossier médical, est ignoré
+        assertEquals(1, result.getChildren().size());
+        assertEquals(10, result.getChildren().get(0).getAge());
+        assertEquals(1, result.getHouseholdMembers().size());
+        assertEquals("Jane", result.getHouseholdMembers().get(0).getFirstName());
+        verifyNoInteractions(personService, columnarStore);
+    }
+
+    @Test
+    @DisplayName("Test de recherche d'enfants depuis l'index des foyers")
+    void testGetChildrenAtAddress_WithHouseholdIndex() {
+        // Arrange
+        String address = "123 Main St";
+        mockData.setPersons(householdPersons(address));
+        mockMedicalRecords.addAll(householdRecords());
+        mockData.setFireStations(new ArrayList<>());
+        HouseholdIndex index = householdIndexOf(mockData);
+        HouseholdIndex.Household household = index.householdAt(address);
+        when(householdIndex.isReady()).thenReturn(true);
+        when(householdIndex.householdAt(address)).thenReturn(household);
+
+        // Act
+        ChildAlertDTO result = childAlertService.getChildrenAtAddress(address);
+
+        // Assert : Bob, sans dossier médical, est ignoré
+        assertEquals(1, result.getChildren().size());
+        assertEquals("John", result.getChildren().get(0).getFirstName());
+        assertEquals(10, result.getChildren().get(0).getAge());
+        assertEquals(1, result.getHouseholdMembers().size());
+        assertEquals("Jane", result.getHouseholdMembers().get(0).getFirstName());
+        verifyNoInteractions(personService, columnarStore, residentView);
+    }
+
+    @Test
+    @DisplayName("Test de recherche d'enfants depuis l'index des foyers pour une adresse inconnue")
+    void testGetChildrenAtAddress_WithHouseholdIndex_UnknownAddress() {
+        // Arrange
+        when(householdIndex.isReady()).thenReturn(true);
+        when(householdIndex.householdAt("Unknown")).thenReturn(null);
+
+        // Act
+        ChildAlertDTO result = childAlertService.getChildrenAtAddress("Unknown");
+
+        // Assert
+        assertTrue(result.getChildren().isEmpty());
+        assertTrue(result.getHouseholdMembers().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test des foyers avec enfants d'une station depuis l'index des foyers")
+    void testGetChildrenByStation_WithHouseholdIndex() {
+        // Arrange
+        String address = "123 Main St";
+        mockData.setPersons(householdPersons(address));
+        mockMedicalRecords.addAll(householdRecords());
+        mockData.setFireStations(new ArrayList<>(List.of(mapping(address, "3"))));
+        List<HouseholdIndex.Household> households = householdIndexOf(mockData).householdsWithChildren(3);
+        when(householdIndex.isReady()).thenReturn(true);
+        when(householdIndex.householdsWithChildren(3)).thenReturn(households);
+
+        // Act
+        List<AddressChildAlertDTO> result = childAlertService.getChildrenByStation(3);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(address, result.get(0).getAddress());
+        assertEquals("John", result.get(0).getChildren().get(0).getFirstName());
+        assertEquals("Jane", result.get(0).getHouseholdMembers().get(0).getFirstName());
+        verifyNoInteractions(fireStationService);
+    }
+
+    @Test
+    @DisplayName("Test des foyers avec enfants d'une station sans index des foyers")
+    void testGetChildrenByStation_WithoutHouseholdIndex() {
+        // Arrange
+        String address = "123 Main St";
+        String adultsOnly = "456 Oak St";
+        List<Person> persons = householdPersons(address);
+        persons.add(new Person("Jane", "Smith", adultsOnly, "City", "12345", "111-222-3333", "js@email.com"));
+        mockData.setPersons(persons);
+        mockMedicalRecords.addAll(householdRecords());
+        MedicalRecord adultRecord = new MedicalRecord();
+        adultRecord.setFirstName("Jane");
+        adultRecord.setLastName("Smith");
+        adultRecord.setBirthdate(LocalDate.now().minusYears(50));
+        mockMedicalRecords.add(adultRecord);
+        mockData.setFireStations(new ArrayList<>(List.of(mapping(address, "3"), mapping(adultsOnly, "3"))));
+        ResidentView view = viewOf(mockData);
+        when(residentView.isReady()).thenReturn(true);
+        when(residentView.residentsAt(address)).thenReturn(view.residentsAt(address));
+        when(residentView.residentsAt(adultsOnly)).thenReturn(view.residentsAt(adultsOnly));
+        when(fireStationService.getAddressesCoveredByStation(3)).thenReturn(List.of(address, adultsOnly, address));
+
+        // Act
+        List<AddressChildAlertDTO> result = childAlertService.getChildrenByStation(3);
+
+        // Assert : l'adresse sans enfant est écartée, l'adresse en double n'apparaît qu'une fois
+        assertEquals(1, result.size());
+        assertEquals(address, result.get(0).getAddress());
+        assertEquals(1, result.get(0).getChildren().size());
+    }
+
+    private static List<Person> householdPersons(String address) {
+        List<Person> persons = new ArrayList<>();
+        persons.add(new Person("John", "Doe", address, "City", "12345", "123-456-7890", "john@email.com"));
+        persons.add(new Person("Jane", "Doe", address, "City", "12345", "987-654-3210", "jane@email.com"));
+        persons.add(new Person("Bob", "Doe", address, "City", "12345", "555-123-4567", "bob@email.com"));
+        return persons;
+    }
+
+    private static List<MedicalRecord> householdRecords() {
+        MedicalRecord childRecord = new MedicalRecord();
+        childRecord.setFirstName("John");
+        childRecord.setLastName("Doe");
+        childRecord.setBirthdate(LocalDate.now().minusYears(10));
+        MedicalRecord adultRecord = new MedicalRecord();
+        adultRecord.setFirstName("Jane");
+        adultRecord.setLastName("Doe");
+        adultRecord.setBirthdate(LocalDate.now().minusYears(40));
+        return List.of(childRecord, adultRecord);
+    }
+
+    private static FireStation mapping(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+
+    private static HouseholdIndex householdIndexOf(Data data) {
+        AddressDictionary addressDictionary = new AddressDictionary();
+        ResidentView view = new ResidentView(addressDictionary);
+        view.rebuild(data);
+        HouseholdIndex index = new HouseholdIndex(addressDictionary, view);
+        index.rebuild(data);
+        return index;
+    }
+
+    private static ResidentView viewOf(Data data) {
+        ResidentView view = new ResidentView(new AddressDictionary());
+        view.rebuild(data);
+        return view;
+    }
+}
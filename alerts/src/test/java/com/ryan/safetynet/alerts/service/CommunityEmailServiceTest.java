@@ -1,6 +1,8 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.dto.CommunityEmailDTO;
+import com.ryan.safetynet.alerts.index.CityEmailIndex;
 import com.ryan.safetynet.alerts.model.Data;
 import com.ryan.safetynet.alerts.model.Person;
 import com.ryan.safetynet.alerts.repository.DataRepository;
@@ -10,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
@@ -17,7 +20,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Tests du service CommunityEmailService")
@@ -26,6 +29,12 @@ class CommunityEmailServiceTest {
     @Mock
     private DataRepository dataRepository;
 
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager();
+
+    @Mock
+    private CityEmailIndex cityEmailIndex;
+
     @InjectMocks
     private CommunityEmailService communityEmailService;
 
@@ -138,4 +147,20 @@ class CommunityEmailServiceTest {
         // Act & Assert
         assertThrows(RuntimeException.class, () -> communityEmailService.getEmailsByCity(city));
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test de récupération des emails depuis l'index par ville")
+    void testGetEmailsByCity_FromIndex() {
+        // Arrange
+        mockPersons.add(new Person("John", "Doe", "123 Main St", "Culver", "97451", "123-456-7890", "john@email.com"));
+        when(cityEmailIndex.isReady()).thenReturn(true);
+        when(cityEmailIndex.getEmails("CULVER")).thenReturn(List.of("john@email.com"));
+
+        // Act
+        CommunityEmailDTO result = communityEmailService.getEmailsByCity("CULVER");
+
+        // Assert
+        assertEquals(List.of("john@email.com"), result.getEmails());
+        verifyNoInteractions(lockManager);
+    }
+}
@@ -0,0 +1,196 @@
+package com.ryan.safetynet.alerts.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ryan.safetynet.alerts.concurrency.MutationPipeline;
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.event.DataChange;
+import com.ryan.safetynet.alerts.event.DataChangeListener;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataDiff;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service DataReloadService")
+class DataReloadServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private DataChangeListener listener;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StripedLockManager lockManager = new StripedLockManager();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private DataRepository dataRepository;
+    private MutationPipeline pipeline;
+    private DataReloadService reloadService;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = directory.resolve("data.json");
+        dataRepository = new DataRepository(objectMapper, lockManager);
+        objectMapper.writeValue(file.toFile(), data("841-874-6512"));
+        ReflectionTestUtils.setField(dataRepository, "dataFilePath", file.toString());
+        dataRepository.loadData();
+        pipeline = new MutationPipeline(dataRepository, List.of(listener));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (reloadService != null) {
+            reloadService.stop();
+        }
+        pipeline.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test du rechargement n'appliquant que les entités modifiées")
+    void testReload_AppliesDiff() throws IOException {
+        // Arrange
+        reloadService = new DataReloadService(dataRepository, pipeline, lockManager, validator, false, 0);
+        Person john = dataRepository.getData().getPersons().get(0);
+        objectMapper.writeValue(file.toFile(), data("841-874-0000"));
+
+        // Act
+        DataDiff diff = reloadService.reload().awaitDurable();
+
+        // Assert : seul Tenley est remplacé, John reste la même instance
+        assertEquals(1, diff.getChanges().size());
+        assertEquals(DataChange.Type.UPDATED, diff.getChanges().get(0).getType());
+        assertSame(john, dataRepository.getData().getPersons().get(0));
+        assertEquals("841-874-0000", dataRepository.getData().getPersons().get(1).getPhone());
+        verify(listener).onDataChanged(diff.getChanges());
+        assertTrue(dataRepository.isUnchangedSinceLastSave());
+    }
+
+    @Test
+    @DisplayName("Test d'un rechargement sans réécriture du fichier ni de sa sauvegarde")
+    void testReload_DoesNotRewriteDataFile() throws IOException {
+        // Arrange : une mise en forme que la sauvegarde de l'application ne reproduirait pas
+        reloadService = new DataReloadService(dataRepository, pipeline, lockManager, validator, false, 0);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), data("841-874-0000"));
+        byte[] written = Files.readAllBytes(file);
+
+        // Act
+        DataDiff diff = reloadService.reload().awaitDurable();
+
+        // Assert : la modification est appliquée, le fichier est identique octet pour octet
+        assertEquals(1, diff.getChanges().size());
+        assertEquals("841-874-0000", dataRepository.getData().getPersons().get(1).getPhone());
+        assertArrayEquals(written, Files.readAllBytes(file));
+        assertFalse(Files.exists(directory.resolve("data.json.backup")));
+    }
+
+    @Test
+    @DisplayName("Test du rechargement d'un fichier inchangé")
+    void testReload_Unchanged() throws IOException {
+        // Arrange
+        reloadService = new DataReloadService(dataRepository, pipeline, lockManager, validator, false, 0);
+
+        // Act
+        DataDiff diff = reloadService.reload().awaitDurable();
+
+        // Assert : ni notification ni sauvegarde, mais le fichier relu est enregistré comme pris en compte
+        assertTrue(diff.isEmpty());
+        verify(listener, never()).onDataChanged(anyList());
+        assertFalse(Files.exists(directory.resolve("data.json.backup")));
+        assertTrue(dataRepository.isUnchangedSinceLastSave());
+    }
+
+    @Test
+    @DisplayName("Test du rechargement d'un fichier invalide")
+    void testReload_InvalidFile() throws IOException {
+        // Arrange
+        reloadService = new DataReloadService(dataRepository, pipeline, lockManager, validator, false, 0);
+        Files.writeString(file, "{\"persons\": [");
+
+        // Act & Assert : les données en mémoire sont conservées
+        assertThrows(IOException.class, () -> reloadService.reload());
+        assertEquals(2, dataRepository.getData().getPersons().size());
+    }
+
+    @Test
+    @DisplayName("Test du rejet d'un fichier dont une entité viole les contraintes")
+    void testReload_ConstraintViolation() throws IOException {
+        // Arrange : le téléphone de Tenley est modifié mais mal formé, le code postal de John est vide
+        reloadService = new DataReloadService(dataRepository, pipeline, lockManager, validator, false, 0);
+        Data invalid = data("8418740000");
+        invalid.getPersons().get(0).setZip("");
+        objectMapper.writeValue(file.toFile(), invalid);
+
+        // Act
+        ConstraintViolationException exception = assertThrows(ConstraintViolationException.class,
+                () -> reloadService.reload());
+
+        // Assert : toutes les violations sont rapportées et rien n'est appliqué
+        assertEquals(3, exception.getConstraintViolations().size());
+        assertEquals("841-874-6512", dataRepository.getData().getPersons().get(1).getPhone());
+        verify(listener, never()).onDataChanged(anyList());
+    }
+
+    @Test
+    @DisplayName("Test du rechargement déclenché par la modification du fichier")
+    void testStart_WatchesDataFile() throws Exception {
+        // Arrange
+        reloadService = new DataReloadService(dataRepository, pipeline, lockManager, validator, true, 50);
+        reloadService.start();
+
+        // Act
+        objectMapper.writeValue(file.toFile(), data("841-874-0000"));
+
+        // Assert
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!"841-874-0000".equals(dataRepository.getData().getPersons().get(1).getPhone())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals("841-874-0000", dataRepository.getData().getPersons().get(1).getPhone());
+    }
+
+    private static Data data(String tenleyPhone) {
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName("John");
+        record.setLastName("Boyd");
+        record.setBirthdate(LocalDate.of(1984, 3, 6));
+        record.setMedications(List.of("aznol:350mg"));
+        record.setAllergies(List.of());
+        FireStation mapping = new FireStation();
+        mapping.setAddress("1509 Culver St");
+        mapping.setStation("3");
+        Data data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+                new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+                new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", tenleyPhone, "tenz@email.com"))));
+        data.setMedicalRecords(new ArrayList<>(List.of(record)));
+        data.setFireStations(new ArrayList<>(List.of(mapping)));
+        return data;
+    }
+}
@@ -1,8 +1,13 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.dto.FireAlertDTO;
 import com.ryan.safetynet.alerts.dto.PersonWithMedicalInfoDTO;
 import com.ryan.safetynet.alerts.model.*;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.ColumnarStore;
+import com.ryan.safetynet.alerts.index.FireCardIndex;
+import com.ryan.safetynet.alerts.index.ResidentView;
 import com.ryan.safetynet.alerts.repository.DataRepository;
 import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
@@ -19,7 +25,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Tests du service FireAlertService")
@@ -31,6 +37,21 @@ class FireAlertServiceTest {
     @Mock
     private FireStationService fireStationService;
 
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager();
+
+    @Spy
+    private AddressDictionary addressDictionary = new AddressDictionary();
+
+    @Mock
+    private ColumnarStore columnarStore;
+
+    @Mock
+    private ResidentView residentView;
+
+    @Mock
+    private FireCardIndex fireCardIndex;
+
     @InjectMocks
     private FireAlertService fireAlertService;
 
@@ -50,7 +71,8 @@ class FireAlertServiceTest {
         mockData.setFireStations(mockFireStations);
         mockData.setMedicalRecords(mockMedicalRecords);
         
-        when(dataRepository.getData()).thenReturn(mockData);
+        // Non utilisé par les tests passant par la vue des résidents
+        lenient().when(dataRepository.getData()).thenReturn(mockData);
     }
 
     @Test
@@ -204,4 +226,111 @@ class FireAlertServiceTest {
             fireAlertService.getPersonsAndFireStationByAddress(address)
         );
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test de récupération des informations par parcours du stockage en colonnes")
+    void testGetPersonsAndFireStationByAddress_WithColumns() {
+        // Arrange
+        String address = "123 Main St";
+        mockPersons.add(new Person("John", "Doe", address, "Culver", "97451", "123-456-7890", "john@email.com"));
+        mockPersons.add(new Person("Bob", "Smith", "456 Oak St", "Culver", "97451", "555-123-4567", "bob@email.com"));
+        MedicalRecord medicalRecord = new MedicalRecord();
+        medicalRecord.setFirstName("John");
+        medicalRecord.setLastName("Doe");
+        medicalRecord.setBirthdate(LocalDate.now().minusYears(30));
+        medicalRecord.setMedications(List.of("aznol:350mg"));
+        medicalRecord.setAllergies(List.of("peanut"));
+        mockMedicalRecords.add(medicalRecord);
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation("3");
+        mockFireStations.add(fireStation);
+        when(columnarStore.columns()).thenReturn(columnsOf(mockData));
+        when(fireStationService.existsByStationNumber("3")).thenReturn(true);
+
+        // Act
+        FireAlertDTO result = fireAlertService.getPersonsAndFireStationByAddress("123 main street");
+
+        // Assert
+        assertEquals("3", result.getFireStationNumber());
+        assertEquals(1, result.getResidents().size());
+        PersonWithMedicalInfoDTO resident = result.getResidents().get(0);
+        assertEquals("John", resident.getFirstName());
+        assertEquals("123-456-7890", resident.getPhone());
+        assertEquals(30, resident.getAge());
+        assertEquals(List.of("aznol:350mg"), resident.getMedications());
+        assertEquals(List.of("peanut"), resident.getAllergies());
+    }
+
+    private ColumnarStore.Columns columnsOf(Data data) {
+        ColumnarStore store = new ColumnarStore(dataRepository, new AddressDictionary());
+        store.rebuild(data);
+        return store.columns();
+    }
+
+    @Test
+    @DisplayName("Test de récupération des informations par la vue des résidents")
+    void testGetPersonsAndFireStationByAddress_WithResidentView() {
+        // Arrange
+        String address = "123 Main St";
+        mockPersons.add(new Person("John", "Doe", address, "Culver", "97451", "123-456-7890", "john@email.com"));
+        mockPersons.add(new Person("Eve", "Smith", "456 Oak St", "Culver", "97451", "555-987-6543", "eve@email.com"));
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName("John");
+        record.setLastName("Doe");
+        record.setBirthdate(LocalDate.now().minusYears(40));
+        record.setMedications(List.of("med1"));
+        record.setAllergies(List.of());
+        mockMedicalRecords.add(record);
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation("3");
+        mockFireStations.add(fireStation);
+        ResidentView view = viewOf(mockData);
+        when(residentView.isReady()).thenReturn(true);
+        when(residentView.residentsAt(address)).thenReturn(view.residentsAt(address));
+        when(residentView.stationOf(address)).thenReturn(view.stationOf(address));
+        when(fireStationService.existsByStationNumber("3")).thenReturn(true);
+
+        // Act
+        FireAlertDTO result = fireAlertService.getPersonsAndFireStationByAddress(address);
+
+        // Assert
+        assertEquals("3", result.getFireStationNumber());
+        assertEquals(1, result.getResidents().size());
+        assertEquals("John", result.getResidents().get(0).getFirstName());
+        assertEquals(40, result.getResidents().get(0).getAge());
+        assertEquals(List.of("med1"), result.getResidents().get(0).getMedications());
+        verifyNoInteractions(dataRepository, columnarStore);
+    }
+
+    @Test
+    @DisplayName("Test de récupération de la fiche précalculée d'une adresse")
+    void testGetFireCard() {
+        // Arrange
+        byte[] card = "{\"residents\":[],\"fireStationNumber\":\"3\"}".getBytes();
+        when(fireCardIndex.isReady()).thenReturn(true);
+        when(fireCardIndex.cardAt("123 Main St")).thenReturn(card);
+
+        // Act & Assert
+        assertSame(card, fireAlertService.getFireCard("123 Main St"));
+        verifyNoInteractions(dataRepository, residentView);
+    }
+
+    @Test
+    @DisplayName("Test de la fiche précalculée lorsque l'index des fiches n'est pas prêt")
+    void testGetFireCard_IndexNotReady() {
+        // Arrange
+        when(fireCardIndex.isReady()).thenReturn(false);
+
+        // Act & Assert
+        assertNull(fireAlertService.getFireCard("123 Main St"));
+        verify(fireCardIndex, never()).cardAt(any());
+    }
+
+    private static ResidentView viewOf(Data data) {
+        ResidentView view = new ResidentView(new AddressDictionary());
+        view.rebuild(data);
+        return view;
+    }
+}
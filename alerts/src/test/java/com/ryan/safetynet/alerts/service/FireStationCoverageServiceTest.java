@@ -1,8 +1,11 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.dto.FireStationDTO;
 import com.ryan.safetynet.alerts.dto.PersonDTO;
 import com.ryan.safetynet.alerts.model.*;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.CoverageBitmapIndex;
 import com.ryan.safetynet.alerts.repository.DataRepository;
 import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
@@ -31,6 +35,15 @@ class FireStationCoverageServiceTest {
     @Mock
     private FireStationService fireStationService;
 
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager();
+
+    @Spy
+    private AddressDictionary addressDictionary = new AddressDictionary();
+
+    @Mock
+    private CoverageBitmapIndex coverageBitmapIndex;
+
     @InjectMocks
     private FireStationCoverageService fireStationCoverageService;
 
@@ -203,4 +216,60 @@ class FireStationCoverageServiceTest {
             fireStationCoverageService.getPersonsCoveredByStation(stationNumber)
         );
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test de récupération des personnes couvertes par les bitmaps de couverture")
+    void testGetPersonsCoveredByStation_WithBitmaps() {
+        // Arrange
+        int stationNumber = 1;
+        when(dataRepository.getData()).thenReturn(mockData);
+        when(fireStationService.existsByStationNumber("1")).thenReturn(true);
+        when(fireStationService.getAddressesCoveredByStation(stationNumber)).thenReturn(List.of("123 Main St"));
+        mockPersons.addAll(List.of(
+            new Person("John", "Doe", "123 Main St", "Culver", "97451", "123-456-7890", "john@email.com"),
+            new Person("Bob", "Smith", "123 Main St", "Culver", "97451", "555-123-4567", "bob@email.com"),
+            new Person("Jane", "Doe", "456 Oak St", "Culver", "97451", "987-654-3210", "jane@email.com")));
+        mockMedicalRecords.addAll(List.of(
+            medicalRecord("John", "Doe", LocalDate.of(1990, 1, 1)),
+            medicalRecord("Bob", "Smith", LocalDate.now().minusYears(10)),
+            medicalRecord("Jane", "Doe", LocalDate.of(1995, 1, 1))));
+        when(coverageBitmapIndex.snapshot()).thenReturn(bitmapsOf(mockPersons,
+            List.of(mapping("123 Main St", "1"), mapping("456 Oak St", "2")), mockMedicalRecords));
+
+        // Act
+        FireStationDTO result = fireStationCoverageService.getPersonsCoveredByStation(stationNumber);
+
+        // Assert
+        assertEquals(2, result.getPersons().size());
+        assertEquals("John", result.getPersons().get(0).getFirstName());
+        assertEquals(10, result.getPersons().get(1).getAge());
+        assertEquals(1, result.getAdultCount());
+        assertEquals(1, result.getChildCount());
+    }
+
+    private static MedicalRecord medicalRecord(String firstName, String lastName, LocalDate birthdate) {
+        MedicalRecord medicalRecord = new MedicalRecord();
+        medicalRecord.setFirstName(firstName);
+        medicalRecord.setLastName(lastName);
+        medicalRecord.setBirthdate(birthdate);
+        return medicalRecord;
+    }
+
+    private static CoverageBitmapIndex.Snapshot bitmapsOf(List<Person> persons, List<FireStation> fireStations,
+                                                          List<MedicalRecord> medicalRecords) {
+        Data data = new Data();
+        data.setPersons(persons);
+        data.setFireStations(fireStations);
+        data.setMedicalRecords(medicalRecords);
+        CoverageBitmapIndex index = new CoverageBitmapIndex(null, new AddressDictionary());
+        index.rebuild(data);
+        return index.snapshot();
+    }
+
+    private static FireStation mapping(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+}
@@ -1,17 +1,22 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.MutationPipeline;
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.model.Data;
 import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.ExistenceIndex;
 import com.ryan.safetynet.alerts.repository.DataRepository;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
@@ -24,6 +29,7 @@ import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +42,15 @@ class FireStationServiceTest {
     @Mock
     private Validator validator;
 
-    @InjectMocks
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager();
+
+    private final AddressDictionary addressDictionary = new AddressDictionary();
+
+    private ExistenceIndex existenceIndex;
+
+    private MutationPipeline mutationPipeline;
+
     private FireStationService fireStationService;
 
     private Data mockData;
@@ -44,11 +58,20 @@ class FireStationServiceTest {
 
     @BeforeEach
     void setUp() {
+        existenceIndex = new ExistenceIndex(addressDictionary);
+        mutationPipeline = new MutationPipeline(dataRepository, List.of(existenceIndex));
+        fireStationService = new FireStationService(dataRepository, validator, lockManager, mutationPipeline, addressDictionary,
+                existenceIndex);
         mockData = new Data();
         mockFireStations = new ArrayList<>();
         mockData.setFireStations(mockFireStations);
     }
 
+    @AfterEach
+    void tearDown() {
+        mutationPipeline.shutdown();
+    }
+
     @Test
     @DisplayName("Test de récupération des adresses couvertes par une liste de stations")
     void testGetAddressesCoveredByStations() {
@@ -103,6 +126,25 @@ class FireStationServiceTest {
         assertFalse(addresses.contains("789 Pine St"));
     }
 
+    @Test
+    @DisplayName("Test de récupération de toutes les casernes : copie lue sous verrou")
+    void testGetAllFireStations() {
+        // Arrange
+        when(dataRepository.getData()).thenReturn(mockData);
+        FireStation station = new FireStation();
+        station.setStation("1");
+        station.setAddress("123 Main St");
+        mockFireStations.add(station);
+
+        // Act
+        List<FireStation> result = fireStationService.getAllFireStations();
+        result.clear();
+
+        // Assert : la liste retournée est une copie, lue sur toutes les partitions
+        assertEquals(1, mockFireStations.size());
+        verify(lockManager).read(eq(List.of()), any());
+    }
+
     @Test
     @DisplayName("Test de recherche d'une station par adresse existante")
     void testFindFireStationByAddress_Existing() {
@@ -159,6 +201,27 @@ class FireStationServiceTest {
         verify(dataRepository).saveData();
     }
 
+    @Test
+    @DisplayName("Test d'ajout concurrent d'un mapping déjà créé entre-temps")
+    void testAddFireStation_DuplicateRejectedOnWriter() throws IOException {
+        // Arrange : un mapping de la même adresse, autrement saisie, a été ajouté après la vérification
+        when(dataRepository.getData()).thenReturn(mockData);
+        FireStation existing = new FireStation();
+        existing.setStation("2");
+        existing.setAddress("123 Main Street");
+        mockFireStations.add(existing);
+        addressDictionary.idOf(existing.getAddress());
+        FireStation newStation = new FireStation();
+        newStation.setStation("1");
+        newStation.setAddress("123 main st");
+        when(validator.validate(any(FireStation.class))).thenReturn(new HashSet<>());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> fireStationService.addFireStation(newStation));
+        assertEquals(List.of(existing), mockFireStations);
+        verify(dataRepository, never()).saveData();
+    }
+
     @Test
     @DisplayName("Test d'ajout d'une station invalide")
     void testAddFireStation_Invalid() {
@@ -298,6 +361,32 @@ class FireStationServiceTest {
         assertFalse(fireStationService.existsByAddress("456 Oak St"));
     }
 
+    @Test
+    @DisplayName("Test de vérification d'existence par adresse avec l'index d'existence")
+    void testExistsByAddress_WithExistenceIndex() throws IOException {
+        // Arrange
+        FireStation station = new FireStation();
+        station.setStation("1");
+        station.setAddress("123 Main St");
+        mockFireStations.add(station);
+        existenceIndex.rebuild(mockData);
+        when(dataRepository.getData()).thenReturn(mockData);
+        when(validator.validate(any(FireStation.class))).thenReturn(new HashSet<>());
+        FireStation added = new FireStation();
+        added.setStation("2");
+        added.setAddress("456 Oak St");
+
+        // Act
+        boolean beforeAdd = fireStationService.existsByAddress("456 Oak St");
+        fireStationService.addFireStation(added);
+
+        // Assert
+        assertTrue(fireStationService.existsByAddress("123 MAIN STREET"));
+        assertFalse(beforeAdd);
+        assertTrue(fireStationService.existsByAddress("456 Oak St"));
+        assertFalse(fireStationService.existsByAddress("789 Elm St"));
+    }
+
     @Test
     @DisplayName("Test de vérification d'existence par numéro de station")
     void testExistsByStationNumber() {
@@ -312,5 +401,6 @@ class FireStationServiceTest {
         // Act & Assert
         assertTrue(fireStationService.existsByStationNumber(stationNumber));
         assertFalse(fireStationService.existsByStationNumber("2"));
+        verify(lockManager).read(eq(List.of(StripedLockManager.stationKey(stationNumber))), any());
     }
 }
@@ -1,9 +1,14 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.dto.AddressInfoDTO;
 import com.ryan.safetynet.alerts.dto.FloodStationDTO;
 import com.ryan.safetynet.alerts.dto.PersonWithMedicalInfoDTO;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.CoverageBitmapIndex;
+import com.ryan.safetynet.alerts.index.ResidentView;
 import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
 import com.ryan.safetynet.alerts.model.MedicalRecord;
 import com.ryan.safetynet.alerts.model.Person;
 import com.ryan.safetynet.alerts.repository.DataRepository;
@@ -14,7 +19,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -23,6 +30,7 @@ import java.util.stream.Collectors;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +46,18 @@ class FloodAlertServiceTest {
     @Mock
     private PersonService personService;
 
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager();
+
+    @Mock
+    private CoverageBitmapIndex coverageBitmapIndex;
+
+    @Mock
+    private ResidentView residentView;
+
+    @Spy
+    private AddressDictionary addressDictionary = new AddressDictionary();
+
     @InjectMocks
     private FloodAlertService floodAlertService;
 
@@ -211,4 +231,203 @@ class FloodAlertServiceTest {
             floodAlertService.getHouseholdsByStations(stationNumbers)
         );
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test du calcul parallèle des foyers : ordre des adresses conservé")
+    void testGetHouseholdsByStations_ParallelKeepsAddressOrder() {
+        // Arrange : assez de résidents pour dépasser le seuil de parallélisation
+        List<Integer> stationNumbers = Arrays.asList(1);
+        List<String> addresses = new ArrayList<>();
+        Map<String, List<Person>> personsByAddress = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            String address = i + " Culver St";
+            addresses.add(address);
+            List<Person> residents = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                residents.add(new Person("P" + j, "R" + i, address, "Culver", "97451", "841-874-0000", "p@email.com"));
+                MedicalRecord record = new MedicalRecord();
+                record.setFirstName("P" + j);
+                record.setLastName("R" + i);
+                record.setBirthdate(LocalDate.of(1980, 1, 1));
+                record.setMedications(List.of());
+                record.setAllergies(List.of());
+                mockMedicalRecords.add(record);
+            }
+            personsByAddress.put(address, residents);
+        }
+        when(fireStationService.existsByStationNumber(any())).thenReturn(true);
+        when(fireStationService.getAddressesCoveredByStations(stationNumbers)).thenReturn(addresses);
+        when(personService.getPersonsByAddresses(addresses)).thenReturn(personsByAddress);
+        when(dataRepository.getData()).thenReturn(mockData);
+
+        // Act
+        FloodStationDTO result = floodAlertService.getHouseholdsByStations(stationNumbers);
+
+        // Assert
+        assertEquals(addresses, result.getAddresses().stream()
+            .map(AddressInfoDTO::getAddress)
+            .collect(Collectors.toList()));
+        assertTrue(result.getAddresses().stream().allMatch(a -> a.getResidents().size() == 3));
+    }
+
+    @Test
+    @DisplayName("Test du calcul parallèle des foyers : propagation d'un dossier médical manquant")
+    void testGetHouseholdsByStations_ParallelMissingMedicalRecord() {
+        // Arrange : aucun dossier médical pour des résidents répartis sur plusieurs tâches
+        List<Integer> stationNumbers = Arrays.asList(1);
+        List<String> addresses = new ArrayList<>();
+        Map<String, List<Person>> personsByAddress = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            String address = i + " Culver St";
+            addresses.add(address);
+            personsByAddress.put(address, List.of(
+                new Person("P", "R" + i, address, "Culver", "97451", "841-874-0000", "p@email.com")));
+        }
+        when(fireStationService.existsByStationNumber(any())).thenReturn(true);
+        when(fireStationService.getAddressesCoveredByStations(stationNumbers)).thenReturn(addresses);
+        when(personService.getPersonsByAddresses(addresses)).thenReturn(personsByAddress);
+        when(dataRepository.getData()).thenReturn(mockData);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () ->
+            floodAlertService.getHouseholdsByStations(stationNumbers)
+        );
+    }
+
+    @Test
+    @DisplayName("Test du calcul parallèle des foyers : résultat identique au calcul séquentiel")
+    void testGetHouseholdsByStations_ParallelMatchesSequential() {
+        // Arrange : vue des résidents de 200 adresses de 3 résidents chacune
+        List<Person> persons = new ArrayList<>();
+        List<MedicalRecord> medicalRecords = new ArrayList<>();
+        List<FireStation> fireStations = new ArrayList<>();
+        List<String> covered = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String address = i + " Culver St";
+            covered.add(address);
+            fireStations.add(mapping(address, "1"));
+            for (int j = 0; j < 3; j++) {
+                persons.add(new Person("P" + j, "R" + i, address, "Culver", "97451", "841-874-0000", "p@email.com"));
+                medicalRecords.add(medicalRecord("P" + j, "R" + i, LocalDate.of(1950 + (i + j) % 70, 1, 1)));
+            }
+        }
+        Data data = new Data();
+        data.setPersons(persons);
+        data.setMedicalRecords(medicalRecords);
+        data.setFireStations(fireStations);
+        ResidentView view = new ResidentView(addressDictionary);
+        view.rebuild(data);
+        when(fireStationService.existsByStationNumber("1")).thenReturn(true);
+        when(fireStationService.getAddressesCoveredByStations(List.of(1))).thenReturn(covered);
+        when(residentView.isReady()).thenReturn(true);
+        when(residentView.residentsAt(anyString())).thenAnswer(invocation -> view.residentsAt(invocation.getArgument(0)));
+
+        // Act
+        ReflectionTestUtils.setField(floodAlertService, "parallelThreshold", Integer.MAX_VALUE);
+        FloodStationDTO sequential = floodAlertService.getHouseholdsByStations(List.of(1));
+        ReflectionTestUtils.setField(floodAlertService, "parallelThreshold", 1);
+        FloodStationDTO parallel = floodAlertService.getHouseholdsByStations(List.of(1));
+
+        // Assert
+        assertEquals(200, sequential.getAddresses().size());
+        assertEquals(describe(sequential), describe(parallel));
+    }
+
+    private static List<String> describe(FloodStationDTO households) {
+        return households.getAddresses().stream()
+            .map(addressInfo -> addressInfo.getAddress() + " " + addressInfo.getResidents())
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Test de récupération des foyers par intersection des bitmaps de couverture")
+    void testGetHouseholdsByStations_WithBitmaps() {
+        // Arrange
+        List<Integer> stationNumbers = List.of(1);
+        List<String> addresses = List.of("123 Main St", "123 main street", "789 Pine St");
+        when(fireStationService.existsByStationNumber("1")).thenReturn(true);
+        when(fireStationService.getAddressesCoveredByStations(stationNumbers)).thenReturn(addresses);
+        List<Person> persons = List.of(
+            new Person("John", "Doe", "123 Main St", "Culver", "97451", "123-456-7890", "john@email.com"),
+            new Person("Bob", "Smith", "456 Oak St", "Culver", "97451", "555-123-4567", "bob@email.com"),
+            new Person("Jane", "Doe", "123 Main St", "Culver", "97451", "987-654-3210", "jane@email.com"));
+        mockMedicalRecords.add(medicalRecord("John", "Doe", LocalDate.of(1980, 1, 1)));
+        mockMedicalRecords.add(medicalRecord("Jane", "Doe", LocalDate.of(2015, 1, 1)));
+        when(dataRepository.getData()).thenReturn(mockData);
+        when(coverageBitmapIndex.snapshot()).thenReturn(bitmapsOf(persons,
+            List.of(mapping("123 Main St", "1"), mapping("456 Oak St", "2")), mockMedicalRecords));
+
+        // Act
+        FloodStationDTO result = floodAlertService.getHouseholdsByStations(stationNumbers);
+
+        // Assert
+        assertEquals(1, result.getAddresses().size());
+        assertEquals("123 Main St", result.getAddresses().get(0).getAddress());
+        assertEquals(List.of("John", "Jane"), result.getAddresses().get(0).getResidents().stream()
+            .map(PersonWithMedicalInfoDTO::getFirstName)
+            .collect(Collectors.toList()));
+        verify(personService, never()).getPersonsByAddresses(anyList());
+    }
+
+    private static MedicalRecord medicalRecord(String firstName, String lastName, LocalDate birthdate) {
+        MedicalRecord medicalRecord = new MedicalRecord();
+        medicalRecord.setFirstName(firstName);
+        medicalRecord.setLastName(lastName);
+        medicalRecord.setBirthdate(birthdate);
+        medicalRecord.setMedications(List.of());
+        medicalRecord.setAllergies(List.of());
+        return medicalRecord;
+    }
+
+    private static CoverageBitmapIndex.Snapshot bitmapsOf(List<Person> persons, List<FireStation> fireStations,
+                                                          List<MedicalRecord> medicalRecords) {
+        Data data = new Data();
+        data.setPersons(persons);
+        data.setFireStations(fireStations);
+        data.setMedicalRecords(medicalRecords);
+        CoverageBitmapIndex index = new CoverageBitmapIndex(null, new AddressDictionary());
+        index.rebuild(data);
+        return index.snapshot();
+    }
+
+    private static FireStation mapping(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+
+    @Test
+    @DisplayName("Test de récupération des foyers par la vue des résidents")
+    void testGetHouseholdsByStations_WithResidentView() {
+        // Arrange
+        List<Person> persons = List.of(
+            new Person("John", "Doe", "123 Main St", "Culver", "97451", "123-456-7890", "john@email.com"),
+            new Person("Bob", "Smith", "456 Oak St", "Culver", "97451", "555-123-4567", "bob@email.com"));
+        Data data = new Data();
+        data.setPersons(persons);
+        data.setMedicalRecords(List.of(medicalRecord("John", "Doe", LocalDate.of(1980, 1, 1)),
+            medicalRecord("Bob", "Smith", LocalDate.of(1990, 1, 1))));
+        data.setFireStations(List.of(mapping("123 Main St", "1"), mapping("123 main street", "1"),
+            mapping("789 Elm St", "1")));
+        ResidentView view = new ResidentView(addressDictionary);
+        view.rebuild(data);
+        List<String> covered = List.of("123 Main St", "123 main street", "789 Elm St");
+        when(fireStationService.existsByStationNumber("1")).thenReturn(true);
+        when(fireStationService.getAddressesCoveredByStations(List.of(1))).thenReturn(covered);
+        when(residentView.isReady()).thenReturn(true);
+        for (String address : covered) {
+            List<ResidentView.Resident> residents = view.residentsAt(address);
+            when(residentView.residentsAt(address)).thenReturn(residents);
+        }
+
+        // Act
+        FloodStationDTO result = floodAlertService.getHouseholdsByStations(List.of(1));
+
+        // Assert : l'adresse saisie sous deux formes n'est comptée qu'une fois, l'adresse inhabitée est omise
+        assertEquals(1, result.getAddresses().size());
+        assertEquals("123 Main St", result.getAddresses().get(0).getAddress());
+        assertEquals("John", result.getAddresses().get(0).getResidents().get(0).getFirstName());
+        verifyNoInteractions(personService, coverageBitmapIndex, dataRepository);
+    }
+}
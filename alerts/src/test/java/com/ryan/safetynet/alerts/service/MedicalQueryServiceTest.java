@@ -0,0 +1,134 @@
+package com.ryan.safetynet.alerts.service;
+
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.dto.AddressInfoDTO;
+import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
+import com.ryan.safetynet.alerts.index.MedicalTermIndex;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service MedicalQueryService")
+class MedicalQueryServiceTest {
+
+    @Mock
+    private DataRepository dataRepository;
+
+    @Mock
+    private FireStationService fireStationService;
+
+    @Mock
+    private PersonService personService;
+
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager();
+
+    @Mock
+    private MedicalTermIndex medicalTermIndex;
+
+    @InjectMocks
+    private MedicalQueryService medicalQueryService;
+
+    private Data data;
+    private Person john;
+    private Person jacob;
+    private Person tenley;
+
+    @BeforeEach
+    void setUp() {
+        john = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        jacob = new Person("Jacob", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6513", "drk@email.com");
+        tenley = new Person("Tenley", "Boyd", "29 15th St", "Culver", "97451", "841-874-6512", "tenz@email.com");
+        data = new Data();
+        data.setMedicalRecords(new ArrayList<>(List.of(
+                record("John", "Boyd", List.of("aznol:350mg"), List.of("nillacilan")),
+                record("Jacob", "Boyd", List.of("pharmacol:5000mg"), List.of()),
+                record("Tenley", "Boyd", List.of("aznol:200mg"), List.of("peanut")))));
+        lenient().when(dataRepository.getData()).thenReturn(data);
+    }
+
+    @Test
+    @DisplayName("Test de la recherche par médicament dans la zone des stations avec l'index")
+    void testFindResidents_IndexedByStation() {
+        // Arrange
+        List<String> addresses = List.of("1509 Culver St", "29 15th St");
+        when(fireStationService.existsByStationNumber(any())).thenReturn(true);
+        when(fireStationService.getAddressesCoveredByStations(List.of(1, 2))).thenReturn(addresses);
+        when(personService.getPersonsByAddresses(addresses)).thenReturn(Map.of(
+                "1509 Culver St", List.of(john, jacob),
+                "29 15th St", List.of(tenley)));
+        when(medicalTermIndex.isReady()).thenReturn(true);
+        when(medicalTermIndex.withMedication("Aznol")).thenReturn(Set.of(
+                MedicalTermIndex.residentKey("John", "Boyd"), MedicalTermIndex.residentKey("Tenley", "Boyd")));
+
+        // Act
+        List<AddressInfoDTO> result = medicalQueryService.findResidents("Aznol", null, List.of(1, 2), null);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("1509 Culver St", result.get(0).getAddress());
+        assertEquals(1, result.get(0).getResidents().size());
+        assertEquals("John", result.get(0).getResidents().get(0).getFirstName());
+        assertEquals(List.of("aznol:350mg"), result.get(0).getResidents().get(0).getMedications());
+        assertEquals("Tenley", result.get(1).getResidents().get(0).getFirstName());
+    }
+
+    @Test
+    @DisplayName("Test de l'intersection médicament et allergie à une adresse sans index")
+    void testFindResidents_ScanByAddress() {
+        // Arrange
+        when(personService.getPersonsByAddresses(List.of("29 15th St"))).thenReturn(Map.of("29 15th St", List.of(tenley)));
+
+        // Act
+        List<AddressInfoDTO> result = medicalQueryService.findResidents("AZNOL", "Peanut", null, "29 15th St");
+        List<AddressInfoDTO> none = medicalQueryService.findResidents("aznol", "nillacilan", null, "29 15th St");
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Tenley", result.get(0).getResidents().get(0).getFirstName());
+        assertTrue(none.isEmpty());
+        verify(medicalTermIndex, never()).withMedication(any());
+    }
+
+    @Test
+    @DisplayName("Test de la recherche avec une station inexistante")
+    void testFindResidents_StationNotFound() {
+        // Arrange
+        when(fireStationService.existsByStationNumber("9")).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> medicalQueryService.findResidents("aznol", null, List.of(9), null));
+        verify(personService, never()).getPersonsByAddresses(any());
+    }
+
+    private static MedicalRecord record(String firstName, String lastName, List<String> medications, List<String> allergies) {
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName(firstName);
+        record.setLastName(lastName);
+        record.setMedications(medications);
+        record.setAllergies(allergies);
+        record.setBirthdate(LocalDate.of(1984, 3, 6));
+        return record;
+    }
+}
@@ -1,6 +1,10 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.MutationPipeline;
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.ExistenceIndex;
 import com.ryan.safetynet.alerts.model.Data;
 import com.ryan.safetynet.alerts.model.MedicalRecord;
 import com.ryan.safetynet.alerts.model.Person;
@@ -8,12 +12,13 @@ import com.ryan.safetynet.alerts.repository.DataRepository;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
@@ -36,7 +41,13 @@ class MedicalRecordServiceTest {
     @Mock
     private PersonService personService;
 
-    @InjectMocks
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager();
+
+    private ExistenceIndex existenceIndex;
+
+    private MutationPipeline mutationPipeline;
+
     private MedicalRecordService medicalRecordService;
 
     private Data mockData;
@@ -44,11 +55,20 @@ class MedicalRecordServiceTest {
 
     @BeforeEach
     void setUp() {
+        existenceIndex = new ExistenceIndex(new AddressDictionary());
+        mutationPipeline = new MutationPipeline(dataRepository, List.of(existenceIndex));
+        medicalRecordService = new MedicalRecordService(dataRepository, validator, personService, lockManager, mutationPipeline,
+                existenceIndex);
         mockData = new Data();
         mockMedicalRecords = new ArrayList<>();
         mockData.setMedicalRecords(mockMedicalRecords);
     }
 
+    @AfterEach
+    void tearDown() {
+        mutationPipeline.shutdown();
+    }
+
     @Test
     @DisplayName("Test de recherche d'un dossier médical existant")
     void testFindMedicalRecordByName_Existing() {
@@ -206,6 +226,36 @@ class MedicalRecordServiceTest {
         verify(dataRepository, never()).saveData();
     }
 
+    @Test
+    @DisplayName("Test du contrôle d'existence d'un dossier médical par l'index d'existence")
+    void testAddMedicalRecord_WithExistenceIndex() throws IOException {
+        // Arrange
+        MedicalRecord existingRecord = new MedicalRecord();
+        existingRecord.setFirstName("John");
+        existingRecord.setLastName("Doe");
+        mockMedicalRecords.add(existingRecord);
+        existenceIndex.rebuild(mockData);
+        when(dataRepository.getData()).thenReturn(mockData);
+        Person person = new Person();
+        person.setFirstName("Jane");
+        person.setLastName("Doe");
+        when(personService.findPersonByName("Jane", "Doe")).thenReturn(Optional.of(person));
+        MedicalRecord newRecord = new MedicalRecord();
+        newRecord.setFirstName("Jane");
+        newRecord.setLastName("Doe");
+        newRecord.setBirthdate(LocalDate.of(1990, 1, 1));
+        when(validator.validate(newRecord)).thenReturn(Collections.emptySet());
+
+        // Act
+        MedicalRecord result = medicalRecordService.addMedicalRecord(newRecord);
+
+        // Assert
+        assertEquals(newRecord, result);
+        assertTrue(existenceIndex.containsMedicalRecord("Jane", "Doe"));
+        assertThrows(IllegalArgumentException.class, () -> medicalRecordService.addMedicalRecord(newRecord));
+        assertEquals(2, mockMedicalRecords.size());
+    }
+
     @Test
     @DisplayName("Test de mise à jour d'un dossier médical existant")
     void testUpdateMedicalRecord_Existing() throws IOException {
@@ -427,6 +477,7 @@ class MedicalRecordServiceTest {
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals(expectedRecords, result);
+        assertNotSame(expectedRecords, result);
         verify(dataRepository).getData();
     }
 }
@@ -1,7 +1,13 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.dto.PersonInfoDTO;
+import com.ryan.safetynet.alerts.dto.PersonSearchResultDTO;
 import com.ryan.safetynet.alerts.dto.PersonWithMedicalInfoDTO;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.FuzzyNameIndex;
+import com.ryan.safetynet.alerts.index.PersonNameIndex;
+import com.ryan.safetynet.alerts.index.ResidentView;
 import com.ryan.safetynet.alerts.model.Data;
 import com.ryan.safetynet.alerts.model.MedicalRecord;
 import com.ryan.safetynet.alerts.model.Person;
@@ -13,11 +19,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,6 +40,18 @@ class PersonInfoServiceTest {
     @Mock
     private DataRepository dataRepository;
 
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager();
+
+    @Mock
+    private PersonNameIndex personNameIndex;
+
+    @Mock
+    private FuzzyNameIndex fuzzyNameIndex;
+
+    @Mock
+    private ResidentView residentView;
+
     @InjectMocks
     private PersonInfoService personInfoService;
 
@@ -45,7 +66,8 @@ class PersonInfoServiceTest {
         mockMedicalRecords = new ArrayList<>();
         mockData.setPersons(mockPersons);
         mockData.setMedicalRecords(mockMedicalRecords);
-        when(dataRepository.getData()).thenReturn(mockData);
+        // Non utilisé par les tests passant par l'index des noms
+        lenient().when(dataRepository.getData()).thenReturn(mockData);
     }
 
     @Test
@@ -284,4 +306,126 @@ class PersonInfoServiceTest {
             );
         }
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test de récupération des informations d'une personne via l'index des noms")
+    void testGetPersonInfo_FromIndex() {
+        // Arrange
+        Person person = new Person("John", "Doe", "123 Main St", "Culver", "97451", "123-456-7890", "john@email.com");
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName("John");
+        record.setLastName("Doe");
+        record.setBirthdate(LocalDate.now().minusYears(30));
+        record.setMedications(List.of("med1"));
+        record.setAllergies(List.of("allergy1"));
+        when(personNameIndex.isReady()).thenReturn(true);
+        when(personNameIndex.findFirst("JOHN", "doe"))
+            .thenReturn(Optional.of(new PersonNameIndex.Resident(person, record)));
+
+        // Act
+        PersonInfoDTO result = personInfoService.getPersonInfo("JOHN", "doe");
+
+        // Assert
+        assertEquals("John", result.getFirstName());
+        assertEquals(30, result.getAge());
+        assertEquals(List.of("med1"), result.getMedications());
+        verifyNoInteractions(lockManager, dataRepository);
+    }
+
+    @Test
+    @DisplayName("Test de récupération d'une personne absente de l'index des noms")
+    void testGetPersonInfo_NotInIndex() {
+        // Arrange
+        when(personNameIndex.isReady()).thenReturn(true);
+        when(personNameIndex.findFirst("Jane", "Doe")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertNull(personInfoService.getPersonInfo("Jane", "Doe"));
+    }
+
+    @Test
+    @DisplayName("Test de récupération par nom de famille via l'index avec dossier médical manquant")
+    void testGetPersonsByLastName_FromIndexMissingRecord() {
+        // Arrange
+        Person person = new Person("John", "Doe", "123 Main St", "Culver", "97451", "123-456-7890", "john@email.com");
+        when(personNameIndex.isReady()).thenReturn(true);
+        when(personNameIndex.findByLastName("Doe")).thenReturn(List.of(new PersonNameIndex.Resident(person, null)));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> personInfoService.getPersonsByLastName("Doe"));
+    }
+
+    @Test
+    @DisplayName("Test de la recherche approchée via l'index")
+    void testSearchPersons_FromIndex() {
+        // Arrange
+        Person person = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+        when(fuzzyNameIndex.isReady()).thenReturn(true);
+        when(fuzzyNameIndex.search(eq("Jon"), eq("Boid"), eq(2), eq(5), anyLong()))
+            .thenReturn(List.of(new FuzzyNameIndex.Match(person, 2, true)));
+
+        // Act
+        List<PersonSearchResultDTO> results = personInfoService.searchPersons("Jon", "Boid", 5);
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals("John", results.get(0).getFirstName());
+        assertEquals("Culver", results.get(0).getCity());
+        assertEquals(2, results.get(0).getDistance());
+        assertTrue(results.get(0).isPhoneticMatch());
+    }
+
+    @Test
+    @DisplayName("Test de la recherche approchée par parcours lorsque l'index n'est pas prêt")
+    void testSearchPersons_Scan() {
+        // Arrange
+        mockPersons.add(new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"));
+        mockPersons.add(new Person("Eric", "Cadigan", "951 LoneTree Rd", "Culver", "97451", "841-874-7458", "gramps@email.com"));
+
+        // Act
+        List<PersonSearchResultDTO> results = personInfoService.searchPersons("Jhon", "Boyd", 10);
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals("Boyd", results.get(0).getLastName());
+        assertEquals(2, results.get(0).getDistance());
+    }
+
+    @Test
+    @DisplayName("Test de récupération des informations par la vue des résidents")
+    void testGetPersonInfo_FromResidentView() {
+        // Arrange
+        mockPersons.add(new Person("John", "Doe", "123 Main St", "Culver", "97451", "123-456-7890", "john@email.com"));
+        mockPersons.add(new Person("Jane", "Doe", "456 Oak St", "Culver", "97451", "987-654-3210", "jane@email.com"));
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName("John");
+        record.setLastName("Doe");
+        record.setBirthdate(LocalDate.now().minusYears(30));
+        record.setMedications(List.of("med1"));
+        record.setAllergies(List.of("allergy1"));
+        mockMedicalRecords.add(record);
+        mockData.setFireStations(new ArrayList<>());
+        ResidentView view = viewOf(mockData);
+        when(residentView.isReady()).thenReturn(true);
+        when(residentView.findFirst("JOHN", "doe")).thenReturn(view.findFirst("JOHN", "doe"));
+        when(residentView.findByLastName("DOE")).thenReturn(view.findByLastName("DOE"));
+
+        // Act
+        PersonInfoDTO result = personInfoService.getPersonInfo("JOHN", "doe");
+
+        // Assert
+        assertEquals("John", result.getFirstName());
+        assertEquals("john@email.com", result.getEmail());
+        assertEquals(30, result.getAge());
+        assertEquals(List.of("allergy1"), result.getAllergies());
+        // Jane n'a pas de dossier médical : même erreur que par l'index des noms
+        assertThrows(IllegalStateException.class, () -> personInfoService.getPersonsByLastName("DOE"));
+        verifyNoInteractions(dataRepository, personNameIndex);
+    }
+
+    private static ResidentView viewOf(Data data) {
+        ResidentView view = new ResidentView(new AddressDictionary());
+        view.rebuild(data);
+        return view;
+    }
+}
@@ -1,16 +1,21 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.MutationPipeline;
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
 import com.ryan.safetynet.alerts.exception.DuplicatePersonException;
 import com.ryan.safetynet.alerts.model.Data;
 import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.ExistenceIndex;
 import com.ryan.safetynet.alerts.repository.DataRepository;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
@@ -29,7 +34,15 @@ class PersonServiceTest {
     @Mock
     private Validator validator;
 
-    @InjectMocks
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager();
+
+    private final AddressDictionary addressDictionary = new AddressDictionary();
+
+    private ExistenceIndex existenceIndex;
+
+    private MutationPipeline mutationPipeline;
+
     private PersonService personService;
 
     private Data testData;
@@ -38,6 +51,10 @@ class PersonServiceTest {
 
     @BeforeEach
     void setUp() {
+        existenceIndex = new ExistenceIndex(addressDictionary);
+        mutationPipeline = new MutationPipeline(dataRepository, List.of(existenceIndex));
+        personService = new PersonService(dataRepository, validator, lockManager, mutationPipeline, addressDictionary,
+                existenceIndex);
         testPerson = new Person();
         testPerson.setFirstName("John");
         testPerson.setLastName("Doe");
@@ -54,6 +71,11 @@ class PersonServiceTest {
         testData.setPersons(personList);
     }
 
+    @AfterEach
+    void tearDown() {
+        mutationPipeline.shutdown();
+    }
+
     @Test
     void getPersonsByAddresses_ShouldReturnPersonsGroupedByAddress() {
         // Given
@@ -86,6 +108,31 @@ class PersonServiceTest {
         assertEquals(testPerson, result.get(0));
     }
 
+    @Test
+    void getPersonsByAddresses_ShouldMatchCanonicalAddress() {
+        // Given
+        when(dataRepository.getData()).thenReturn(testData);
+
+        // When
+        Map<String, List<Person>> result = personService.getPersonsByAddresses(List.of("123  MAIN street."));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(List.of(testPerson), result.get("123  MAIN street."));
+    }
+
+    @Test
+    void getPersonsByAddress_ShouldReturnEmptyListForUnknownAddress() {
+        // Given
+        when(dataRepository.getData()).thenReturn(testData);
+
+        // When
+        List<Person> result = personService.getPersonsByAddress("1 Unknown Rd");
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
     @Test
     void findPersonByName_ShouldReturnPersonWhenExists() {
         // Given
@@ -145,6 +192,42 @@ class PersonServiceTest {
         verify(dataRepository, never()).saveData();
     }
 
+    @Test
+    void addPerson_ShouldDetectDuplicates_WithOtherAddressSpelling() {
+        // Given : même adresse canonique, avec et sans index
+        Person duplicatePerson = new Person("John", "Doe", "123 main street.", "City", "12345", "123-456-7890", "john@email.com");
+        when(dataRepository.getData()).thenReturn(testData);
+        when(validator.validate(any())).thenReturn(Collections.emptySet());
+
+        // When & Then
+        assertThrows(DuplicatePersonException.class, () -> personService.addPerson(duplicatePerson));
+        existenceIndex.rebuild(testData);
+        assertThrows(DuplicatePersonException.class, () -> personService.addPerson(duplicatePerson));
+        assertEquals(1, testData.getPersons().size());
+    }
+
+    @Test
+    void addPerson_ShouldDetectDuplicates_WithExistenceIndex() throws Exception {
+        // Given
+        existenceIndex.rebuild(testData);
+        Person newPerson = new Person("Jane", "Smith", "123 Main St", "City", "12345", "123-456-7890", "jane@email.com");
+        Person samePerson = new Person("Jane", "Smith", "123 Main St", "City", "12345", "123-456-7890", "jane@email.com");
+        Person duplicatePerson = new Person("John", "Doe", "123 Main St", "City", "12345", "123-456-7890", "john@email.com");
+        when(dataRepository.getData()).thenReturn(testData);
+        when(validator.validate(any())).thenReturn(Collections.emptySet());
+
+        // When : les deux ajouts de Jane peuvent être appliqués dans le même lot
+        var first = personService.addPersonAsync(newPerson);
+        var second = personService.addPersonAsync(samePerson);
+
+        // Then
+        assertEquals(newPerson, first.awaitDurable());
+        assertThrows(DuplicatePersonException.class, second::awaitDurable);
+        assertThrows(DuplicatePersonException.class, () -> personService.addPerson(duplicatePerson));
+        assertEquals(2, testData.getPersons().size());
+        assertTrue(existenceIndex.getStats().get(0).getFilteredLookups() >= 1);
+    }
+
     @Test
     void addPerson_ShouldThrowConstraintViolationException() throws IOException {
         // Given
@@ -238,5 +321,8 @@ class PersonServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(testPerson, result.get(0));
+        // La liste retournée est une copie : la modifier ne touche pas aux données
+        result.clear();
+        assertEquals(1, testData.getPersons().size());
     }
-} 
\ No newline at end of file
+}
@@ -1,11 +1,19 @@
 package com.ryan.safetynet.alerts.service;
 
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.CoverageBitmapIndex;
+import com.ryan.safetynet.alerts.index.StationPhoneIndex;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
 import com.ryan.safetynet.alerts.model.Person;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
@@ -13,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +34,15 @@ class PhoneAlertServiceTest {
     @Mock
     private PersonService personService;
 
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager();
+
+    @Mock
+    private CoverageBitmapIndex coverageBitmapIndex;
+
+    @Mock
+    private StationPhoneIndex stationPhoneIndex;
+
     @InjectMocks
     private PhoneAlertService phoneAlertService;
 
@@ -48,20 +66,21 @@ class PhoneAlertServiceTest {
         person3.setPhone("555-123-4567");
         person3.setAddress("456 Oak St");
 
+        Person person4 = new Person();
+        person4.setPhone("555-1234");
+        person4.setAddress("456 Oak St");
+
         Map<String, List<Person>> personsByAddress = Map.of(
             "123 Main St", Arrays.asList(person1, person2),
-            "456 Oak St", List.of(person3)
+            "456 Oak St", List.of(person4, person3)
         );
         when(personService.getPersonsByAddresses(addresses)).thenReturn(personsByAddress);
 
         // Act
         List<String> result = phoneAlertService.getPhoneNumbersByStation(stationNumber);
 
-        // Assert
-        assertEquals(3, result.size());
-        assertTrue(result.contains("123-456-7890"));
-        assertTrue(result.contains("987-654-3210"));
-        assertTrue(result.contains("555-123-4567"));
+        // Assert : ordre numérique de l'index, numéro hors format en dernier
+        assertEquals(List.of("123-456-7890", "555-123-4567", "987-654-3210", "555-1234"), result);
     }
 
     @Test
@@ -151,9 +170,73 @@ class PhoneAlertServiceTest {
         // Act
         List<String> result = phoneAlertService.getPhoneNumbersByStation(stationNumber);
 
+        // Assert : numéros hors format dans l'ordre des données
+        assertEquals(Arrays.asList("", null), result);
+    }
+
+    @Test
+    @DisplayName("Test de récupération des numéros de téléphone par les bitmaps de couverture")
+    void testGetPhoneNumbersByStation_WithBitmaps() {
+        // Arrange
+        int stationNumber = 1;
+        when(fireStationService.getAddressesCoveredByStation(stationNumber)).thenReturn(List.of("123 Main St"));
+        List<Person> persons = List.of(
+            new Person("John", "Doe", "123 Main St", "Culver", "97451", "123-456-7890", "john@email.com"),
+            new Person("Jane", "Doe", "123 Main St", "Culver", "97451", "123-456-7890", "jane@email.com"),
+            new Person("Bob", "Smith", "456 Oak St", "Culver", "97451", "555-123-4567", "bob@email.com"));
+        when(coverageBitmapIndex.snapshot()).thenReturn(bitmapsOf(persons,
+            List.of(mapping("123 Main St", "1"), mapping("456 Oak St", "2")), List.of()));
+
+        // Act
+        List<String> result = phoneAlertService.getPhoneNumbersByStation(stationNumber);
+
+        // Assert
+        assertEquals(List.of("123-456-7890"), result);
+        verify(personService, never()).getPersonsByAddresses(anyList());
+    }
+
+    @Test
+    @DisplayName("Test de récupération des numéros de téléphone par l'index des téléphones")
+    void testGetPhoneNumbersByStation_WithPhoneIndex() {
+        // Arrange
+        int stationNumber = 1;
+        when(stationPhoneIndex.isReady()).thenReturn(true);
+        when(stationPhoneIndex.phonesOf(stationNumber)).thenReturn(new long[]{1234567890L, 5551234567L});
+
+        // Act
+        List<String> result = phoneAlertService.getPhoneNumbersByStation(stationNumber);
+
+        // Assert
+        assertEquals(List.of("123-456-7890", "555-123-4567"), result);
+        verifyNoInteractions(fireStationService, personService, coverageBitmapIndex);
+    }
+
+    @Test
+    @DisplayName("Test de l'absence de codes tant que l'index des téléphones n'est pas disponible")
+    void testGetPhoneCodesByStation_IndexNotReady() {
+        // Act
+        long[] result = phoneAlertService.getPhoneCodesByStation(1);
+
         // Assert
-        assertEquals(2, result.size());
-        assertTrue(result.contains(""));
-        assertTrue(result.contains(null));
+        assertNull(result);
+        verify(stationPhoneIndex, never()).phonesOf(anyInt());
+    }
+
+    private static CoverageBitmapIndex.Snapshot bitmapsOf(List<Person> persons, List<FireStation> fireStations,
+                                                          List<MedicalRecord> medicalRecords) {
+        Data data = new Data();
+        data.setPersons(persons);
+        data.setFireStations(fireStations);
+        data.setMedicalRecords(medicalRecords);
+        CoverageBitmapIndex index = new CoverageBitmapIndex(null, new AddressDictionary());
+        index.rebuild(data);
+        return index.snapshot();
+    }
+
+    private static FireStation mapping(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
     }
-} 
\ No newline at end of file
+}
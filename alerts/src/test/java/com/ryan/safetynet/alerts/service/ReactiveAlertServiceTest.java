@@ -0,0 +1,232 @@
+package com.ryan.safetynet.alerts.service;
+
+import com.ryan.safetynet.alerts.dto.AddressInfoDTO;
+import com.ryan.safetynet.alerts.dto.ChildDTO;
+import com.ryan.safetynet.alerts.dto.CommunityEmailDTO;
+import com.ryan.safetynet.alerts.dto.PersonInfoDTO;
+import com.ryan.safetynet.alerts.dto.PersonWithMedicalInfoDTO;
+import com.ryan.safetynet.alerts.dto.PhoneAlertDTO;
+import com.ryan.safetynet.alerts.exception.ResourceNotFoundException;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import com.ryan.safetynet.alerts.repository.DataSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service ReactiveAlertService")
+class ReactiveAlertServiceTest {
+
+    @Mock
+    private DataRepository dataRepository;
+
+    @Spy
+    private AddressDictionary addressDictionary = new AddressDictionary();
+
+    @InjectMocks
+    private ReactiveAlertService reactiveAlertService;
+
+    private Data data;
+
+    @BeforeEach
+    void setUp() {
+        data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+            new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+            new Person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "tenz@email.com"),
+            new Person("Eric", "Cadigan", "951 LoneTree Rd", "Culver", "97451", "841-874-7458", "gramps@email.com"),
+            new Person("Tessa", "Carman", "834 Binoc Ave", "Culver", "97451", "841-874-6512", "tenz@email.com")
+        )));
+        data.setFireStations(new ArrayList<>(List.of(
+            fireStation("1509 Culver St", "3"),
+            fireStation("834 Binoc Ave", "3"),
+            fireStation("951 LoneTree Rd", "2")
+        )));
+        data.setMedicalRecords(new ArrayList<>(List.of(
+            medicalRecord("John", "Boyd", LocalDate.of(1984, 3, 6)),
+            medicalRecord("Tenley", "Boyd", LocalDate.now().minusYears(12)),
+            medicalRecord("Eric", "Cadigan", LocalDate.of(1945, 8, 6)),
+            medicalRecord("Tessa", "Carman", LocalDate.now().minusYears(5))
+        )));
+        when(dataRepository.getSnapshot()).thenReturn(DataSnapshot.of(1L, data));
+    }
+
+    @Test
+    @DisplayName("Test du flux /fire pour une adresse couverte")
+    void testGetResidentsByAddress() {
+        // Act
+        ReactiveAlertService.FireResidents fire = reactiveAlertService.getFireResidents("1509 Culver St");
+        List<PersonWithMedicalInfoDTO> residents = fire.residents().collectList().block();
+
+        // Assert
+        assertNotNull(residents);
+        assertEquals(List.of("John", "Tenley"), residents.stream()
+            .map(PersonWithMedicalInfoDTO::getFirstName).collect(Collectors.toList()));
+        assertEquals("3", fire.station());
+    }
+
+    @Test
+    @DisplayName("Test du flux /fire et /childAlert pour une autre saisie de l'adresse")
+    void testGetResidentsByAddress_Canonical() {
+        // Arrange : les adresses des données sont enregistrées au chargement
+        addressDictionary.rebuild(data);
+
+        // Act
+        ReactiveAlertService.FireResidents fire = reactiveAlertService.getFireResidents("1509 culver street");
+        List<ChildDTO> children = reactiveAlertService.getChildrenAtAddress("1509 CULVER ST.").collectList().block();
+
+        // Assert
+        assertEquals("3", fire.station());
+        assertEquals(2, fire.residents().collectList().block().size());
+        assertEquals(1, children.size());
+        assertTrue(reactiveAlertService.getChildrenAtAddress("1 Unknown Rd").collectList().block().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test du flux /fire pour une adresse sans caserne : erreur immédiate")
+    void testGetResidentsByAddress_NoStation() {
+        assertThrows(ResourceNotFoundException.class, () ->
+            reactiveAlertService.getFireResidents("unknown"));
+    }
+
+    @Test
+    @DisplayName("Test du flux /fire servi depuis l'instantané capturé à l'appel")
+    void testGetResidentsByAddress_UsesCapturedSnapshot() {
+        // Arrange
+        ReactiveAlertService.FireResidents fire = reactiveAlertService.getFireResidents("1509 Culver St");
+
+        // Act : l'adresse change de station et un résident part après la création de la réponse
+        data.getFireStations().set(0, fireStation("1509 Culver St", "9"));
+        data.getPersons().removeIf(p -> p.getFirstName().equals("Tenley"));
+        lenient().when(dataRepository.getSnapshot()).thenReturn(DataSnapshot.of(2L, data));
+
+        // Assert : l'en-tête et le corps décrivent la même version
+        assertEquals("3", fire.station());
+        assertEquals(2, fire.residents().collectList().block().size());
+        verify(dataRepository, times(1)).getSnapshot();
+    }
+
+    @Test
+    @DisplayName("Test du flux /flood/stations dans l'ordre des mappings")
+    void testGetHouseholdsByStations() {
+        // Act
+        List<AddressInfoDTO> households = reactiveAlertService.getHouseholdsByStations(List.of(2, 3))
+            .collectList().block();
+
+        // Assert
+        assertNotNull(households);
+        assertEquals(List.of("1509 Culver St", "834 Binoc Ave", "951 LoneTree Rd"), households.stream()
+            .map(AddressInfoDTO::getAddress).collect(Collectors.toList()));
+        assertEquals(2, households.get(0).getResidents().size());
+    }
+
+    @Test
+    @DisplayName("Test du flux /flood/stations avec une station inexistante")
+    void testGetHouseholdsByStations_UnknownStation() {
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () ->
+            reactiveAlertService.getHouseholdsByStations(List.of(3, 9)));
+        assertTrue(exception.getMessage().contains("9"));
+    }
+
+    @Test
+    @DisplayName("Test du flux /childAlert")
+    void testGetChildrenAtAddress() {
+        // Act
+        List<ChildDTO> children = reactiveAlertService.getChildrenAtAddress("1509 Culver St").collectList().block();
+
+        // Assert
+        assertNotNull(children);
+        assertEquals(1, children.size());
+        assertEquals("Tenley", children.get(0).getFirstName());
+        assertEquals(12, children.get(0).getAge());
+    }
+
+    @Test
+    @DisplayName("Test du flux /phoneAlert sans doublon")
+    void testGetPhoneNumbersByStation() {
+        // Act
+        List<PhoneAlertDTO> chunks = reactiveAlertService.getPhoneNumbersByStation(3).collectList().block();
+
+        // Assert
+        assertNotNull(chunks);
+        assertEquals(1, chunks.size());
+        assertEquals(List.of("841-874-6512"), chunks.get(0).getPhoneNumbers());
+    }
+
+    @Test
+    @DisplayName("Test du flux /communityEmail découpé en paquets")
+    void testGetEmailsByCity_Chunks() {
+        // Arrange
+        for (int i = 0; i < ReactiveAlertService.CHUNK_SIZE; i++) {
+            data.getPersons().add(new Person("P" + i, "Q", "1 Main St", "Culver", "97451", "841-874-0000", "p" + i + "@email.com"));
+        }
+        when(dataRepository.getSnapshot()).thenReturn(DataSnapshot.of(2L, data));
+
+        // Act
+        List<CommunityEmailDTO> chunks = reactiveAlertService.getEmailsByCity("culver").collectList().block();
+
+        // Assert
+        assertNotNull(chunks);
+        assertEquals(2, chunks.size());
+        assertEquals(ReactiveAlertService.CHUNK_SIZE, chunks.get(0).getEmails().size());
+        assertEquals(3, chunks.get(1).getEmails().size());
+    }
+
+    @Test
+    @DisplayName("Test du flux /personInfo insensible à la casse")
+    void testGetPersonInfo() {
+        // Act
+        List<PersonInfoDTO> persons = reactiveAlertService.getPersonInfo("john", "BOYD").collectList().block();
+
+        // Assert
+        assertNotNull(persons);
+        assertEquals(1, persons.size());
+        assertEquals("1509 Culver St", persons.get(0).getAddress());
+    }
+
+    @Test
+    @DisplayName("Test du flux /personInfo/byLastName")
+    void testGetPersonsByLastName() {
+        // Act
+        List<PersonInfoDTO> persons = reactiveAlertService.getPersonsByLastName("boyd").collectList().block();
+
+        // Assert
+        assertNotNull(persons);
+        assertEquals(2, persons.size());
+    }
+
+    private static FireStation fireStation(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+
+    private static MedicalRecord medicalRecord(String firstName, String lastName, LocalDate birthdate) {
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName(firstName);
+        record.setLastName(lastName);
+        record.setBirthdate(birthdate);
+        record.setMedications(List.of());
+        record.setAllergies(List.of());
+        return record;
+    }
+}
@@ -0,0 +1,256 @@
+package com.ryan.safetynet.alerts.service;
+
+import com.ryan.safetynet.alerts.concurrency.StripedLockManager;
+import com.ryan.safetynet.alerts.dto.QueryResidentDTO;
+import com.ryan.safetynet.alerts.dto.QueryStepDTO;
+import com.ryan.safetynet.alerts.dto.ResidentQueryResultDTO;
+import com.ryan.safetynet.alerts.index.AddressDictionary;
+import com.ryan.safetynet.alerts.index.CoverageBitmapIndex;
+import com.ryan.safetynet.alerts.index.MedicalTermIndex;
+import com.ryan.safetynet.alerts.index.ResidentView;
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import com.ryan.safetynet.alerts.model.Person;
+import com.ryan.safetynet.alerts.repository.DataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests du service ResidentQueryService")
+class ResidentQueryServiceTest {
+
+    @Mock
+    private DataRepository dataRepository;
+
+    private final AddressDictionary addressDictionary = new AddressDictionary();
+    private Data data;
+    private CoverageBitmapIndex coverageBitmapIndex;
+    private MedicalTermIndex medicalTermIndex;
+    private ResidentView residentView;
+    private ResidentQueryService residentQueryService;
+
+    @BeforeEach
+    void setUp() {
+        data = new Data();
+        data.setPersons(new ArrayList<>(List.of(
+                person("John", "Boyd", "1509 Culver St", "Culver", "97451"),
+                person("Tenley", "Boyd", "1509 Culver St", "Culver", "97451"),
+                person("Roger", "Boyd", "1509 Culver St", "Culver", "97451"),
+                person("Felicia", "Boyd", "1509 Culver St", "Culver", "97451"),
+                person("Zach", "Zemicks", "892 Downing Ct", "Culver", "97451"),
+                person("Eric", "Cadigan", "951 LoneTree Rd", "Culver", "97451"),
+                person("Ron", "Peters", "112 Steppes Pl", "Springfield", "97452"),
+                person("Lily", "Cooper", "489 Manchester St", "Culver", "97451"))));
+        data.setMedicalRecords(new ArrayList<>(List.of(
+                record("John", "Boyd", LocalDate.of(1984, 3, 6), List.of("aznol:350mg"), List.of("nillacilan")),
+                record("Tenley", "Boyd", LocalDate.now().minusYears(12), List.of(), List.of("peanut")),
+                record("Roger", "Boyd", LocalDate.now().minusYears(3), List.of(), List.of()),
+                record("Felicia", "Boyd", LocalDate.of(1986, 1, 8), List.of("tetracyclaz:650mg"), List.of("xilliathal")),
+                record("Zach", "Zemicks", LocalDate.now().minusYears(4), List.of("aznol:200mg"), List.of()),
+                record("Eric", "Cadigan", LocalDate.of(1945, 8, 6), List.of("tradoxidine:400mg"), List.of()),
+                record("Ron", "Peters", LocalDate.now().minusYears(2), List.of("aznol:100mg"), List.of()))));
+        data.setFireStations(new ArrayList<>(List.of(
+                mapping("1509 Culver St", "3"), mapping("892 Downing Ct", "2"), mapping("951 LoneTree Rd", "2"),
+                mapping("112 Steppes Pl", "4"), mapping("489 Manchester St", "4"))));
+        coverageBitmapIndex = new CoverageBitmapIndex(dataRepository, addressDictionary);
+        medicalTermIndex = new MedicalTermIndex();
+        residentView = new ResidentView(addressDictionary);
+        residentQueryService = new ResidentQueryService(dataRepository, new StripedLockManager(), addressDictionary,
+                coverageBitmapIndex, medicalTermIndex, residentView);
+    }
+
+    @Test
+    @DisplayName("Test d'une requête combinant station, ville et tranche d'âge")
+    void testQuery_StationCityAndAge() {
+        // Arrange
+        rebuildIndexes();
+
+        // Act
+        ResidentQueryResultDTO result = residentQueryService.query(
+                criteria(List.of(3), null, "culver", null, null, 4, null, null));
+
+        // Assert : le bitmap des enfants borne l'âge, l'âge exact est vérifié sur les candidats restants
+        assertEquals(List.of("Roger"), firstNames(result));
+        QueryResidentDTO roger = result.getResidents().get(0);
+        assertEquals(3, roger.getAge());
+        assertEquals("3", roger.getStation());
+        assertEquals("97451", roger.getZip());
+        assertEquals(List.of("index", "intersect", "intersect", "filter"), accesses(result));
+        assertEquals("age in [, 4]", result.getPlan().get(3).getPredicate());
+        assertEquals(2, result.getExamined());
+        assertEquals(result.getPlan().stream().mapToLong(QueryStepDTO::getEstimatedCost).sum(),
+                result.getEstimatedCost());
+        verifyNoInteractions(dataRepository);
+    }
+
+    @Test
+    @DisplayName("Test du choix du prédicat le plus sélectif")
+    void testQuery_MostSelectivePredicateFirst() {
+        // Arrange
+        rebuildIndexes();
+
+        // Act
+        ResidentQueryResultDTO result = residentQueryService.query(
+                criteria(null, null, "Culver", null, null, null, "aznol", null));
+
+        // Assert : trois résidents prennent de l'aznol (dont Ron, à Springfield), sept habitent Culver
+        assertEquals("medication = aznol", result.getPlan().get(0).getPredicate());
+        assertEquals(3, result.getPlan().get(0).getEstimatedRows());
+        assertEquals(List.of("John", "Zach"), firstNames(result));
+        assertEquals(List.of("aznol:350mg"), result.getResidents().get(0).getMedications());
+    }
+
+    @Test
+    @DisplayName("Test d'un prédicat vérifié sur les candidats plutôt qu'intersecté")
+    void testQuery_ProbesLargePostings() {
+        // Arrange
+        rebuildIndexes();
+
+        // Act
+        ResidentQueryResultDTO result = residentQueryService.query(
+                criteria(null, "112 steppes place", null, null, null, null, "aznol", null));
+
+        // Assert : un seul candidat, moins coûteux à vérifier que les trois clés de l'aznol
+        assertEquals(List.of("index", "filter"), accesses(result));
+        assertEquals("address = 112 steppes place", result.getPlan().get(0).getPredicate());
+        assertEquals(List.of("Ron"), firstNames(result));
+        assertEquals(1, result.getExamined());
+    }
+
+    @Test
+    @DisplayName("Test d'un bitmap de station vérifié sur les candidats sans être construit")
+    void testQuery_ProbesStationBitmap() {
+        // Arrange
+        rebuildIndexes();
+
+        // Act
+        ResidentQueryResultDTO result = residentQueryService.query(
+                criteria(List.of(3, 4), "112 steppes place", null, null, null, null, null, null));
+
+        // Assert : l'adresse compte un seul résident, l'union des stations 3 et 4 en compte six
+        assertEquals(List.of("index", "filter"), accesses(result));
+        assertEquals(1, result.getPlan().get(0).getEstimatedRows());
+        assertEquals("station in [3, 4]", result.getPlan().get(1).getPredicate());
+        assertEquals(List.of("Ron"), firstNames(result));
+        assertEquals(1, result.getExamined());
+    }
+
+    @Test
+    @DisplayName("Test d'un parcours complet sans prédicat indexé")
+    void testQuery_ScanWithoutIndexedPredicate() {
+        // Arrange
+        rebuildIndexes();
+
+        // Act
+        ResidentQueryResultDTO result = residentQueryService.query(
+                criteria(null, null, null, null, 60, null, null, null));
+
+        // Assert : Lily, sans dossier médical, n'a pas d'âge
+        assertEquals(List.of("scan", "filter"), accesses(result));
+        assertEquals(8, result.getPlan().get(0).getEstimatedCost());
+        assertEquals(List.of("Eric"), firstNames(result));
+        assertEquals(8, result.getExamined());
+    }
+
+    @Test
+    @DisplayName("Test d'un critère médical vérifié sur les dossiers sans index des termes")
+    void testQuery_WithoutMedicalTermIndex() {
+        // Arrange
+        coverageBitmapIndex.rebuild(data);
+        residentView.rebuild(data);
+
+        // Act
+        ResidentQueryResultDTO result = residentQueryService.query(
+                criteria(List.of(3), null, null, null, null, null, null, "peanut"));
+
+        // Assert
+        assertEquals(List.of("index", "filter"), accesses(result));
+        assertEquals(List.of("Tenley"), firstNames(result));
+    }
+
+    @Test
+    @DisplayName("Test du parcours des données tant que les index ne sont pas construits")
+    void testQuery_FallbackScan() {
+        // Arrange
+        when(dataRepository.getData()).thenReturn(data);
+
+        // Act
+        ResidentQueryResultDTO result = residentQueryService.query(
+                criteria(List.of(3), null, "culver", null, null, 4, null, null));
+        ResidentQueryResultDTO medication = residentQueryService.query(
+                criteria(List.of(2, 4), null, null, "97451", null, null, "AZNOL", null));
+
+        // Assert
+        assertEquals(List.of("scan"), accesses(result));
+        assertEquals(List.of("Roger"), firstNames(result));
+        assertEquals(3, result.getResidents().get(0).getAge());
+        assertEquals(8, result.getExamined());
+        assertEquals(List.of("Zach"), firstNames(medication));
+        assertEquals("2", medication.getResidents().get(0).getStation());
+    }
+
+    @Test
+    @DisplayName("Test des critères invalides")
+    void testQuery_InvalidCriteria() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> residentQueryService.query(criteria(List.of(), null, null, null, null, null, null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> residentQueryService.query(criteria(null, null, null, null, 10, 5, null, null)));
+        verifyNoInteractions(dataRepository);
+    }
+
+    private void rebuildIndexes() {
+        coverageBitmapIndex.rebuild(data);
+        medicalTermIndex.rebuild(data);
+        residentView.rebuild(data);
+    }
+
+    private static ResidentQueryService.Criteria criteria(List<Integer> stations, String address, String city,
+                                                          String zip, Integer minAge, Integer maxAge,
+                                                          String medication, String allergy) {
+        return new ResidentQueryService.Criteria(stations, address, city, zip, minAge, maxAge, medication, allergy);
+    }
+
+    private static List<String> firstNames(ResidentQueryResultDTO result) {
+        return result.getResidents().stream().map(QueryResidentDTO::getFirstName).toList();
+    }
+
+    private static List<String> accesses(ResidentQueryResultDTO result) {
+        return result.getPlan().stream().map(QueryStepDTO::getAccess).toList();
+    }
+
+    private static Person person(String firstName, String lastName, String address, String city, String zip) {
+        return new Person(firstName, lastName, address, city, zip, "841-874-6512", firstName + "@email.com");
+    }
+
+    private static MedicalRecord record(String firstName, String lastName, LocalDate birthdate,
+                                        List<String> medications, List<String> allergies) {
+        MedicalRecord record = new MedicalRecord();
+        record.setFirstName(firstName);
+        record.setLastName(lastName);
+        record.setBirthdate(birthdate);
+        record.setMedications(medications);
+        record.setAllergies(allergies);
+        return record;
+    }
+
+    private static FireStation mapping(String address, String station) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(station);
+        return fireStation;
+    }
+}
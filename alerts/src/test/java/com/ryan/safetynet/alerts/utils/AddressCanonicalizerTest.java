@@ -0,0 +1,39 @@
+package com.ryan.safetynet.alerts.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la classe utilitaire AddressCanonicalizer")
+class AddressCanonicalizerTest {
+
+    @Test
+    @DisplayName("Test de la normalisation de la casse, des espaces et de la ponctuation")
+    void testCaseWhitespaceAndPunctuation() {
+        // Act & Assert
+        assertEquals("1509 culver st", AddressCanonicalizer.canonicalize("1509 Culver St"));
+        assertEquals("1509 culver st", AddressCanonicalizer.canonicalize("  1509   CULVER St. "));
+        assertEquals("834 binoc ave", AddressCanonicalizer.canonicalize("834, Binoc Ave"));
+    }
+
+    @Test
+    @DisplayName("Test de l'abréviation du type de voie")
+    void testStreetSuffix() {
+        // Act & Assert
+        assertEquals("1509 culver st", AddressCanonicalizer.canonicalize("1509 Culver Street"));
+        assertEquals("951 lonetree rd", AddressCanonicalizer.canonicalize("951 LoneTree Road"));
+        assertEquals("112 steppes pl", AddressCanonicalizer.canonicalize("112 Steppes Place"));
+        // Seul le dernier mot est abrégé
+        assertEquals("1 street of dreams", AddressCanonicalizer.canonicalize("1 Street of Dreams"));
+    }
+
+    @Test
+    @DisplayName("Test des valeurs limites")
+    void testEdgeCases() {
+        // Act & Assert
+        assertNull(AddressCanonicalizer.canonicalize(null));
+        assertEquals("", AddressCanonicalizer.canonicalize("   "));
+        assertEquals("street", AddressCanonicalizer.canonicalize("Street"));
+    }
+}
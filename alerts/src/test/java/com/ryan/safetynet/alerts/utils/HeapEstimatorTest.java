@@ -0,0 +1,43 @@
+package com.ryan.safetynet.alerts.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'utilitaire HeapEstimator")
+class HeapEstimatorTest {
+
+    @Test
+    @DisplayName("Test des tailles alignées des objets, tableaux et chaînes")
+    void testSizes() {
+        // Assert
+        assertEquals(16, HeapEstimator.objectBytes(4));
+        assertEquals(40, HeapEstimator.objectBytes(7 * HeapEstimator.REFERENCE));
+        assertEquals(56, HeapEstimator.arrayBytes(10, 4));
+        assertEquals(24 + 24, HeapEstimator.stringBytes("Culver"));
+        assertEquals(0, HeapEstimator.stringBytes(null));
+    }
+
+    @Test
+    @DisplayName("Test du comptage unique de chaque instance de chaîne")
+    void testCounterCountsEachInstanceOnce() {
+        // Arrange
+        String shared = "Culver";
+        String copy = new String("Culver");
+
+        // Act
+        long bytes = new HeapEstimator.Counter()
+                .string(shared)
+                .strings(List.of(shared, copy))
+                .add(8)
+                .bytes();
+
+        // Assert
+        assertEquals(2 * HeapEstimator.stringBytes(shared) + 8, bytes);
+        assertEquals(3 * HeapEstimator.stringBytes(shared),
+                new HeapEstimator.Counter(false).string(shared).strings(List.of(shared, copy)).bytes());
+    }
+}
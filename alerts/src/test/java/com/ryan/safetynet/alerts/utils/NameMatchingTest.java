@@ -0,0 +1,41 @@
+package com.ryan.safetynet.alerts.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la classe utilitaire NameMatching")
+class NameMatchingTest {
+
+    @Test
+    @DisplayName("Test des codes Soundex de référence")
+    void testSoundex() {
+        // Act & Assert
+        assertEquals("R163", NameMatching.soundex("Robert"));
+        assertEquals("R163", NameMatching.soundex("Rupert"));
+        assertEquals("A261", NameMatching.soundex("Ashcraft"));
+        assertEquals("T522", NameMatching.soundex("Tymczak"));
+        assertEquals("P236", NameMatching.soundex("Pfister"));
+        assertEquals(NameMatching.soundex("Boyd"), NameMatching.soundex("boid"));
+    }
+
+    @Test
+    @DisplayName("Test du Soundex sur les accents et les chaînes sans lettre")
+    void testSoundexEdgeCases() {
+        // Act & Assert
+        assertEquals(NameMatching.soundex("Helene"), NameMatching.soundex("Hélène"));
+        assertEquals("", NameMatching.soundex("123"));
+        assertEquals("", NameMatching.soundex(null));
+    }
+
+    @Test
+    @DisplayName("Test de la distance de Levenshtein")
+    void testLevenshtein() {
+        // Act & Assert
+        assertEquals(0, NameMatching.levenshtein("boyd", "boyd"));
+        assertEquals(1, NameMatching.levenshtein("boyd", "boid"));
+        assertEquals(3, NameMatching.levenshtein("kitten", "sitting"));
+        assertEquals(4, NameMatching.levenshtein("", "john"));
+    }
+}
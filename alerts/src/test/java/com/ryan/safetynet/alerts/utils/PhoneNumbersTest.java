@@ -0,0 +1,51 @@
+package com.ryan.safetynet.alerts.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'utilitaire PhoneNumbers")
+class PhoneNumbersTest {
+
+    @Test
+    @DisplayName("Test du codage puis du formatage d'un numéro")
+    void testRoundTrip() {
+        // Act
+        long code = PhoneNumbers.encode("841-874-6512");
+
+        // Assert
+        assertEquals(8418746512L, code);
+        assertEquals("841-874-6512", PhoneNumbers.format(code));
+        assertEquals("000-000-0042", PhoneNumbers.format(PhoneNumbers.encode("000-000-0042")));
+    }
+
+    @Test
+    @DisplayName("Test du rejet des numéros hors format")
+    void testEncodeInvalid() {
+        // Assert
+        assertEquals(PhoneNumbers.INVALID, PhoneNumbers.encode(null));
+        assertEquals(PhoneNumbers.INVALID, PhoneNumbers.encode(""));
+        assertEquals(PhoneNumbers.INVALID, PhoneNumbers.encode("555-1234"));
+        assertEquals(PhoneNumbers.INVALID, PhoneNumbers.encode("841.874.6512"));
+        assertEquals(PhoneNumbers.INVALID, PhoneNumbers.encode("841-87a-6512"));
+    }
+
+    @Test
+    @DisplayName("Test du formatage dans un tableau d'octets existant")
+    void testFormatIntoBuffer() {
+        // Arrange
+        byte[] out = new byte[2 + PhoneNumbers.FORMATTED_LENGTH];
+        out[0] = '[';
+
+        // Act
+        int end = PhoneNumbers.format(PhoneNumbers.encode("123-456-7890"), out, 1);
+        out[end] = ']';
+
+        // Assert
+        assertEquals(13, end);
+        assertEquals("[123-456-7890]", new String(out, StandardCharsets.US_ASCII));
+    }
+}
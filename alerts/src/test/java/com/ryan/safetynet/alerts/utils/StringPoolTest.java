@@ -0,0 +1,105 @@
+package com.ryan.safetynet.alerts.utils;
+
+import com.ryan.safetynet.alerts.model.Data;
+import com.ryan.safetynet.alerts.model.FireStation;
+import com.ryan.safetynet.alerts.model.MedicalRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'utilitaire StringPool")
+class StringPoolTest {
+
+    @Test
+    @DisplayName("Test du remplacement des valeurs égales par une instance canonique")
+    void testCanonical() {
+        // Arrange
+        StringPool pool = new StringPool();
+        String first = new String("Culver");
+        String second = new String("Culver");
+
+        // Act
+        String canonicalFirst = pool.canonical(first);
+        String canonicalSecond = pool.canonical(second);
+
+        // Assert
+        assertSame(first, canonicalFirst);
+        assertSame(first, canonicalSecond);
+        assertEquals(1, pool.size());
+        assertEquals(1, pool.hits());
+        assertNull(pool.canonical((String) null));
+    }
+
+    @Test
+    @DisplayName("Test du dictionnaire borné : les valeurs au-delà de la capacité ne sont pas retenues")
+    void testCanonical_Bounded() {
+        // Arrange
+        StringPool pool = new StringPool(1);
+        pool.canonical("Culver");
+        String overflow = new String("Paris");
+
+        // Act
+        String canonical = pool.canonical(overflow);
+
+        // Assert
+        assertSame(overflow, canonical);
+        assertNotSame(overflow, pool.canonical(new String("Paris")));
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    @DisplayName("Test du dédoublonnage des éléments d'une liste")
+    void testCanonicalList() {
+        // Arrange
+        StringPool pool = new StringPool();
+        String aznol = pool.canonical(new String("aznol:350mg"));
+
+        // Act
+        List<String> canonical = pool.canonical(Arrays.asList(new String("aznol:350mg"), null));
+
+        // Assert
+        assertSame(aznol, canonical.get(0));
+        assertNull(canonical.get(1));
+        assertNull(pool.canonical((List<String>) null));
+    }
+
+    @Test
+    @DisplayName("Test du dédoublonnage des stations, médicaments et allergies des données lues")
+    void testDeduplicate() {
+        // Arrange
+        Data data = new Data();
+        data.setFireStations(List.of(station("1509 Culver St"), station("29 15th St")));
+        data.setMedicalRecords(List.of(record(), record()));
+
+        // Act
+        StringPool pool = new StringPool().deduplicate(data);
+
+        // Assert
+        assertSame(data.getFireStations().get(0).getStation(), data.getFireStations().get(1).getStation());
+        assertSame(data.getMedicalRecords().get(0).getMedications().get(0),
+                data.getMedicalRecords().get(1).getMedications().get(0));
+        assertSame(data.getMedicalRecords().get(0).getAllergies().get(0),
+                data.getMedicalRecords().get(1).getAllergies().get(0));
+        assertEquals(3, pool.size());
+        assertEquals(3, pool.hits());
+    }
+
+    private static FireStation station(String address) {
+        FireStation fireStation = new FireStation();
+        fireStation.setAddress(address);
+        fireStation.setStation(new String("3"));
+        return fireStation;
+    }
+
+    private static MedicalRecord record() {
+        MedicalRecord record = new MedicalRecord();
+        record.setMedications(new ArrayList<>(List.of(new String("aznol:350mg"))));
+        record.setAllergies(new ArrayList<>(List.of(new String("peanut"))));
+        return record;
+    }
+}